@@ -0,0 +1,172 @@
+package api;
+
+import ch.qos.logback.classic.Logger;
+import model.Article;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.EntityDetails;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.Message;
+import org.apache.hc.core5.http.URIScheme;
+import org.apache.hc.core5.http.impl.bootstrap.HttpAsyncServer;
+import org.apache.hc.core5.http.nio.AsyncRequestConsumer;
+import org.apache.hc.core5.http.nio.AsyncServerRequestHandler;
+import org.apache.hc.core5.http.nio.entity.StringAsyncEntityConsumer;
+import org.apache.hc.core5.http.nio.support.AsyncResponseBuilder;
+import org.apache.hc.core5.http.nio.support.BasicRequestConsumer;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.http2.impl.nio.bootstrap.H2ServerBootstrap;
+import org.apache.hc.core5.io.CloseMode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vergleicht den {@link AsyncApiClient} über HTTP/1.1 mit Connection-Pool und über HTTP/2 (h2c) mit einer
+ * multiplexten Verbindung. Beide Varianten senden pro Durchlauf dieselbe Mischung aus parallelen GET- und
+ * PUT-Anfragen auf einzelne Artikel an einen lokalen Server, der für beide Protokolle denselben Handler
+ * verwendet und optional eine feste Bearbeitungszeit simuliert. Batch- und Bulk-Endpunkt werden nicht
+ * verwendet, damit keine Fähigkeitsprüfung die Mischung verändert.
+ * Die Poolgrößen für HTTP/1.1 stammen aus "http.pool.max" und "http.pool.maxperroute".
+ *
+ * Ausführen mit: mvn -Pbenchmark package exec:exec -Djmh.include=HttpVersionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 7, time = 2)
+@Fork(1)
+public class HttpVersionBenchmark {
+    private static final int ARTICLE_COUNT = 64;
+    // Jede vierte Anfrage eines Durchlaufs ist ein PUT, die übrigen sind GETs
+    private static final int REQUESTS_PER_ROUND = 64;
+
+    @Param({"HTTP_1_1", "HTTP_2"})
+    public String protocol;
+
+    @Param({"0", "5"})
+    public int latencyMillis;
+
+    private HttpAsyncServer server;
+    private ScheduledExecutorService delays;
+    private AsyncApiClient client;
+    private Article[] articles;
+    private String[] payloads;
+
+    /**
+     * Startet den lokalen Server und den Client für die gewählte HTTP-Version.
+     *
+     * @throws Exception Wenn der Server nicht gestartet werden kann
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        // Die Debug-Ausgaben des Clients pro Anfrage würden die Messung sonst dominieren
+        ((Logger) LoggerFactory.getLogger("api")).setLevel(ch.qos.logback.classic.Level.INFO);
+
+        JsonCodec codec = JsonCodec.getInstance();
+        articles = new Article[ARTICLE_COUNT];
+        payloads = new String[ARTICLE_COUNT];
+        for (int i = 0; i < ARTICLE_COUNT; i++) {
+            articles[i] = new Article(i + 1, "Artikel " + i, "Kleinteil", i * 10, "Stück", 0.05 * i,
+                    "Regal " + (i % 8), "Auf Lager", "", "2025-03-07T16:22:25Z", "{}", null);
+            payloads[i] = codec.articleWriter().writeValueAsString(articles[i]);
+        }
+
+        delays = Executors.newSingleThreadScheduledExecutor();
+        // Ohne TLS handelt der Server keine Version aus, daher wird sie wie beim Client fest vorgegeben
+        boolean http2 = "HTTP_2".equals(protocol);
+        server = H2ServerBootstrap.bootstrap()
+                .setVersionPolicy(http2 ? HttpVersionPolicy.FORCE_HTTP_2 : HttpVersionPolicy.FORCE_HTTP_1)
+                .register("*", new ArticleHandler())
+                .create();
+        server.start();
+        InetSocketAddress address = (InetSocketAddress) server
+                .listen(new InetSocketAddress("127.0.0.1", 0), URIScheme.HTTP).get().getAddress();
+
+        client = new AsyncApiClient("http://127.0.0.1:" + address.getPort() + "/api/article",
+                Duration.ofSeconds(30), http2);
+    }
+
+    /**
+     * Beendet Client und Server.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        server.close(CloseMode.GRACEFUL);
+        delays.shutdownNow();
+    }
+
+    /**
+     * Sendet alle Anfragen eines Durchlaufs gleichzeitig und wartet auf sämtliche Antworten.
+     *
+     * @return Die Anzahl der Antworten
+     */
+    @Benchmark
+    public int mixedRound() {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[REQUESTS_PER_ROUND];
+        for (int i = 0; i < REQUESTS_PER_ROUND; i++) {
+            Article article = articles[i % ARTICLE_COUNT];
+            futures[i] = i % 4 == 3
+                    ? client.updateAsync(article)
+                    : client.fetchArticleAsync(article.id);
+        }
+        CompletableFuture.allOf(futures).join();
+        return futures.length;
+    }
+
+    /**
+     * Beantwortet GET mit dem Artikel zur ID im Pfad und PUT mit einem leeren Objekt,
+     * auf Wunsch nach der simulierten Bearbeitungszeit, ohne einen Reactor-Thread zu blockieren.
+     */
+    private class ArticleHandler implements AsyncServerRequestHandler<Message<HttpRequest, String>> {
+        @Override
+        public AsyncRequestConsumer<Message<HttpRequest, String>> prepare(HttpRequest request,
+                                                                          EntityDetails entityDetails,
+                                                                          HttpContext context) {
+            return new BasicRequestConsumer<>(entityDetails != null ? new StringAsyncEntityConsumer() : null);
+        }
+
+        @Override
+        public void handle(Message<HttpRequest, String> message, ResponseTrigger responseTrigger, HttpContext context) {
+            HttpRequest request = message.getHead();
+            String path = request.getPath();
+            String body = "PUT".equals(request.getMethod())
+                    ? "{}"
+                    : payloads[(Integer.parseInt(path.substring(path.lastIndexOf('/') + 1)) - 1) % ARTICLE_COUNT];
+            Runnable respond = () -> {
+                try {
+                    responseTrigger.submitResponse(AsyncResponseBuilder.create(200)
+                            .setEntity(body, ContentType.APPLICATION_JSON)
+                            .build(), context);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            };
+            if (latencyMillis > 0) {
+                delays.schedule(respond, latencyMillis, TimeUnit.MILLISECONDS);
+            } else {
+                respond.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import model.Article;
+import model.CellStyle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vergleicht die (De-)Serialisierung eines Artikels mit einem pro Aufruf neu erzeugten ObjectMapper
+ * (früherer Weg über UI und lokale Datei) und mit den gemeinsamen Readern und Writern des {@link JsonCodec},
+ * jeweils mit und ohne Afterburner-Modul.
+ *
+ * Ausführen mit: mvn -Pbenchmark package exec:exec
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 7, time = 1)
+@Fork(1)
+public class JsonCodecBenchmark {
+    private static final int ARTICLE_COUNT = 1024;
+
+    @Param({"false", "true"})
+    public boolean afterburner;
+
+    private JsonCodec codec;
+    private Article[] articles;
+    private byte[][] payloads;
+    private int next;
+
+    /**
+     * Erzeugt den Codec und Beispielartikel mit Formatierungen, wie sie der Katalog enthält.
+     *
+     * @throws Exception Bei Serialisierungsproblemen
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        codec = new JsonCodec(afterburner, "JSON");
+        articles = new Article[ARTICLE_COUNT];
+        payloads = new byte[ARTICLE_COUNT][];
+        for (int i = 0; i < ARTICLE_COUNT; i++) {
+            Map<String, CellStyle> styles = new HashMap<>();
+            styles.put("name", new CellStyle(i % 2 == 0, false, false, "#000000"));
+            styles.put("stock", new CellStyle(false, i % 3 == 0, false, "#FF0000"));
+            articles[i] = new Article(i + 1, "Artikel " + i, "Kleinteil", i % 500, "Stück", 0.05 * i,
+                    "Regal " + (i % 40), "Auf Lager", "https://example.com/artikel/" + i,
+                    "2025-03-07T16:22:25Z", "{\"name\":{\"bold\":true}}", styles);
+            payloads[i] = codec.articleWriter().writeValueAsBytes(articles[i]);
+        }
+    }
+
+    private int nextIndex() {
+        next = (next + 1) & (ARTICLE_COUNT - 1);
+        return next;
+    }
+
+    /**
+     * Serialisiert mit einem neuen ObjectMapper pro Artikel, unabhängig vom Afterburner-Parameter.
+     *
+     * @return Die serialisierten Daten
+     * @throws Exception Bei Serialisierungsproblemen
+     */
+    @Benchmark
+    public byte[] writeWithNewMapper() throws Exception {
+        return new ObjectMapper().writeValueAsBytes(articles[nextIndex()]);
+    }
+
+    /**
+     * Serialisiert mit dem gemeinsamen Writer.
+     *
+     * @return Die serialisierten Daten
+     * @throws Exception Bei Serialisierungsproblemen
+     */
+    @Benchmark
+    public byte[] writeWithCachedWriter() throws Exception {
+        return codec.articleWriter().writeValueAsBytes(articles[nextIndex()]);
+    }
+
+    /**
+     * Deserialisiert mit dem gemeinsamen Reader.
+     *
+     * @return Der gelesene Artikel
+     * @throws Exception Bei ungültigen Daten
+     */
+    @Benchmark
+    public Article readWithCachedReader() throws Exception {
+        return codec.articleReader().readValue(payloads[nextIndex()]);
+    }
+}
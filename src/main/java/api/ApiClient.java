@@ -1,27 +1,68 @@
 package api;
 
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+import config.AppConfig;
 import model.Article;
+import model.ArticleDelta;
+import model.ArticlePage;
+import model.ArticleQuery;
+import model.LazyArticleList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.net.ssl.*;
+import org.apache.hc.client5.http.classic.methods.HttpDelete;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.classic.methods.HttpHead;
+import org.apache.hc.client5.http.classic.methods.HttpOptions;
+import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.client5.http.classic.methods.HttpPut;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.ParseException;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.util.Timeout;
+import store.ArticleStore;
+
 import java.io.*;
-import java.net.HttpURLConnection;
-import java.net.URL;
-import java.security.cert.X509Certificate;
-import java.util.Arrays;
+import java.net.URLEncoder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Properties;
-import java.security.MessageDigest;
 import java.nio.charset.StandardCharsets;
-import java.util.Base64;
 import com.fasterxml.jackson.databind.JsonNode;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32C;
 
 /**
  * Client für die Kommunikation mit der Artikel-API.
@@ -30,12 +71,53 @@ import java.util.HashMap;
 public class ApiClient {
     private static final Logger logger = LoggerFactory.getLogger(ApiClient.class);
     private static String API_BASE_URL = "https://localhost:5001/api/article";
-    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final JsonCodec json = JsonCodec.getInstance();
+
+    // Lokale Ablage für Offline-Daten und HTTP-Validatoren (ETag/Last-Modified)
+    private static final File LOCAL_DATA_DIR = new File("localData");
+    private static final File LOCAL_ARTICLES_FILE = new File(LOCAL_DATA_DIR, "articles.json");
+    private static final File VALIDATORS_FILE = new File(LOCAL_DATA_DIR, "articles.validators.json");
+    // Binäre Dateien erhalten pro Schreibvorgang einen neuen Namen, da eingebundene Dateien
+    // unter Windows nicht ersetzt werden können
+    private static final String BINARY_FILE_PREFIX = "articles.";
+    private static final String BINARY_FILE_SUFFIX = ".bin";
+    // Beschädigte Datensätze werden hierhin kopiert, statt die gesamte Datei zu verwerfen
+    private static final File QUARANTINE_DIR = new File(LOCAL_DATA_DIR, "quarantine");
+    private static volatile int quarantinedRecordCount = 0;
+    // Validatoren des zuletzt vollständig geladenen Katalogs, bis dieser lokal gespeichert wird
+    private static volatile PendingValidators pendingValidators = null;
+    // Indizierte Sicht auf lokale Datei und Journal; wird nur unter localFileLock ersetzt
+    private static volatile ArticleStore localStore = null;
+    private static final Object localFileLock = new Object();
+
+    // Änderungsjournal: einzelne Änderungen werden angehängt statt die lokale Datei neu zu schreiben
+    private static final ChangeJournal journal = new ChangeJournal(
+            new File(LOCAL_DATA_DIR, "articles.journal").toPath(), AppConfig.getInstance().isJournalSyncEnabled());
+    private static final ExecutorService compactionExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "journal-compaction");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final AtomicBoolean compactionScheduled = new AtomicBoolean(false);
+    // Stand der lokalen Datei, geschützt durch localFileLock
+    private static long localFileJournalSeq = -1;
+    private static int localFileVersion = 0;
+
+    // Maximale Anzahl IDs pro Bulk-Abfrage, damit die URL nicht zu lang wird
+    private static final int BULK_CHUNK_SIZE = 200;
+    // Wird beim ersten Hinweis auf einen fehlenden Bulk-Endpunkt für die restliche Sitzung abgeschaltet
+    private static volatile boolean bulkEndpointSupported = true;
+
+    // Gemeinsame Katalog-Abfrage für gleichzeitige Aufrufer, kurz im Speicher gehalten
+    private static final SingleFlight<List<Article>> catalogFlight =
+            new SingleFlight<>(AppConfig.getInstance().getCatalogFreshnessMillis());
+
+    // Vom Batch-Endpunkt angebotene Methoden laut OPTIONS-Antwort, null = noch nicht geprüft
+    private static volatile Set<String> batchMethods = null;
 
     static {
-        // Konfiguriere ObjectMapper für JSON-Deserialisierung
-        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        logger.debug("ObjectMapper konfiguriert mit FAIL_ON_UNKNOWN_PROPERTIES=false");
+        // Nach Ablauf der Wartezeit prüft der Circuit Breaker die Erreichbarkeit mit der Verbindungsprüfung
+        CircuitBreaker.getInstance().setHalfOpenProbe(ApiClient::probeConnection);
 
         // Versuche zuerst, eine externe Konfigurationsdatei zu laden
         boolean configLoaded = false;
@@ -79,9 +161,15 @@ public class ApiClient {
                         e.getMessage(), API_BASE_URL);
             }
         }
+    }
 
-        // Deaktiviere SSL-Zertifikatsprüfung für Entwicklungsumgebungen
-        disableSSLCertificateChecking();
+    /**
+     * Gibt die konfigurierte Basis-URL der Artikel-API zurück.
+     *
+     * @return Die API-URL
+     */
+    public static String getApiBaseUrl() {
+        return API_BASE_URL;
     }
 
     /**
@@ -90,24 +178,207 @@ public class ApiClient {
      * @return Liste aller Artikel
      */
     public static List<Article> fetchArticles() {
-        logger.info("Rufe alle Artikel von der API ab");
         try {
-            String responseJson = sendGetRequest(API_BASE_URL);
+            // Gleichzeitige Aufrufer teilen sich eine Anfrage; jeder erhält eigene Kopien der Artikel
+            List<Article> shared = catalogFlight.get(() -> {
+                try {
+                    return CompletableFuture.completedFuture(loadCatalog());
+                } catch (Exception e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            }).join();
+            return copyArticles(shared);
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            logger.error("Fehler beim Abrufen der Artikel: {}", cause.getMessage(), cause);
+            return List.of();
+        }
+    }
+
+    /**
+     * Ruft alle Artikel über die gemeinsame Katalog-Abfrage ab, ohne den aufrufenden Thread zu blockieren.
+     * Startet der Aufruf eine neue Abfrage, läuft sie wie bei {@link #fetchArticles()} gestreamt und mit
+     * Validatoren auf einem virtuellen Thread. Wird vom asynchronen Client für dieselbe API verwendet.
+     *
+     * @return Future mit der geteilten Liste, die Aufrufer nicht verändern dürfen
+     */
+    static CompletableFuture<List<Article>> fetchCatalogAsync() {
+        return catalogFlight.get(() -> CompletableFuture.supplyAsync(() -> {
+            try {
+                return loadCatalog();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, task -> Thread.ofVirtual().name("catalog-fetch").start(task)));
+    }
+
+    /**
+     * Lädt den Katalog gestreamt und bedingt in eine Liste; Loader der gemeinsamen Katalog-Abfrage.
+     *
+     * @return Liste aller Artikel
+     * @throws Exception Bei Netzwerk-, Server- oder Parse-Problemen
+     */
+    private static List<Article> loadCatalog() throws Exception {
+        logger.info("Rufe alle Artikel von der API ab");
+        List<Article> articles = new ArrayList<>();
+        streamArticles(articles::add);
+        logger.info("{} Artikel erfolgreich abgerufen", articles.size());
+        return articles;
+    }
+
+    /**
+     * Gibt die gemeinsame Single-Flight-Instanz für den Artikelkatalog zurück.
+     * Der asynchrone Client verwirft darüber nach Schreibvorgängen das gemerkte Ergebnis.
+     *
+     * @return Die Single-Flight-Instanz des Katalogs
+     */
+    static SingleFlight<List<Article>> getCatalogFlight() {
+        return catalogFlight;
+    }
 
-            // Bei sehr detailliertem Logging (TRACE) die vollständige Antwort loggen
-            logger.trace("API-Antwort: {}", responseJson);
+    /**
+     * Setzt die Basis-URL der Artikel-API und verwirft die für den bisherigen Server gemerkten
+     * Fähigkeiten (Batch- und Bulk-Endpunkt) sowie den gemerkten Katalog. Wird von Tests genutzt,
+     * um den Client gegen einen lokalen Server laufen zu lassen.
+     *
+     * @param url Die neue Basis-URL, z.B. "http://localhost:8080/api/article"
+     */
+    static void setApiBaseUrl(String url) {
+        API_BASE_URL = url;
+        batchMethods = null;
+        bulkEndpointSupported = true;
+        pendingValidators = null;
+        catalogFlight.invalidate();
+    }
 
-            // Bei normalem Debug-Level nur die Größe der Antwort loggen
-            logger.debug("API-Antwort erhalten: {} Zeichen", responseJson.length());
+    /**
+     * Erstellt unabhängige Kopien der Artikel, damit Aufrufer geteilte Ergebnisse nicht verändern.
+     *
+     * @param articles Die zu kopierenden Artikel
+     * @return Veränderbare Liste mit Kopien der Artikel
+     */
+    static List<Article> copyArticles(List<Article> articles) {
+        List<Article> copies = new ArrayList<>(articles.size());
+        for (Article article : articles) {
+            copies.add(new Article(article));
+        }
+        return copies;
+    }
 
-            List<Article> articles = Arrays.asList(objectMapper.readValue(responseJson, Article[].class));
-            logger.info("{} Artikel erfolgreich abgerufen", articles.size());
+    /**
+     * Ruft alle Artikel von der API ab und übergibt sie einzeln an den Consumer.
+     * Die Antwort wird direkt aus dem Eingabestrom geparst, ohne den gesamten Katalog
+     * als String im Speicher zu halten.
+     * Die Anfrage ist bedingt, sofern die lokale Datei dem zuletzt geladenen Serverstand entspricht; bei
+     * 304 wird die lokale Kopie geliefert. Lokal gespeichert wird hier nicht, das übernimmt der Aufrufer
+     * über {@link #saveArticlesToLocalFile}.
+     *
+     * @param consumer Empfängt jeden Artikel, sobald er vollständig gelesen wurde
+     * @return Die Anzahl der gelesenen Artikel
+     * @throws Exception Bei Netzwerk-, Server- oder Parse-Problemen
+     */
+    public static int streamArticles(Consumer<Article> consumer) throws Exception {
+        logger.debug("Sende streamenden GET-Request an: {}", API_BASE_URL);
+        HttpGet request = new HttpGet(API_BASE_URL);
+        request.setHeader(HttpHeaders.ACCEPT, json.getReadAcceptHeader());
 
-            return articles;
-        } catch (Exception e) {
-            logger.error("Fehler beim Abrufen der Artikel: {}", e.getMessage(), e);
-            return List.of();
+        // Bedingte Anfrage nur, wenn die lokale Kopie exakt dem zuletzt geladenen Serverstand entspricht
+        Map<String, String> validators = loadValidators();
+        if (validators != null) {
+            if (validators.get("etag") != null) {
+                request.setHeader(HttpHeaders.IF_NONE_MATCH, validators.get("etag"));
+            }
+            if (validators.get("lastModified") != null) {
+                request.setHeader(HttpHeaders.IF_MODIFIED_SINCE, validators.get("lastModified"));
+            }
+            logger.debug("Sende bedingten GET-Request (ETag: {}, Last-Modified: {})",
+                    validators.get("etag"), validators.get("lastModified"));
+        }
+
+        FetchResult result = HttpTransport.getInstance().execute(request, httpResponse -> {
+            int responseCode = httpResponse.getCode();
+            logger.debug("GET-Response-Code: {}", responseCode);
+
+            if (responseCode == HttpStatus.SC_NOT_MODIFIED) {
+                EntityUtils.consume(httpResponse.getEntity());
+                return new FetchResult(0, true, 0, null, null);
+            }
+            if (responseCode != 200) {
+                logger.warn("Unerwarteter HTTP-Response-Code: {}", responseCode);
+                EntityUtils.consume(httpResponse.getEntity());
+                throw new RuntimeException("HTTP-Fehler: " + responseCode);
+            }
+            if (httpResponse.getEntity() == null) {
+                throw new IOException("Leere Antwort vom Server");
+            }
+
+            String etag = httpResponse.getFirstHeader(HttpHeaders.ETAG) != null
+                    ? httpResponse.getFirstHeader(HttpHeaders.ETAG).getValue() : null;
+            String lastModified = httpResponse.getFirstHeader(HttpHeaders.LAST_MODIFIED) != null
+                    ? httpResponse.getFirstHeader(HttpHeaders.LAST_MODIFIED).getValue() : null;
+
+            // Statt einer Kopie des Katalogs nur einen Fingerabdruck bilden, an dem das spätere Speichern
+            // erkennt, ob es genau diesen Serverstand sichert
+            CRC32C fingerprint = new CRC32C();
+            Consumer<Article> target = etag == null && lastModified == null ? consumer : article -> {
+                updateFingerprint(fingerprint, article.id, article.timestamp);
+                consumer.accept(article);
+            };
+
+            String contentType = httpResponse.getEntity().getContentType();
+            try (InputStream in = httpResponse.getEntity().getContent();
+                 JsonParser parser = json.createParser(in, contentType)) {
+                int count = readArticleArray(parser, target);
+                logger.debug("Streaming abgeschlossen: {} Artikel gelesen ({})", count, contentType);
+                return new FetchResult(count, false, fingerprint.getValue(), etag, lastModified);
+            }
+        });
+
+        if (result.notModified()) {
+            List<Article> localArticles = loadArticlesFromLocalFile();
+            if (localArticles.isEmpty()) {
+                // Lokale Kopie unbrauchbar: Validatoren verwerfen und vollständig laden
+                logger.warn("304 erhalten, aber lokale Kopie nicht lesbar. Lade vollständigen Katalog");
+                deleteValidators();
+                return streamArticles(consumer);
+            }
+            logger.info("Katalog unverändert (304), verwende lokale Kopie mit {} Artikeln", localArticles.size());
+            localArticles.forEach(consumer);
+            return localArticles.size();
+        }
+
+        // Gespeichert wird vom Aufrufer; die Validatoren werden erst mit dessen Datei übernommen
+        pendingValidators = result.etag() != null || result.lastModified() != null
+                ? new PendingValidators(result.etag(), result.lastModified(), result.count(), result.fingerprint())
+                : null;
+        return result.count();
+    }
+
+    /**
+     * Liest ein JSON-Array von Artikeln elementweise aus einem Parser.
+     *
+     * @param parser Der Parser, positioniert vor dem Array
+     * @param consumer Empfängt jeden gelesenen Artikel
+     * @return Die Anzahl der gelesenen Artikel
+     * @throws IOException Wenn die Daten kein gültiges Artikel-Array sind
+     */
+    private static int readArticleArray(JsonParser parser, Consumer<Article> consumer) throws IOException {
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IOException("Ungültige API-Antwort: JSON-Array erwartet, erhalten: " + parser.currentToken());
+        }
+
+        int count = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) == JsonToken.START_OBJECT) {
+            Article article = json.articleReader().readValue(parser);
+            consumer.accept(article);
+            count++;
+        }
+
+        if (token != JsonToken.END_ARRAY) {
+            throw new IOException("Ungültige API-Antwort: unerwartetes Token " + token);
         }
+        return count;
     }
 
     /**
@@ -118,14 +389,22 @@ public class ApiClient {
      * @throws Exception Wenn der Artikel nicht abgerufen werden kann
      */
     public static Article fetchArticle(int id) throws Exception {
+        return fetchArticle(id, null);
+    }
+
+    /**
+     * Ruft einen einzelnen Artikel in einer Projektion ab.
+     *
+     * @param id Die ID des abzurufenden Artikels
+     * @param fields Kommagetrennte Feldliste oder null für alle Felder
+     * @return Das Article-Objekt
+     * @throws Exception Wenn der Artikel nicht abgerufen werden kann
+     */
+    public static Article fetchArticle(int id, String fields) throws Exception {
         logger.info("Rufe Artikel mit ID {} ab", id);
         try {
-            String url = API_BASE_URL + "/" + id;
-            String responseJson = sendGetRequest(url);
-
-            logger.trace("Antwort für Artikel {}: {}", id, responseJson);
-
-            Article article = objectMapper.readValue(responseJson, Article.class);
+            String url = withFields(API_BASE_URL + "/" + id, fields);
+            Article article = sendGetRequest(url, json.articleReader());
             logger.info("Artikel mit ID {} erfolgreich abgerufen: {}", id, article.name);
             return article;
         } catch (Exception e) {
@@ -135,205 +414,1825 @@ public class ApiClient {
     }
 
     /**
-     * Hilfsmethode für GET-Requests.
+     * Ruft mehrere Artikel anhand ihrer IDs mit möglichst wenigen Round-Trips ab.
+     * Bevorzugt wird der Bulk-Endpunkt "{api.url}/bulk?ids=...". Unterstützt der Server diesen nicht,
+     * werden die Artikel einzeln, aber parallel mit begrenzter Nebenläufigkeit abgerufen.
+     * Artikel, die nicht (mehr) existieren oder nicht abgerufen werden konnten, fehlen im Ergebnis.
      *
-     * @param url Die URL für den GET-Request
-     * @return Die Antwort als String
-     * @throws Exception Bei Netzwerk- oder Serverproblemen
+     * @param ids Die IDs der abzurufenden Artikel
+     * @return Map von API-ID auf den aktuellen Server-Stand des Artikels
      */
-    private static String sendGetRequest(String url) throws Exception {
-        logger.debug("Sende GET-Request an: {}", url);
-        HttpURLConnection conn = null;
-        try {
-            conn = createConnection(url, "GET");
+    public static Map<Integer, Article> fetchArticlesByIds(Collection<Integer> ids) {
+        return fetchArticlesByIds(ids, null);
+    }
 
-            int responseCode = conn.getResponseCode();
-            logger.debug("GET-Response-Code: {}", responseCode);
+    /**
+     * Ruft mehrere Artikel anhand ihrer IDs in einer Projektion ab, z.B. nur
+     * {@link Article#VERSION_FIELDS} für eine Konfliktprüfung.
+     * Server ohne Unterstützung für "fields" liefern vollständige Artikel.
+     *
+     * @param ids Die IDs der abzurufenden Artikel
+     * @param fields Kommagetrennte Feldliste oder null für alle Felder
+     * @return Map von API-ID auf den Server-Stand des Artikels
+     */
+    public static Map<Integer, Article> fetchArticlesByIds(Collection<Integer> ids, String fields) {
+        Map<Integer, Article> result = new HashMap<>();
+        if (ids.isEmpty()) {
+            return result;
+        }
+        logger.info("Rufe {} Artikel gesammelt ab", ids.size());
 
-            if (responseCode != 200) {
-                logger.warn("Unerwarteter HTTP-Response-Code: {}", responseCode);
+        List<Integer> idList = new ArrayList<>(ids);
+        if (bulkEndpointSupported) {
+            try {
+                for (int i = 0; i < idList.size(); i += BULK_CHUNK_SIZE) {
+                    List<Integer> chunk = idList.subList(i, Math.min(i + BULK_CHUNK_SIZE, idList.size()));
+                    if (!fetchArticleChunk(chunk, fields, result)) {
+                        // Server kennt den Bulk-Endpunkt nicht: für diese Sitzung nicht mehr versuchen
+                        logger.info("Bulk-Endpunkt nicht verfügbar, verwende parallele Einzelabfragen");
+                        bulkEndpointSupported = false;
+                        result.clear();
+                        break;
+                    }
+                }
+                if (bulkEndpointSupported) {
+                    logger.info("{} von {} Artikeln per Bulk-Abfrage erhalten", result.size(), ids.size());
+                    return result;
+                }
+            } catch (Exception e) {
+                logger.warn("Bulk-Abfrage fehlgeschlagen, verwende parallele Einzelabfragen: {}", e.getMessage());
+                result.clear();
+            }
+        }
+
+        return fetchArticlesInParallel(idList, fields);
+    }
+
+    /**
+     * Ruft einen Block von Artikeln über den Bulk-Endpunkt ab.
+     *
+     * @param ids Die IDs dieses Blocks
+     * @param fields Kommagetrennte Feldliste oder null für alle Felder
+     * @param result Map, in die die gelesenen Artikel eingetragen werden
+     * @return false, wenn der Server den Bulk-Endpunkt nicht unterstützt (404, 405, 501 oder 400, wenn
+     *         eine Route "/{id}" das Segment "bulk" als ungültige ID ablehnt)
+     * @throws Exception Bei Netzwerk-, Server- oder Parse-Problemen
+     */
+    private static boolean fetchArticleChunk(List<Integer> ids, String fields, Map<Integer, Article> result) throws Exception {
+        StringBuilder idParam = new StringBuilder();
+        for (Integer id : ids) {
+            if (idParam.length() > 0) {
+                idParam.append(',');
+            }
+            idParam.append(id);
+        }
+
+        HttpGet request = new HttpGet(withFields(API_BASE_URL + "/bulk?ids=" + idParam, fields));
+        request.setHeader(HttpHeaders.ACCEPT, json.getReadAcceptHeader());
+        return HttpTransport.getInstance().execute(request, httpResponse -> {
+            int responseCode = httpResponse.getCode();
+            if (responseCode == HttpStatus.SC_NOT_FOUND || responseCode == HttpStatus.SC_METHOD_NOT_ALLOWED
+                    || responseCode == HttpStatus.SC_NOT_IMPLEMENTED || responseCode == HttpStatus.SC_BAD_REQUEST) {
+                EntityUtils.consume(httpResponse.getEntity());
+                return false;
+            }
+            if (responseCode != 200 || httpResponse.getEntity() == null) {
+                EntityUtils.consume(httpResponse.getEntity());
                 throw new RuntimeException("HTTP-Fehler: " + responseCode);
             }
+            try (InputStream in = httpResponse.getEntity().getContent();
+                 JsonParser parser = json.createParser(in, httpResponse.getEntity().getContentType())) {
+                readArticleArray(parser, article -> result.put(article.id, article));
+            }
+            return true;
+        });
+    }
 
-            String response = readResponse(conn);
-            logger.debug("GET-Request erfolgreich: {} Zeichen empfangen", response.length());
-            return response;
-        } catch (Exception e) {
-            logger.error("Fehler bei GET-Request an {}: {}", url, e.getMessage());
-            throw e;
-        } finally {
-            if (conn != null) {
-                conn.disconnect();
-                logger.trace("Verbindung geschlossen");
+    /**
+     * Ruft Artikel einzeln, aber parallel mit begrenzter Nebenläufigkeit ab.
+     *
+     * @param ids Die IDs der abzurufenden Artikel
+     * @param fields Kommagetrennte Feldliste oder null für alle Felder
+     * @return Map von API-ID auf den Server-Stand; fehlgeschlagene Abrufe fehlen
+     */
+    private static Map<Integer, Article> fetchArticlesInParallel(List<Integer> ids, String fields) {
+        int parallelism = Math.max(1, Math.min(AppConfig.getInstance().getApiParallelism(), ids.size()));
+        Map<Integer, Article> result = new ConcurrentHashMap<>();
+
+        if (isHttp2Enabled()) {
+            return fetchArticlesMultiplexed(ids, fields, parallelism);
+        }
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(parallelism)) {
+            for (Integer id : ids) {
+                executor.submit(() -> {
+                    try {
+                        result.put(id, fetchArticle(id, fields));
+                    } catch (Exception e) {
+                        logger.warn("Artikel ID {} konnte nicht abgerufen werden: {}", id, e.getMessage());
+                    }
+                });
             }
         }
+
+        logger.info("{} von {} Artikeln parallel abgerufen ({} Threads)", result.size(), ids.size(), parallelism);
+        return new HashMap<>(result);
     }
 
     /**
-     * Erstellt eine HTTP-Verbindung mit den angegebenen Parametern.
+     * Ruft Artikel einzeln über den HTTP/2-Client ab.
+     * Alle Anfragen teilen sich eine multiplexte Verbindung; die Anzahl gleichzeitiger Streams
+     * wird durch "api.parallelism" begrenzt, ohne dafür Threads zu belegen.
      *
-     * @param urlString Die URL für die Verbindung
-     * @param method Die HTTP-Methode (GET, POST, PUT, DELETE)
-     * @return Die konfigurierte HttpURLConnection
-     * @throws Exception Bei Problemen mit der Verbindung
+     * @param ids Die IDs der abzurufenden Artikel
+     * @param fields Kommagetrennte Feldliste oder null für alle Felder
+     * @param parallelism Maximale Anzahl gleichzeitiger Anfragen
+     * @return Map von API-ID auf den Artikel, fehlgeschlagene Abfragen fehlen
      */
-    private static HttpURLConnection createConnection(String urlString, String method) throws Exception {
-        URL url = new URL(urlString);
-        HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-        conn.setRequestMethod(method);
-        conn.setRequestProperty("Accept", "application/json");
-        if (method.equals("POST") || method.equals("PUT")) {
-            conn.setRequestProperty("Content-Type", "application/json");
-            conn.setDoOutput(true);
+    private static Map<Integer, Article> fetchArticlesMultiplexed(List<Integer> ids, String fields, int parallelism) {
+        AsyncApiClient client = AsyncApiClient.getInstance();
+        Semaphore permits = new Semaphore(parallelism);
+        Map<Integer, CompletableFuture<Article>> futures = new HashMap<>();
+
+        try {
+            for (Integer id : ids) {
+                permits.acquire();
+                CompletableFuture<Article> future = client.fetchArticleAsync(id, fields);
+                future.whenComplete((article, ex) -> permits.release());
+                futures.put(id, future);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Abruf über HTTP/2 unterbrochen");
+        }
+
+        Map<Integer, Article> result = new HashMap<>();
+        for (Map.Entry<Integer, CompletableFuture<Article>> entry : futures.entrySet()) {
+            try {
+                result.put(entry.getKey(), await(entry.getValue()));
+            } catch (Exception e) {
+                logger.warn("Artikel ID {} konnte nicht abgerufen werden: {}", entry.getKey(), e.getMessage());
+            }
         }
-        logger.trace("Verbindung erstellt: {} {}", method, urlString);
-        return conn;
+
+        logger.info("{} von {} Artikeln über HTTP/2 abgerufen (max. {} gleichzeitige Streams)",
+                result.size(), ids.size(), parallelism);
+        return result;
     }
 
     /**
-     * Liest die Antwort aus einer HTTP-Verbindung.
+     * Ruft nur die Artikel ab, die sich seit dem angegebenen Zeitpunkt geändert haben.
+     * Gelöschte Artikel werden als Tombstones (IDs) zurückgegeben.
      *
-     * @param conn Die HttpURLConnection
-     * @return Die Antwort als String
-     * @throws Exception Bei Problemen beim Lesen der Antwort
+     * @param since Zeitpunkt des letzten bekannten Stands
+     * @return Das Delta oder null, wenn der Server keine Delta-Abfragen unterstützt
+     * @throws Exception Bei Netzwerk-, Server- oder Parse-Problemen
      */
-    private static String readResponse(HttpURLConnection conn) throws Exception {
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(conn.getInputStream()))) {
-            StringBuilder response = new StringBuilder();
-            String line;
-            while ((line = br.readLine()) != null) {
-                response.append(line);
+    public static ArticleDelta fetchArticlesChangedSince(Instant since) throws Exception {
+        String url = API_BASE_URL + "/changes?since=" + URLEncoder.encode(since.toString(), StandardCharsets.UTF_8);
+        logger.info("Rufe Artikeländerungen seit {} ab", since);
+
+        HttpGet request = new HttpGet(url);
+        request.setHeader(HttpHeaders.ACCEPT, json.getReadAcceptHeader());
+        try {
+            ArticleDelta delta = HttpTransport.getInstance().execute(request, httpResponse -> {
+                int responseCode = httpResponse.getCode();
+                logger.debug("Delta-Response-Code: {}", responseCode);
+
+                if (responseCode == HttpStatus.SC_NOT_FOUND || responseCode == HttpStatus.SC_METHOD_NOT_ALLOWED
+                        || responseCode == HttpStatus.SC_NOT_IMPLEMENTED) {
+                    EntityUtils.consume(httpResponse.getEntity());
+                    return null;
+                }
+                if (responseCode != 200 || httpResponse.getEntity() == null) {
+                    EntityUtils.consume(httpResponse.getEntity());
+                    throw new RuntimeException("HTTP-Fehler: " + responseCode);
+                }
+                try (InputStream in = httpResponse.getEntity().getContent();
+                     JsonParser parser = json.createParser(in, httpResponse.getEntity().getContentType())) {
+                    return json.articleDeltaReader().readValue(parser);
+                }
+            });
+
+            if (delta == null) {
+                logger.info("Server unterstützt keine Delta-Abfragen");
+            } else {
+                logger.info("Delta erhalten: {} geändert, {} gelöscht",
+                        delta.changed != null ? delta.changed.size() : 0,
+                        delta.deleted != null ? delta.deleted.size() : 0);
             }
-            return response.toString();
+            return delta;
         } catch (Exception e) {
-            logger.error("Fehler beim Lesen der HTTP-Antwort: {}", e.getMessage());
+            logger.error("Fehler beim Abrufen der Artikeländerungen: {}", e.getMessage(), e);
             throw e;
         }
     }
 
     /**
-     * Deaktiviert die SSL-Zertifikatsprüfung für Entwicklungszwecke.
-     * HINWEIS: Diese Methode sollte in Produktionsumgebungen nicht verwendet werden!
+     * Führt eine Artikelabfrage mit Sortierung, Filter und Seitenausschnitt auf dem Server aus.
+     * Angefragt wird "{api.url}/query?sort=name,-price&filter=...&offset=0&limit=200"; ein führendes
+     * Minus kennzeichnet absteigende Sortierung.
+     *
+     * @param query Die Abfrage
+     * @return Die Ergebnisseite oder null, wenn der Server keine Abfragen unterstützt
+     * @throws Exception Bei Netzwerk-, Server- oder Parse-Problemen
      */
-    private static void disableSSLCertificateChecking() {
+    public static ArticlePage queryArticles(ArticleQuery query) throws Exception {
+        String url = API_BASE_URL + "/query?" + toQueryParameters(query);
+        logger.debug("Sende Abfrage an: {}", url);
+
+        HttpGet request = new HttpGet(url);
+        request.setHeader(HttpHeaders.ACCEPT, json.getReadAcceptHeader());
+        long start = System.nanoTime();
         try {
-            logger.warn("SSL-Zertifikatsprüfung wird deaktiviert. NICHT FÜR PRODUKTION GEEIGNET!");
-            TrustManager[] trustAllCertificates = new TrustManager[]{
-                    new X509TrustManager() {
-                        public X509Certificate[] getAcceptedIssuers() { return null; }
-                        public void checkClientTrusted(X509Certificate[] certs, String authType) {}
-                        public void checkServerTrusted(X509Certificate[] certs, String authType) {}
-                    }
-            };
+            ArticlePage page = HttpTransport.getInstance().execute(request, httpResponse -> {
+                int responseCode = httpResponse.getCode();
+                if (responseCode == HttpStatus.SC_NOT_FOUND || responseCode == HttpStatus.SC_METHOD_NOT_ALLOWED
+                        || responseCode == HttpStatus.SC_NOT_IMPLEMENTED) {
+                    EntityUtils.consume(httpResponse.getEntity());
+                    return null;
+                }
+                if (responseCode != 200 || httpResponse.getEntity() == null) {
+                    EntityUtils.consume(httpResponse.getEntity());
+                    throw new RuntimeException("HTTP-Fehler: " + responseCode);
+                }
+                try (InputStream in = httpResponse.getEntity().getContent();
+                     JsonParser parser = json.createParser(in, httpResponse.getEntity().getContentType())) {
+                    return json.articlePageReader().readValue(parser);
+                }
+            });
 
-            SSLContext sc = SSLContext.getInstance("TLS");
-            sc.init(null, trustAllCertificates, new java.security.SecureRandom());
-            HttpsURLConnection.setDefaultSSLSocketFactory(sc.getSocketFactory());
-            HttpsURLConnection.setDefaultHostnameVerifier((hostname, session) -> true);
-            logger.info("SSL-Zertifikatsprüfung wurde deaktiviert");
+            if (page == null) {
+                logger.info("Server unterstützt keine serverseitigen Abfragen");
+            } else {
+                logger.info("Seite {} von {} abgefragt: {} von {} Artikeln in {} ms", page.getPageNumber(),
+                        page.getPageCount(), page.items.size(), page.total, (System.nanoTime() - start) / 1_000_000);
+            }
+            return page;
         } catch (Exception e) {
-            logger.error("Fehler beim Deaktivieren der SSL-Zertifikatsprüfung: {}", e.getMessage(), e);
+            logger.error("Fehler bei der Artikelabfrage: {}", e.getMessage(), e);
+            throw e;
         }
     }
 
-    public static boolean checkConnection() {
-        try {
-            // Verwende nur die Basis-URL ohne spezifische Artikel-ID
-            URL url = new URL(API_BASE_URL);
-            HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-            conn.setConnectTimeout(5000);
-            conn.setReadTimeout(5000);
-            conn.setRequestMethod("GET");
-            int responseCode = conn.getResponseCode();
-            conn.disconnect();
-
-            // Bei GET auf die Basis-URL erwarten wir normalerweise einen 200 OK Status
-            return responseCode >= 200 && responseCode < 400;
-        } catch (Exception e) {
-            logger.debug("Verbindungscheck fehlgeschlagen: {}", e.getMessage());
-            return false;
+    /**
+     * Übersetzt eine Abfrage in Query-Parameter.
+     *
+     * @param query Die Abfrage
+     * @return Die kodierten Query-Parameter ohne führendes "?"
+     */
+    static String toQueryParameters(ArticleQuery query) {
+        StringBuilder params = new StringBuilder();
+        if (!query.sort().isEmpty()) {
+            StringBuilder sort = new StringBuilder();
+            for (ArticleQuery.SortKey key : query.sort()) {
+                if (sort.length() > 0) {
+                    sort.append(',');
+                }
+                sort.append(key.ascending() ? "" : "-").append(key.field());
+            }
+            params.append("sort=").append(URLEncoder.encode(sort.toString(), StandardCharsets.UTF_8)).append('&');
         }
+        if (query.filter() != null) {
+            params.append("filter=").append(URLEncoder.encode(query.filter(), StandardCharsets.UTF_8)).append('&');
+        }
+        params.append("offset=").append(query.offset()).append("&limit=").append(query.limit());
+        return params.toString();
     }
 
     /**
-     * Speichert Artikel in einer lokalen JSON-Datei mit Integritätsprüfung.
+     * Ermittelt die Änderungen gegenüber einem bekannten Stand anhand der Zeitstempel.
+     * Dafür wird nur die Projektion {@link Article#VERSION_FIELDS} des Katalogs geladen; vollständig
+     * abgerufen werden nur neue und geänderte Artikel. Dient als Alternative zum vollständigen Neuladen,
+     * wenn der Server keine Delta-Abfragen unterstützt.
      *
-     * @param articles Die zu speichernden Artikel
-     * @return true wenn erfolgreich gespeichert, false bei Fehler
+     * @param knownTimestamps Map von API-ID auf den zuletzt bekannten Zeitstempel
+     * @return Das clientseitig berechnete Delta (ohne serverTime)
+     * @throws Exception Bei Netzwerk-, Server- oder Parse-Problemen
      */
-    public static boolean saveArticlesToLocalFile(List<Article> articles) {
-        try {
-            File localDir = new File("localData");
-            if (!localDir.exists()) {
-                localDir.mkdir();
+    public static ArticleDelta fetchArticlesChangedFrom(Map<Integer, String> knownTimestamps) throws Exception {
+        long start = System.nanoTime();
+        Map<Integer, String> versions = fetchArticleVersions();
+
+        Set<Integer> changedIds = new HashSet<>();
+        for (Map.Entry<Integer, String> entry : versions.entrySet()) {
+            if (!Objects.equals(knownTimestamps.get(entry.getKey()), entry.getValue())) {
+                changedIds.add(entry.getKey());
+            }
+        }
+
+        ArticleDelta delta = new ArticleDelta();
+        delta.changed.addAll(fetchArticlesByIds(changedIds).values());
+        for (Integer id : knownTimestamps.keySet()) {
+            // Lokal angelegte Artikel (ID <= 0) kennt der Server noch nicht
+            if (id > 0 && !versions.containsKey(id)) {
+                delta.deleted.add(id);
             }
+        }
+
+        if (delta.changed.size() < changedIds.size()) {
+            logger.warn("{} geänderte Artikel konnten nicht abgerufen werden und werden beim nächsten Abgleich erneut geprüft",
+                    changedIds.size() - delta.changed.size());
+        }
+        logger.info("Versionsabgleich: {} geändert, {} gelöscht ({} Artikel geprüft, {} ms)",
+                delta.changed.size(), delta.deleted.size(), versions.size(), (System.nanoTime() - start) / 1_000_000);
+        return delta;
+    }
 
-            // JSON erstellen
-            ObjectMapper mapper = new ObjectMapper();
-            String jsonData = mapper.writeValueAsString(articles);
+    /**
+     * Ruft ID und Zeitstempel aller Artikel ab ({@link Article#VERSION_FIELDS}).
+     *
+     * @return Map von API-ID auf den aktuellen Zeitstempel
+     * @throws Exception Bei Netzwerk-, Server- oder Parse-Problemen
+     */
+    public static Map<Integer, String> fetchArticleVersions() throws Exception {
+        Map<Integer, String> versions = new HashMap<>();
+        streamArticleProjection(Article.VERSION_FIELDS, article -> versions.put(article.id, article.timestamp));
+        return versions;
+    }
 
-            // Hash berechnen
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hashBytes = digest.digest(jsonData.getBytes(StandardCharsets.UTF_8));
-            String hash = Base64.getEncoder().encodeToString(hashBytes);
+    /**
+     * Ruft alle Artikel ohne Formatierungen ab ({@link Article#LIST_FIELDS}) und übergibt sie einzeln an den Consumer.
+     * Artikel ohne Formatierungsdaten werden als {@link Article#partial} markiert und vor dem Speichern
+     * oder Formatieren über {@link #hydrateArticles(Collection)} vervollständigt.
+     *
+     * @param consumer Empfängt jeden Artikel, sobald er vollständig gelesen wurde
+     * @return Die Anzahl der gelesenen Artikel
+     * @throws Exception Bei Netzwerk-, Server- oder Parse-Problemen
+     */
+    public static int streamArticleSummaries(Consumer<Article> consumer) throws Exception {
+        return streamArticleProjection(Article.LIST_FIELDS, article -> {
+            if (article.styles == null) {
+                article.styles = new HashMap<>();
+            }
+            // Liefert der Server trotz Projektion Formatierungen, ist der Artikel bereits vollständig
+            article.partial = article.stylesJson == null && article.styles.isEmpty();
+            consumer.accept(article);
+        });
+    }
 
-            // Daten mit Hash speichern
-            Map<String, Object> dataWithHash = new HashMap<>();
-            dataWithHash.put("hash", hash);
-            dataWithHash.put("data", articles);
+    /**
+     * Ruft den Katalog in einer Projektion ab und übergibt die Artikel einzeln an den Consumer.
+     * Projektionen werden weder zwischen Aufrufern geteilt noch lokal gespeichert, da sie
+     * keinen vollständigen Stand darstellen.
+     *
+     * @param fields Kommagetrennte Feldliste
+     * @param consumer Empfängt jeden gelesenen Artikel
+     * @return Die Anzahl der gelesenen Artikel
+     * @throws Exception Bei Netzwerk-, Server- oder Parse-Problemen
+     */
+    private static int streamArticleProjection(String fields, Consumer<Article> consumer) throws Exception {
+        String url = withFields(API_BASE_URL, fields);
+        logger.debug("Sende GET-Request für Projektion an: {}", url);
+        HttpGet request = new HttpGet(url);
+        request.setHeader(HttpHeaders.ACCEPT, json.getReadAcceptHeader());
 
-            File file = new File(localDir, "articles.json");
-            mapper.writerWithDefaultPrettyPrinter().writeValue(file, dataWithHash);
+        long start = System.nanoTime();
+        int count = HttpTransport.getInstance().execute(request, httpResponse -> {
+            int responseCode = httpResponse.getCode();
+            if (responseCode != 200 || httpResponse.getEntity() == null) {
+                EntityUtils.consume(httpResponse.getEntity());
+                throw new RuntimeException("HTTP-Fehler: " + responseCode);
+            }
+            try (InputStream in = httpResponse.getEntity().getContent();
+                 JsonParser parser = json.createParser(in, httpResponse.getEntity().getContentType())) {
+                return readArticleArray(parser, consumer);
+            }
+        });
+        logger.info("{} Artikel in Projektion [{}] in {} ms abgerufen", count, fields, (System.nanoTime() - start) / 1_000_000);
+        return count;
+    }
 
-            logger.info("{} Artikel lokal gespeichert in: {}", articles.size(), file.getAbsolutePath());
+    /**
+     * Vervollständigt teilweise geladene Artikel um ihre Formatierungen.
+     * Die fehlenden Daten werden mit einer gesammelten Abfrage geladen; bearbeitete Listenfelder
+     * bleiben erhalten.
+     *
+     * @param articles Die zu prüfenden Artikel, vollständige Artikel werden übersprungen
+     * @return true wenn danach kein Artikel mehr unvollständig ist
+     */
+    public static boolean hydrateArticles(Collection<Article> articles) {
+        Set<Integer> ids = new HashSet<>();
+        for (Article article : articles) {
+            if (article.partial) {
+                ids.add(article.id);
+            }
+        }
+        if (ids.isEmpty()) {
             return true;
-        } catch (Exception e) {
-            logger.error("Fehler beim lokalen Speichern der Artikel: {}", e.getMessage(), e);
-            return false;
         }
+
+        Map<Integer, Article> full = fetchArticlesByIds(ids);
+        boolean complete = true;
+        for (Article article : articles) {
+            if (article.partial) {
+                Article source = full.get(article.id);
+                if (source != null) {
+                    article.hydrateFrom(source);
+                } else {
+                    complete = false;
+                }
+            }
+        }
+        logger.debug("{} Artikel vervollständigt ({} angefragt)", full.size(), ids.size());
+        return complete;
     }
 
     /**
-     * Lädt Artikel aus einer lokalen JSON-Datei mit Integritätsprüfung.
+     * Hängt eine Feldprojektion als Query-Parameter "fields" an eine URL an.
      *
-     * @return Liste der geladenen Artikel oder leere Liste bei Fehler
+     * @param url Die Basis-URL, ggf. bereits mit Query-Parametern
+     * @param fields Kommagetrennte Feldliste oder null
+     * @return Die URL mit Projektion bzw. unverändert, wenn keine Felder angegeben sind
      */
-    public static List<Article> loadArticlesFromLocalFile() {
-        try {
-            File file = new File("localData/articles.json");
-            if (!file.exists()) {
-                logger.warn("Keine lokale Artikeldatei gefunden");
-                return new ArrayList<>();
-            }
+    static String withFields(String url, String fields) {
+        if (fields == null) {
+            return url;
+        }
+        return url + (url.indexOf('?') >= 0 ? '&' : '?') + "fields=" + URLEncoder.encode(fields, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Aktualisiert einen bestehenden Artikel per PUT.
+     *
+     * @param article Der zu speichernde Artikel
+     * @return Die Antwort des Servers
+     * @throws Exception Bei Netzwerk- oder Serialisierungsproblemen
+     */
+    public static ApiResponse updateArticle(Article article) throws Exception {
+        // Ein unvollständiger Artikel würde die Formatierungen auf dem Server löschen
+        if (article.partial && !hydrateArticles(List.of(article))) {
+            throw new IOException("Formatierungen von Artikel ID " + article.id + " konnten nicht geladen werden");
+        }
+        String url = API_BASE_URL + "/" + article.id;
+        byte[] jsonPayload = json.articleWriter().writeValueAsBytes(article);
+        logger.debug("Sende PUT-Payload für Artikel ID {} ({} Bytes)", article.id, jsonPayload.length);
+
+        HttpPut request = new HttpPut(url);
+        // Nur mit Idempotency-Key wird die Anfrage bei vorübergehenden Fehlern wiederholt
+        if (RetryPolicy.getInstance().isIdempotencyKeyEnabled()) {
+            request.setHeader(RetryPolicy.IDEMPOTENCY_KEY_HEADER, UUID.randomUUID().toString());
+        }
+        return sendWriteRequest(request, jsonPayload);
+    }
 
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    /**
+     * Legt einen neuen Artikel per POST an.
+     *
+     * @param article Der anzulegende Artikel
+     * @return Die Antwort des Servers
+     * @throws Exception Bei Netzwerk- oder Serialisierungsproblemen
+     */
+    public static ApiResponse createArticle(Article article) throws Exception {
+        byte[] jsonPayload = json.articleWriter().writeValueAsBytes(article);
+        logger.debug("Sende POST-Payload für neuen Artikel ({} Bytes)", jsonPayload.length);
 
-            // Lese die komplette Struktur mit Hash
-            JsonNode rootNode = mapper.readTree(file);
-            String storedHash = rootNode.get("hash").asText();
-            JsonNode dataNode = rootNode.get("data");
+        HttpPost request = new HttpPost(API_BASE_URL);
+        // Der Idempotency-Key bleibt über alle Wiederholungen gleich, sodass der Server Duplikate erkennt
+        if (RetryPolicy.getInstance().isIdempotencyKeyEnabled()) {
+            request.setHeader(RetryPolicy.IDEMPOTENCY_KEY_HEADER, UUID.randomUUID().toString());
+        }
+        return sendWriteRequest(request, jsonPayload);
+    }
 
-            // JSON-Daten extrahieren und Hash überprüfen
-            String dataJson = dataNode.toString();
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hashBytes = digest.digest(dataJson.getBytes(StandardCharsets.UTF_8));
-            String calculatedHash = Base64.getEncoder().encodeToString(hashBytes);
+    /**
+     * Liest den angelegten Artikel aus der Antwort auf ein POST.
+     * Server, die den Artikel nicht zurückgeben, und Batch-Ergebnisse ohne Artikel liefern null.
+     *
+     * @param response Die Antwort des Servers
+     * @return Der angelegte Artikel mit Server-ID oder null, wenn die Antwort keinen enthält
+     */
+    public static Article readCreatedArticle(ApiResponse response) {
+        if (response == null || !response.isSuccessful() || response.getBody().isBlank()) {
+            return null;
+        }
+        try {
+            Article created = json.articleReader().readValue(response.getBody());
+            return created != null && created.id > 0 ? created : null;
+        } catch (IOException e) {
+            logger.debug("Antwort auf POST enthält keinen Artikel: {}", e.getMessage());
+            return null;
+        }
+    }
 
-            if (!storedHash.equals(calculatedHash)) {
-                logger.warn("Die lokale Datei wurde manipuliert! Hash stimmt nicht überein.");
-                return new ArrayList<>();
+    /**
+     * Löscht einen Artikel per DELETE.
+     *
+     * @param id Die API-ID des zu löschenden Artikels
+     * @return Die Antwort des Servers
+     * @throws Exception Bei Netzwerkproblemen
+     */
+    public static ApiResponse deleteArticle(int id) throws Exception {
+        logger.debug("Sende DELETE-Anfrage für Artikel ID {}", id);
+        return sendWriteRequest(new HttpDelete(API_BASE_URL + "/" + id));
+    }
+
+    /**
+     * Aktualisiert mehrere Artikel parallel per PUT.
+     *
+     * @param articles Die zu speichernden Artikel
+     * @return Zusammenfassung mit dem Ergebnis pro Artikel
+     */
+    public static WriteSummary updateArticles(Collection<Article> articles) {
+        // Teilweise geladene Artikel gesammelt vervollständigen; was nicht gelingt, wird nicht gesendet
+        hydrateArticles(articles);
+        List<Article> writable = new ArrayList<>(articles.size());
+        List<WriteSummary.Result> rejected = new ArrayList<>();
+        for (Article article : articles) {
+            if (article.partial) {
+                rejected.add(new WriteSummary.Result(article, null,
+                        new IOException("Formatierungen von Artikel ID " + article.id + " konnten nicht geladen werden")));
+            } else {
+                writable.add(article);
             }
+        }
 
-            // Daten deserialisieren
-            Article[] articleArray = mapper.treeToValue(dataNode, Article[].class);
-            List<Article> articles = new ArrayList<>(Arrays.asList(articleArray));
-            logger.info("{} Artikel aus lokaler Datei geladen (Integritätsprüfung bestanden)", articles.size());
-            return articles;
-        } catch (Exception e) {
-            logger.error("Fehler beim Laden lokaler Artikel: {}", e.getMessage(), e);
-            return new ArrayList<>();
+        ArticleWrite write = isHttp2Enabled()
+                ? article -> await(AsyncApiClient.getInstance().updateAsync(article))
+                : ApiClient::updateArticle;
+        WriteSummary summary = writable.size() > 1 && isBatchSupported("PUT")
+                ? writeInBatches(writable, "PUT", write)
+                : writeInParallel(writable, "PUT", write);
+        if (rejected.isEmpty()) {
+            return summary;
         }
+        List<WriteSummary.Result> results = new ArrayList<>(summary.getResults());
+        results.addAll(rejected);
+        return new WriteSummary(results);
     }
 
+    /**
+     * Legt mehrere Artikel parallel per POST an.
+     *
+     * @param articles Die anzulegenden Artikel
+     * @return Zusammenfassung mit dem Ergebnis pro Artikel
+     */
+    public static WriteSummary createArticles(Collection<Article> articles) {
+        ArticleWrite write = isHttp2Enabled()
+                ? article -> await(AsyncApiClient.getInstance().createAsync(article))
+                : ApiClient::createArticle;
+        if (articles.size() > 1 && isBatchSupported("POST")) {
+            return writeInBatches(new ArrayList<>(articles), "POST", write);
+        }
+        return writeInParallel(articles, "POST", write);
+    }
+
+    /**
+     * Prüft, ob parallele Einzelanfragen über den multiplexten HTTP/2-Client gesendet werden.
+     *
+     * @return true bei "http.version=HTTP_2"
+     */
+    private static boolean isHttp2Enabled() {
+        return "HTTP_2".equals(AppConfig.getInstance().getHttpVersion());
+    }
+
+    /**
+     * Wartet auf das Ergebnis eines asynchronen Aufrufs und gibt dessen ursprüngliche Ausnahme weiter.
+     *
+     * @param future Das Future des asynchronen Aufrufs
+     * @param <T> Der Ergebnistyp
+     * @return Das Ergebnis
+     * @throws Exception Die im asynchronen Aufruf aufgetretene Ausnahme
+     */
+    private static <T> T await(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        }
+    }
+
+    /**
+     * Prüft, ob der Server den Batch-Endpunkt für die angegebene Methode anbietet.
+     * Die Fähigkeit wird einmalig per OPTIONS-Anfrage ermittelt (Allow-Header) und für die Sitzung gemerkt.
+     *
+     * @param method Die HTTP-Methode (PUT oder POST)
+     * @return true wenn der Batch-Modus aktiviert ist und der Server die Methode anbietet
+     */
+    private static boolean isBatchSupported(String method) {
+        if (!AppConfig.getInstance().isBatchWriteEnabled()) {
+            return false;
+        }
+
+        Set<String> methods = batchMethods;
+        if (methods == null) {
+            try {
+                methods = HttpTransport.getInstance().execute(new HttpOptions(API_BASE_URL + "/batch"), httpResponse -> {
+                    EntityUtils.consume(httpResponse.getEntity());
+                    Set<String> allowed = new HashSet<>();
+                    if (httpResponse.getCode() >= 200 && httpResponse.getCode() < 300) {
+                        for (Header header : httpResponse.getHeaders(HttpHeaders.ALLOW)) {
+                            for (String allowedMethod : header.getValue().split(",")) {
+                                allowed.add(allowedMethod.trim().toUpperCase());
+                            }
+                        }
+                    }
+                    return allowed;
+                });
+                batchMethods = methods;
+                if (methods.isEmpty()) {
+                    logger.info("Server bietet keinen Batch-Endpunkt an, verwende Einzelanfragen");
+                } else {
+                    logger.info("Batch-Endpunkt verfügbar für {}", methods);
+                }
+            } catch (Exception e) {
+                // Nicht merken: beim nächsten Speichern erneut prüfen
+                logger.debug("Batch-Fähigkeit konnte nicht ermittelt werden: {}", e.getMessage());
+                return false;
+            }
+        }
+        return methods.contains(method);
+    }
+
+    /**
+     * Sendet Artikel in Blöcken von "api.batch.size" an den Batch-Endpunkt.
+     * Lehnt der Server den Endpunkt ab, werden die restlichen Artikel einzeln gesendet.
+     *
+     * @param articles Die zu schreibenden Artikel
+     * @param method Die HTTP-Methode (PUT oder POST)
+     * @param fallback Der Schreibvorgang für einen einzelnen Artikel
+     * @return Zusammenfassung mit dem Ergebnis pro Artikel
+     */
+    private static WriteSummary writeInBatches(List<Article> articles, String method, ArticleWrite fallback) {
+        int batchSize = Math.max(1, AppConfig.getInstance().getBatchSize());
+        List<WriteSummary.Result> results = new ArrayList<>();
+        long start = System.nanoTime();
+        int batches = 0;
+
+        for (int i = 0; i < articles.size(); i += batchSize) {
+            List<Article> chunk = articles.subList(i, Math.min(i + batchSize, articles.size()));
+            List<WriteSummary.Result> chunkResults;
+            try {
+                chunkResults = sendBatch(chunk, method);
+            } catch (Exception e) {
+                logger.error("Fehler bei {}-Batch mit {} Artikeln: {}", method, chunk.size(), e.getMessage());
+                chunkResults = new ArrayList<>();
+                for (Article article : chunk) {
+                    chunkResults.add(new WriteSummary.Result(article, null, e));
+                }
+            }
+
+            if (chunkResults == null) {
+                logger.info("Batch-Endpunkt nicht verfügbar, verwende parallele Einzelanfragen");
+                batchMethods = Set.of();
+                results.addAll(writeInParallel(articles.subList(i, articles.size()), method, fallback).getResults());
+                break;
+            }
+            results.addAll(chunkResults);
+            batches++;
+        }
+
+        WriteSummary summary = new WriteSummary(results);
+        logger.info("{} Artikel per {}-Batch in {} Anfragen und {} ms geschrieben ({} fehlgeschlagen)",
+                results.size(), method, batches, (System.nanoTime() - start) / 1_000_000, summary.getFailed().size());
+        return summary;
+    }
+
+    /**
+     * Sendet einen Block von Artikeln in einer Anfrage an den Batch-Endpunkt.
+     * Der Server antwortet mit einem Status pro Artikel in derselben Reihenfolge, entweder als
+     * Array oder als Objekt mit dem Feld "results". Jeder Eintrag enthält "status" und optional
+     * "error" bzw. "message". Eine 2xx-Antwort ohne Inhalt gilt als Erfolg für alle Artikel.
+     *
+     * @param chunk Die Artikel dieses Blocks
+     * @param method Die HTTP-Methode (PUT oder POST)
+     * @return Die Ergebnisse pro Artikel oder null, wenn der Server den Endpunkt nicht unterstützt
+     * @throws Exception Bei Netzwerk-, Serialisierungs- oder Parse-Problemen
+     */
+    private static List<WriteSummary.Result> sendBatch(List<Article> chunk, String method) throws Exception {
+        String url = API_BASE_URL + "/batch";
+        HttpUriRequestBase request = "PUT".equals(method) ? new HttpPut(url) : new HttpPost(url);
+        request.setHeader(HttpHeaders.ACCEPT, "application/json");
+        if (RetryPolicy.getInstance().isIdempotencyKeyEnabled()) {
+            request.setHeader(RetryPolicy.IDEMPOTENCY_KEY_HEADER, UUID.randomUUID().toString());
+        }
+        byte[] body = json.articleListWriter().writeValueAsBytes(chunk);
+        logger.debug("Sende {}-Batch mit {} Artikeln ({} Bytes)", method, chunk.size(), body.length);
+
+        ApiResponse response;
+        try {
+            response = executeWithBody(request, body);
+        } finally {
+            catalogFlight.invalidate();
+        }
+        int responseCode = response.getStatusCode();
+        logger.debug("Batch-Response-Code: {}", responseCode);
+
+        if (responseCode == HttpStatus.SC_NOT_FOUND || responseCode == HttpStatus.SC_METHOD_NOT_ALLOWED
+                || responseCode == HttpStatus.SC_NOT_IMPLEMENTED) {
+            return null;
+        }
+
+        List<WriteSummary.Result> results = new ArrayList<>(chunk.size());
+        if (!response.isSuccessful()) {
+            // Der gesamte Block wurde abgelehnt
+            for (Article article : chunk) {
+                results.add(new WriteSummary.Result(article, response, null));
+            }
+            return results;
+        }
+
+        JsonNode items = response.getBody().isBlank() ? null : json.getMapper().readTree(response.getBody());
+        if (items != null && items.isObject()) {
+            items = items.get("results");
+        }
+        for (int i = 0; i < chunk.size(); i++) {
+            Article article = chunk.get(i);
+            if (items == null || !items.isArray()) {
+                results.add(new WriteSummary.Result(article, new ApiResponse(responseCode, ""), null));
+                continue;
+            }
+            JsonNode item = items.get(i);
+            if (item == null) {
+                results.add(new WriteSummary.Result(article, null,
+                        new IOException("Kein Ergebnis für Artikel ID " + article.id + " in der Batch-Antwort")));
+                continue;
+            }
+            int status = item.path("status").asInt(responseCode);
+            String message = item.path("error").asText(item.path("message").asText(""));
+            results.add(new WriteSummary.Result(article, new ApiResponse(status, message), null));
+        }
+        return results;
+    }
+
+    /**
+     * Führt einen Schreibvorgang pro Artikel auf einem eigenen virtuellen Thread aus.
+     * Die Anzahl gleichzeitiger Anfragen wird durch "api.write.concurrency" begrenzt.
+     * Fehler einzelner Artikel brechen den Vorgang nicht ab, sondern werden gesammelt.
+     *
+     * @param articles Die zu schreibenden Artikel
+     * @param method Die HTTP-Methode für Log-Ausgaben
+     * @param write Der Schreibvorgang für einen Artikel
+     * @return Zusammenfassung mit dem Ergebnis pro Artikel
+     */
+    private static WriteSummary writeInParallel(Collection<Article> articles, String method, ArticleWrite write) {
+        int concurrency = Math.max(1, AppConfig.getInstance().getWriteConcurrency());
+        Semaphore permits = new Semaphore(concurrency);
+        List<Future<WriteSummary.Result>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Article article : articles) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return new WriteSummary.Result(article, write.write(article), null);
+                    } catch (Exception e) {
+                        return new WriteSummary.Result(article, null, e);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        List<WriteSummary.Result> results = new ArrayList<>();
+        for (Future<WriteSummary.Result> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (Exception e) {
+                // Tritt nur bei Unterbrechung auf, die Einzelfehler werden im Task abgefangen
+                logger.error("Unerwarteter Fehler im Schreibvorgang: {}", e.getMessage(), e);
+            }
+        }
+
+        WriteSummary summary = new WriteSummary(results);
+        logger.info("{} {}-Anfragen in {} ms abgeschlossen ({} fehlgeschlagen, max. {} gleichzeitig)",
+                results.size(), method, (System.nanoTime() - start) / 1_000_000,
+                summary.getFailed().size(), concurrency);
+        return summary;
+    }
+
+    /**
+     * Hilfsmethode für GET-Requests.
+     * Die Antwort wird im vom Server gewählten Format (JSON, Smile oder CBOR) gelesen.
+     *
+     * @param url Die URL für den GET-Request
+     * @param reader Der Reader für den erwarteten Typ
+     * @param <T> Der erwartete Typ
+     * @return Der gelesene Wert
+     * @throws Exception Bei Netzwerk-, Server- oder Parse-Problemen
+     */
+    private static <T> T sendGetRequest(String url, ObjectReader reader) throws Exception {
+        logger.debug("Sende GET-Request an: {}", url);
+        try {
+            HttpGet request = new HttpGet(url);
+            request.setHeader(HttpHeaders.ACCEPT, json.getReadAcceptHeader());
+
+            T response = HttpTransport.getInstance().execute(request, httpResponse -> {
+                int responseCode = httpResponse.getCode();
+                logger.debug("GET-Response-Code: {}", responseCode);
+
+                if (responseCode != 200) {
+                    logger.warn("Unerwarteter HTTP-Response-Code: {}", responseCode);
+                    EntityUtils.consume(httpResponse.getEntity());
+                    throw new RuntimeException("HTTP-Fehler: " + responseCode);
+                }
+                if (httpResponse.getEntity() == null) {
+                    throw new IOException("Leere Antwort vom Server");
+                }
+                try (InputStream in = httpResponse.getEntity().getContent();
+                     JsonParser parser = json.createParser(in, httpResponse.getEntity().getContentType())) {
+                    return reader.<T>readValue(parser);
+                }
+            });
+            logger.debug("GET-Request erfolgreich");
+            return response;
+        } catch (Exception e) {
+            logger.error("Fehler bei GET-Request an {}: {}", url, e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Hilfsmethode für schreibende Requests (PUT, POST, DELETE).
+     * Der Antworttext wird immer gelesen, damit die Verbindung wiederverwendet werden kann.
+     *
+     * @param request Die auszuführende Anfrage
+     * @return Statuscode und Antworttext
+     * @throws Exception Bei Netzwerkproblemen
+     */
+    private static ApiResponse sendWriteRequest(ClassicHttpRequest request) throws Exception {
+        request.setHeader(HttpHeaders.ACCEPT, "application/json");
+        try {
+            ApiResponse response = HttpTransport.getInstance().execute(request, httpResponse ->
+                    new ApiResponse(httpResponse.getCode(), readResponse(httpResponse.getEntity())));
+            logger.debug("{}-Antwortcode: {}", request.getMethod(), response.getStatusCode());
+            return response;
+        } catch (Exception e) {
+            logger.error("Fehler bei {}-Request an {}: {}", request.getMethod(), request.getRequestUri(), e.getMessage());
+            throw e;
+        } finally {
+            // Auch bei Fehlern kann der Server die Änderung übernommen haben
+            catalogFlight.invalidate();
+        }
+    }
+
+    /**
+     * Hilfsmethode für schreibende Requests mit JSON-Body (PUT, POST).
+     *
+     * @param request Die auszuführende Anfrage ohne Entity
+     * @param body Der JSON-Body
+     * @return Statuscode und Antworttext
+     * @throws Exception Bei Netzwerkproblemen
+     */
+    private static ApiResponse sendWriteRequest(HttpUriRequestBase request, byte[] body) throws Exception {
+        request.setHeader(HttpHeaders.ACCEPT, "application/json");
+        try {
+            ApiResponse response = executeWithBody(request, body);
+            logger.debug("{}-Antwortcode: {}", request.getMethod(), response.getStatusCode());
+            return response;
+        } catch (Exception e) {
+            logger.error("Fehler bei {}-Request an {}: {}", request.getMethod(), request.getRequestUri(), e.getMessage());
+            throw e;
+        } finally {
+            // Auch bei Fehlern kann der Server die Änderung übernommen haben
+            catalogFlight.invalidate();
+        }
+    }
+
+    /**
+     * Sendet eine Anfrage mit JSON-Body, oberhalb des Schwellwerts gzip-komprimiert.
+     * Lehnt der Server den komprimierten Body ab (415), wird die Anfrage einmal unkomprimiert wiederholt.
+     *
+     * @param request Die auszuführende Anfrage ohne Entity
+     * @param body Der JSON-Body
+     * @return Statuscode und Antworttext
+     * @throws IOException Bei Netzwerkproblemen
+     */
+    private static ApiResponse executeWithBody(HttpUriRequestBase request, byte[] body) throws IOException {
+        boolean compressed = HttpCompression.shouldCompress(body.length);
+        request.setEntity(HttpCompression.jsonEntity(body, compressed));
+        ApiResponse response = HttpTransport.getInstance().execute(request, httpResponse ->
+                new ApiResponse(httpResponse.getCode(), readResponse(httpResponse.getEntity())));
+
+        if (compressed && response.getStatusCode() == HttpStatus.SC_UNSUPPORTED_MEDIA_TYPE) {
+            HttpCompression.disableRequestCompression();
+            request.setEntity(HttpCompression.jsonEntity(body, false));
+            response = HttpTransport.getInstance().execute(request, httpResponse ->
+                    new ApiResponse(httpResponse.getCode(), readResponse(httpResponse.getEntity())));
+        }
+        return response;
+    }
+
+    /**
+     * Liest den Antworttext einer HTTP-Antwort als UTF-8.
+     *
+     * @param entity Die Entity der Antwort, darf null sein
+     * @return Die Antwort als String, leer wenn keine Entity vorhanden ist
+     * @throws IOException Bei Problemen beim Lesen der Antwort
+     */
+    private static String readResponse(HttpEntity entity) throws IOException {
+        if (entity == null) {
+            return "";
+        }
+        try {
+            return EntityUtils.toString(entity, StandardCharsets.UTF_8);
+        } catch (ParseException e) {
+            logger.error("Fehler beim Lesen der HTTP-Antwort: {}", e.getMessage());
+            throw new IOException(e);
+        } catch (IOException e) {
+            logger.error("Fehler beim Lesen der HTTP-Antwort: {}", e.getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * Prüft, ob der Server erreichbar ist.
+     *
+     * @return true wenn der Server auf die Verbindungsprüfung antwortet, sonst false
+     */
+    public static boolean checkConnection() {
+        return probeConnection() >= 0;
+    }
+
+    /**
+     * Misst die Antwortzeit des Servers mit einer leichtgewichtigen Anfrage.
+     * Standardmäßig wird ein HEAD-Request an die API-URL gesendet, sodass keine Artikeldaten
+     * übertragen werden. Über "api.health.url" und "api.health.method" kann ein eigener
+     * Health-Endpunkt konfiguriert werden.
+     *
+     * @return Die Round-Trip-Zeit in Millisekunden oder -1, wenn der Server nicht erreichbar ist
+     */
+    public static long probeConnection() {
+        AppConfig config = AppConfig.getInstance();
+        String healthUrl = config.getHealthCheckUrl();
+        String url = healthUrl.isEmpty() ? API_BASE_URL : healthUrl;
+        String method = config.getHealthCheckMethod();
+
+        try {
+            HttpUriRequestBase request = "GET".equals(method) ? new HttpGet(url) : new HttpHead(url);
+            // Der Verbindungsaufbau ist über die ConnectionConfig des Pools begrenzt
+            request.setConfig(RequestConfig.custom()
+                    .setConnectionRequestTimeout(Timeout.ofSeconds(5))
+                    .setResponseTimeout(Timeout.ofSeconds(5))
+                    .build());
+
+            long start = System.nanoTime();
+            int responseCode = HttpTransport.getInstance().execute(request, httpResponse -> {
+                EntityUtils.consume(httpResponse.getEntity());
+                return httpResponse.getCode();
+            });
+            long latencyMillis = (System.nanoTime() - start) / 1_000_000;
+
+            // Jede Antwort unterhalb von 5xx zeigt, dass der Server läuft (z.B. 405, falls HEAD nicht erlaubt ist)
+            if (responseCode >= 500) {
+                logger.debug("Verbindungscheck: Server antwortet mit {}", responseCode);
+                return -1;
+            }
+            logger.trace("Verbindungscheck: {} {} -> {} in {} ms", request.getMethod(), url, responseCode, latencyMillis);
+            return latencyMillis;
+        } catch (Exception e) {
+            logger.debug("Verbindungscheck fehlgeschlagen: {}", e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Speichert Artikel in der lokalen Datei mit Integritätsprüfung (Format gemäß "local.format").
+     * Die Datei ersetzt den bisherigen Stand einschließlich aller Journal-Datensätze.
+     *
+     * Teilweise geladene Artikel der Liste werden nur aus der lokalen Ablage vervollständigt (siehe
+     * {@link #completePartialArticles}); den ganzen Katalog dafür vom Server nachzuladen, würde mehr
+     * übertragen als der vollständige Abruf, den die Projektion einspart. Bleiben Artikel unvollständig,
+     * wird nicht gespeichert, da die lokale Datei sonst deren Formatierungen verlieren würde. Die bisherige
+     * Datei bleibt dann erhalten; einzelne Änderungen gehen weiterhin ins Journal.
+     * Entspricht die Liste dem zuletzt per {@link #streamArticles} geladenen Katalog, werden dessen
+     * HTTP-Validatoren zusammen mit dem Hash der neuen Datei gespeichert.
+     *
+     * @param articles Die zu speichernden Artikel
+     * @return true wenn erfolgreich gespeichert, false bei Fehler oder unvollständigen Artikeln
+     */
+    public static boolean saveArticlesToLocalFile(List<Article> articles) {
+        if (!completePartialArticles(articles, false)) {
+            logger.info("Lokales Speichern übersprungen: die Liste enthält Artikel ohne geladene Formatierungen");
+            return false;
+        }
+        PendingValidators pending = pendingValidators;
+        String hash = writeLocalFile(articles);
+        if (hash == null) {
+            return false;
+        }
+        // Entspricht die Liste dem zuletzt geladenen Serverstand, gelten dessen Validatoren für die neue Datei
+        if (pending != null && pending.matches(articles)) {
+            storeValidators(pending.etag(), pending.lastModified(), hash);
+            pendingValidators = null;
+        }
+        return true;
+    }
+
+    /**
+     * Vervollständigt teilweise geladene Artikel vor dem lokalen Speichern, damit die lokale Kopie
+     * keine Formatierungen verliert. Bevorzugt werden die Formatierungen der lokalen Ablage übernommen,
+     * sofern der gespeicherte Artikel denselben Zeitstempel hat; die übrigen Artikel werden auf Wunsch vom
+     * Server nachgeladen. Die Artikel werden dabei verändert, Aufrufer übergeben daher Kopien.
+     *
+     * @param articles Die zu speichernden Artikel
+     * @param fetchMissing true, um nicht lokal vorhandene Formatierungen vom Server zu laden
+     * @return true wenn danach kein Artikel mehr unvollständig ist
+     */
+    private static boolean completePartialArticles(Collection<Article> articles, boolean fetchMissing) {
+        List<Article> partial = new ArrayList<>();
+        for (Article article : articles) {
+            if (article.partial) {
+                partial.add(article);
+            }
+        }
+        if (partial.isEmpty()) {
+            return true;
+        }
+
+        ArticleStore store = getLocalStore();
+        List<Article> missing = new ArrayList<>();
+        for (Article article : partial) {
+            Article stored = store != null ? store.get(article.id) : null;
+            if (stored != null && !stored.partial && Objects.equals(stored.timestamp, article.timestamp)) {
+                article.hydrateFrom(stored);
+            } else {
+                missing.add(article);
+            }
+        }
+        logger.debug("{} teilweise geladene Artikel aus der lokalen Ablage vervollständigt, {} fehlen",
+                partial.size() - missing.size(), missing.size());
+        return missing.isEmpty() || (fetchMissing && hydrateArticles(missing));
+    }
+
+    /**
+     * Nimmt ID und Zeitstempel eines Artikels in den Fingerabdruck eines Katalogs auf.
+     *
+     * @param crc Der Fingerabdruck
+     * @param id Die Artikel-ID
+     * @param timestamp Der Zeitstempel oder null
+     */
+    private static void updateFingerprint(CRC32C crc, int id, String timestamp) {
+        crc.update(id >>> 24);
+        crc.update(id >>> 16);
+        crc.update(id >>> 8);
+        crc.update(id);
+        if (timestamp != null) {
+            crc.update(timestamp.getBytes(StandardCharsets.UTF_8));
+        }
+        crc.update('\n');
+    }
+
+    /**
+     * Sichert einzelne Änderungen im Änderungsjournal der lokalen Datei, ohne die Datei neu zu schreiben.
+     * Der Aufwand hängt nur von der Anzahl der Änderungen ab. Übersteigt das Journal die konfigurierte
+     * Größe, wird es im Hintergrund in die lokale Datei übernommen.
+     *
+     * @param changed Geänderte oder neue Artikel
+     * @param deletedIds IDs gelöschter Artikel
+     * @return true wenn gesichert, false wenn das Journal deaktiviert ist, noch keine lokale Datei existiert,
+     *         teilweise geladene Artikel nicht vervollständigt werden konnten oder ein Fehler auftrat
+     *         (dann die gesamte Liste speichern)
+     */
+    public static boolean journalLocalChanges(Collection<Article> changed, Collection<Integer> deletedIds) {
+        AppConfig config = AppConfig.getInstance();
+        if (!config.isJournalEnabled()) {
+            return false;
+        }
+        if (!completePartialArticles(changed, true)) {
+            logger.warn("Journal übersprungen: Formatierungen geänderter Artikel konnten nicht geladen werden");
+            return false;
+        }
+
+        synchronized (localFileLock) {
+            if (currentLocalFile() == null) {
+                // Ohne Ausgangsdatei gibt es keinen Stand, auf den sich das Journal beziehen kann
+                return false;
+            }
+            try {
+                long sequence = journal.append(changed, deletedIds, currentLocalFileJournalSeq());
+                ArticleStore store = localStore;
+                if (store != null) {
+                    store.apply(changed, deletedIds);
+                }
+                // Die lokalen Daten entsprechen nicht mehr dem letzten Serverstand
+                deleteValidators();
+                pendingValidators = null;
+                logger.debug("{} Änderungen im Journal gesichert (Sequenz {})",
+                        changed.size() + deletedIds.size(), sequence);
+
+                if (journal.size() >= config.getJournalCompactionThreshold()) {
+                    scheduleJournalCompaction();
+                }
+                return true;
+            } catch (Exception e) {
+                logger.error("Fehler beim Schreiben des Änderungsjournals: {}", e.getMessage(), e);
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Startet die Übernahme des Journals in die lokale Datei im Hintergrund, sofern sie nicht bereits läuft.
+     */
+    private static void scheduleJournalCompaction() {
+        if (compactionScheduled.compareAndSet(false, true)) {
+            compactionExecutor.execute(() -> {
+                try {
+                    compactJournal();
+                } finally {
+                    compactionScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Übernimmt das Journal in die lokale Datei.
+     * Lesen, Anwenden und Serialisieren laufen ohne Sperre in eine temporäre Datei, sodass weitere
+     * Änderungen währenddessen angehängt werden können. Nur das atomare Ersetzen der Datei und das Kürzen
+     * des Journals erfolgen unter der Sperre. Wurde die Datei inzwischen anderweitig neu geschrieben,
+     * wird das Ergebnis verworfen.
+     *
+     * @return true wenn das Journal übernommen wurde
+     */
+    static boolean compactJournal() {
+        LocalFileContent content;
+        List<ChangeJournal.Entry> entries;
+        int version;
+        synchronized (localFileLock) {
+            try {
+                content = readLocalFileContent();
+                if (content == null) {
+                    return false;
+                }
+                entries = journal.readEntries();
+                version = localFileVersion;
+            } catch (IOException e) {
+                logger.warn("Journal konnte nicht gelesen werden: {}", e.getMessage());
+                return false;
+            }
+        }
+        if (entries.isEmpty()) {
+            return false;
+        }
+
+        long startTime = System.currentTimeMillis();
+        TempLocalFile temp = null;
+        try {
+            LocalSnapshot snapshot = parseLocalFile(content);
+            if (snapshot == null) {
+                return false;
+            }
+            List<Article> articles = applyJournal(snapshot.articles(), entries, snapshot.journalSeq());
+            long sequence = entries.get(entries.size() - 1).seq();
+            temp = writeLocalFileTemp(articles, sequence, ".compact.tmp");
+
+            synchronized (localFileLock) {
+                if (version != localFileVersion) {
+                    logger.debug("Lokale Datei wurde während der Journal-Übernahme neu geschrieben, Ergebnis verworfen");
+                    Files.deleteIfExists(temp.temp());
+                    return false;
+                }
+                commitLocalFile(temp, sequence);
+            }
+            logger.info("Journal mit {} Datensätzen in lokale Datei übernommen ({} Artikel, {} ms)",
+                    entries.size(), articles.size(), System.currentTimeMillis() - startTime);
+            return true;
+        } catch (Exception e) {
+            logger.error("Fehler beim Übernehmen des Journals: {}", e.getMessage(), e);
+            try {
+                if (temp != null) {
+                    Files.deleteIfExists(temp.temp());
+                }
+            } catch (IOException ignored) {
+                // Die temporäre Datei wird beim nächsten Versuch überschrieben
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Schreibt Artikel mit Hash in die lokale Datei.
+     * Die Datei wird zunächst vollständig in eine temporäre Datei geschrieben und dann atomar ersetzt,
+     * sodass ein Absturz während des Schreibens die bisherige Datei nicht beschädigt.
+     * Die Artikel enthalten alle bisherigen Journal-Datensätze, das Journal wird daher geleert.
+     *
+     * @param articles Die zu speichernden Artikel
+     * @return Der gespeicherte Hash oder null bei Fehler
+     */
+    private static String writeLocalFile(List<Article> articles) {
+        synchronized (localFileLock) {
+            try {
+                long sequence = journal.getLastSequence();
+                TempLocalFile temp = writeLocalFileTemp(articles, sequence, ".tmp");
+                File target = commitLocalFile(temp, sequence);
+                // Eine bereits genutzte Ablage gleich neu aufbauen: eine JSON-Datei aus den Artikeln, eine binäre
+                // über die neue Datei, ohne die Artikel zu dekodieren
+                if (localStore != null) {
+                    localStore = temp.binary() ? openBinaryStore(target) : ArticleStore.of(articles);
+                }
+
+                logger.info("{} Artikel lokal gespeichert in: {}", articles.size(), target.getAbsolutePath());
+                return temp.hash();
+            } catch (Exception e) {
+                logger.error("Fehler beim lokalen Speichern der Artikel: {}", e.getMessage(), e);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Baut die indizierte Ablage über eine soeben geschriebene binäre Datei auf.
+     * Schlägt das fehl, wird die Ablage beim nächsten Zugriff über {@link #getLocalStore()} neu geladen.
+     *
+     * @param file Die binäre lokale Datei
+     * @return Die Ablage oder null bei Fehler
+     */
+    private static ArticleStore openBinaryStore(File file) {
+        try {
+            BinarySnapshot binary = BinarySnapshot.open(file.toPath());
+            return new ArticleStore(binary, binary.getDamagedRecords());
+        } catch (IOException e) {
+            logger.warn("Indizierte Ablage konnte nicht geöffnet werden: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Schreibt die lokale Artikeldatei im konfigurierten Format in eine temporäre Datei und bringt sie
+     * auf den Datenträger.
+     *
+     * @param articles Die zu speichernden Artikel
+     * @param journalSeq Die höchste in den Artikeln enthaltene Journal-Sequenz
+     * @param tempSuffix Endung der temporären Datei
+     * @return Die temporäre Datei mit dem Hash der Artikeldaten
+     * @throws Exception Bei Problemen beim Serialisieren oder Schreiben
+     */
+    private static TempLocalFile writeLocalFileTemp(List<Article> articles, long journalSeq, String tempSuffix)
+            throws Exception {
+        if (!LOCAL_DATA_DIR.exists()) {
+            LOCAL_DATA_DIR.mkdir();
+        }
+
+        if ("BINARY".equals(AppConfig.getInstance().getLocalFormat())) {
+            Path temp = new File(LOCAL_DATA_DIR, BINARY_FILE_PREFIX + "bin" + tempSuffix).toPath();
+            return new TempLocalFile(temp, true, BinarySnapshot.write(articles, journalSeq, temp));
+        }
+        Path temp = new File(LOCAL_DATA_DIR, LOCAL_ARTICLES_FILE.getName() + tempSuffix).toPath();
+        return new TempLocalFile(temp, false, JsonSnapshot.write(articles, journalSeq, temp));
+    }
+
+    /**
+     * Ersetzt die lokale Datei atomar durch die temporäre Datei und entfernt die übernommenen Journal-Datensätze.
+     * Eine binäre Datei wird unter dem Namen der nächsten Generation abgelegt; ältere Dateien beider
+     * Formate werden anschließend gelöscht, soweit sie nicht noch eingebunden sind.
+     * Muss unter localFileLock aufgerufen werden.
+     *
+     * @param temp Die vollständig geschriebene temporäre Datei
+     * @param journalSeq Die höchste in der Datei enthaltene Journal-Sequenz
+     * @return Die neue lokale Datei
+     * @throws IOException Wenn die Datei nicht ersetzt werden kann
+     */
+    private static File commitLocalFile(TempLocalFile temp, long journalSeq) throws IOException {
+        File target;
+        if (temp.binary()) {
+            File current = findBinaryLocalFile();
+            long generation = current != null ? binaryFileGeneration(current) + 1 : 1;
+            target = new File(LOCAL_DATA_DIR, BINARY_FILE_PREFIX + generation + BINARY_FILE_SUFFIX);
+            Files.move(temp.temp(), target.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } else {
+            target = LOCAL_ARTICLES_FILE;
+            Files.move(temp.temp(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        deleteObsoleteLocalFiles(target);
+        localFileVersion++;
+        localFileJournalSeq = journalSeq;
+        // Schlägt das Kürzen fehl, bleiben die Datensätze stehen und werden beim Laden übersprungen
+        try {
+            journal.discardUpTo(journalSeq);
+        } catch (IOException e) {
+            logger.warn("Journal konnte nicht gekürzt werden: {}", e.getMessage());
+        }
+        return target;
+    }
+
+    /**
+     * Löscht alle lokalen Dateien außer der angegebenen. Noch eingebundene binäre Dateien lassen sich
+     * unter Windows nicht löschen; sie werden beim nächsten Schreiben erneut entfernt.
+     *
+     * @param keep Die aktuelle lokale Datei
+     */
+    private static void deleteObsoleteLocalFiles(File keep) {
+        List<File> obsolete = new ArrayList<>();
+        if (!keep.equals(LOCAL_ARTICLES_FILE) && LOCAL_ARTICLES_FILE.exists()) {
+            obsolete.add(LOCAL_ARTICLES_FILE);
+        }
+        File[] binaryFiles = LOCAL_DATA_DIR.listFiles((dir, name) -> binaryFileGeneration(new File(dir, name)) >= 0);
+        if (binaryFiles != null) {
+            for (File file : binaryFiles) {
+                if (!file.equals(keep)) {
+                    obsolete.add(file);
+                }
+            }
+        }
+        for (File file : obsolete) {
+            if (!file.delete()) {
+                logger.debug("Alte lokale Datei konnte nicht gelöscht werden: {}", file.getName());
+            }
+        }
+    }
+
+    /**
+     * Ermittelt die aktuelle lokale Datei. Liegen Dateien beider Formate vor (z.B. nach einem Wechsel von
+     * "local.format"), gilt die zuletzt geschriebene.
+     * Muss unter localFileLock aufgerufen werden.
+     *
+     * @return Die lokale Datei oder null, wenn keine existiert
+     */
+    private static File currentLocalFile() {
+        File binary = findBinaryLocalFile();
+        if (!LOCAL_ARTICLES_FILE.exists()) {
+            return binary;
+        }
+        if (binary == null) {
+            return LOCAL_ARTICLES_FILE;
+        }
+        long jsonModified = LOCAL_ARTICLES_FILE.lastModified();
+        long binaryModified = binary.lastModified();
+        if (jsonModified != binaryModified) {
+            return jsonModified > binaryModified ? LOCAL_ARTICLES_FILE : binary;
+        }
+        return "BINARY".equals(AppConfig.getInstance().getLocalFormat()) ? binary : LOCAL_ARTICLES_FILE;
+    }
+
+    /**
+     * Sucht die binäre lokale Datei mit der höchsten Generation.
+     *
+     * @return Die Datei oder null, wenn keine existiert
+     */
+    private static File findBinaryLocalFile() {
+        File[] files = LOCAL_DATA_DIR.listFiles((dir, name) -> binaryFileGeneration(new File(dir, name)) >= 0);
+        File newest = null;
+        if (files != null) {
+            for (File file : files) {
+                if (newest == null || binaryFileGeneration(file) > binaryFileGeneration(newest)) {
+                    newest = file;
+                }
+            }
+        }
+        return newest;
+    }
+
+    /**
+     * Liest die Generation aus dem Namen einer binären lokalen Datei ("articles.&lt;Generation&gt;.bin").
+     *
+     * @param file Die Datei
+     * @return Die Generation oder -1, wenn es keine binäre lokale Datei ist
+     */
+    private static long binaryFileGeneration(File file) {
+        String name = file.getName();
+        if (!name.startsWith(BINARY_FILE_PREFIX) || !name.endsWith(BINARY_FILE_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(BINARY_FILE_PREFIX.length(), name.length() - BINARY_FILE_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Gibt die in der lokalen Datei enthaltene Journal-Sequenz zurück. Muss unter localFileLock aufgerufen werden.
+     *
+     * @return Die Sequenz, 0 bei Dateien ohne Journal-Angabe
+     * @throws IOException Bei Problemen beim Lesen der Datei
+     */
+    private static long currentLocalFileJournalSeq() throws IOException {
+        if (localFileJournalSeq < 0) {
+            File file = currentLocalFile();
+            if (file != null && binaryFileGeneration(file) >= 0) {
+                localFileJournalSeq = BinarySnapshot.readJournalSeq(file.toPath());
+            } else {
+                String value = file != null ? readLocalFileField("journalSeq") : null;
+                localFileJournalSeq = value != null ? Long.parseLong(value) : 0;
+            }
+        }
+        return localFileJournalSeq;
+    }
+
+    /**
+     * Liest die gespeicherten HTTP-Validatoren, sofern sie zur aktuellen lokalen Datei passen.
+     * Wurde die lokale Datei seit dem letzten Abruf verändert (z.B. durch lokale Bearbeitung),
+     * stimmt der Hash nicht mehr überein und es wird keine bedingte Anfrage gesendet.
+     *
+     * @return Map mit "etag" und/oder "lastModified" oder null, wenn keine gültigen Validatoren vorliegen
+     */
+    private static Map<String, String> loadValidators() {
+        synchronized (localFileLock) {
+            try {
+                File localFile = currentLocalFile();
+                if (!VALIDATORS_FILE.exists() || localFile == null) {
+                    return null;
+                }
+
+                Map<String, String> validators = json.getMapper().readValue(VALIDATORS_FILE,
+                        json.getMapper().getTypeFactory().constructMapType(HashMap.class, String.class, String.class));
+                String localHash = binaryFileGeneration(localFile) >= 0
+                        ? BinarySnapshot.readHash(localFile.toPath())
+                        : readLocalFileField("hash");
+                if (localHash == null || !localHash.equals(validators.get("dataHash"))) {
+                    logger.debug("Lokale Datei weicht vom letzten Serverstand ab, Validatoren werden ignoriert");
+                    return null;
+                }
+                return validators;
+            } catch (Exception e) {
+                logger.warn("Validatoren konnten nicht gelesen werden: {}", e.getMessage());
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Speichert die HTTP-Validatoren zusammen mit dem Hash der zugehörigen lokalen Datei.
+     *
+     * @param etag Der ETag der Antwort oder null
+     * @param lastModified Der Last-Modified-Wert der Antwort oder null
+     * @param dataHash Der Hash der lokal gespeicherten Daten
+     */
+    private static void storeValidators(String etag, String lastModified, String dataHash) {
+        synchronized (localFileLock) {
+            try {
+                Map<String, String> validators = new HashMap<>();
+                validators.put("etag", etag);
+                validators.put("lastModified", lastModified);
+                validators.put("dataHash", dataHash);
+                json.getMapper().writeValue(VALIDATORS_FILE, validators);
+                logger.debug("Validatoren gespeichert (ETag: {}, Last-Modified: {})", etag, lastModified);
+            } catch (Exception e) {
+                logger.warn("Validatoren konnten nicht gespeichert werden: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Löscht die gespeicherten HTTP-Validatoren.
+     */
+    private static void deleteValidators() {
+        synchronized (localFileLock) {
+            if (VALIDATORS_FILE.exists() && !VALIDATORS_FILE.delete()) {
+                logger.warn("Validatoren konnten nicht gelöscht werden: {}", VALIDATORS_FILE.getAbsolutePath());
+            }
+        }
+    }
+
+    /**
+     * Liest einen Kopfwert (z.B. den Hash) aus der lokalen Datei, ohne die Artikeldaten zu deserialisieren.
+     *
+     * @param field Der Name des Feldes
+     * @return Der gespeicherte Wert oder null, wenn keiner gefunden wurde
+     * @throws IOException Bei Problemen beim Lesen der Datei
+     */
+    private static String readLocalFileField(String field) throws IOException {
+        try (JsonParser parser = json.getFactory().createParser(LOCAL_ARTICLES_FILE)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                if (field.equals(name)) {
+                    return parser.getValueAsString();
+                }
+                parser.skipChildren();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Lädt Artikel aus der lokalen Datei mit Integritätsprüfung.
+     * Anschließend werden die noch nicht übernommenen Änderungen aus dem Journal angewendet.
+     * Aus einer binären Datei wird eine {@link LazyArticleList} geliefert, deren Artikel erst beim
+     * Zugriff dekodiert werden. Zugleich wird die indizierte Ablage ({@link #getLocalStore()}) neu aufgebaut.
+     *
+     * @return Liste der geladenen Artikel oder leere Liste bei Fehler
+     */
+    public static List<Article> loadArticlesFromLocalFile() {
+        try {
+            LocalFileContent content;
+            List<ChangeJournal.Entry> entries;
+            int version;
+            long lastSequence;
+            synchronized (localFileLock) {
+                content = readLocalFileContent();
+                if (content == null) {
+                    logger.warn("Keine lokale Artikeldatei gefunden");
+                    return new ArrayList<>();
+                }
+                entries = journal.readEntries();
+                version = localFileVersion;
+                lastSequence = journal.getLastSequence();
+            }
+
+            LocalSnapshot snapshot = parseLocalFile(content);
+            if (snapshot == null) {
+                return new ArrayList<>();
+            }
+            quarantinedRecordCount = snapshot.quarantined();
+            // Vor dem Anwenden des Journals, da die Ablage die Artikel einer JSON-Datei kopiert
+            ArticleStore store = openLocalStore(content, snapshot, entries);
+            List<Article> articles = applyJournal(snapshot.articles(), entries, snapshot.journalSeq());
+            synchronized (localFileLock) {
+                // Inzwischen gespeicherte oder angehängte Änderungen fehlen der neuen Ablage
+                localStore = version == localFileVersion && lastSequence == journal.getLastSequence() ? store : null;
+            }
+            if (snapshot.quarantined() > 0) {
+                logger.warn("{} Artikel aus lokaler Datei geladen, {} beschädigte Datensätze ausgesondert",
+                        articles.size(), snapshot.quarantined());
+            } else {
+                logger.info("{} Artikel aus lokaler Datei geladen (Integritätsprüfung bestanden)", articles.size());
+            }
+            return articles;
+        } catch (Exception e) {
+            logger.error("Fehler beim Laden lokaler Artikel: {}", e.getMessage(), e);
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Gibt die indizierte Ablage über lokale Datei und Journal zurück.
+     * Änderungen über {@link #journalLocalChanges} werden in die Ablage übernommen, beim Speichern der
+     * gesamten Liste wird sie ersetzt. Existiert sie noch nicht, wird die lokale Datei geladen.
+     * Über einer binären Datei hält die Ablage nur ihre Indizes; über einer JSON-Datei enthält sie eine
+     * zweite vollständige Kopie des Katalogs.
+     *
+     * @return Die Ablage oder null, wenn keine lokale Datei existiert oder sie nicht gelesen werden kann
+     */
+    public static ArticleStore getLocalStore() {
+        ArticleStore store = localStore;
+        if (store == null) {
+            loadArticlesFromLocalFile();
+            store = localStore;
+        }
+        return store;
+    }
+
+    /**
+     * Gibt die indizierte Ablage zurück, sofern sie bereits aufgebaut ist. Anders als {@link #getLocalStore()}
+     * wird die lokale Datei nie geladen; geeignet für den EDT.
+     *
+     * @return Die Ablage oder null, wenn sie noch nicht aufgebaut ist
+     */
+    public static ArticleStore getOpenLocalStore() {
+        return localStore;
+    }
+
+    /**
+     * Baut die indizierte Ablage über den Inhalt der lokalen Datei und die noch nicht übernommenen
+     * Journal-Datensätze auf. Eine binäre Datei dient direkt als Basisbestand, ohne sie zu dekodieren.
+     *
+     * @param content Der Inhalt der lokalen Datei
+     * @param snapshot Die gelesenen Artikel, vor Anwendung des Journals
+     * @param entries Die Journal-Datensätze
+     * @return Die Ablage
+     */
+    private static ArticleStore openLocalStore(LocalFileContent content, LocalSnapshot snapshot,
+                                               List<ChangeJournal.Entry> entries) {
+        BinarySnapshot binary = content.binary();
+        ArticleStore store = binary != null
+                ? new ArticleStore(binary, binary.getDamagedRecords())
+                : ArticleStore.of(snapshot.articles());
+        for (ChangeJournal.Entry entry : entries) {
+            if (entry.seq() <= snapshot.journalSeq()) {
+                continue;
+            }
+            if (ChangeJournal.DELETE.equals(entry.op())) {
+                store.delete(entry.id());
+            } else if (entry.article() != null) {
+                store.put(entry.article());
+            }
+        }
+        return store;
+    }
+
+    /**
+     * Liest die aktuelle lokale Datei. Eine binäre Datei wird dabei nur eingebunden und geprüft.
+     * Muss unter localFileLock aufgerufen werden.
+     *
+     * @return Der Inhalt oder null, wenn keine lokale Datei existiert
+     * @throws IOException Bei Problemen beim Lesen oder einer beschädigten binären Datei
+     */
+    private static LocalFileContent readLocalFileContent() throws IOException {
+        File file = currentLocalFile();
+        if (file == null) {
+            return null;
+        }
+        if (binaryFileGeneration(file) >= 0) {
+            return new LocalFileContent(file, null, BinarySnapshot.open(file.toPath()));
+        }
+        return new LocalFileContent(file, Files.readAllBytes(file.toPath()), null);
+    }
+
+    /**
+     * Liest die Artikel der lokalen Datei. Beschädigte Datensätze werden ausgesondert und in den
+     * Quarantäne-Ordner kopiert, alle übrigen Artikel werden geladen.
+     *
+     * @param content Der Inhalt der lokalen Datei
+     * @return Die unversehrten Artikel mit Journal-Sequenz oder null, wenn eine ältere JSON-Datei den Hash
+     *         nicht besteht
+     * @throws Exception Bei ungültigen Daten
+     */
+    private static LocalSnapshot parseLocalFile(LocalFileContent content) throws Exception {
+        List<byte[]> damaged = new ArrayList<>();
+        LocalSnapshot snapshot;
+        if (content.binary() != null) {
+            // Prüfsummen wurden beim Einbinden geprüft, die Artikel werden erst beim Zugriff dekodiert
+            BinarySnapshot binary = content.binary();
+            BitSet damagedRecords = binary.getDamagedRecords();
+            for (int record = damagedRecords.nextSetBit(0); record >= 0; record = damagedRecords.nextSetBit(record + 1)) {
+                damaged.add(binary.readRawRecord(record));
+            }
+            snapshot = new LocalSnapshot(new LazyArticleList(binary, damagedRecords), binary.getJournalSeq(), damaged.size());
+        } else {
+            JsonSnapshot.Content json = JsonSnapshot.read(content.json());
+            if (json == null) {
+                return null;
+            }
+            damaged.addAll(json.damaged());
+            snapshot = new LocalSnapshot(json.articles(), json.journalSeq(), damaged.size());
+        }
+
+        if (!damaged.isEmpty()) {
+            quarantineRecords(content.file(), damaged);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Kopiert beschädigte Datensätze in den Quarantäne-Ordner, je Quelldatei und Stand einmal.
+     * Die gespeicherten Validatoren werden verworfen, damit die nächste Synchronisierung die ausgesonderten
+     * Artikel vollständig vom Server lädt.
+     *
+     * @param source Die lokale Datei, aus der die Datensätze stammen
+     * @param records Die Rohdaten der beschädigten Datensätze
+     */
+    private static void quarantineRecords(File source, List<byte[]> records) {
+        deleteValidators();
+        File target = new File(QUARANTINE_DIR, source.getName() + "." + source.lastModified() + ".damaged");
+        if (target.exists()) {
+            return;
+        }
+        try {
+            Files.createDirectories(QUARANTINE_DIR.toPath());
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(target))) {
+                for (byte[] record : records) {
+                    out.write(record);
+                    out.write('\n');
+                }
+            }
+            logger.warn("{} beschädigte Datensätze aus {} ausgesondert nach: {}",
+                    records.size(), source.getName(), target.getAbsolutePath());
+        } catch (IOException e) {
+            logger.warn("Beschädigte Datensätze konnten nicht gesichert werden: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Gibt die Anzahl der beim letzten Laden der lokalen Datei ausgesonderten beschädigten Datensätze zurück.
+     *
+     * @return Die Anzahl, 0 wenn alle Datensätze unversehrt waren
+     */
+    public static int getQuarantinedRecordCount() {
+        return quarantinedRecordCount;
+    }
+
+    /**
+     * Wendet Journal-Datensätze auf die Artikel der lokalen Datei an.
+     * Datensätze, die die Datei bereits enthält, werden übersprungen. Die Liste wird direkt geändert;
+     * ersetzte oder gelöschte Zeilen werden dabei nicht gelesen, sodass noch nicht dekodierte Artikel
+     * einer {@link LazyArticleList} undekodiert bleiben. Die Rückgabewerte von set/remove werden daher
+     * nicht verwendet, sie sind bei nicht dekodierten Zeilen null.
+     *
+     * @param articles Die Artikel der lokalen Datei, veränderbar
+     * @param entries Die Journal-Datensätze
+     * @param journalSeq Die in der Datei enthaltene Journal-Sequenz
+     * @return Die Artikel mit allen Änderungen, in der ursprünglichen Reihenfolge
+     */
+    private static List<Article> applyJournal(List<Article> articles, List<ChangeJournal.Entry> entries, long journalSeq) {
+        if (entries.isEmpty() || entries.get(entries.size() - 1).seq() <= journalSeq) {
+            return articles;
+        }
+
+        Map<Integer, Integer> positions = new HashMap<>(articles.size() * 2);
+        for (int i = 0; i < articles.size(); i++) {
+            positions.put(LazyArticleList.idAt(articles, i), i);
+        }
+
+        Set<Integer> deletedPositions = new HashSet<>();
+        Map<Integer, Article> added = new LinkedHashMap<>();
+        int applied = 0;
+        for (ChangeJournal.Entry entry : entries) {
+            if (entry.seq() <= journalSeq) {
+                continue;
+            }
+            Integer position = positions.get(entry.id());
+            if (ChangeJournal.DELETE.equals(entry.op())) {
+                added.remove(entry.id());
+                if (position != null) {
+                    deletedPositions.add(position);
+                }
+            } else if (entry.article() != null) {
+                if (position != null) {
+                    deletedPositions.remove(position);
+                    articles.set(position, entry.article());
+                } else {
+                    added.put(entry.id(), entry.article());
+                }
+            }
+            applied++;
+        }
+
+        // Von hinten löschen, damit die übrigen Positionen gültig bleiben
+        List<Integer> removals = new ArrayList<>(deletedPositions);
+        removals.sort(Collections.reverseOrder());
+        for (int position : removals) {
+            articles.remove(position);
+        }
+        articles.addAll(added.values());
+
+        logger.debug("{} Änderungen aus dem Journal angewendet", applied);
+        return articles;
+    }
+
+    /**
+     * Zwischenergebnis eines Katalogabrufs, das außerhalb des Response-Handlers weiterverarbeitet wird.
+     *
+     * @param count Anzahl der gelesenen Artikel
+     * @param notModified true bei einer 304-Antwort
+     * @param fingerprint Fingerabdruck über IDs und Zeitstempel der Artikel, 0 ohne Validatoren
+     * @param etag Der ETag der Antwort oder null
+     * @param lastModified Der Last-Modified-Wert der Antwort oder null
+     */
+    private record FetchResult(int count, boolean notModified, long fingerprint,
+                               String etag, String lastModified) {
+    }
+
+    /**
+     * Validatoren eines vollständig geladenen Katalogs, die noch auf das lokale Speichern warten.
+     *
+     * @param etag Der ETag der Antwort oder null
+     * @param lastModified Der Last-Modified-Wert der Antwort oder null
+     * @param count Anzahl der geladenen Artikel
+     * @param fingerprint Fingerabdruck über IDs und Zeitstempel der Artikel
+     */
+    private record PendingValidators(String etag, String lastModified, int count, long fingerprint) {
+
+        /**
+         * Prüft, ob eine Artikelliste genau dem geladenen Katalog entspricht.
+         *
+         * @param articles Die zu speichernde Artikelliste
+         * @return true wenn Anzahl und Fingerabdruck übereinstimmen
+         */
+        boolean matches(List<Article> articles) {
+            if (articles.size() != count) {
+                return false;
+            }
+            CRC32C crc = new CRC32C();
+            for (int i = 0; i < articles.size(); i++) {
+                updateFingerprint(crc, LazyArticleList.idAt(articles, i), LazyArticleList.timestampAt(articles, i));
+            }
+            return crc.getValue() == fingerprint;
+        }
+    }
+
+    /**
+     * Inhalt der lokalen Datei ohne Journal.
+     *
+     * @param articles Die unversehrten gespeicherten Artikel
+     * @param journalSeq Die höchste enthaltene Journal-Sequenz
+     * @param quarantined Anzahl der ausgesonderten beschädigten Datensätze
+     */
+    private record LocalSnapshot(List<Article> articles, long journalSeq, int quarantined) {
+    }
+
+    /**
+     * Gelesener Inhalt der lokalen Datei, genau eines der Felder json und binary ist gesetzt.
+     *
+     * @param file Die gelesene Datei
+     * @param json Der Inhalt einer JSON-Datei
+     * @param binary Die eingebundene binäre Datei
+     */
+    private record LocalFileContent(File file, byte[] json, BinarySnapshot binary) {
+    }
+
+    /**
+     * Vollständig geschriebene temporäre lokale Datei.
+     *
+     * @param temp Die temporäre Datei
+     * @param binary true bei einer binären Datei
+     * @param hash Der Hash der Artikeldaten
+     */
+    private record TempLocalFile(Path temp, boolean binary, String hash) {
+    }
+
+    /**
+     * Schreibvorgang für einen einzelnen Artikel.
+     */
+    @FunctionalInterface
+    private interface ArticleWrite {
+        ApiResponse write(Article article) throws Exception;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package api;
+
+/**
+ * Ergebnis eines schreibenden API-Aufrufs (PUT, POST, DELETE).
+ * Enthält den HTTP-Statuscode und den Antworttext für Fehlermeldungen.
+ */
+public class ApiResponse {
+    private final int statusCode;
+    private final String body;
+
+    /**
+     * Erstellt eine neue Antwort.
+     *
+     * @param statusCode Der HTTP-Statuscode
+     * @param body Der Antworttext oder ein leerer String
+     */
+    public ApiResponse(int statusCode, String body) {
+        this.statusCode = statusCode;
+        this.body = body != null ? body : "";
+    }
+
+    /**
+     * Gibt den HTTP-Statuscode zurück.
+     *
+     * @return Der Statuscode
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Gibt den Antworttext zurück.
+     *
+     * @return Der Antworttext, nie null
+     */
+    public String getBody() {
+        return body;
+    }
+
+    /**
+     * Prüft, ob der Aufruf erfolgreich war (2xx).
+     *
+     * @return true bei einem 2xx-Statuscode, sonst false
+     */
+    public boolean isSuccessful() {
+        return statusCode >= 200 && statusCode < 300;
+    }
+}
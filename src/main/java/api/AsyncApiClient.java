@@ -0,0 +1,561 @@
+package api;
+
+import config.AppConfig;
+import model.Article;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.config.TlsConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.ssl.ClientTlsStrategyBuilder;
+import org.apache.hc.client5.http.ssl.NoopHostnameVerifier;
+import org.apache.hc.client5.http.ssl.TrustAllStrategy;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.HttpStatus;
+import org.apache.hc.core5.http.nio.ssl.TlsStrategy;
+import org.apache.hc.core5.http2.HttpVersionPolicy;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.ssl.SSLContexts;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLContext;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Asynchroner Client für die Artikel-API.
+ * Alle Methoden kehren sofort zurück und liefern ein CompletableFuture, das auf einem
+ * nicht-blockierenden HTTP-Transport (I/O-Reactor) abgearbeitet wird. Während eine Anfrage
+ * läuft, wird kein Thread belegt.
+ * Jede Anfrage wird nach dem konfigurierten Timeout ("http.timeout.request") mit einer
+ * TimeoutException abgebrochen. Ein Abbruch des zurückgegebenen Futures bricht auch die
+ * laufende HTTP-Anfrage ab.
+ */
+public class AsyncApiClient {
+    private static final Logger logger = LoggerFactory.getLogger(AsyncApiClient.class);
+    private static AsyncApiClient instance;
+
+    private final String baseUrl;
+    private final Duration requestTimeout;
+    private final JsonCodec json = JsonCodec.getInstance();
+    private final CloseableHttpAsyncClient httpClient;
+    private final SingleFlight<List<Article>> catalogFlight;
+    private final boolean sharedCatalog;
+    private final boolean http2;
+
+    /**
+     * Erstellt einen asynchronen Client für die angegebene API-URL.
+     *
+     * @param baseUrl Die Basis-URL der Artikel-API
+     * @param requestTimeout Maximale Gesamtdauer einer Anfrage
+     */
+    public AsyncApiClient(String baseUrl, Duration requestTimeout) {
+        this(baseUrl, requestTimeout, "HTTP_2".equals(AppConfig.getInstance().getHttpVersion()));
+    }
+
+    /**
+     * Erstellt einen asynchronen Client mit fest vorgegebener HTTP-Version statt "http.version",
+     * z.B. um beide Versionen im Benchmark gegeneinander zu messen.
+     *
+     * @param baseUrl Die Basis-URL der Artikel-API
+     * @param requestTimeout Maximale Gesamtdauer einer Anfrage
+     * @param http2 true für HTTP/2 über eine multiplexte Verbindung, false für HTTP/1.1 mit Connection-Pool
+     */
+    AsyncApiClient(String baseUrl, Duration requestTimeout, boolean http2) {
+        this.baseUrl = baseUrl;
+        this.requestTimeout = requestTimeout;
+
+        AppConfig config = AppConfig.getInstance();
+        // Für dieselbe API teilen sich synchroner und asynchroner Client die Katalog-Abfrage samt Validatoren
+        this.sharedCatalog = baseUrl.equals(ApiClient.getApiBaseUrl());
+        this.catalogFlight = sharedCatalog
+                ? ApiClient.getCatalogFlight()
+                : new SingleFlight<>(config.getCatalogFreshnessMillis());
+        Timeout connectTimeout = Timeout.ofMilliseconds(config.getHttpConnectTimeout());
+        Timeout socketTimeout = Timeout.ofMilliseconds(config.getHttpSocketTimeout());
+        TimeValue keepAlive = TimeValue.ofSeconds(config.getHttpKeepAliveSeconds());
+
+        ConnectionConfig connectionConfig = ConnectionConfig.custom()
+                .setConnectTimeout(connectTimeout)
+                .setSocketTimeout(socketTimeout)
+                .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                .build();
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectionRequestTimeout(connectTimeout)
+                .setResponseTimeout(socketTimeout)
+                .build();
+
+        this.http2 = http2;
+        if (http2) {
+            // Eine multiplexte Verbindung pro Server: h2 per ALPN bei HTTPS, h2c mit Prior Knowledge bei HTTP
+            this.httpClient = HttpAsyncClients.customHttp2()
+                    .setTlsStrategy(createTlsStrategy())
+                    .setDefaultConnectionConfig(connectionConfig)
+                    .setDefaultRequestConfig(requestConfig)
+                    .evictIdleConnections(keepAlive)
+                    // Wiederholungen übernimmt die RetryPolicy, damit Budget und Idempotenz beachtet werden
+                    .disableAutomaticRetries()
+                    .build();
+        } else {
+            PoolingAsyncClientConnectionManager connectionManager = PoolingAsyncClientConnectionManagerBuilder.create()
+                    .setTlsStrategy(createTlsStrategy())
+                    .setMaxConnTotal(config.getHttpMaxConnections())
+                    .setMaxConnPerRoute(config.getHttpMaxConnectionsPerRoute())
+                    .setDefaultConnectionConfig(connectionConfig)
+                    .setDefaultTlsConfig(TlsConfig.custom()
+                            .setVersionPolicy(HttpVersionPolicy.FORCE_HTTP_1)
+                            .build())
+                    .build();
+
+            this.httpClient = HttpAsyncClients.custom()
+                    .setConnectionManager(connectionManager)
+                    .setDefaultRequestConfig(requestConfig)
+                    .evictIdleConnections(keepAlive)
+                    // Wiederholungen übernimmt die RetryPolicy, damit Budget und Idempotenz beachtet werden
+                    .disableAutomaticRetries()
+                    .build();
+        }
+        this.httpClient.start();
+
+        logger.info("Asynchroner API-Client gestartet für {} ({}, Timeout {} ms)",
+                baseUrl, http2 ? "HTTP/2" : "HTTP/1.1", requestTimeout.toMillis());
+    }
+
+    /**
+     * Gibt die gemeinsame Instanz für die konfigurierte API-URL zurück.
+     * Bei erstem Aufruf wird der Client erstellt und gestartet.
+     *
+     * @return Die AsyncApiClient-Instanz
+     */
+    public static synchronized AsyncApiClient getInstance() {
+        if (instance == null) {
+            instance = new AsyncApiClient(ApiClient.getApiBaseUrl(),
+                    Duration.ofMillis(AppConfig.getInstance().getHttpRequestTimeout()));
+        }
+        return instance;
+    }
+
+    /**
+     * Gibt an, ob der Client HTTP/2 verwendet ("http.version=HTTP_2").
+     * Dann laufen alle Anfragen an einen Server gemultiplext über eine einzige Verbindung.
+     *
+     * @return true bei HTTP/2, false bei HTTP/1.1 mit Connection-Pool
+     */
+    public boolean isHttp2() {
+        return http2;
+    }
+
+    /**
+     * Ruft alle Artikel ab.
+     * Gleichzeitige Aufrufe teilen sich eine Anfrage; jeder Aufrufer erhält eigene Kopien der Artikel.
+     * Ein Abbruch des zurückgegebenen Futures bricht daher die gemeinsame Anfrage nicht ab.
+     * Für die konfigurierte API wird die Abfrage von {@link ApiClient#fetchArticles()} mitbenutzt: Der Katalog
+     * wird gestreamt und mit ETag/Last-Modified bedingt abgefragt; dafür belegt sie einen virtuellen Thread.
+     *
+     * @return Future mit der Liste aller Artikel
+     */
+    public CompletableFuture<List<Article>> fetchArticlesAsync() {
+        if (sharedCatalog) {
+            return ApiClient.fetchCatalogAsync().thenApply(ApiClient::copyArticles);
+        }
+        return catalogFlight.get(() -> {
+            logger.info("Rufe Artikel asynchron ab von: {}", baseUrl);
+            SimpleHttpRequest request = SimpleRequestBuilder.get(baseUrl)
+                    .addHeader(HttpHeaders.ACCEPT, json.getReadAcceptHeader())
+                    .build();
+            return map(execute(request), response -> {
+                List<Article> articles = json.readValue(json.articleListReader(), expectOk(response), contentTypeOf(response));
+                logger.info("{} Artikel asynchron empfangen", articles.size());
+                return articles;
+            });
+        }).thenApply(ApiClient::copyArticles);
+    }
+
+    /**
+     * Ruft einen einzelnen Artikel ab.
+     *
+     * @param id Die API-ID des Artikels
+     * @return Future mit dem Artikel
+     */
+    public CompletableFuture<Article> fetchArticleAsync(int id) {
+        return fetchArticleAsync(id, null);
+    }
+
+    /**
+     * Ruft einen einzelnen Artikel in einer Projektion ab.
+     *
+     * @param id Die API-ID des Artikels
+     * @param fields Kommagetrennte Feldliste (z.B. {@link Article#VERSION_FIELDS}) oder null für alle Felder
+     * @return Future mit dem Artikel
+     */
+    public CompletableFuture<Article> fetchArticleAsync(int id, String fields) {
+        logger.debug("Rufe Artikel ID {} asynchron ab", id);
+        SimpleHttpRequest request = SimpleRequestBuilder.get(ApiClient.withFields(baseUrl + "/" + id, fields))
+                .addHeader(HttpHeaders.ACCEPT, json.getReadAcceptHeader())
+                .build();
+        return map(execute(request), response ->
+                json.<Article>readValue(json.articleReader(), expectOk(response), contentTypeOf(response)));
+    }
+
+    /**
+     * Aktualisiert einen bestehenden Artikel per PUT.
+     *
+     * @param article Der zu speichernde Artikel
+     * @return Future mit der Antwort des Servers
+     */
+    public CompletableFuture<ApiResponse> updateAsync(Article article) {
+        if (article.partial) {
+            return CompletableFuture.failedFuture(new IOException(
+                    "Artikel ID " + article.id + " ist nur teilweise geladen und kann nicht gespeichert werden"));
+        }
+        try {
+            SimpleRequestBuilder request = SimpleRequestBuilder.put(baseUrl + "/" + article.id)
+                    .addHeader(HttpHeaders.ACCEPT, "application/json");
+            // Nur mit Idempotency-Key wird die Anfrage bei vorübergehenden Fehlern wiederholt
+            if (RetryPolicy.getInstance().isIdempotencyKeyEnabled()) {
+                request.addHeader(RetryPolicy.IDEMPOTENCY_KEY_HEADER, UUID.randomUUID().toString());
+            }
+            return executeWithBody(request, json.articleWriter().writeValueAsBytes(article));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Legt einen neuen Artikel per POST an.
+     *
+     * @param article Der anzulegende Artikel
+     * @return Future mit der Antwort des Servers
+     */
+    public CompletableFuture<ApiResponse> createAsync(Article article) {
+        try {
+            SimpleRequestBuilder request = SimpleRequestBuilder.post(baseUrl)
+                    .addHeader(HttpHeaders.ACCEPT, "application/json");
+            // Der Idempotency-Key bleibt über alle Wiederholungen gleich, sodass der Server Duplikate erkennt
+            if (RetryPolicy.getInstance().isIdempotencyKeyEnabled()) {
+                request.addHeader(RetryPolicy.IDEMPOTENCY_KEY_HEADER, UUID.randomUUID().toString());
+            }
+            return executeWithBody(request, json.articleWriter().writeValueAsBytes(article));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Löscht einen Artikel per DELETE.
+     *
+     * @param id Die API-ID des zu löschenden Artikels
+     * @return Future mit der Antwort des Servers
+     */
+    public CompletableFuture<ApiResponse> deleteAsync(int id) {
+        logger.debug("Sende asynchrone DELETE-Anfrage für Artikel ID {}", id);
+        SimpleHttpRequest request = SimpleRequestBuilder.delete(baseUrl + "/" + id)
+                .addHeader(HttpHeaders.ACCEPT, "application/json")
+                .build();
+        return map(execute(request), AsyncApiClient::toApiResponse);
+    }
+
+    /**
+     * Schließt den Client und alle offenen Verbindungen.
+     * Laufende Anfragen werden abgebrochen.
+     */
+    public void close() {
+        httpClient.close(CloseMode.GRACEFUL);
+        logger.debug("Asynchroner API-Client geschlossen");
+    }
+
+    /**
+     * Sendet eine Anfrage mit JSON-Body, oberhalb des Schwellwerts gzip-komprimiert.
+     * Lehnt der Server den komprimierten Body ab (415), wird die Anfrage einmal unkomprimiert wiederholt.
+     *
+     * @param builder Die Anfrage ohne Body
+     * @param body Der JSON-Body
+     * @return Future mit der Antwort des Servers
+     */
+    private CompletableFuture<ApiResponse> executeWithBody(SimpleRequestBuilder builder, byte[] body) {
+        if (!HttpCompression.shouldCompress(body.length)) {
+            builder.setBody(body, ContentType.APPLICATION_JSON);
+            return map(execute(builder.build()), AsyncApiClient::toApiResponse);
+        }
+
+        SimpleHttpRequest compressed = builder
+                .setHeader(HttpHeaders.CONTENT_ENCODING, HttpCompression.GZIP)
+                .setBody(HttpCompression.gzip(body), ContentType.APPLICATION_JSON)
+                .build();
+        return map(execute(compressed), AsyncApiClient::toApiResponse).thenCompose(response -> {
+            if (response.getStatusCode() != HttpStatus.SC_UNSUPPORTED_MEDIA_TYPE) {
+                return CompletableFuture.completedFuture(response);
+            }
+            HttpCompression.disableRequestCompression();
+            SimpleHttpRequest plain = builder
+                    .removeHeaders(HttpHeaders.CONTENT_ENCODING)
+                    .setBody(body, ContentType.APPLICATION_JSON)
+                    .build();
+            return map(execute(plain), AsyncApiClient::toApiResponse);
+        });
+    }
+
+    /**
+     * Startet eine Anfrage und verbindet sie mit einem CompletableFuture.
+     * Vorübergehende Fehler werden gemäß {@link RetryPolicy} nach einer Wartezeit wiederholt,
+     * ohne dass dabei ein Thread blockiert wird. Der Timeout gilt für alle Versuche zusammen.
+     * Wird das Future abgebrochen oder läuft der Timeout ab, wird auch der laufende HTTP-Austausch abgebrochen.
+     *
+     * @param request Die auszuführende Anfrage
+     * @return Future mit der vollständig gelesenen Antwort
+     */
+    private CompletableFuture<SimpleHttpResponse> execute(SimpleHttpRequest request) {
+        if (HttpCompression.isResponseCompressionEnabled() && !request.containsHeader(HttpHeaders.ACCEPT_ENCODING)) {
+            request.setHeader(HttpHeaders.ACCEPT_ENCODING, HttpCompression.ACCEPT_ENCODING);
+        }
+        RetryPolicy retryPolicy = RetryPolicy.getInstance();
+        retryPolicy.recordRequest();
+        boolean retryable = retryPolicy.isRetryableMethod(request.getMethod(),
+                request.containsHeader(RetryPolicy.IDEMPOTENCY_KEY_HEADER));
+
+        CompletableFuture<SimpleHttpResponse> result = new CompletableFuture<>();
+        AtomicReference<Future<SimpleHttpResponse>> exchange = new AtomicReference<>();
+        sendAttempt(request, 1, retryable, result, exchange);
+
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            // Nach einem Schreibvorgang keinen gemerkten Katalog mehr ausliefern
+            result.whenComplete((response, ex) -> catalogFlight.invalidate());
+        }
+
+        result.whenComplete((response, ex) -> {
+            Future<SimpleHttpResponse> current = exchange.get();
+            if (ex != null && current != null && !current.isDone()) {
+                logger.debug("{}-Request an {} abgebrochen: {}", request.getMethod(), request.getRequestUri(), ex.toString());
+                current.cancel(true);
+                if (ex instanceof TimeoutException) {
+                    CircuitBreaker.getInstance().recordFailure(ex);
+                } else {
+                    CircuitBreaker.getInstance().releasePermission();
+                }
+            }
+        });
+        return result.orTimeout(requestTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sendet einen einzelnen Versuch einer Anfrage und meldet das Ergebnis an den Circuit Breaker.
+     *
+     * @param request Die auszuführende Anfrage
+     * @param attempt Die Nummer dieses Versuchs, beginnend bei 1
+     * @param retryable true wenn die Methode wiederholt werden darf
+     * @param result Das Future, das mit der endgültigen Antwort abgeschlossen wird
+     * @param exchange Nimmt den aktuell laufenden HTTP-Austausch auf, damit er abgebrochen werden kann
+     */
+    private void sendAttempt(SimpleHttpRequest request, int attempt, boolean retryable,
+                             CompletableFuture<SimpleHttpResponse> result,
+                             AtomicReference<Future<SimpleHttpResponse>> exchange) {
+        // Während der Wartezeit abgebrochen oder Timeout abgelaufen
+        if (result.isDone()) {
+            return;
+        }
+
+        CircuitBreaker circuitBreaker = CircuitBreaker.getInstance();
+        if (!circuitBreaker.tryAcquirePermission()) {
+            logger.debug("{} {} abgewiesen, Circuit Breaker offen", request.getMethod(), request.getRequestUri());
+            result.completeExceptionally(new CircuitOpenException(circuitBreaker.getRemainingOpenMillis()));
+            return;
+        }
+
+        RetryPolicy retryPolicy = RetryPolicy.getInstance();
+        boolean mayRetry = retryable && attempt < retryPolicy.getMaxAttempts();
+        long start = System.nanoTime();
+        exchange.set(httpClient.execute(request, new FutureCallback<>() {
+            @Override
+            public void completed(SimpleHttpResponse response) {
+                logger.debug("{} {} -> {}", request.getMethod(), request.getRequestUri(), response.getCode());
+                if (response.getCode() >= 500) {
+                    circuitBreaker.recordFailure(null);
+                } else {
+                    circuitBreaker.recordSuccess((System.nanoTime() - start) / 1_000_000);
+                }
+
+                if (mayRetry && retryPolicy.isRetryableStatus(response.getCode()) && retryPolicy.tryAcquireRetry()) {
+                    Header retryAfter = response.getFirstHeader(HttpHeaders.RETRY_AFTER);
+                    scheduleRetry(request, attempt, retryable, result, exchange, "HTTP " + response.getCode(),
+                            RetryPolicy.parseRetryAfter(retryAfter != null ? retryAfter.getValue() : null));
+                    return;
+                }
+                result.complete(response);
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                circuitBreaker.recordFailure(ex);
+                if (mayRetry && retryPolicy.isRetryableException(ex) && retryPolicy.tryAcquireRetry()) {
+                    scheduleRetry(request, attempt, retryable, result, exchange, ex.toString(), -1);
+                    return;
+                }
+                logger.error("Fehler bei {}-Request an {}: {}", request.getMethod(), request.getRequestUri(), ex.getMessage());
+                result.completeExceptionally(ex);
+            }
+
+            @Override
+            public void cancelled() {
+                result.cancel(false);
+            }
+        }));
+    }
+
+    /**
+     * Plant den nächsten Versuch nach der von der RetryPolicy berechneten Wartezeit.
+     *
+     * @param request Die auszuführende Anfrage
+     * @param attempt Die Nummer des fehlgeschlagenen Versuchs
+     * @param retryable true wenn die Methode wiederholt werden darf
+     * @param result Das Future, das mit der endgültigen Antwort abgeschlossen wird
+     * @param exchange Nimmt den aktuell laufenden HTTP-Austausch auf
+     * @param reason Grund der Wiederholung für die Log-Ausgabe
+     * @param retryAfterMillis Vom Server vorgegebene Wartezeit oder -1
+     */
+    private void scheduleRetry(SimpleHttpRequest request, int attempt, boolean retryable,
+                               CompletableFuture<SimpleHttpResponse> result,
+                               AtomicReference<Future<SimpleHttpResponse>> exchange,
+                               String reason, long retryAfterMillis) {
+        RetryPolicy retryPolicy = RetryPolicy.getInstance();
+        long delay = retryPolicy.getBackoffMillis(attempt, retryAfterMillis);
+        logger.info("Wiederhole {} {} in {} ms (Versuch {}/{}): {}", request.getMethod(), request.getRequestUri(),
+                delay, attempt + 1, retryPolicy.getMaxAttempts(), reason);
+        CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS)
+                .execute(() -> sendAttempt(request, attempt + 1, retryable, result, exchange));
+    }
+
+    /**
+     * Wertet eine Antwort außerhalb des I/O-Threads aus.
+     * Der Abbruch des Ergebnis-Futures wird an die zugrunde liegende Anfrage weitergereicht.
+     *
+     * @param exchange Future der HTTP-Antwort
+     * @param mapper Wandelt die Antwort in das Ergebnis um
+     * @param <T> Der Ergebnistyp
+     * @return Future mit dem Ergebnis
+     */
+    private static <T> CompletableFuture<T> map(CompletableFuture<SimpleHttpResponse> exchange,
+                                                ResponseMapper<T> mapper) {
+        CompletableFuture<T> mapped = exchange.thenApplyAsync(response -> {
+            try {
+                return mapper.map(response);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        });
+        mapped.whenComplete((value, ex) -> {
+            if (mapped.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+        return mapped;
+    }
+
+    /**
+     * Prüft, ob die Antwort erfolgreich war, und gibt den entpackten Antworttext zurück.
+     *
+     * @param response Die HTTP-Antwort
+     * @return Der Antworttext als Strom
+     * @throws IOException Bei unbekannter Content-Encoding
+     * @throws RuntimeException Bei einem anderen Statuscode als 200
+     */
+    private static InputStream expectOk(SimpleHttpResponse response) throws IOException {
+        if (response.getCode() != 200 || response.getBodyBytes() == null) {
+            logger.warn("Unerwarteter HTTP-Response-Code: {}", response.getCode());
+            throw new RuntimeException("HTTP-Fehler: " + response.getCode());
+        }
+        return bodyOf(response);
+    }
+
+    /**
+     * Gibt den Antworttext zurück und entpackt ihn dabei gemäß Content-Encoding.
+     *
+     * @param response Die HTTP-Antwort mit Body
+     * @return Der entpackte Antworttext als Strom
+     * @throws IOException Bei unbekannter Content-Encoding
+     */
+    private static InputStream bodyOf(SimpleHttpResponse response) throws IOException {
+        Header encoding = response.getFirstHeader(HttpHeaders.CONTENT_ENCODING);
+        return HttpCompression.decode(new ByteArrayInputStream(response.getBodyBytes()),
+                encoding != null ? encoding.getValue() : null);
+    }
+
+    /**
+     * Gibt den Content-Type einer Antwort zurück.
+     *
+     * @param response Die HTTP-Antwort
+     * @return Der Medientyp oder null, wenn der Server keinen angibt
+     */
+    private static String contentTypeOf(SimpleHttpResponse response) {
+        return response.getContentType() != null ? response.getContentType().getMimeType() : null;
+    }
+
+    /**
+     * Wandelt eine HTTP-Antwort in eine ApiResponse um.
+     *
+     * @param response Die HTTP-Antwort
+     * @return Statuscode und Antworttext
+     * @throws IOException Bei unbekannter Content-Encoding oder ungültigen komprimierten Daten
+     */
+    private static ApiResponse toApiResponse(SimpleHttpResponse response) throws IOException {
+        if (response.getBodyBytes() == null) {
+            return new ApiResponse(response.getCode(), "");
+        }
+        try (InputStream in = bodyOf(response)) {
+            return new ApiResponse(response.getCode(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Erstellt die TLS-Strategie für HTTPS-Verbindungen.
+     * HINWEIS: Wie im synchronen Transport wird die Zertifikatsprüfung für Entwicklungszwecke deaktiviert!
+     *
+     * @return Die konfigurierte TlsStrategy
+     */
+    private static TlsStrategy createTlsStrategy() {
+        try {
+            SSLContext sslContext = SSLContexts.custom()
+                    .loadTrustMaterial(TrustAllStrategy.INSTANCE)
+                    .build();
+            logger.warn("SSL-Zertifikatsprüfung im asynchronen Client deaktiviert. NICHT FÜR PRODUKTION GEEIGNET!");
+            return ClientTlsStrategyBuilder.create()
+                    .setSslContext(sslContext)
+                    .setHostnameVerifier(NoopHostnameVerifier.INSTANCE)
+                    .build();
+        } catch (Exception e) {
+            logger.error("Fehler beim Erstellen des SSL-Kontexts: {}", e.getMessage(), e);
+            return ClientTlsStrategyBuilder.create().build();
+        }
+    }
+
+    /**
+     * Wandelt eine vollständig gelesene HTTP-Antwort in ein Ergebnis um.
+     *
+     * @param <T> Der Ergebnistyp
+     */
+    @FunctionalInterface
+    private interface ResponseMapper<T> {
+        T map(SimpleHttpResponse response) throws Exception;
+    }
+}
@@ -0,0 +1,537 @@
+package api;
+
+import model.Article;
+import model.CellStyle;
+import model.LazyArticleList;
+import store.ArticleField;
+import store.RecordSource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Binäres Format der lokalen Artikeldatei.
+ * Die Datei wird schreibgeschützt per {@link FileChannel#map} eingebunden; beim Öffnen werden nur Kopf
+ * und Prüfsummen gelesen. Einzelne Artikel werden erst beim Zugriff dekodiert, z.B. über eine
+ * {@link LazyArticleList}, wenn die Tabelle die Zeile anzeigt. Als Basisbestand eines
+ * {@link store.ArticleStore} liefert die Datei zudem einzelne Textfelder für dessen Sekundärindizes.
+ * Jeder Datensatz trägt eine eigene Prüfsumme (siehe {@link RecordChecksums}); beschädigte Datensätze
+ * werden beim Öffnen erkannt und über {@link #getDamagedRecords()} gemeldet, statt die Datei zu verwerfen.
+ * Im Normalfall genügt eine Prüfsumme über den gesamten Datensatzbereich; nur wenn sie abweicht, werden
+ * die Datensätze einzeln geprüft.
+ *
+ * Aufbau (Big Endian):
+ * <pre>
+ * Kopf (80 Bytes):   Magic "LAGR", Version, Anzahl, CRC32C aller Datensätze, Journal-Sequenz, Offset und
+ *                    Länge des Datensatzbereichs, Hash über die Prüfsummen der Datensätze, CRC32C von Kopf und Index
+ * Positionsindex:    pro Artikel ID, Offset und CRC32C des Datensatzes (je 4 Bytes), in Listenreihenfolge
+ * ID-Index:          pro Artikel ID und Position, nach ID sortiert für die binäre Suche
+ * Datensätze:        ID, Bestand, Preis mit fester Breite (16 Bytes), danach Zeitstempel, Name, Typ,
+ *                    Einheit, Lagerort, Status, Link, stylesJson als UTF-8 mit Längenangabe (-1 = null)
+ *                    und die Formatierungen
+ * </pre>
+ * Es gibt nur eine Formatversion; Dateien mit anderer Version werden beim Öffnen abgelehnt.
+ */
+public class BinarySnapshot implements RecordSource {
+
+    private static final int MAGIC = 0x4C414752; // "LAGR"
+    private static final short VERSION = 2;
+    private static final int HEADER_SIZE = 80;
+    private static final int INDEX_ENTRY_SIZE = 12;
+    private static final int ID_INDEX_ENTRY_SIZE = 8;
+    private static final int FIXED_FIELDS_SIZE = 16;
+
+    // Positionen der Kopffelder
+    private static final int COUNT_OFFSET = 8;
+    private static final int RECORDS_CRC_OFFSET = 12;
+    private static final int JOURNAL_SEQ_OFFSET = 16;
+    private static final int RECORDS_OFFSET_OFFSET = 24;
+    private static final int RECORDS_LENGTH_OFFSET = 32;
+    private static final int HASH_OFFSET = 40;
+    private static final int HASH_LENGTH = 32;
+    private static final int HEADER_CRC_OFFSET = 72;
+
+    // Bits der Formatierungsflags
+    private static final int STYLE_BOLD = 1;
+    private static final int STYLE_ITALIC = 2;
+    private static final int STYLE_UNDERLINE = 4;
+    private static final int STYLE_NULL = 0x80;
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final int idIndexOffset;
+    private final int recordsOffset;
+    private final long journalSeq;
+    private final String hash;
+    private final BitSet damagedRecords = new BitSet();
+
+    /**
+     * Erstellt einen Snapshot über einen Puffer mit geprüftem Kopf und Index.
+     *
+     * @param buffer Der eingebundene Dateiinhalt
+     */
+    private BinarySnapshot(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.count = buffer.getInt(COUNT_OFFSET);
+        this.idIndexOffset = HEADER_SIZE + count * INDEX_ENTRY_SIZE;
+        this.recordsOffset = (int) buffer.getLong(RECORDS_OFFSET_OFFSET);
+        this.journalSeq = buffer.getLong(JOURNAL_SEQ_OFFSET);
+        byte[] hashBytes = new byte[HASH_LENGTH];
+        buffer.get(HASH_OFFSET, hashBytes);
+        this.hash = Base64.getEncoder().encodeToString(hashBytes);
+    }
+
+    /**
+     * Bindet eine Datei ein und prüft Kopf, Index und Datensätze.
+     * Die Prüfung liest die Datei einmal, dekodiert aber keine Artikel. Weicht die Gesamtprüfsumme ab,
+     * werden die Datensätze blockweise parallel einzeln geprüft.
+     *
+     * @param file Die Datei
+     * @return Der geöffnete Snapshot, ggf. mit beschädigten Datensätzen
+     * @throws IOException Wenn die Datei nicht gelesen werden kann oder Kopf bzw. Index beschädigt sind
+     */
+    public static BinarySnapshot open(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Ungültige Dateigröße: " + size);
+            }
+            // Die Einbindung bleibt nach dem Schließen des Kanals gültig
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+
+        if (buffer.getInt(0) != MAGIC) {
+            throw new IOException("Keine binäre Artikeldatei");
+        }
+        short version = buffer.getShort(4);
+        if (version != VERSION) {
+            throw new IOException("Nicht unterstützte Version: " + version);
+        }
+        int count = buffer.getInt(COUNT_OFFSET);
+        long recordsOffset = buffer.getLong(RECORDS_OFFSET_OFFSET);
+        long recordsLength = buffer.getLong(RECORDS_LENGTH_OFFSET);
+        if (count < 0 || recordsOffset != HEADER_SIZE + (long) count * (INDEX_ENTRY_SIZE + ID_INDEX_ENTRY_SIZE)
+                || recordsOffset + recordsLength != buffer.capacity()) {
+            throw new IOException("Ungültiger Dateikopf");
+        }
+
+        CRC32C headerCrc = new CRC32C();
+        headerCrc.update(buffer.slice(0, HEADER_CRC_OFFSET));
+        headerCrc.update(buffer.slice(HEADER_SIZE, (int) recordsOffset - HEADER_SIZE));
+        if ((int) headerCrc.getValue() != buffer.getInt(HEADER_CRC_OFFSET)) {
+            throw new IOException("Prüfsumme von Kopf oder Index stimmt nicht überein");
+        }
+        BinarySnapshot snapshot = new BinarySnapshot(buffer);
+        if (RecordChecksums.checksum(buffer, (int) recordsOffset, (int) recordsLength) != buffer.getInt(RECORDS_CRC_OFFSET)) {
+            snapshot.verifyRecords();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Prüft die Datensätze blockweise gegen ihre Prüfsummen im Positionsindex und merkt sich die beschädigten.
+     */
+    private void verifyRecords() {
+        int blocks = (count + RecordChecksums.BLOCK_SIZE - 1) / RecordChecksums.BLOCK_SIZE;
+        BitSet[] damagedPerBlock = new BitSet[blocks];
+        RecordChecksums.forEachBlock(count, (from, to) -> {
+            BitSet damaged = new BitSet();
+            // Eigene Sicht auf den Puffer pro Block, damit Position und Limit nicht geteilt werden
+            ByteBuffer view = buffer.duplicate();
+            CRC32C crc = new CRC32C();
+            for (int record = from; record < to; record++) {
+                int start = recordStart(record);
+                int end = recordEnd(record);
+                if (start < recordsOffset || end < start || end > buffer.capacity()) {
+                    damaged.set(record);
+                    continue;
+                }
+                crc.reset();
+                view.clear().position(start).limit(end);
+                crc.update(view);
+                if ((int) crc.getValue() != buffer.getInt(HEADER_SIZE + record * INDEX_ENTRY_SIZE + 8)) {
+                    damaged.set(record);
+                }
+            }
+            damagedPerBlock[from / RecordChecksums.BLOCK_SIZE] = damaged;
+        });
+        for (BitSet damaged : damagedPerBlock) {
+            damagedRecords.or(damaged);
+        }
+    }
+
+    /**
+     * Liest nur die Journal-Sequenz aus dem Kopf einer Datei.
+     *
+     * @param file Die Datei
+     * @return Die Journal-Sequenz
+     * @throws IOException Wenn der Kopf nicht gelesen werden kann
+     */
+    public static long readJournalSeq(Path file) throws IOException {
+        return readHeader(file).getLong(JOURNAL_SEQ_OFFSET);
+    }
+
+    /**
+     * Liest nur den Hash der Datensätze aus dem Kopf einer Datei.
+     *
+     * @param file Die Datei
+     * @return Der Hash (Base64)
+     * @throws IOException Wenn der Kopf nicht gelesen werden kann
+     */
+    public static String readHash(Path file) throws IOException {
+        byte[] hashBytes = new byte[HASH_LENGTH];
+        readHeader(file).get(HASH_OFFSET, hashBytes);
+        return Base64.getEncoder().encodeToString(hashBytes);
+    }
+
+    /**
+     * Liest den Kopf einer Datei.
+     *
+     * @param file Die Datei
+     * @return Der Kopf
+     * @throws IOException Wenn der Kopf fehlt oder ungültig ist
+     */
+    private static ByteBuffer readHeader(Path file) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // weiterlesen, bis der Kopf vollständig ist
+            }
+        }
+        if (header.hasRemaining() || header.getInt(0) != MAGIC) {
+            throw new IOException("Keine binäre Artikeldatei");
+        }
+        return header;
+    }
+
+    /**
+     * Schreibt Artikel im Binärformat in eine Datei und bringt sie auf den Datenträger.
+     *
+     * @param articles Die zu speichernden Artikel
+     * @param journalSeq Die höchste in den Artikeln enthaltene Journal-Sequenz
+     * @param file Die Zieldatei, wird überschrieben
+     * @return Der Hash der Datensätze (Base64)
+     * @throws IOException Bei Problemen beim Schreiben
+     */
+    public static String write(List<Article> articles, long journalSeq, Path file) throws IOException {
+        int count = articles.size();
+        int[] ids = new int[count];
+        int[] offsets = new int[count];
+        int[] checksums = new int[count];
+
+        ByteArrayOutputStream records = new ByteArrayOutputStream(count * 128);
+        DataOutputStream out = new DataOutputStream(records);
+        for (int i = 0; i < count; i++) {
+            Article article = articles.get(i);
+            ids[i] = article.id;
+            offsets[i] = out.size();
+            writeRecord(out, article);
+        }
+        out.flush();
+        byte[] recordBytes = records.toByteArray();
+        for (int i = 0; i < count; i++) {
+            int end = i + 1 < count ? offsets[i + 1] : recordBytes.length;
+            checksums[i] = RecordChecksums.checksum(recordBytes, offsets[i], end - offsets[i]);
+        }
+
+        // Index nach Listenreihenfolge und nach ID sortiert
+        ByteBuffer index = ByteBuffer.allocate(count * (INDEX_ENTRY_SIZE + ID_INDEX_ENTRY_SIZE));
+        for (int i = 0; i < count; i++) {
+            index.putInt(ids[i]).putInt(offsets[i]).putInt(checksums[i]);
+        }
+        long[] sorted = new long[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = ((long) ids[i] << 32) | i;
+        }
+        Arrays.sort(sorted);
+        for (long entry : sorted) {
+            index.putInt((int) (entry >> 32)).putInt((int) entry);
+        }
+        index.flip();
+
+        String hash = RecordChecksums.rootHash(checksums);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putShort(VERSION).putShort((short) 0).putInt(count)
+                .putInt(RecordChecksums.checksum(recordBytes, 0, recordBytes.length))
+                .putLong(journalSeq)
+                .putLong(HEADER_SIZE + (long) index.remaining())
+                .putLong(recordBytes.length)
+                .put(Base64.getDecoder().decode(hash));
+        CRC32C headerCrc = new CRC32C();
+        headerCrc.update(header.array(), 0, HEADER_CRC_OFFSET);
+        headerCrc.update(index.array(), 0, index.limit());
+        header.putInt((int) headerCrc.getValue());
+
+        try (FileOutputStream fileOut = new FileOutputStream(file.toFile())) {
+            fileOut.write(header.array());
+            fileOut.write(index.array(), 0, index.limit());
+            fileOut.write(recordBytes);
+            fileOut.getFD().sync();
+        }
+        return hash;
+    }
+
+    /**
+     * Schreibt einen Datensatz.
+     *
+     * @param out Der Zielstrom
+     * @param article Der Artikel
+     * @throws IOException Bei Problemen beim Schreiben
+     */
+    private static void writeRecord(DataOutputStream out, Article article) throws IOException {
+        out.writeInt(article.id);
+        out.writeInt(article.stock);
+        out.writeDouble(article.price);
+        // Der Zeitstempel steht vorn, damit er ohne Dekodieren des Datensatzes gelesen werden kann
+        writeString(out, article.timestamp);
+        writeString(out, article.name);
+        writeString(out, article.type);
+        writeString(out, article.unit);
+        writeString(out, article.location);
+        writeString(out, article.status);
+        writeString(out, article.link);
+        writeString(out, article.stylesJson);
+
+        if (article.styles == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(article.styles.size());
+        for (Map.Entry<String, CellStyle> entry : article.styles.entrySet()) {
+            writeString(out, entry.getKey());
+            CellStyle style = entry.getValue();
+            if (style == null) {
+                out.writeByte(STYLE_NULL);
+                writeString(out, null);
+                continue;
+            }
+            int flags = (style.bold ? STYLE_BOLD : 0) | (style.italic ? STYLE_ITALIC : 0)
+                    | (style.underline ? STYLE_UNDERLINE : 0);
+            out.writeByte(flags);
+            writeString(out, style.color);
+        }
+    }
+
+    /**
+     * Schreibt eine Zeichenkette als UTF-8 mit vorangestellter Länge.
+     *
+     * @param out Der Zielstrom
+     * @param value Die Zeichenkette oder null
+     * @throws IOException Bei Problemen beim Schreiben
+     */
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Gibt die Anzahl der Artikel zurück.
+     *
+     * @return Die Anzahl der Artikel
+     */
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Gibt die in der Datei enthaltene Journal-Sequenz zurück.
+     *
+     * @return Die Journal-Sequenz
+     */
+    public long getJournalSeq() {
+        return journalSeq;
+    }
+
+    /**
+     * Gibt die beim Öffnen als beschädigt erkannten Datensätze zurück.
+     *
+     * @return Die Nummern der beschädigten Datensätze, nicht verändern
+     */
+    public BitSet getDamagedRecords() {
+        return damagedRecords;
+    }
+
+    /**
+     * Liest die gespeicherten Bytes eines Datensatzes, z.B. um einen beschädigten Datensatz aufzubewahren.
+     *
+     * @param record Die Nummer des Datensatzes
+     * @return Die Rohdaten, leer wenn der Index auf keinen gültigen Bereich zeigt
+     */
+    public byte[] readRawRecord(int record) {
+        int start = recordStart(record);
+        int end = recordEnd(record);
+        if (start < recordsOffset || end < start || end > buffer.capacity()) {
+            return new byte[0];
+        }
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return bytes;
+    }
+
+    /**
+     * Gibt den Hash der Datensätze zurück, der auch für die HTTP-Validatoren verwendet wird.
+     *
+     * @return Der Hash (Base64)
+     */
+    public String getHash() {
+        return hash;
+    }
+
+    @Override
+    public int idAt(int record) {
+        return buffer.getInt(HEADER_SIZE + record * INDEX_ENTRY_SIZE);
+    }
+
+    @Override
+    public String timestampAt(int record) {
+        return readString(recordStart(record) + FIXED_FIELDS_SIZE, new int[1]);
+    }
+
+    @Override
+    public String textAt(int record, ArticleField field) {
+        // Reihenfolge der Zeichenketten: Zeitstempel, Name, Typ, Einheit, Lagerplatz, Status, ...
+        int skip = switch (field) {
+            case NAME -> 1;
+            case TYPE -> 2;
+            case LOCATION -> 4;
+            case STATUS -> 5;
+        };
+        int position = recordStart(record) + FIXED_FIELDS_SIZE;
+        for (int i = 0; i < skip; i++) {
+            int length = buffer.getInt(position);
+            position += 4 + Math.max(0, length);
+        }
+        return readString(position, new int[1]);
+    }
+
+    /**
+     * Sucht die Position eines Artikels über den sortierten ID-Index.
+     *
+     * @param id Die Artikel-ID
+     * @return Die Position in Listenreihenfolge oder -1, wenn die ID nicht enthalten ist
+     */
+    public int positionOf(int id) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midId = buffer.getInt(idIndexOffset + mid * ID_INDEX_ENTRY_SIZE);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return buffer.getInt(idIndexOffset + mid * ID_INDEX_ENTRY_SIZE + 4);
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public Article decode(int record) {
+        int position = recordStart(record);
+        Article article = new Article();
+        article.id = buffer.getInt(position);
+        article.stock = buffer.getInt(position + 4);
+        article.price = buffer.getDouble(position + 8);
+
+        // Zeigt nach jedem gelesenen Feld auf das nächste
+        int[] cursor = {position + FIXED_FIELDS_SIZE};
+        article.timestamp = readString(cursor[0], cursor);
+        article.name = readString(cursor[0], cursor);
+        article.type = readString(cursor[0], cursor);
+        article.unit = readString(cursor[0], cursor);
+        article.location = readString(cursor[0], cursor);
+        article.status = readString(cursor[0], cursor);
+        article.link = readString(cursor[0], cursor);
+        article.stylesJson = readString(cursor[0], cursor);
+
+        int styleCount = buffer.getInt(cursor[0]);
+        cursor[0] += 4;
+        if (styleCount < 0) {
+            article.styles = null;
+            return article;
+        }
+        Map<String, CellStyle> styles = new HashMap<>(Math.max(4, styleCount * 2));
+        for (int i = 0; i < styleCount; i++) {
+            String column = readString(cursor[0], cursor);
+            int flags = buffer.get(cursor[0]);
+            cursor[0]++;
+            String color = readString(cursor[0], cursor);
+            if ((flags & STYLE_NULL) != 0) {
+                styles.put(column, null);
+                continue;
+            }
+            CellStyle style = new CellStyle((flags & STYLE_BOLD) != 0, (flags & STYLE_ITALIC) != 0,
+                    (flags & STYLE_UNDERLINE) != 0, null);
+            // Der Konstruktor ersetzt null durch Schwarz, gespeichert wird der tatsächliche Wert
+            style.color = color;
+            styles.put(column, style);
+        }
+        article.styles = styles;
+        return article;
+    }
+
+    /**
+     * Gibt die Position eines Datensatzes im Puffer zurück.
+     *
+     * @param record Die Nummer des Datensatzes
+     * @return Die absolute Position
+     */
+    private int recordStart(int record) {
+        return recordsOffset + buffer.getInt(HEADER_SIZE + record * INDEX_ENTRY_SIZE + 4);
+    }
+
+    /**
+     * Gibt die Position direkt hinter einem Datensatz zurück. Datensätze liegen in Listenreihenfolge hintereinander.
+     *
+     * @param record Die Nummer des Datensatzes
+     * @return Die absolute Endposition
+     */
+    private int recordEnd(int record) {
+        return record + 1 < count ? recordStart(record + 1) : buffer.capacity();
+    }
+
+    /**
+     * Liest eine Zeichenkette mit vorangestellter Länge. Verwendet nur absolute Zugriffe,
+     * damit mehrere Threads denselben Puffer lesen können.
+     *
+     * @param position Die Position der Längenangabe
+     * @param next Erhält an Index 0 die Position nach der Zeichenkette
+     * @return Die Zeichenkette oder null
+     */
+    private String readString(int position, int[] next) {
+        int length = buffer.getInt(position);
+        if (length < 0) {
+            next[0] = position + 4;
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(position + 4, bytes);
+        next[0] = position + 4 + length;
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
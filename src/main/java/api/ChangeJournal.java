@@ -0,0 +1,319 @@
+package api;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import model.Article;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only Journal für lokale Artikeländerungen.
+ * Jede Änderung wird als kompakter Datensatz an das Journal angehängt, statt die gesamte lokale
+ * Artikeldatei neu zu schreiben. Eine Zeile besteht aus der CRC32C-Prüfsumme (hexadezimal) und dem
+ * Datensatz als JSON. Datensätze tragen fortlaufende Sequenznummern; die lokale Artikeldatei merkt sich,
+ * bis zu welcher Nummer sie das Journal bereits enthält. Beim Laden werden nur neuere Datensätze
+ * angewendet, sodass ein Absturz zwischen dem Schreiben der Datei und dem Kürzen des Journals
+ * keine Änderungen verliert oder doppelt anwendet.
+ * Eine beim Absturz halb geschriebene letzte Zeile wird beim nächsten Lesen erkannt und abgeschnitten.
+ */
+public class ChangeJournal {
+    private static final Logger logger = LoggerFactory.getLogger(ChangeJournal.class);
+
+    /** Operation für einen angelegten oder geänderten Artikel. */
+    public static final String PUT = "put";
+    /** Operation für einen gelöschten Artikel. */
+    public static final String DELETE = "delete";
+
+    private static final int CRC_LENGTH = 8;
+
+    private final Path file;
+    private final boolean sync;
+    private final ObjectWriter entryWriter;
+    private final ObjectReader entryReader;
+
+    private FileChannel channel;
+    // Länge des gültigen Anteils, -1 solange die Datei noch nicht gelesen wurde
+    private long validLength = -1;
+    private long lastSequence = 0;
+    private int entryCount = 0;
+
+    /**
+     * Erstellt ein Journal für die angegebene Datei. Die Datei wird erst beim ersten Zugriff geöffnet.
+     *
+     * @param file Die Journaldatei
+     * @param sync true, wenn jeder Schreibvorgang mit fsync auf den Datenträger gebracht wird
+     */
+    public ChangeJournal(Path file, boolean sync) {
+        this.file = file;
+        this.sync = sync;
+        JsonCodec json = JsonCodec.getInstance();
+        this.entryWriter = json.getMapper().writerFor(Entry.class);
+        this.entryReader = json.getMapper().readerFor(Entry.class);
+    }
+
+    /**
+     * Liest alle gültigen Datensätze des Journals.
+     * Eine unvollständige oder beschädigte Zeile beendet das Lesen; alles danach gilt als nicht geschrieben.
+     *
+     * @return Die Datensätze in Schreibreihenfolge
+     * @throws IOException Bei Problemen beim Lesen der Datei
+     */
+    public synchronized List<Entry> readEntries() throws IOException {
+        List<Entry> entries = new ArrayList<>();
+        if (!Files.exists(file)) {
+            validLength = 0;
+            lastSequence = 0;
+            entryCount = 0;
+            return entries;
+        }
+
+        byte[] data = Files.readAllBytes(file);
+        long sequence = 0;
+        int position = 0;
+        while (position < data.length) {
+            int end = indexOf(data, (byte) '\n', position);
+            Entry entry = end < 0 ? null : parseLine(data, position, end);
+            if (entry == null) {
+                logger.warn("Journal {}: unvollständiger oder beschädigter Datensatz ab Byte {} wird verworfen ({} Bytes)",
+                        file.getFileName(), position, data.length - position);
+                break;
+            }
+            entries.add(entry);
+            sequence = entry.seq();
+            position = end + 1;
+        }
+
+        validLength = position;
+        lastSequence = sequence;
+        entryCount = entries.size();
+        return entries;
+    }
+
+    /**
+     * Hängt Änderungen als Datensätze an das Journal an.
+     * Alle Datensätze eines Aufrufs werden mit einem Schreibvorgang geschrieben.
+     *
+     * @param changed Geänderte oder neue Artikel
+     * @param deletedIds IDs gelöschter Artikel
+     * @param baseSequence Sequenznummer, die die lokale Artikeldatei bereits enthält
+     * @return Die Sequenznummer des letzten geschriebenen Datensatzes
+     * @throws IOException Bei Problemen beim Schreiben
+     */
+    public synchronized long append(Collection<Article> changed, Collection<Integer> deletedIds, long baseSequence)
+            throws IOException {
+        if (validLength < 0) {
+            readEntries();
+        }
+        FileChannel out = openChannel();
+        if (out.size() > validLength) {
+            // Rest eines abgebrochenen Schreibvorgangs entfernen
+            out.truncate(validLength);
+        }
+
+        long sequence = Math.max(lastSequence, baseSequence);
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        for (Article article : changed) {
+            writeLine(buffer, new Entry(++sequence, PUT, article.id, article));
+        }
+        for (Integer id : deletedIds) {
+            writeLine(buffer, new Entry(++sequence, DELETE, id, null));
+        }
+
+        ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+        out.position(validLength);
+        while (bytes.hasRemaining()) {
+            out.write(bytes);
+        }
+        if (sync) {
+            out.force(false);
+        }
+
+        validLength += buffer.size();
+        entryCount += changed.size() + deletedIds.size();
+        lastSequence = sequence;
+        return sequence;
+    }
+
+    /**
+     * Entfernt alle Datensätze bis einschließlich der angegebenen Sequenznummer,
+     * nachdem die lokale Artikeldatei sie übernommen hat. Neuere Datensätze bleiben erhalten.
+     * Das Journal wird dazu in eine temporäre Datei geschrieben und atomar ersetzt.
+     *
+     * @param sequence Die höchste in der Artikeldatei enthaltene Sequenznummer
+     * @throws IOException Bei Problemen beim Schreiben
+     */
+    public synchronized void discardUpTo(long sequence) throws IOException {
+        List<Entry> remaining = new ArrayList<>();
+        for (Entry entry : readEntries()) {
+            if (entry.seq() > sequence) {
+                remaining.add(entry);
+            }
+        }
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        for (Entry entry : remaining) {
+            writeLine(buffer, entry);
+        }
+
+        closeChannel();
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel tempChannel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+            while (bytes.hasRemaining()) {
+                tempChannel.write(bytes);
+            }
+            tempChannel.force(false);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        validLength = buffer.size();
+        entryCount = remaining.size();
+        // Die Sequenz läuft weiter, damit neue Datensätze nicht als bereits übernommen gelten
+        lastSequence = Math.max(lastSequence, sequence);
+        logger.debug("Journal bis Sequenz {} übernommen, {} Datensätze verbleiben", sequence, entryCount);
+    }
+
+    /**
+     * Gibt die Anzahl der Datensätze im Journal zurück.
+     *
+     * @return Die Anzahl der Datensätze, 0 wenn das Journal noch nicht gelesen wurde
+     */
+    public synchronized int size() {
+        return entryCount;
+    }
+
+    /**
+     * Gibt die Sequenznummer des letzten Datensatzes zurück.
+     *
+     * @return Die höchste vergebene Sequenznummer
+     * @throws IOException Bei Problemen beim Lesen der Datei
+     */
+    public synchronized long getLastSequence() throws IOException {
+        if (validLength < 0) {
+            readEntries();
+        }
+        return lastSequence;
+    }
+
+    /**
+     * Schließt die Journaldatei.
+     */
+    public synchronized void close() {
+        closeChannel();
+    }
+
+    /**
+     * Öffnet die Journaldatei zum Schreiben, falls sie noch nicht geöffnet ist.
+     *
+     * @return Der Kanal zur Journaldatei
+     * @throws IOException Wenn die Datei nicht geöffnet werden kann
+     */
+    private FileChannel openChannel() throws IOException {
+        if (channel == null || !channel.isOpen()) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        }
+        return channel;
+    }
+
+    /**
+     * Schließt den Schreibkanal, falls geöffnet.
+     */
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.debug("Journal konnte nicht geschlossen werden: {}", e.getMessage());
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * Schreibt einen Datensatz als Zeile mit vorangestellter Prüfsumme.
+     *
+     * @param buffer Der Zielpuffer
+     * @param entry Der Datensatz
+     * @throws IOException Wenn der Datensatz nicht serialisiert werden kann
+     */
+    private void writeLine(ByteArrayOutputStream buffer, Entry entry) throws IOException {
+        byte[] payload = entryWriter.writeValueAsBytes(entry);
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        buffer.write(String.format("%08x ", crc.getValue()).getBytes(StandardCharsets.US_ASCII));
+        buffer.write(payload);
+        buffer.write('\n');
+    }
+
+    /**
+     * Prüft und liest eine Zeile des Journals.
+     *
+     * @param data Der Dateiinhalt
+     * @param start Beginn der Zeile
+     * @param end Position des Zeilenumbruchs
+     * @return Der Datensatz oder null, wenn Prüfsumme oder Inhalt ungültig sind
+     */
+    private Entry parseLine(byte[] data, int start, int end) {
+        if (end - start <= CRC_LENGTH + 1 || data[start + CRC_LENGTH] != ' ') {
+            return null;
+        }
+        try {
+            long expected = Long.parseLong(new String(data, start, CRC_LENGTH, StandardCharsets.US_ASCII), 16);
+            int payloadStart = start + CRC_LENGTH + 1;
+            CRC32C crc = new CRC32C();
+            crc.update(data, payloadStart, end - payloadStart);
+            if (crc.getValue() != expected) {
+                return null;
+            }
+            return entryReader.readValue(data, payloadStart, end - payloadStart);
+        } catch (NumberFormatException | IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Sucht ein Byte ab einer Position.
+     *
+     * @param data Die Daten
+     * @param value Das gesuchte Byte
+     * @param from Die Startposition
+     * @return Die Position oder -1, wenn das Byte nicht vorkommt
+     */
+    private static int indexOf(byte[] data, byte value, int from) {
+        for (int i = from; i < data.length; i++) {
+            if (data[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Ein Datensatz des Journals.
+     *
+     * @param seq Fortlaufende Sequenznummer
+     * @param op {@link #PUT} oder {@link #DELETE}
+     * @param id Die ID des betroffenen Artikels
+     * @param article Der vollständige Artikel bei {@link #PUT}, sonst null
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Entry(long seq, String op, int id, Article article) {
+    }
+}
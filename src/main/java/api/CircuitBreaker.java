@@ -0,0 +1,341 @@
+package api;
+
+import config.AppConfig;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit Breaker für alle Anfragen an die Artikel-API.
+ * Zählt Fehler und langsame Antworten über die letzten Aufrufe. Überschreitet die Fehlerquote
+ * den Schwellwert oder ist der Server gar nicht erreichbar, wechselt der Breaker in den Zustand
+ * OPEN: Anfragen schlagen dann sofort mit einer {@link CircuitOpenException} fehl.
+ * Nach Ablauf der Wartezeit wird im Hintergrund eine Probe gesendet (HALF_OPEN); ist sie
+ * erfolgreich, wird der Breaker wieder geschlossen.
+ * Implementiert als Singleton, damit synchroner und asynchroner Client denselben Zustand teilen.
+ */
+public class CircuitBreaker {
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+    private static CircuitBreaker instance;
+
+    /**
+     * Zustände des Circuit Breakers.
+     */
+    public enum State {
+        /** Normalbetrieb, alle Anfragen werden gesendet. */
+        CLOSED,
+        /** Server gilt als nicht erreichbar, Anfragen schlagen sofort fehl. */
+        OPEN,
+        /** Wartezeit abgelaufen, eine Probeanfrage entscheidet über den weiteren Zustand. */
+        HALF_OPEN
+    }
+
+    /**
+     * Wird bei jedem Zustandswechsel benachrichtigt.
+     */
+    @FunctionalInterface
+    public interface StateListener {
+        /**
+         * Wird nach einem Zustandswechsel aufgerufen, nicht zwingend auf dem EDT.
+         *
+         * @param from Der vorherige Zustand
+         * @param to Der neue Zustand
+         */
+        void stateChanged(State from, State to);
+    }
+
+    private final boolean enabled;
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final long slowCallMillis;
+    private final long openMillis;
+
+    // Ringpuffer der letzten Ergebnisse: true = fehlgeschlagen oder zu langsam
+    private final boolean[] outcomes;
+    private int outcomeIndex = 0;
+    private int recordedCalls = 0;
+    private int failedCalls = 0;
+
+    private State state = State.CLOSED;
+    private long openUntil = 0;
+    private boolean trialInFlight = false;
+
+    private final List<StateListener> listeners = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "circuit-breaker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Runnable halfOpenProbe;
+
+    /**
+     * Privater Konstruktor, der die Schwellwerte aus der Konfiguration liest.
+     */
+    private CircuitBreaker() {
+        AppConfig config = AppConfig.getInstance();
+        this.enabled = config.isCircuitBreakerEnabled();
+        this.outcomes = new boolean[Math.max(1, config.getCircuitBreakerWindow())];
+        this.minimumCalls = Math.max(1, Math.min(config.getCircuitBreakerMinimumCalls(), outcomes.length));
+        this.failureRateThreshold = config.getCircuitBreakerFailureRate();
+        this.slowCallMillis = config.getCircuitBreakerSlowCallMillis();
+        this.openMillis = config.getCircuitBreakerOpenMillis();
+
+        logger.info("Circuit Breaker {} (Fenster {}, min. {} Aufrufe, Fehlerquote {} %, langsam ab {} ms, Wartezeit {} ms)",
+                enabled ? "aktiviert" : "deaktiviert", outcomes.length, minimumCalls,
+                failureRateThreshold, slowCallMillis, openMillis);
+    }
+
+    /**
+     * Gibt die Singleton-Instanz zurück.
+     *
+     * @return Die CircuitBreaker-Instanz
+     */
+    public static synchronized CircuitBreaker getInstance() {
+        if (instance == null) {
+            instance = new CircuitBreaker();
+        }
+        return instance;
+    }
+
+    /**
+     * Prüft, ob eine Anfrage gesendet werden darf.
+     * Im Zustand HALF_OPEN wird nur eine einzelne Probeanfrage gleichzeitig zugelassen.
+     *
+     * @return true wenn die Anfrage gesendet werden darf
+     */
+    public boolean tryAcquirePermission() {
+        if (!enabled) {
+            return true;
+        }
+        State previous;
+        State current;
+        synchronized (this) {
+            previous = state;
+            if (state == State.OPEN) {
+                if (System.currentTimeMillis() < openUntil) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+            }
+            if (state == State.HALF_OPEN) {
+                if (trialInFlight) {
+                    return false;
+                }
+                trialInFlight = true;
+            }
+            current = state;
+        }
+        notifyIfChanged(previous, current);
+        return true;
+    }
+
+    /**
+     * Meldet eine erfolgreiche Anfrage.
+     *
+     * @param latencyMillis Zeit bis zum Eintreffen der Antwort in Millisekunden
+     */
+    public void recordSuccess(long latencyMillis) {
+        if (!enabled) {
+            return;
+        }
+        boolean slow = latencyMillis > slowCallMillis;
+        if (slow) {
+            logger.debug("Langsame Antwort nach {} ms", latencyMillis);
+        }
+        record(slow, false);
+    }
+
+    /**
+     * Meldet eine fehlgeschlagene Anfrage (Netzwerkfehler oder 5xx-Antwort).
+     * Ist der Server gar nicht erreichbar, wird der Breaker sofort geöffnet.
+     *
+     * @param error Die aufgetretene Ausnahme oder null bei einer 5xx-Antwort
+     */
+    public void recordFailure(Throwable error) {
+        if (!enabled) {
+            return;
+        }
+        record(true, isConnectFailure(error));
+    }
+
+    /**
+     * Gibt eine erteilte Erlaubnis zurück, ohne ein Ergebnis zu melden (z.B. bei Abbruch durch den Aufrufer).
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+        }
+    }
+
+    /**
+     * Gibt den aktuellen Zustand zurück.
+     *
+     * @return Der Zustand
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Gibt die verbleibende Zeit bis zum nächsten Verbindungsversuch zurück.
+     *
+     * @return Verbleibende Zeit in Millisekunden, 0 wenn der Breaker nicht offen ist
+     */
+    public synchronized long getRemainingOpenMillis() {
+        return state == State.OPEN ? Math.max(0, openUntil - System.currentTimeMillis()) : 0;
+    }
+
+    /**
+     * Setzt die Probe, die nach Ablauf der Wartezeit im Hintergrund ausgeführt wird.
+     * Die Probe sollte eine leichtgewichtige Anfrage über den normalen Transport senden.
+     *
+     * @param probe Die auszuführende Probe
+     */
+    public void setHalfOpenProbe(Runnable probe) {
+        this.halfOpenProbe = probe;
+    }
+
+    /**
+     * Registriert einen Listener für Zustandswechsel.
+     *
+     * @param listener Der Listener
+     */
+    public void addListener(StateListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Entfernt einen Listener.
+     *
+     * @param listener Der Listener
+     */
+    public void removeListener(StateListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Trägt ein Ergebnis ein und führt ggf. einen Zustandswechsel durch.
+     *
+     * @param failed true wenn der Aufruf fehlgeschlagen oder zu langsam war
+     * @param tripImmediately true wenn der Breaker unabhängig von der Fehlerquote geöffnet werden soll
+     */
+    private void record(boolean failed, boolean tripImmediately) {
+        State previous;
+        State current;
+        synchronized (this) {
+            previous = state;
+            if (state == State.HALF_OPEN) {
+                trialInFlight = false;
+                if (failed) {
+                    open();
+                } else {
+                    close();
+                }
+            } else if (state == State.CLOSED) {
+                if (recordedCalls == outcomes.length && outcomes[outcomeIndex]) {
+                    failedCalls--;
+                }
+                outcomes[outcomeIndex] = failed;
+                outcomeIndex = (outcomeIndex + 1) % outcomes.length;
+                recordedCalls = Math.min(recordedCalls + 1, outcomes.length);
+                if (failed) {
+                    failedCalls++;
+                }
+
+                if (failed && tripImmediately) {
+                    logger.warn("Server nicht erreichbar, öffne Circuit Breaker");
+                    open();
+                } else if (recordedCalls >= minimumCalls && failedCalls * 100 >= failureRateThreshold * recordedCalls) {
+                    logger.warn("Fehlerquote {} von {} Aufrufen, öffne Circuit Breaker", failedCalls, recordedCalls);
+                    open();
+                }
+            }
+            current = state;
+        }
+        notifyIfChanged(previous, current);
+    }
+
+    /**
+     * Öffnet den Breaker und plant die Probe nach Ablauf der Wartezeit.
+     * Muss mit gehaltener Sperre aufgerufen werden.
+     */
+    private void open() {
+        state = State.OPEN;
+        openUntil = System.currentTimeMillis() + openMillis;
+        scheduler.schedule(this::runHalfOpenProbe, openMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Schließt den Breaker und verwirft die bisherige Statistik.
+     * Muss mit gehaltener Sperre aufgerufen werden.
+     */
+    private void close() {
+        state = State.CLOSED;
+        outcomeIndex = 0;
+        recordedCalls = 0;
+        failedCalls = 0;
+        logger.info("Server wieder erreichbar, Circuit Breaker geschlossen");
+    }
+
+    /**
+     * Führt die Probe aus, sofern der Breaker noch offen ist.
+     * Die Probe läuft über den normalen Transport und erhält dort die Probeerlaubnis.
+     */
+    private void runHalfOpenProbe() {
+        Runnable probe = halfOpenProbe;
+        if (probe == null || getState() != State.OPEN) {
+            return;
+        }
+        logger.debug("Wartezeit abgelaufen, sende Probeanfrage");
+        try {
+            probe.run();
+        } catch (Exception e) {
+            logger.debug("Probeanfrage fehlgeschlagen: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Benachrichtigt die Listener, falls sich der Zustand geändert hat.
+     *
+     * @param from Der vorherige Zustand
+     * @param to Der aktuelle Zustand
+     */
+    private void notifyIfChanged(State from, State to) {
+        if (from == to) {
+            return;
+        }
+        logger.info("Circuit Breaker: {} -> {}", from, to);
+        for (StateListener listener : listeners) {
+            try {
+                listener.stateChanged(from, to);
+            } catch (Exception e) {
+                logger.error("Fehler im Circuit-Breaker-Listener: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Prüft, ob eine Ausnahme anzeigt, dass der Server gar nicht erreichbar ist.
+     *
+     * @param error Die Ausnahme, darf null sein
+     * @return true bei Verbindungsfehlern wie abgelehnter Verbindung oder unbekanntem Host
+     */
+    private static boolean isConnectFailure(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof ConnectTimeoutException
+                    || cause instanceof UnknownHostException || cause instanceof NoRouteToHostException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
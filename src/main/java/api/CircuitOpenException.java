@@ -0,0 +1,19 @@
+package api;
+
+import java.io.IOException;
+
+/**
+ * Wird geworfen, wenn eine Anfrage nicht gesendet wird, weil der Circuit Breaker offen ist.
+ * Der Aufruf schlägt sofort fehl, statt auf Verbindungs-Timeouts zu warten.
+ */
+public class CircuitOpenException extends IOException {
+
+    /**
+     * Erstellt eine neue Ausnahme.
+     *
+     * @param remainingMillis Verbleibende Zeit bis zum nächsten Verbindungsversuch in Millisekunden
+     */
+    public CircuitOpenException(long remainingMillis) {
+        super("Server nicht erreichbar, nächster Verbindungsversuch in " + Math.max(1, (remainingMillis + 999) / 1000) + " s");
+    }
+}
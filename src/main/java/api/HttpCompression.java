@@ -0,0 +1,127 @@
+package api;
+
+import config.AppConfig;
+import org.apache.hc.client5.http.entity.DeflateInputStream;
+import org.apache.hc.client5.http.entity.GzipCompressingEntity;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Komprimierung von Anfragen und Antworten.
+ * Antworten werden per "Accept-Encoding: gzip, deflate" komprimiert angefordert ("http.compression").
+ * Der synchrone Transport entpackt sie bereits selbst; für den asynchronen Client übernimmt
+ * {@link #decode(InputStream, String)} das streamende Entpacken.
+ * Große PUT/POST-Bodys werden optional mit gzip gesendet ("http.compression.request", ab
+ * "http.compression.threshold" Bytes). Lehnt der Server das mit 415 ab, wird die Anfrage
+ * unkomprimiert wiederholt und die Komprimierung für die restliche Sitzung abgeschaltet.
+ */
+final class HttpCompression {
+    private static final Logger logger = LoggerFactory.getLogger(HttpCompression.class);
+
+    /** Wert des Accept-Encoding-Headers. */
+    static final String ACCEPT_ENCODING = "gzip, deflate";
+    /** Content-Encoding für gzip-komprimierte Bodys. */
+    static final String GZIP = "gzip";
+
+    private static final boolean responseCompression = AppConfig.getInstance().isHttpCompressionEnabled();
+    private static final int requestThreshold = AppConfig.getInstance().getHttpCompressionThreshold();
+    private static volatile boolean requestCompression = AppConfig.getInstance().isHttpRequestCompressionEnabled();
+
+    private HttpCompression() {
+    }
+
+    /**
+     * Prüft, ob Antworten komprimiert angefordert werden.
+     *
+     * @return true wenn aktiviert
+     */
+    static boolean isResponseCompressionEnabled() {
+        return responseCompression;
+    }
+
+    /**
+     * Prüft, ob ein Body dieser Größe komprimiert gesendet werden soll.
+     *
+     * @param length Länge des unkomprimierten Bodys in Bytes
+     * @return true wenn die Anfragekomprimierung aktiv ist und der Schwellwert erreicht wird
+     */
+    static boolean shouldCompress(int length) {
+        return requestCompression && length >= requestThreshold;
+    }
+
+    /**
+     * Schaltet die Anfragekomprimierung ab, nachdem der Server einen komprimierten Body abgelehnt hat.
+     */
+    static void disableRequestCompression() {
+        if (requestCompression) {
+            requestCompression = false;
+            logger.warn("Server akzeptiert keine komprimierten Anfragen (415), sende Bodys künftig unkomprimiert");
+        }
+    }
+
+    /**
+     * Erstellt eine JSON-Entity für den synchronen Transport.
+     * Die Komprimierung erfolgt beim Senden; die Entity bleibt für Wiederholungen wiederverwendbar.
+     *
+     * @param body Der JSON-Body
+     * @param compress true für gzip
+     * @return Die Entity
+     */
+    static HttpEntity jsonEntity(byte[] body, boolean compress) {
+        HttpEntity entity = new ByteArrayEntity(body, ContentType.APPLICATION_JSON);
+        return compress ? new GzipCompressingEntity(entity) : entity;
+    }
+
+    /**
+     * Komprimiert einen Body mit gzip.
+     *
+     * @param body Der unkomprimierte Body
+     * @return Der komprimierte Body
+     */
+    static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            // Kann bei einem ByteArrayOutputStream nicht auftreten
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Entpackt einen Antwortstrom anhand des Content-Encoding-Headers.
+     *
+     * @param in Der Antwortstrom
+     * @param contentEncoding Der Content-Encoding-Header, darf null sein
+     * @return Der entpackte Strom
+     * @throws IOException Bei unbekannter Kodierung oder ungültigem gzip-Header
+     */
+    static InputStream decode(InputStream in, String contentEncoding) throws IOException {
+        if (contentEncoding == null || contentEncoding.isBlank()) {
+            return in;
+        }
+        switch (contentEncoding.trim().toLowerCase(Locale.ROOT)) {
+            case "identity":
+                return in;
+            case "gzip":
+            case "x-gzip":
+                return new GZIPInputStream(in);
+            case "deflate":
+                // Erkennt sowohl zlib- als auch rohe deflate-Daten
+                return new DeflateInputStream(in);
+            default:
+                throw new IOException("Nicht unterstützte Content-Encoding: " + contentEncoding);
+        }
+    }
+}
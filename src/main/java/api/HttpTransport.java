@@ -0,0 +1,282 @@
+package api;
+
+import config.AppConfig;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.client5.http.ssl.NoopHostnameVerifier;
+import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
+import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactoryBuilder;
+import org.apache.hc.client5.http.ssl.TrustAllStrategy;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HeaderElement;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.io.HttpClientResponseHandler;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.message.MessageSupport;
+import org.apache.hc.core5.ssl.SSLContexts;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Iterator;
+
+/**
+ * Gemeinsamer HTTP-Transport für alle Aufrufe an die Artikel-API.
+ * Hält einen begrenzten Connection-Pool mit Keep-Alive, sodass TCP- und TLS-Verbindungen
+ * (inklusive TLS-Sessions) über viele Anfragen hinweg wiederverwendet werden.
+ * Implementiert als Singleton, damit sich alle Aufrufer denselben Pool teilen.
+ */
+public class HttpTransport {
+    private static final Logger logger = LoggerFactory.getLogger(HttpTransport.class);
+    private static HttpTransport instance;
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+
+    /**
+     * Privater Konstruktor, der Pool und Client anhand der Konfiguration aufbaut.
+     */
+    private HttpTransport() {
+        AppConfig config = AppConfig.getInstance();
+        int maxTotal = config.getHttpMaxConnections();
+        int maxPerRoute = config.getHttpMaxConnectionsPerRoute();
+        Timeout connectTimeout = Timeout.ofMilliseconds(config.getHttpConnectTimeout());
+        Timeout socketTimeout = Timeout.ofMilliseconds(config.getHttpSocketTimeout());
+        TimeValue keepAlive = TimeValue.ofSeconds(config.getHttpKeepAliveSeconds());
+
+        this.connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setSSLSocketFactory(createSslSocketFactory())
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(connectTimeout)
+                        .setSocketTimeout(socketTimeout)
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(2))
+                        .build())
+                .build();
+
+        HttpClientBuilder builder = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(connectTimeout)
+                        .setResponseTimeout(socketTimeout)
+                        .build())
+                .setKeepAliveStrategy((response, context) -> {
+                    // Keep-Alive-Header des Servers hat Vorrang, sonst konfigurierter Standardwert
+                    Iterator<HeaderElement> it = MessageSupport.iterate(response, "Keep-Alive");
+                    while (it.hasNext()) {
+                        HeaderElement element = it.next();
+                        if ("timeout".equalsIgnoreCase(element.getName()) && element.getValue() != null) {
+                            try {
+                                return TimeValue.ofSeconds(Long.parseLong(element.getValue()));
+                            } catch (NumberFormatException ignored) {
+                                // Ungültiger Wert: Standard verwenden
+                            }
+                        }
+                    }
+                    return keepAlive;
+                })
+                .evictIdleConnections(keepAlive)
+                .evictExpiredConnections()
+                // Wiederholungen übernimmt die RetryPolicy, damit Budget und Idempotenz beachtet werden
+                .disableAutomaticRetries();
+        // Standardmäßig fordert der Client gzip/deflate an und entpackt Antworten beim Lesen
+        if (!config.isHttpCompressionEnabled()) {
+            builder.disableContentCompression();
+        }
+        this.httpClient = builder.build();
+
+        logger.info("HTTP-Transport initialisiert (max. {} Verbindungen, {} pro Route, Keep-Alive {} s)",
+                maxTotal, maxPerRoute, keepAlive.toSeconds());
+    }
+
+    /**
+     * Gibt die Singleton-Instanz zurück.
+     * Bei erstem Aufruf werden Pool und Client erstellt.
+     *
+     * @return Die HttpTransport-Instanz
+     */
+    public static synchronized HttpTransport getInstance() {
+        if (instance == null) {
+            instance = new HttpTransport();
+        }
+        return instance;
+    }
+
+    /**
+     * Führt eine Anfrage über den gemeinsamen Pool aus.
+     * Die Verbindung wird nach Verarbeitung durch den Handler automatisch an den Pool zurückgegeben.
+     * Vorübergehende Fehler werden gemäß {@link RetryPolicy} mit Backoff wiederholt, aber nur, solange der
+     * Handler die Antwort noch nicht verarbeitet. Bricht die Verbindung ab, während der Handler den Inhalt
+     * liest, wird nicht wiederholt, da er bereits Daten weitergegeben haben kann (z.B. gestreamte Artikel).
+     *
+     * @param request Die auszuführende Anfrage
+     * @param handler Verarbeitet die Antwort, solange die Verbindung noch gehalten wird
+     * @param <T> Der Ergebnistyp des Handlers
+     * @return Das Ergebnis des Handlers
+     * @throws IOException Bei Netzwerk- oder Protokollfehlern
+     */
+    public <T> T execute(ClassicHttpRequest request, HttpClientResponseHandler<T> handler) throws IOException {
+        RetryPolicy retryPolicy = RetryPolicy.getInstance();
+        retryPolicy.recordRequest();
+        boolean retryable = retryPolicy.isRetryableMethod(request.getMethod(),
+                request.containsHeader(RetryPolicy.IDEMPOTENCY_KEY_HEADER));
+
+        for (int attempt = 1; ; attempt++) {
+            boolean mayRetry = retryable && attempt < retryPolicy.getMaxAttempts();
+            long retryAfterMillis;
+            String reason;
+            boolean[] handlerStarted = {false};
+            try {
+                return executeOnce(request, handler, mayRetry, handlerStarted);
+            } catch (RetryableStatusException e) {
+                retryAfterMillis = e.retryAfterMillis;
+                reason = "HTTP " + e.statusCode;
+            } catch (IOException e) {
+                if (!mayRetry || handlerStarted[0] || !retryPolicy.isRetryableException(e)
+                        || !retryPolicy.tryAcquireRetry()) {
+                    throw e;
+                }
+                retryAfterMillis = -1;
+                reason = e.toString();
+            }
+
+            long delay = retryPolicy.getBackoffMillis(attempt, retryAfterMillis);
+            logger.info("Wiederhole {} {} in {} ms (Versuch {}/{}): {}", request.getMethod(), request.getRequestUri(),
+                    delay, attempt + 1, retryPolicy.getMaxAttempts(), reason);
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Wiederholung unterbrochen");
+            }
+        }
+    }
+
+    /**
+     * Führt einen einzelnen Versuch einer Anfrage aus und meldet das Ergebnis an den Circuit Breaker.
+     *
+     * @param request Die auszuführende Anfrage
+     * @param handler Verarbeitet die Antwort
+     * @param mayRetry true wenn bei vorübergehenden Statuscodes ein weiterer Versuch erlaubt ist
+     * @param handlerStarted Wird auf true gesetzt, sobald der Handler die Antwort erhält
+     * @param <T> Der Ergebnistyp des Handlers
+     * @return Das Ergebnis des Handlers
+     * @throws RetryableStatusException Wenn die Antwort verworfen wurde, um die Anfrage zu wiederholen
+     * @throws IOException Bei Netzwerk- oder Protokollfehlern
+     */
+    private <T> T executeOnce(ClassicHttpRequest request, HttpClientResponseHandler<T> handler,
+                              boolean mayRetry, boolean[] handlerStarted) throws IOException {
+        CircuitBreaker circuitBreaker = CircuitBreaker.getInstance();
+        if (!circuitBreaker.tryAcquirePermission()) {
+            logger.debug("{} {} abgewiesen, Circuit Breaker offen", request.getMethod(), request.getRequestUri());
+            throw new CircuitOpenException(circuitBreaker.getRemainingOpenMillis());
+        }
+
+        logger.trace("Sende {} {} über gepoolte Verbindung", request.getMethod(), request.getRequestUri());
+        long start = System.nanoTime();
+        // Statuscode und Zeitpunkt der Antwort, bevor der Handler den Inhalt liest
+        long[] responseNanos = {0};
+        int[] statusCode = {0};
+        try {
+            T result = httpClient.execute(request, httpResponse -> {
+                responseNanos[0] = System.nanoTime();
+                statusCode[0] = httpResponse.getCode();
+                RetryPolicy retryPolicy = RetryPolicy.getInstance();
+                if (mayRetry && retryPolicy.isRetryableStatus(statusCode[0]) && retryPolicy.tryAcquireRetry()) {
+                    Header retryAfter = httpResponse.getFirstHeader(HttpHeaders.RETRY_AFTER);
+                    EntityUtils.consume(httpResponse.getEntity());
+                    throw new RetryableStatusException(statusCode[0],
+                            RetryPolicy.parseRetryAfter(retryAfter != null ? retryAfter.getValue() : null));
+                }
+                handlerStarted[0] = true;
+                return handler.handleResponse(httpResponse);
+            });
+            recordOutcome(circuitBreaker, statusCode[0], responseNanos[0] - start, null);
+            return result;
+        } catch (IOException | RuntimeException e) {
+            recordOutcome(circuitBreaker, statusCode[0], responseNanos[0] - start, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Meldet das Ergebnis einer Anfrage an den Circuit Breaker.
+     * Jede Antwort unterhalb von 5xx zählt als Erfolg, auch wenn der Handler sie abgelehnt hat.
+     *
+     * @param circuitBreaker Der Circuit Breaker
+     * @param statusCode Der Statuscode oder 0, wenn keine Antwort empfangen wurde
+     * @param latencyNanos Zeit bis zum Eintreffen der Antwort
+     * @param error Die aufgetretene Ausnahme oder null
+     */
+    private static void recordOutcome(CircuitBreaker circuitBreaker, int statusCode, long latencyNanos, Exception error) {
+        if (statusCode == 0) {
+            circuitBreaker.recordFailure(error);
+        } else if (statusCode >= 500) {
+            circuitBreaker.recordFailure(null);
+        } else {
+            circuitBreaker.recordSuccess(latencyNanos / 1_000_000);
+        }
+    }
+
+    /**
+     * Schließt den Client und alle gepoolten Verbindungen.
+     */
+    public void close() {
+        try {
+            httpClient.close();
+            logger.debug("HTTP-Transport geschlossen");
+        } catch (IOException e) {
+            logger.warn("Fehler beim Schließen des HTTP-Transports: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Erstellt die SSL-Socket-Factory für HTTPS-Verbindungen.
+     * Der gemeinsame SSLContext sorgt dafür, dass TLS-Sessions wiederaufgenommen werden können.
+     * HINWEIS: Wie bisher wird die Zertifikatsprüfung für Entwicklungszwecke deaktiviert!
+     *
+     * @return Die konfigurierte SSLConnectionSocketFactory
+     */
+    private static SSLConnectionSocketFactory createSslSocketFactory() {
+        try {
+            SSLContext sslContext = SSLContexts.custom()
+                    .loadTrustMaterial(TrustAllStrategy.INSTANCE)
+                    .build();
+            sslContext.getClientSessionContext().setSessionTimeout(3600);
+            logger.warn("SSL-Zertifikatsprüfung im HTTP-Transport deaktiviert. NICHT FÜR PRODUKTION GEEIGNET!");
+            return SSLConnectionSocketFactoryBuilder.create()
+                    .setSslContext(sslContext)
+                    .setHostnameVerifier(NoopHostnameVerifier.INSTANCE)
+                    .build();
+        } catch (Exception e) {
+            logger.error("Fehler beim Erstellen des SSL-Kontexts: {}", e.getMessage(), e);
+            return SSLConnectionSocketFactoryBuilder.create().build();
+        }
+    }
+
+    /**
+     * Signalisiert, dass eine Antwort mit vorübergehendem Fehlerstatus verworfen wurde
+     * und die Anfrage wiederholt werden soll.
+     */
+    private static class RetryableStatusException extends IOException {
+        private final int statusCode;
+        private final long retryAfterMillis;
+
+        RetryableStatusException(int statusCode, long retryAfterMillis) {
+            super("HTTP " + statusCode);
+            this.statusCode = statusCode;
+            this.retryAfterMillis = retryAfterMillis;
+        }
+    }
+}
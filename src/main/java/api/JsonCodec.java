@@ -0,0 +1,287 @@
+package api;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import config.AppConfig;
+import model.Article;
+import model.ArticleDelta;
+import model.ArticlePage;
+import model.CellStyle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Zentrale JSON-Konfiguration für API-Aufrufe und lokale Ablage.
+ * Hält einen einzigen, einmal konfigurierten ObjectMapper sowie unveränderliche
+ * ObjectReader/ObjectWriter für die häufig verwendeten Typen. Reader und Writer sind threadsicher
+ * und behalten Jacksons Serializer-Caches, statt sie bei jedem Aufruf neu aufzubauen.
+ * Optional beschleunigt das Afterburner-Modul den Feldzugriff per generiertem Bytecode
+ * ("json.afterburner.enabled"); die erzeugte JSON-Ausgabe bleibt dabei identisch.
+ * Beim Abruf von Artikeln wird per Accept-Header bevorzugt ein binäres Jackson-Format (Smile oder CBOR,
+ * "api.format") angefordert. Welcher Parser verwendet wird, entscheidet der Content-Type der Antwort;
+ * Server ohne Unterstützung liefern weiterhin JSON. Dieselben Reader gelten für alle Formate.
+ * Implementiert als Singleton, damit sich alle Aufrufer dieselben Caches teilen.
+ */
+public class JsonCodec {
+    private static final Logger logger = LoggerFactory.getLogger(JsonCodec.class);
+    private static JsonCodec instance;
+
+    /** Medientyp für JSON. */
+    public static final String JSON_MEDIA_TYPE = "application/json";
+    /** Medientyp für Smile (binäres JSON von Jackson). */
+    public static final String SMILE_MEDIA_TYPE = "application/x-jackson-smile";
+    /** Medientyp für CBOR (RFC 8949). */
+    public static final String CBOR_MEDIA_TYPE = "application/cbor";
+
+    private final ObjectMapper mapper;
+    private final ObjectReader articleReader;
+    private final ObjectReader articleArrayReader;
+    private final ObjectReader articleListReader;
+    private final ObjectReader articleDeltaReader;
+    private final ObjectReader articlePageReader;
+    private final ObjectWriter articleWriter;
+    private final ObjectWriter articleListWriter;
+    private final SmileFactory smileFactory = new SmileFactory();
+    private final CBORFactory cborFactory = new CBORFactory();
+    private final String readAcceptHeader;
+
+    /**
+     * Privater Konstruktor, der Mapper, Reader und Writer gemäß Konfiguration aufbaut.
+     */
+    private JsonCodec() {
+        this(AppConfig.getInstance().isJsonAfterburnerEnabled(), AppConfig.getInstance().getApiFormat());
+    }
+
+    /**
+     * Baut Mapper, Reader und Writer einmalig auf und wärmt sie vor.
+     * Außerhalb des Singletons nur für Vergleichsmessungen (siehe Profil "benchmark").
+     *
+     * @param afterburner true, um das Afterburner-Modul zu registrieren
+     * @param apiFormat Das bevorzugte Format beim Abruf ("SMILE", "CBOR" oder "JSON")
+     */
+    JsonCodec(boolean afterburner, String apiFormat) {
+        readAcceptHeader = createAcceptHeader(apiFormat);
+
+        mapper = new ObjectMapper();
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        if (afterburner) {
+            mapper.registerModule(new AfterburnerModule());
+        }
+
+        articleReader = mapper.readerFor(Article.class);
+        articleArrayReader = mapper.readerFor(Article[].class);
+        articleListReader = mapper.readerFor(new TypeReference<List<Article>>() {});
+        articleDeltaReader = mapper.readerFor(ArticleDelta.class);
+        articlePageReader = mapper.readerFor(ArticlePage.class);
+        articleWriter = mapper.writerFor(Article.class);
+        articleListWriter = mapper.writerFor(new TypeReference<List<Article>>() {});
+
+        warmUp();
+        logger.debug("JSON-Codec initialisiert (Afterburner {}, Accept: {})",
+                afterburner ? "aktiviert" : "deaktiviert", readAcceptHeader);
+    }
+
+    /**
+     * Gibt die Singleton-Instanz zurück.
+     *
+     * @return Die JsonCodec-Instanz
+     */
+    public static synchronized JsonCodec getInstance() {
+        if (instance == null) {
+            instance = new JsonCodec();
+        }
+        return instance;
+    }
+
+    /**
+     * Gibt den gemeinsamen ObjectMapper für Sonderfälle (z.B. JsonNode-Bäume) zurück.
+     * Der Mapper darf nicht umkonfiguriert werden.
+     *
+     * @return Der konfigurierte ObjectMapper
+     */
+    public ObjectMapper getMapper() {
+        return mapper;
+    }
+
+    /**
+     * Gibt die JsonFactory für Streaming-Parser zurück.
+     *
+     * @return Die JsonFactory des gemeinsamen Mappers
+     */
+    public JsonFactory getFactory() {
+        return mapper.getFactory();
+    }
+
+    /**
+     * Gibt den Accept-Header für lesende Anfragen zurück.
+     * Ist ein binäres Format konfiguriert, wird es bevorzugt und JSON als Alternative angeboten.
+     *
+     * @return Der Wert des Accept-Headers
+     */
+    public String getReadAcceptHeader() {
+        return readAcceptHeader;
+    }
+
+    /**
+     * Erstellt einen Parser passend zum Content-Type der Antwort.
+     *
+     * @param in Der Antwortstrom
+     * @param contentType Der Content-Type der Antwort, darf null sein (dann JSON)
+     * @return Ein Parser für Smile, CBOR oder JSON
+     * @throws IOException Wenn der Parser nicht erstellt werden kann
+     */
+    public JsonParser createParser(InputStream in, String contentType) throws IOException {
+        return factoryFor(contentType).createParser(in);
+    }
+
+    /**
+     * Liest einen Wert im Format des angegebenen Content-Types.
+     *
+     * @param reader Der Reader für den Zieltyp
+     * @param body Der Antworttext
+     * @param contentType Der Content-Type der Antwort, darf null sein (dann JSON)
+     * @param <T> Der Zieltyp
+     * @return Der gelesene Wert
+     * @throws IOException Bei ungültigen Daten
+     */
+    public <T> T readValue(ObjectReader reader, InputStream body, String contentType) throws IOException {
+        try (JsonParser parser = createParser(body, contentType)) {
+            return reader.readValue(parser);
+        }
+    }
+
+    /**
+     * Gibt den Reader für einen einzelnen Artikel zurück.
+     *
+     * @return Der Reader für einen einzelnen Artikel
+     */
+    public ObjectReader articleReader() {
+        return articleReader;
+    }
+
+    /**
+     * Gibt den Reader für ein Artikel-Array zurück.
+     *
+     * @return Der Reader für ein Artikel-Array
+     */
+    public ObjectReader articleArrayReader() {
+        return articleArrayReader;
+    }
+
+    /**
+     * Gibt den Reader für eine Artikelliste zurück.
+     *
+     * @return Der Reader für eine Artikelliste
+     */
+    public ObjectReader articleListReader() {
+        return articleListReader;
+    }
+
+    /**
+     * Gibt den Reader für Delta-Antworten zurück.
+     *
+     * @return Der Reader für Delta-Antworten
+     */
+    public ObjectReader articleDeltaReader() {
+        return articleDeltaReader;
+    }
+
+    /**
+     * Gibt den Reader für Ergebnisseiten serverseitiger Abfragen zurück.
+     *
+     * @return Der Reader für Ergebnisseiten
+     */
+    public ObjectReader articlePageReader() {
+        return articlePageReader;
+    }
+
+    /**
+     * Gibt den Writer für einen einzelnen Artikel zurück.
+     * Seine kompakte Ausgabe bildet die Zeilen der lokalen JSON-Datei (siehe {@link JsonSnapshot}).
+     *
+     * @return Der Writer für einen einzelnen Artikel
+     */
+    public ObjectWriter articleWriter() {
+        return articleWriter;
+    }
+
+    /**
+     * Gibt den kompakten Writer für eine Artikelliste zurück.
+     *
+     * @return Der Writer für eine Artikelliste
+     */
+    public ObjectWriter articleListWriter() {
+        return articleListWriter;
+    }
+
+    /**
+     * Wählt die Parser-Factory anhand des Medientyps.
+     *
+     * @param contentType Der Content-Type, ggf. mit Parametern wie charset
+     * @return Die passende Factory, JSON bei unbekanntem oder fehlendem Typ
+     */
+    private JsonFactory factoryFor(String contentType) {
+        if (contentType == null) {
+            return mapper.getFactory();
+        }
+        int separator = contentType.indexOf(';');
+        String mediaType = (separator >= 0 ? contentType.substring(0, separator) : contentType).trim().toLowerCase(Locale.ROOT);
+        if (SMILE_MEDIA_TYPE.equals(mediaType)) {
+            return smileFactory;
+        }
+        if (CBOR_MEDIA_TYPE.equals(mediaType)) {
+            return cborFactory;
+        }
+        return mapper.getFactory();
+    }
+
+    /**
+     * Baut den Accept-Header für das konfigurierte Format.
+     *
+     * @param format "SMILE", "CBOR" oder "JSON"
+     * @return Der Accept-Header, bei unbekanntem Format nur JSON
+     */
+    private static String createAcceptHeader(String format) {
+        switch (format) {
+            case "SMILE":
+                return SMILE_MEDIA_TYPE + ", " + JSON_MEDIA_TYPE + ";q=0.9";
+            case "CBOR":
+                return CBOR_MEDIA_TYPE + ", " + JSON_MEDIA_TYPE + ";q=0.9";
+            case "JSON":
+                return JSON_MEDIA_TYPE;
+            default:
+                logger.warn("Unbekanntes API-Format '{}', verwende JSON", format);
+                return JSON_MEDIA_TYPE;
+        }
+    }
+
+    /**
+     * Serialisiert und deserialisiert einen Beispielartikel, damit Serializer und Deserializer
+     * nicht erst beim ersten echten Aufruf (z.B. beim Laden des Katalogs) erzeugt werden.
+     */
+    private void warmUp() {
+        try {
+            Article sample = new Article();
+            sample.styles.put("name", new CellStyle());
+            byte[] json = articleListWriter.writeValueAsBytes(List.of(sample));
+            articleListReader.readValue(json);
+            articleArrayReader.readValue(json);
+            articleReader.readValue(articleWriter.writeValueAsBytes(sample));
+        } catch (Exception e) {
+            logger.debug("Vorwärmen des JSON-Codecs fehlgeschlagen: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package api;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import model.Article;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JSON-Format der lokalen Artikeldatei.
+ * Jeder Artikel steht kompakt in einer eigenen Zeile des Arrays "data". "checksums" enthält die
+ * CRC32C-Prüfsumme jeder Zeile (8 Hexziffern pro Artikel), "hash" den daraus gebildeten Gesamthash
+ * (siehe {@link RecordChecksums}). Beim Laden werden die Prüfsummen direkt über die Rohbytes der Zeilen
+ * berechnet, ohne die Daten erneut zu serialisieren. Eine beschädigte Zeile wird ausgesondert, alle übrigen
+ * Artikel werden geladen. Zeilen werden über ihre Prüfsumme zugeordnet, sodass auch ein verlorener
+ * Zeilenumbruch nur die betroffenen Artikel kostet.
+ * Dateien ohne "checksums" (ältere Versionen) werden wie bisher über den Hash der gesamten Daten geprüft.
+ */
+public class JsonSnapshot {
+    private static final Logger logger = LoggerFactory.getLogger(JsonSnapshot.class);
+
+    private static final int CHECKSUM_DIGITS = 8;
+
+    private JsonSnapshot() {
+    }
+
+    /**
+     * Schreibt Artikel in eine Datei und bringt sie auf den Datenträger.
+     *
+     * @param articles Die zu speichernden Artikel
+     * @param journalSeq Die höchste in den Artikeln enthaltene Journal-Sequenz
+     * @param file Die Zieldatei, wird überschrieben
+     * @return Der Hash der Datei (Base64)
+     * @throws IOException Bei Problemen beim Serialisieren oder Schreiben
+     */
+    public static String write(List<Article> articles, long journalSeq, Path file) throws IOException {
+        ObjectWriter writer = JsonCodec.getInstance().articleWriter();
+        int count = articles.size();
+        byte[][] records = new byte[count][];
+        int[] checksums = new int[count];
+        StringBuilder checksumText = new StringBuilder(count * CHECKSUM_DIGITS);
+        for (int i = 0; i < count; i++) {
+            records[i] = writer.writeValueAsBytes(articles.get(i));
+            checksums[i] = RecordChecksums.checksum(records[i], 0, records[i].length);
+            checksumText.append(String.format("%08x", checksums[i]));
+        }
+        String hash = RecordChecksums.rootHash(checksums);
+
+        try (FileOutputStream fileOut = new FileOutputStream(file.toFile());
+             OutputStream out = new BufferedOutputStream(fileOut, 1 << 16)) {
+            out.write(("{\n"
+                    + "  \"hash\" : \"" + hash + "\",\n"
+                    + "  \"journalSeq\" : " + journalSeq + ",\n"
+                    + "  \"checksums\" : \"" + checksumText + "\",\n"
+                    + "  \"data\" : [\n").getBytes(StandardCharsets.UTF_8));
+            byte[] indent = "    ".getBytes(StandardCharsets.US_ASCII);
+            for (int i = 0; i < count; i++) {
+                out.write(indent);
+                out.write(records[i]);
+                if (i < count - 1) {
+                    out.write(',');
+                }
+                out.write('\n');
+            }
+            out.write("  ]\n}\n".getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            fileOut.getFD().sync();
+        }
+        return hash;
+    }
+
+    /**
+     * Liest und prüft den Inhalt einer Datei.
+     *
+     * @param content Der Dateiinhalt
+     * @return Die geprüften Artikel oder null, wenn eine ältere Datei den Hash nicht besteht
+     * @throws IOException Wenn der Dateikopf nicht gelesen werden kann
+     */
+    public static Content read(byte[] content) throws IOException {
+        String hash = null;
+        long journalSeq = 0;
+        String checksumText = null;
+        int dataStart = -1;
+        try (JsonParser parser = JsonCodec.getInstance().getFactory().createParser(content)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Ungültige lokale Datei");
+            }
+            while (dataStart < 0 && parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (name) {
+                    case "hash" -> hash = parser.getValueAsString();
+                    case "journalSeq" -> journalSeq = parser.getValueAsLong(0);
+                    case "checksums" -> checksumText = parser.getValueAsString();
+                    case "data" -> {
+                        if (checksumText == null || value != JsonToken.START_ARRAY) {
+                            return readLegacy(content);
+                        }
+                        dataStart = (int) parser.currentLocation().getByteOffset();
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        if (dataStart < 0) {
+            throw new IOException("Lokale Datei enthält keine Artikeldaten");
+        }
+
+        int[] expected = parseChecksums(checksumText);
+        if (hash == null || !hash.equals(RecordChecksums.rootHash(expected))) {
+            // Einzelne falsche Prüfsummen sondern nur die betroffenen Artikel aus
+            logger.warn("Prüfsummenliste der lokalen Datei ist beschädigt, Artikel werden einzeln geprüft");
+        }
+
+        List<int[]> lines = findLines(content, dataStart);
+        int count = lines.size();
+        int[] actual = new int[count];
+        RecordChecksums.forEachBlock(count, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                int[] line = lines.get(i);
+                actual[i] = RecordChecksums.checksum(content, line[0], line[1]);
+            }
+        });
+
+        // Zeilen über ihre Prüfsumme zuordnen (Prüfsummen können mehrfach vorkommen)
+        Map<Integer, Integer> remaining = new HashMap<>(expected.length * 2);
+        for (int checksum : expected) {
+            remaining.merge(checksum, 1, Integer::sum);
+        }
+        boolean[] valid = new boolean[count];
+        for (int i = 0; i < count; i++) {
+            Integer left = remaining.get(actual[i]);
+            if (left != null && left > 0) {
+                remaining.put(actual[i], left - 1);
+                valid[i] = true;
+            }
+        }
+
+        ObjectReader reader = JsonCodec.getInstance().articleReader();
+        Article[] decoded = new Article[count];
+        RecordChecksums.forEachBlock(count, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                if (!valid[i]) {
+                    continue;
+                }
+                int[] line = lines.get(i);
+                try {
+                    decoded[i] = reader.readValue(content, line[0], line[1]);
+                } catch (IOException e) {
+                    // Prüfsumme stimmt, Inhalt aber nicht lesbar (z.B. von Hand bearbeitet): aussondern
+                    decoded[i] = null;
+                }
+            }
+        });
+
+        List<Article> articles = new ArrayList<>(count);
+        List<byte[]> damaged = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (decoded[i] != null) {
+                articles.add(decoded[i]);
+            } else {
+                int[] line = lines.get(i);
+                damaged.add(Arrays.copyOfRange(content, line[0], line[0] + line[1]));
+            }
+        }
+        int missing = expected.length - articles.size() - damaged.size();
+        if (missing > 0) {
+            logger.warn("{} Artikel fehlen in der lokalen Datei", missing);
+        }
+        return new Content(articles, journalSeq, damaged);
+    }
+
+    /**
+     * Ermittelt die Zeilen des Arrays "data".
+     *
+     * @param content Der Dateiinhalt
+     * @param dataStart Position direkt nach der öffnenden Klammer
+     * @return Beginn und Länge jeder Zeile, ohne Einrückung und abschließendes Komma
+     */
+    private static List<int[]> findLines(byte[] content, int dataStart) {
+        List<int[]> lines = new ArrayList<>();
+        int position = dataStart;
+        while (position < content.length) {
+            int end = position;
+            while (end < content.length && content[end] != '\n') {
+                end++;
+            }
+            int start = position;
+            int stop = end;
+            while (start < stop && (content[start] == ' ' || content[start] == '\t')) {
+                start++;
+            }
+            while (stop > start && (content[stop - 1] == '\r' || content[stop - 1] == ',' || content[stop - 1] == ' ')) {
+                stop--;
+            }
+            if (start < stop) {
+                if (content[start] == ']') {
+                    break;
+                }
+                lines.add(new int[]{start, stop - start});
+            }
+            position = end + 1;
+        }
+        return lines;
+    }
+
+    /**
+     * Liest die Prüfsummenliste. Unlesbare Einträge werden übersprungen.
+     *
+     * @param text Die Prüfsummen als Hexziffern
+     * @return Die Prüfsummen
+     */
+    private static int[] parseChecksums(String text) {
+        int count = text.length() / CHECKSUM_DIGITS;
+        int[] checksums = new int[count];
+        int valid = 0;
+        for (int i = 0; i < count; i++) {
+            try {
+                checksums[valid] = Integer.parseUnsignedInt(
+                        text.substring(i * CHECKSUM_DIGITS, (i + 1) * CHECKSUM_DIGITS), 16);
+                valid++;
+            } catch (NumberFormatException e) {
+                // Der zugehörige Artikel wird ausgesondert
+            }
+        }
+        return valid == count ? checksums : Arrays.copyOf(checksums, valid);
+    }
+
+    /**
+     * Liest eine Datei ohne Prüfsummen pro Artikel. Der Hash wird über die gesamte, kompakt serialisierte
+     * Artikelliste geprüft; schon eine Abweichung verwirft die Datei.
+     *
+     * @param content Der Dateiinhalt
+     * @return Die Artikel oder null, wenn der Hash nicht übereinstimmt
+     * @throws IOException Bei ungültigen Daten
+     */
+    private static Content readLegacy(byte[] content) throws IOException {
+        JsonCodec json = JsonCodec.getInstance();
+        JsonNode rootNode = json.getMapper().readTree(content);
+        String storedHash = rootNode.path("hash").asText();
+        long journalSeq = rootNode.path("journalSeq").asLong(0);
+        JsonNode dataNode = rootNode.get("data");
+
+        // JSON-Daten extrahieren und Hash überprüfen
+        String dataJson = dataNode.toString();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hashBytes = digest.digest(dataJson.getBytes(StandardCharsets.UTF_8));
+            if (!storedHash.equals(Base64.getEncoder().encodeToString(hashBytes))) {
+                logger.warn("Die lokale Datei wurde manipuliert! Hash stimmt nicht überein.");
+                return null;
+            }
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+
+        Article[] articleArray = json.articleArrayReader().readValue(dataNode);
+        return new Content(new ArrayList<>(Arrays.asList(articleArray)), journalSeq, List.of());
+    }
+
+    /**
+     * Geprüfter Inhalt der Datei.
+     *
+     * @param articles Die unversehrten Artikel in Dateireihenfolge, veränderbar
+     * @param journalSeq Die höchste enthaltene Journal-Sequenz
+     * @param damaged Die Rohdaten ausgesonderter Artikel
+     */
+    public record Content(List<Article> articles, long journalSeq, List<byte[]> damaged) {
+    }
+}
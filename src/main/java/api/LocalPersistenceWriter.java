@@ -0,0 +1,210 @@
+package api;
+
+import config.AppConfig;
+import model.Article;
+import model.LazyArticleList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schreibt die lokale Sicherung auf einem eigenen Thread.
+ * Speicheraufträge werden gesammelt und gemeinsam geschrieben, frühestens nach der konfigurierten
+ * Wartezeit ("local.save.debounce"): Viele schnelle Formatierungsklicks führen so zu einem Schreibvorgang
+ * pro Zeitfenster statt zu einem pro Klick. Eine vollständige Liste ersetzt dabei ältere, noch nicht
+ * geschriebene Aufträge, einzelne Änderungen werden pro Artikel zusammengefasst.
+ * Geladene Artikel werden beim Auftrag auf dem aufrufenden Thread kopiert, sodass der Aufrufer sie
+ * anschließend weiter bearbeiten darf. Noch nicht dekodierte Zeilen einer {@link LazyArticleList} werden
+ * erst auf dem Speicher-Thread dekodiert, damit ein Auftrag vom EDT nicht den gesamten Katalog lädt.
+ * Das Ergebnis wird über ein CompletableFuture gemeldet.
+ * Implementiert als Singleton, damit alle Aufträge über denselben Thread laufen.
+ */
+public class LocalPersistenceWriter {
+    private static final Logger logger = LoggerFactory.getLogger(LocalPersistenceWriter.class);
+    private static LocalPersistenceWriter instance;
+
+    private final long debounceMillis;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "local-persistence");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Ausstehende Aufträge, geschützt durch this
+    private List<Article> pendingArticles;
+    private final Map<Integer, Article> pendingChanges = new LinkedHashMap<>();
+    private final Set<Integer> pendingDeletes = new LinkedHashSet<>();
+    private List<CompletableFuture<Boolean>> saveWaiters = new ArrayList<>();
+    private List<CompletableFuture<Boolean>> journalWaiters = new ArrayList<>();
+    private boolean writeScheduled = false;
+
+    /**
+     * Privater Konstruktor, der die Wartezeit aus der Konfiguration liest.
+     */
+    private LocalPersistenceWriter() {
+        this.debounceMillis = Math.max(0, AppConfig.getInstance().getLocalSaveDebounceMillis());
+        logger.debug("Lokaler Speicher-Thread mit {} ms Wartezeit initialisiert", debounceMillis);
+    }
+
+    /**
+     * Gibt die Singleton-Instanz zurück.
+     *
+     * @return Die LocalPersistenceWriter-Instanz
+     */
+    public static synchronized LocalPersistenceWriter getInstance() {
+        if (instance == null) {
+            instance = new LocalPersistenceWriter();
+        }
+        return instance;
+    }
+
+    /**
+     * Beauftragt das Speichern der vollständigen Artikelliste.
+     * Noch nicht geschriebene Aufträge sind darin enthalten und entfallen.
+     *
+     * @param articles Die zu speichernden Artikel, geladene Artikel werden sofort kopiert
+     * @return Wird mit true abgeschlossen, wenn die Liste geschrieben wurde
+     */
+    public CompletableFuture<Boolean> saveArticles(List<Article> articles) {
+        List<Article> copy = LazyArticleList.snapshotOf(articles);
+
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        synchronized (this) {
+            pendingArticles = copy;
+            // Einzelne Änderungen sind in der vollständigen Liste bereits enthalten
+            pendingChanges.clear();
+            pendingDeletes.clear();
+            saveWaiters.addAll(journalWaiters);
+            journalWaiters = new ArrayList<>();
+            saveWaiters.add(result);
+            scheduleWrite(debounceMillis);
+        }
+        return result;
+    }
+
+    /**
+     * Beauftragt das Sichern einzelner Änderungen im Änderungsjournal.
+     * Das Ergebnis ist false, wenn das Journal nicht verwendet werden kann; der Aufrufer speichert dann
+     * die vollständige Liste.
+     *
+     * @param changed Geänderte oder neue Artikel, werden sofort kopiert
+     * @param deletedIds IDs gelöschter Artikel
+     * @return Wird mit true abgeschlossen, wenn die Änderungen gesichert wurden
+     */
+    public CompletableFuture<Boolean> journalChanges(Collection<Article> changed, Collection<Integer> deletedIds) {
+        List<Article> copy = new ArrayList<>(changed.size());
+        for (Article article : changed) {
+            copy.add(new Article(article));
+        }
+
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        synchronized (this) {
+            // Mehrere Änderungen desselben Artikels ergeben einen Datensatz mit dem letzten Stand
+            for (Article article : copy) {
+                pendingDeletes.remove(article.id);
+                pendingChanges.put(article.id, article);
+            }
+            for (Integer id : deletedIds) {
+                pendingChanges.remove(id);
+                pendingDeletes.add(id);
+            }
+            journalWaiters.add(result);
+            scheduleWrite(debounceMillis);
+        }
+        return result;
+    }
+
+    /**
+     * Schreibt alle ausstehenden Aufträge ohne weitere Wartezeit, z.B. beim Beenden der Anwendung.
+     *
+     * @return Wird mit true abgeschlossen, wenn alle ausstehenden Aufträge geschrieben wurden
+     */
+    public CompletableFuture<Boolean> flush() {
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        synchronized (this) {
+            if (pendingArticles == null && pendingChanges.isEmpty() && pendingDeletes.isEmpty()) {
+                // Ein laufender Schreibvorgang ist abgeschlossen, sobald der Thread diesen Auftrag erreicht
+                executor.execute(() -> result.complete(true));
+                return result;
+            }
+            saveWaiters.add(result);
+            executor.execute(this::write);
+        }
+        return result;
+    }
+
+    /**
+     * Plant einen Schreibvorgang, sofern noch keiner geplant ist. Muss unter der Sperre aufgerufen werden.
+     *
+     * @param delayMillis Die Wartezeit bis zum Schreiben
+     */
+    private void scheduleWrite(long delayMillis) {
+        if (!writeScheduled) {
+            writeScheduled = true;
+            executor.schedule(this::write, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Schreibt die gesammelten Aufträge. Läuft ausschließlich auf dem Speicher-Thread.
+     */
+    private void write() {
+        List<Article> articles;
+        List<Article> changes;
+        List<Integer> deletes;
+        List<CompletableFuture<Boolean>> saved;
+        List<CompletableFuture<Boolean>> journaled;
+        synchronized (this) {
+            writeScheduled = false;
+            articles = pendingArticles;
+            changes = new ArrayList<>(pendingChanges.values());
+            deletes = new ArrayList<>(pendingDeletes);
+            saved = saveWaiters;
+            journaled = journalWaiters;
+            pendingArticles = null;
+            pendingChanges.clear();
+            pendingDeletes.clear();
+            saveWaiters = new ArrayList<>();
+            journalWaiters = new ArrayList<>();
+        }
+        if (saved.isEmpty() && journaled.isEmpty()) {
+            return;
+        }
+
+        long startTime = System.currentTimeMillis();
+        boolean saveOk = true;
+        boolean journalOk = true;
+        try {
+            if (articles != null) {
+                saveOk = ApiClient.saveArticlesToLocalFile(articles);
+            }
+            if (!changes.isEmpty() || !deletes.isEmpty()) {
+                journalOk = ApiClient.journalLocalChanges(changes, deletes);
+            }
+        } catch (Exception e) {
+            logger.error("Fehler beim Schreiben der lokalen Sicherung: {}", e.getMessage(), e);
+            saveOk = false;
+            journalOk = false;
+        }
+        logger.debug("Lokale Sicherung geschrieben: {} Aufträge zusammengefasst ({} ms)",
+                saved.size() + journaled.size(), System.currentTimeMillis() - startTime);
+
+        for (CompletableFuture<Boolean> waiter : saved) {
+            waiter.complete(saveOk && journalOk);
+        }
+        for (CompletableFuture<Boolean> waiter : journaled) {
+            waiter.complete(journalOk);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package api;
+
+import config.AppConfig;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32C;
+
+/**
+ * Prüfsummen für die Datensätze der lokalen Artikeldatei.
+ * Jeder Datensatz erhält eine eigene CRC32C-Prüfsumme über seine gespeicherten Bytes; der Hash der Datei
+ * wird als SHA-256 über diese Prüfsummen gebildet (zweistufiger Hash-Baum). Ein beschädigter Datensatz
+ * lässt sich so einzeln erkennen und aussondern, während alle übrigen geladen werden.
+ * Die Prüfung läuft in Blöcken fester Größe, die bei Bedarf parallel auf mehreren Kernen geprüft werden
+ * ("local.verify.parallel").
+ */
+final class RecordChecksums {
+    /** Anzahl Datensätze pro Prüfblock. */
+    static final int BLOCK_SIZE = 1024;
+
+    /**
+     * Aufgabe für einen Block von Datensätzen.
+     */
+    @FunctionalInterface
+    interface BlockTask {
+        /**
+         * Bearbeitet die Datensätze eines Blocks.
+         *
+         * @param from Erster Datensatz (inklusive)
+         * @param to Letzter Datensatz (exklusive)
+         */
+        void run(int from, int to);
+    }
+
+    private RecordChecksums() {
+    }
+
+    /**
+     * Berechnet die Prüfsumme eines Datensatzes.
+     *
+     * @param data Die Daten
+     * @param offset Beginn des Datensatzes
+     * @param length Länge des Datensatzes
+     * @return Die CRC32C-Prüfsumme
+     */
+    static int checksum(byte[] data, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(data, offset, length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Berechnet die Prüfsumme eines Datensatzes in einem Puffer, ohne dessen Position zu verändern.
+     *
+     * @param buffer Der Puffer
+     * @param offset Beginn des Datensatzes
+     * @param length Länge des Datensatzes
+     * @return Die CRC32C-Prüfsumme
+     */
+    static int checksum(ByteBuffer buffer, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Bildet den Hash der Datei über die Prüfsummen aller Datensätze.
+     *
+     * @param checksums Die Prüfsummen in Dateireihenfolge
+     * @return Der SHA-256-Hash (Base64)
+     */
+    static String rootHash(int[] checksums) {
+        ByteBuffer bytes = ByteBuffer.allocate(checksums.length * Integer.BYTES);
+        for (int checksum : checksums) {
+            bytes.putInt(checksum);
+        }
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(bytes.array()));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Führt eine Aufgabe für alle Blöcke aus, parallel sofern konfiguriert und mehr als ein Block vorliegt.
+     *
+     * @param count Anzahl der Datensätze
+     * @param task Die Aufgabe pro Block; darf nur ihren eigenen Bereich beschreiben
+     */
+    static void forEachBlock(int count, BlockTask task) {
+        int blocks = (count + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        IntStream range = IntStream.range(0, blocks);
+        if (blocks > 1 && AppConfig.getInstance().isParallelVerificationEnabled()) {
+            range = range.parallel();
+        }
+        range.forEach(block -> task.run(block * BLOCK_SIZE, Math.min(count, (block + 1) * BLOCK_SIZE)));
+    }
+}
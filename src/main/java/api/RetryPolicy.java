@@ -0,0 +1,212 @@
+package api;
+
+import com.fasterxml.jackson.core.JacksonException;
+import config.AppConfig;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.apache.hc.client5.http.utils.DateUtils;
+import org.apache.hc.core5.http.HttpStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLException;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Regeln für automatische Wiederholungen von API-Anfragen.
+ * Automatisch wiederholt werden nur sichere Methoden (GET, HEAD, OPTIONS), und zwar nur bei vorübergehenden
+ * Fehlern (429, 502, 503, 504 oder abgebrochene Verbindungen). PUT- und POST-Anfragen werden nur wiederholt,
+ * wenn der Server laut Konfiguration Idempotency-Keys unterstützt ("api.idempotency") und die Anfrage einen
+ * Schlüssel trägt. DELETE wird nie wiederholt: Ging die erste Antwort verloren, meldet die Wiederholung
+ * 404, obwohl der Artikel gelöscht wurde. Die Wartezeit wächst exponentiell und wird zufällig verteilt
+ * (Full Jitter), damit sich wiederholende Clients den Server nicht gleichzeitig erneut belasten.
+ * Ein Retry-Budget begrenzt den Anteil der Wiederholungen an allen Anfragen: Jede Anfrage füllt
+ * das Budget um "api.retry.budget" Prozent eines Versuchs auf, jede Wiederholung verbraucht einen.
+ * Implementiert als Singleton, damit synchroner und asynchroner Client dasselbe Budget teilen.
+ */
+public class RetryPolicy {
+    private static final Logger logger = LoggerFactory.getLogger(RetryPolicy.class);
+    private static RetryPolicy instance;
+
+    /** Header, mit dem der Server doppelt gesendete PUT- und POST-Anfragen erkennt. */
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    // Maximaler Vorrat an Wiederholungen, auch nach längerer fehlerfreier Zeit
+    private static final double MAX_RETRY_TOKENS = 10.0;
+
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final double tokensPerRequest;
+    private final boolean idempotencyKeys;
+
+    private double retryTokens = MAX_RETRY_TOKENS;
+    private boolean budgetExhaustedLogged = false;
+
+    /**
+     * Privater Konstruktor, der die Werte aus der Konfiguration liest.
+     */
+    private RetryPolicy() {
+        AppConfig config = AppConfig.getInstance();
+        this.maxAttempts = Math.max(1, config.getRetryMaxAttempts());
+        this.baseDelayMillis = Math.max(1, config.getRetryBaseDelay());
+        this.maxDelayMillis = Math.max(baseDelayMillis, config.getRetryMaxDelay());
+        this.tokensPerRequest = Math.max(0, config.getRetryBudgetPercent()) / 100.0;
+        this.idempotencyKeys = config.isIdempotencyKeySupported();
+
+        logger.info("Retry-Policy: max. {} Versuche, Wartezeit {}-{} ms, Budget {} % der Anfragen, "
+                        + "Schreibanfragen {}", maxAttempts, baseDelayMillis, maxDelayMillis,
+                config.getRetryBudgetPercent(), idempotencyKeys ? "mit Idempotency-Key" : "ohne Wiederholung");
+    }
+
+    /**
+     * Gibt die Singleton-Instanz zurück.
+     *
+     * @return Die RetryPolicy-Instanz
+     */
+    public static synchronized RetryPolicy getInstance() {
+        if (instance == null) {
+            instance = new RetryPolicy();
+        }
+        return instance;
+    }
+
+    /**
+     * Gibt die maximale Anzahl Versuche pro Anfrage zurück (inklusive des ersten).
+     *
+     * @return Die maximale Anzahl Versuche
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Prüft, ob PUT- und POST-Anfragen einen Idempotency-Key erhalten sollen.
+     * Das ist nur der Fall, wenn der Server solche Schlüssel laut Konfiguration auswertet.
+     *
+     * @return true wenn Schreibanfragen einen Idempotency-Key tragen
+     */
+    public boolean isIdempotencyKeyEnabled() {
+        return idempotencyKeys;
+    }
+
+    /**
+     * Prüft, ob eine Anfrage mit dieser Methode wiederholt werden darf.
+     *
+     * @param method Die HTTP-Methode
+     * @param hasIdempotencyKey true wenn die Anfrage einen Idempotency-Key trägt
+     * @return true für sichere Methoden sowie PUT und POST mit Idempotency-Key, sofern der Server
+     *         Idempotency-Keys unterstützt
+     */
+    public boolean isRetryableMethod(String method, boolean hasIdempotencyKey) {
+        switch (method) {
+            case "GET":
+            case "HEAD":
+            case "OPTIONS":
+                return true;
+            case "PUT":
+            case "POST":
+                return idempotencyKeys && hasIdempotencyKey;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Prüft, ob ein Statuscode auf eine vorübergehende Überlastung hinweist.
+     *
+     * @param statusCode Der HTTP-Statuscode
+     * @return true bei 429, 502, 503 und 504
+     */
+    public boolean isRetryableStatus(int statusCode) {
+        return statusCode == HttpStatus.SC_TOO_MANY_REQUESTS
+                || statusCode == HttpStatus.SC_BAD_GATEWAY
+                || statusCode == HttpStatus.SC_SERVICE_UNAVAILABLE
+                || statusCode == HttpStatus.SC_GATEWAY_TIMEOUT;
+    }
+
+    /**
+     * Prüft, ob eine Ausnahme auf einen vorübergehenden Netzwerkfehler hinweist.
+     * Nicht wiederholt werden offene Circuit Breaker, nicht erreichbare Server (das übernimmt
+     * der Circuit Breaker), TLS-Fehler, Timeouts, die jeden Versuch erneut voll ausschöpfen würden,
+     * sowie ungültige Antwortdaten, die sich bei einer Wiederholung nicht ändern.
+     *
+     * @param error Die aufgetretene Ausnahme
+     * @return true z.B. bei zurückgesetzten oder vorzeitig geschlossenen Verbindungen
+     */
+    public boolean isRetryableException(Throwable error) {
+        if (!(error instanceof IOException)) {
+            return false;
+        }
+        return !(error instanceof CircuitOpenException
+                || error instanceof ConnectException
+                || error instanceof ConnectTimeoutException
+                || error instanceof UnknownHostException
+                || error instanceof SSLException
+                || error instanceof InterruptedIOException
+                || error instanceof JacksonException);
+    }
+
+    /**
+     * Vermerkt eine neue Anfrage und füllt damit das Retry-Budget auf.
+     */
+    public synchronized void recordRequest() {
+        retryTokens = Math.min(MAX_RETRY_TOKENS, retryTokens + tokensPerRequest);
+    }
+
+    /**
+     * Entnimmt dem Retry-Budget eine Wiederholung.
+     *
+     * @return true wenn das Budget noch eine Wiederholung erlaubt
+     */
+    public synchronized boolean tryAcquireRetry() {
+        if (retryTokens >= 1.0) {
+            retryTokens -= 1.0;
+            budgetExhaustedLogged = false;
+            return true;
+        }
+        if (!budgetExhaustedLogged) {
+            logger.warn("Retry-Budget erschöpft, Anfragen werden vorerst nicht wiederholt");
+            budgetExhaustedLogged = true;
+        }
+        return false;
+    }
+
+    /**
+     * Berechnet die Wartezeit vor dem nächsten Versuch.
+     * Gibt der Server per Retry-After eine Wartezeit vor, wird diese (bis zur Obergrenze) eingehalten.
+     *
+     * @param attempt Die Nummer des fehlgeschlagenen Versuchs, beginnend bei 1
+     * @param retryAfterMillis Vom Server vorgegebene Wartezeit oder -1
+     * @return Die Wartezeit in Millisekunden
+     */
+    public long getBackoffMillis(int attempt, long retryAfterMillis) {
+        if (retryAfterMillis >= 0) {
+            return Math.min(retryAfterMillis, maxDelayMillis);
+        }
+        long ceiling = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    /**
+     * Liest den Retry-After-Header (Sekunden oder HTTP-Datum).
+     *
+     * @param headerValue Der Wert des Headers, darf null sein
+     * @return Die Wartezeit in Millisekunden oder -1, wenn kein gültiger Wert vorliegt
+     */
+    public static long parseRetryAfter(String headerValue) {
+        if (headerValue == null || headerValue.isBlank()) {
+            return -1;
+        }
+        try {
+            return Math.max(0, Long.parseLong(headerValue.trim()) * 1000);
+        } catch (NumberFormatException e) {
+            Instant date = DateUtils.parseStandardDate(headerValue.trim());
+            return date != null ? Math.max(0, date.toEpochMilli() - System.currentTimeMillis()) : -1;
+        }
+    }
+}
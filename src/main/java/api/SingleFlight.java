@@ -0,0 +1,89 @@
+package api;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Bündelt gleichzeitige identische Abfragen zu einer einzigen Anfrage.
+ * Solange eine Abfrage läuft, erhalten weitere Aufrufer dasselbe Future statt einer eigenen Anfrage.
+ * Ein erfolgreiches Ergebnis wird zusätzlich für die Frischedauer im Speicher gehalten.
+ * Nach einem Schreibvorgang verwirft {@link #invalidate()} das gemerkte Ergebnis, damit keine
+ * veralteten Daten ausgeliefert werden.
+ *
+ * @param <T> Der Typ des Ergebnisses
+ */
+class SingleFlight<T> {
+    private final long freshnessMillis;
+
+    private CompletableFuture<T> inFlight;
+    private T value;
+    private long loadedAt;
+    private long generation;
+
+    /**
+     * Erstellt eine neue Instanz.
+     *
+     * @param freshnessMillis Wie lange ein Ergebnis wiederverwendet wird, 0 = nur laufende Abfragen teilen
+     */
+    SingleFlight(long freshnessMillis) {
+        this.freshnessMillis = freshnessMillis;
+    }
+
+    /**
+     * Gibt das gemerkte Ergebnis, die laufende Abfrage oder eine neue Abfrage zurück.
+     * Nur der erste Aufrufer startet den Loader; er läuft auf dessen Thread.
+     * Das zurückgegebene Future wird geteilt und darf von Aufrufern nicht verändert werden.
+     *
+     * @param loader Startet die eigentliche Abfrage
+     * @return Future mit dem gemeinsamen Ergebnis
+     */
+    CompletableFuture<T> get(Supplier<CompletableFuture<T>> loader) {
+        CompletableFuture<T> flight;
+        long flightGeneration;
+        synchronized (this) {
+            if (value != null && System.currentTimeMillis() - loadedAt < freshnessMillis) {
+                return CompletableFuture.completedFuture(value);
+            }
+            if (inFlight != null) {
+                return inFlight;
+            }
+            flight = new CompletableFuture<>();
+            inFlight = flight;
+            flightGeneration = generation;
+        }
+
+        CompletableFuture<T> loaded;
+        try {
+            loaded = loader.get();
+        } catch (RuntimeException e) {
+            loaded = CompletableFuture.failedFuture(e);
+        }
+        loaded.whenComplete((result, ex) -> {
+            synchronized (this) {
+                if (inFlight == flight) {
+                    inFlight = null;
+                }
+                // Ergebnisse, die vor einem Schreibvorgang angefragt wurden, nicht merken
+                if (ex == null && flightGeneration == generation) {
+                    value = result;
+                    loadedAt = System.currentTimeMillis();
+                }
+            }
+            if (ex != null) {
+                flight.completeExceptionally(ex);
+            } else {
+                flight.complete(result);
+            }
+        });
+        return flight;
+    }
+
+    /**
+     * Verwirft das gemerkte Ergebnis. Eine laufende Abfrage wird nicht mehr an neue Aufrufer verteilt.
+     */
+    synchronized void invalidate() {
+        generation++;
+        value = null;
+        inFlight = null;
+    }
+}
@@ -0,0 +1,163 @@
+package api;
+
+import model.Article;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Zusammenfassung eines Massen-Schreibvorgangs (PUT/POST) mit dem Ergebnis pro Artikel.
+ * Fehler werden gesammelt, statt den Vorgang beim ersten Fehler abzubrechen.
+ */
+public class WriteSummary {
+    private final List<Result> results;
+
+    /**
+     * Erstellt eine Zusammenfassung aus den Einzelergebnissen.
+     *
+     * @param results Die Ergebnisse pro Artikel
+     */
+    public WriteSummary(List<Result> results) {
+        this.results = Collections.unmodifiableList(new ArrayList<>(results));
+    }
+
+    /**
+     * Gibt alle Einzelergebnisse zurück.
+     *
+     * @return Unveränderliche Liste der Ergebnisse
+     */
+    public List<Result> getResults() {
+        return results;
+    }
+
+    /**
+     * Gibt die erfolgreich geschriebenen Artikel zurück.
+     *
+     * @return Liste der erfolgreich geschriebenen Artikel
+     */
+    public List<Article> getSucceeded() {
+        List<Article> succeeded = new ArrayList<>();
+        for (Result result : results) {
+            if (result.isSuccessful()) {
+                succeeded.add(result.getArticle());
+            }
+        }
+        return succeeded;
+    }
+
+    /**
+     * Gibt die fehlgeschlagenen Einzelergebnisse zurück.
+     *
+     * @return Liste der fehlgeschlagenen Ergebnisse
+     */
+    public List<Result> getFailed() {
+        List<Result> failed = new ArrayList<>();
+        for (Result result : results) {
+            if (!result.isSuccessful()) {
+                failed.add(result);
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Prüft, ob alle Artikel erfolgreich geschrieben wurden.
+     *
+     * @return true wenn kein Einzelergebnis fehlgeschlagen ist
+     */
+    public boolean allSucceeded() {
+        for (Result result : results) {
+            if (!result.isSuccessful()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Erstellt eine lesbare Beschreibung der Fehler für die Anzeige.
+     *
+     * @param maxLines Maximale Anzahl aufgeführter Fehler
+     * @return Beschreibung der Fehler, leer wenn keine Fehler aufgetreten sind
+     */
+    public String describeFailures(int maxLines) {
+        List<Result> failed = getFailed();
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < failed.size() && i < maxLines; i++) {
+            Result result = failed.get(i);
+            description.append("Artikel #").append(result.getArticle().id)
+                    .append(" (").append(result.getArticle().name).append("): ")
+                    .append(result.getErrorMessage()).append("\n");
+        }
+        if (failed.size() > maxLines) {
+            description.append("... und ").append(failed.size() - maxLines).append(" weitere\n");
+        }
+        return description.toString();
+    }
+
+    /**
+     * Ergebnis des Schreibvorgangs für einen einzelnen Artikel.
+     */
+    public static class Result {
+        private final Article article;
+        private final ApiResponse response;
+        private final Exception error;
+
+        /**
+         * Erstellt ein Ergebnis.
+         *
+         * @param article Der geschriebene Artikel
+         * @param response Die Antwort des Servers oder null bei einer Ausnahme
+         * @param error Die aufgetretene Ausnahme oder null
+         */
+        public Result(Article article, ApiResponse response, Exception error) {
+            this.article = article;
+            this.response = response;
+            this.error = error;
+        }
+
+        /**
+         * Gibt den betroffenen Artikel zurück.
+         *
+         * @return Der Artikel
+         */
+        public Article getArticle() {
+            return article;
+        }
+
+        /**
+         * Gibt die Antwort des Servers zurück.
+         *
+         * @return Die Antwort oder null, wenn eine Ausnahme aufgetreten ist
+         */
+        public ApiResponse getResponse() {
+            return response;
+        }
+
+        /**
+         * Prüft, ob der Artikel erfolgreich geschrieben wurde.
+         *
+         * @return true bei einer 2xx-Antwort
+         */
+        public boolean isSuccessful() {
+            return error == null && response != null && response.isSuccessful();
+        }
+
+        /**
+         * Gibt eine Fehlerbeschreibung zurück.
+         *
+         * @return Die Fehlermeldung oder ein leerer String bei Erfolg
+         */
+        public String getErrorMessage() {
+            if (error != null) {
+                return error.getMessage();
+            }
+            if (response != null && !response.isSuccessful()) {
+                return "HTTP " + response.getStatusCode()
+                        + (response.getBody().isEmpty() ? "" : " - " + response.getBody());
+            }
+            return "";
+        }
+    }
+}
@@ -153,4 +153,402 @@ public class AppConfig {
     public String getZebraStripeColor() {
         return getString("ui.table.zebracolor", "#F0F0F0");
     }
+
+    /**
+     * Gibt die maximale Anzahl gepoolter HTTP-Verbindungen zurück.
+     *
+     * @return Die maximale Verbindungsanzahl oder 20 als Standardwert
+     */
+    public int getHttpMaxConnections() {
+        return getInt("http.pool.max", 20);
+    }
+
+    /**
+     * Gibt die maximale Anzahl gepoolter HTTP-Verbindungen pro Zielhost zurück.
+     *
+     * @return Die maximale Verbindungsanzahl pro Route oder 10 als Standardwert
+     */
+    public int getHttpMaxConnectionsPerRoute() {
+        return getInt("http.pool.maxperroute", 10);
+    }
+
+    /**
+     * Gibt das Timeout für den Verbindungsaufbau in Millisekunden zurück.
+     *
+     * @return Das Connect-Timeout oder 5000 als Standardwert
+     */
+    public int getHttpConnectTimeout() {
+        return getInt("http.timeout.connect", 5000);
+    }
+
+    /**
+     * Gibt das Lese-Timeout für HTTP-Antworten in Millisekunden zurück.
+     *
+     * @return Das Socket-Timeout oder 30000 als Standardwert
+     */
+    public int getHttpSocketTimeout() {
+        return getInt("http.timeout.socket", 30000);
+    }
+
+    /**
+     * Gibt die maximale Gesamtdauer einer asynchronen Anfrage in Millisekunden zurück.
+     *
+     * @return Der Anfrage-Timeout oder 60000 als Standardwert
+     */
+    public int getHttpRequestTimeout() {
+        return getInt("http.timeout.request", 60000);
+    }
+
+    /**
+     * Gibt die HTTP-Version für Einzel- und parallele Anfragen zurück.
+     * Bei "HTTP_2" teilen sich parallele Anfragen eine multiplexte Verbindung.
+     *
+     * @return "HTTP_1_1" (Standard) oder "HTTP_2"
+     */
+    public String getHttpVersion() {
+        return getString("http.version", "HTTP_1_1").trim().toUpperCase();
+    }
+
+    /**
+     * Gibt zurück, wie lange ungenutzte Verbindungen im Pool offen gehalten werden.
+     *
+     * @return Die Keep-Alive-Dauer in Sekunden oder 60 als Standardwert
+     */
+    public int getHttpKeepAliveSeconds() {
+        return getInt("http.keepalive", 60);
+    }
+
+    /**
+     * Prüft, ob Antworten komprimiert (gzip/deflate) angefordert werden.
+     *
+     * @return true wenn aktiviert (Standard)
+     */
+    public boolean isHttpCompressionEnabled() {
+        return getBoolean("http.compression", true);
+    }
+
+    /**
+     * Prüft, ob große PUT/POST-Bodys gzip-komprimiert gesendet werden.
+     * Der Server muss komprimierte Anfragen unterstützen.
+     *
+     * @return true wenn aktiviert, false als Standardwert
+     */
+    public boolean isHttpRequestCompressionEnabled() {
+        return getBoolean("http.compression.request", false);
+    }
+
+    /**
+     * Gibt die Mindestgröße zurück, ab der Bodys komprimiert gesendet werden.
+     *
+     * @return Der Schwellwert in Bytes oder 4096 als Standardwert
+     */
+    public int getHttpCompressionThreshold() {
+        return getInt("http.compression.threshold", 4096);
+    }
+
+    /**
+     * Gibt die URL für die Verbindungsprüfung zurück.
+     *
+     * @return Die Health-Check-URL oder ein leerer String, wenn die API-URL verwendet werden soll
+     */
+    public String getHealthCheckUrl() {
+        return getString("api.health.url", "").trim();
+    }
+
+    /**
+     * Gibt die HTTP-Methode für die Verbindungsprüfung zurück.
+     *
+     * @return "HEAD" oder "GET", Standard ist "HEAD"
+     */
+    public String getHealthCheckMethod() {
+        return getString("api.health.method", "HEAD").trim().toUpperCase();
+    }
+
+    /**
+     * Gibt das Intervall der Verbindungsprüfung in Millisekunden zurück.
+     *
+     * @return Das Prüfintervall oder 30000 als Standardwert
+     */
+    public int getHealthCheckInterval() {
+        return getInt("api.health.interval", 30000);
+    }
+
+    /**
+     * Gibt die maximale Anzahl gleichzeitiger Einzelabfragen an die API zurück.
+     *
+     * @return Die Parallelität oder 8 als Standardwert
+     */
+    public int getApiParallelism() {
+        return getInt("api.parallelism", 8);
+    }
+
+    /**
+     * Gibt die maximale Anzahl gleichzeitiger Schreibanfragen (PUT/POST) zurück.
+     *
+     * @return Die Schreib-Parallelität oder 8 als Standardwert
+     */
+    public int getWriteConcurrency() {
+        return getInt("api.write.concurrency", 8);
+    }
+
+    /**
+     * Gibt an, ob Schreibvorgänge gebündelt über den Batch-Endpunkt gesendet werden sollen,
+     * sofern der Server ihn unterstützt.
+     *
+     * @return true wenn der Batch-Modus aktiviert ist (Standard)
+     */
+    public boolean isBatchWriteEnabled() {
+        return getBoolean("api.batch.enabled", true);
+    }
+
+    /**
+     * Gibt die maximale Anzahl Artikel pro Batch-Anfrage zurück.
+     *
+     * @return Die Batch-Größe oder 100 als Standardwert
+     */
+    public int getBatchSize() {
+        return getInt("api.batch.size", 100);
+    }
+
+    /**
+     * Gibt an, ob der Circuit Breaker für API-Anfragen aktiviert ist.
+     *
+     * @return true wenn aktiviert (Standard)
+     */
+    public boolean isCircuitBreakerEnabled() {
+        return getBoolean("api.breaker.enabled", true);
+    }
+
+    /**
+     * Gibt die Anzahl der letzten Aufrufe zurück, über die die Fehlerquote berechnet wird.
+     *
+     * @return Die Fenstergröße oder 20 als Standardwert
+     */
+    public int getCircuitBreakerWindow() {
+        return getInt("api.breaker.window", 20);
+    }
+
+    /**
+     * Gibt die Mindestanzahl Aufrufe zurück, bevor die Fehlerquote ausgewertet wird.
+     *
+     * @return Die Mindestanzahl oder 5 als Standardwert
+     */
+    public int getCircuitBreakerMinimumCalls() {
+        return getInt("api.breaker.mincalls", 5);
+    }
+
+    /**
+     * Gibt die Fehlerquote in Prozent zurück, ab der der Circuit Breaker öffnet.
+     *
+     * @return Die Fehlerquote oder 50 als Standardwert
+     */
+    public int getCircuitBreakerFailureRate() {
+        return getInt("api.breaker.failurerate", 50);
+    }
+
+    /**
+     * Gibt zurück, ab welcher Antwortzeit ein Aufruf als zu langsam gewertet wird.
+     *
+     * @return Die Schwelle in Millisekunden oder 10000 als Standardwert
+     */
+    public int getCircuitBreakerSlowCallMillis() {
+        return getInt("api.breaker.slowcall", 10000);
+    }
+
+    /**
+     * Gibt zurück, wie lange der Circuit Breaker offen bleibt, bevor eine Probe gesendet wird.
+     *
+     * @return Die Wartezeit in Millisekunden oder 30000 als Standardwert
+     */
+    public int getCircuitBreakerOpenMillis() {
+        return getInt("api.breaker.opentime", 30000);
+    }
+
+    /**
+     * Gibt die maximale Anzahl Versuche pro Anfrage zurück (inklusive des ersten Versuchs).
+     *
+     * @return Die Anzahl Versuche oder 3 als Standardwert
+     */
+    public int getRetryMaxAttempts() {
+        return getInt("api.retry.maxattempts", 3);
+    }
+
+    /**
+     * Gibt die Basis-Wartezeit für die erste Wiederholung zurück.
+     *
+     * @return Die Wartezeit in Millisekunden oder 200 als Standardwert
+     */
+    public int getRetryBaseDelay() {
+        return getInt("api.retry.basedelay", 200);
+    }
+
+    /**
+     * Gibt die maximale Wartezeit zwischen zwei Versuchen zurück.
+     *
+     * @return Die Wartezeit in Millisekunden oder 5000 als Standardwert
+     */
+    public int getRetryMaxDelay() {
+        return getInt("api.retry.maxdelay", 5000);
+    }
+
+    /**
+     * Gibt den Anteil der Anfragen in Prozent zurück, der wiederholt werden darf.
+     *
+     * @return Das Retry-Budget oder 20 als Standardwert
+     */
+    public int getRetryBudgetPercent() {
+        return getInt("api.retry.budget", 20);
+    }
+
+    /**
+     * Prüft, ob der Server Idempotency-Keys auswertet und doppelt gesendete PUT- und POST-Anfragen erkennt.
+     * Nur dann erhalten Schreibanfragen einen Schlüssel und werden bei vorübergehenden Fehlern wiederholt.
+     *
+     * @return true wenn aktiviert, false als Standardwert
+     */
+    public boolean isIdempotencyKeySupported() {
+        return getBoolean("api.idempotency", false);
+    }
+
+    /**
+     * Gibt zurück, wie lange ein abgerufener Artikelkatalog für weitere Abfragen wiederverwendet wird.
+     *
+     * @return Die Frischedauer in Millisekunden oder 2000 als Standardwert (0 = nur laufende Abfragen teilen)
+     */
+    public int getCatalogFreshnessMillis() {
+        return getInt("api.cache.freshness", 2000);
+    }
+
+    /**
+     * Prüft, ob das Afterburner-Modul die JSON-Verarbeitung per generiertem Bytecode beschleunigen soll.
+     *
+     * @return true wenn aktiviert, false als Standardwert
+     */
+    public boolean isJsonAfterburnerEnabled() {
+        return getBoolean("json.afterburner.enabled", false);
+    }
+
+    /**
+     * Gibt das bevorzugte Übertragungsformat für abgerufene Artikel zurück.
+     * Unterstützt der Server das Format nicht, antwortet er weiterhin mit JSON.
+     *
+     * @return "SMILE" (Standard), "CBOR" oder "JSON"
+     */
+    public String getApiFormat() {
+        return getString("api.format", "SMILE").trim().toUpperCase();
+    }
+
+    /**
+     * Prüft, ob die Artikelliste zunächst ohne Formatierungen geladen werden soll.
+     * Die Formatierungen sichtbarer Zeilen werden dann im Hintergrund nachgeladen. Die lokale Datei wird
+     * nur vollständig neu geschrieben, wenn alle Formatierungen lokal bekannt sind.
+     *
+     * @return true wenn aktiviert, false als Standardwert
+     */
+    public boolean isLazyHydrationEnabled() {
+        return getBoolean("api.projection.lazy", false);
+    }
+
+    /**
+     * Prüft, ob Sortierung, Filter und Seitenauswahl der Tabelle an den Server übergeben werden.
+     * Die Tabelle hält dann nur die aktuelle Ergebnisseite statt des gesamten Katalogs.
+     *
+     * @return true wenn aktiviert, false als Standardwert
+     */
+    public boolean isRemoteQueryEnabled() {
+        return getBoolean("api.query.remote", false);
+    }
+
+    /**
+     * Gibt die Anzahl Artikel pro Seite im Remote-Abfragemodus zurück.
+     *
+     * @return Die Seitengröße oder 200 als Standardwert
+     */
+    public int getQueryPageSize() {
+        return getInt("api.query.pagesize", 200);
+    }
+
+    /**
+     * Prüft, ob die Tabelle im Remote-Abfragemodus virtuell über alle Treffer scrollt.
+     * Statt einzelner Seiten mit Blätter-Schaltflächen werden Seiten beim Scrollen nachgeladen.
+     *
+     * @return true als Standardwert
+     */
+    public boolean isVirtualTableEnabled() {
+        return getBoolean("api.query.virtual", true);
+    }
+
+    /**
+     * Gibt die maximale Anzahl gleichzeitig gehaltener Seiten der virtuellen Tabelle zurück.
+     *
+     * @return Die Anzahl Seiten oder 20 als Standardwert
+     */
+    public int getQueryCachePages() {
+        return getInt("api.query.cache.pages", 20);
+    }
+
+    /**
+     * Gibt die Anzahl der Seiten zurück, die die virtuelle Tabelle vor und nach der sichtbaren Seite vorab lädt.
+     *
+     * @return Die Anzahl Seiten oder 1 als Standardwert
+     */
+    public int getQueryPrefetchPages() {
+        return getInt("api.query.prefetch", 1);
+    }
+
+    /**
+     * Prüft, ob einzelne Änderungen im Änderungsjournal gesichert werden, statt die lokale Datei neu zu schreiben.
+     *
+     * @return true als Standardwert
+     */
+    public boolean isJournalEnabled() {
+        return getBoolean("local.journal.enabled", true);
+    }
+
+    /**
+     * Prüft, ob jeder Journal-Eintrag sofort auf den Datenträger geschrieben wird (fsync).
+     *
+     * @return true als Standardwert
+     */
+    public boolean isJournalSyncEnabled() {
+        return getBoolean("local.journal.sync", true);
+    }
+
+    /**
+     * Gibt die Anzahl der Journal-Einträge zurück, ab der das Journal in die lokale Datei übernommen wird.
+     *
+     * @return Die Anzahl Einträge oder 500 als Standardwert
+     */
+    public int getJournalCompactionThreshold() {
+        return getInt("local.journal.compact", 500);
+    }
+
+    /**
+     * Gibt die Wartezeit zurück, in der lokale Speicheraufträge gesammelt und gemeinsam geschrieben werden.
+     *
+     * @return Die Wartezeit in Millisekunden oder 300 als Standardwert
+     */
+    public int getLocalSaveDebounceMillis() {
+        return getInt("local.save.debounce", 300);
+    }
+
+    /**
+     * Gibt das Format der lokalen Artikeldatei zurück.
+     * JSON: lesbare Datei "articles.json"; BINARY: binäre, per Memory-Mapping gelesene Datei
+     * "articles.&lt;Generation&gt;.bin", deren Artikel erst bei der Anzeige dekodiert werden.
+     *
+     * @return "JSON" oder "BINARY", "JSON" als Standardwert
+     */
+    public String getLocalFormat() {
+        return getString("local.format", "JSON").trim().toUpperCase();
+    }
+
+    /**
+     * Prüft, ob die Prüfsummen der lokalen Datei blockweise parallel auf mehreren Kernen geprüft werden.
+     *
+     * @return true als Standardwert
+     */
+    public boolean isParallelVerificationEnabled() {
+        return getBoolean("local.verify.parallel", true);
+    }
 }
\ No newline at end of file
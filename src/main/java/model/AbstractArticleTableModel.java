@@ -0,0 +1,307 @@
+package model;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.Set;
+
+/**
+ * Gemeinsame Grundlage der Artikel-Tabellenmodelle.
+ * Enthält Spalten, Anzeige und Bearbeitung der Zellen sowie die Verfolgung geänderter Artikel.
+ * Woher die Zeilen stammen, bestimmen die Unterklassen: {@link ArticleTableModel} hält eine
+ * vollständige Artikelliste oder eine Ergebnisseite, {@link PagedArticleTableModel} lädt Seiten beim Scrollen.
+ */
+public abstract class AbstractArticleTableModel extends AbstractTableModel {
+    private final Set<Article> changedArticles;
+
+    // Spaltennamen der Tabelle
+    private final String[] columnNames = {
+            "ID", "Name", "Typ", "Bestand", "Einheit", "Preis", "Lagerplatz", "Status", "Link"
+    };
+
+    // JSON-Feldnamen der Spalten für serverseitige Sortierung
+    private static final String[] fieldNames = {
+            "id", "name", "type", "stock", "unit", "price", "location", "status", "link"
+    };
+
+    // Spaltentypen für Typ-spezifische Verarbeitung
+    private final Class<?>[] columnTypes = {
+            Integer.class, String.class, String.class, Integer.class,
+            String.class, Double.class, String.class, String.class, String.class
+    };
+
+    /**
+     * Konstruktor mit Set für geänderte Artikel.
+     *
+     * @param changedArticles Set für die Verfolgung geänderter Artikel
+     */
+    protected AbstractArticleTableModel(Set<Article> changedArticles) {
+        this.changedArticles = changedArticles;
+    }
+
+    /**
+     * Gibt den Artikel einer Zeile zurück.
+     * Renderer, Maus-Listener und Formatierung greifen darüber zu, unabhängig davon, wie das Modell
+     * seine Zeilen hält.
+     *
+     * @param modelIndex Der Index im Modell
+     * @return Der Artikel oder null, wenn der Index ungültig ist oder die Zeile noch nicht geladen wurde
+     */
+    public abstract Article getArticleAt(int modelIndex);
+
+    /**
+     * Ersetzt den Artikel einer Zeile, z.B. durch die aktuelle Server-Version.
+     *
+     * @param modelIndex Der Index im Modell
+     * @param article Der neue Artikel
+     */
+    public abstract void setArticleAt(int modelIndex, Article article);
+
+    /**
+     * Ermittelt den Modellindex eines Artikels anhand seiner API-ID.
+     *
+     * @param apiId Die API-ID des Artikels
+     * @return Der entsprechende Modellindex oder -1, wenn nicht gefunden
+     */
+    public abstract int getModelIndexFromApiId(int apiId);
+
+    /**
+     * Ermittelt die API-ID anhand einer Display-ID.
+     *
+     * @param displayId Die anzuzeigende ID (1, 2, 3, ...)
+     * @return Die entsprechende API-ID oder -1, wenn nicht gefunden
+     */
+    public abstract int getApiIdFromDisplayId(int displayId);
+
+    /**
+     * Ermittelt die Display-ID anhand einer API-ID.
+     *
+     * @param apiId Die API-ID aus der Datenbank
+     * @return Die entsprechende Display-ID oder -1, wenn nicht gefunden
+     */
+    public abstract int getDisplayIdFromApiId(int apiId);
+
+    /**
+     * Aktualisiert die ID-Zuordnung und benachrichtigt die Ansicht über Änderungen.
+     * Sollte aufgerufen werden, wenn Artikel hinzugefügt oder entfernt wurden.
+     */
+    public abstract void refreshIdMapping();
+
+    /**
+     * Gibt die Anzahl aller Treffer der serverseitigen Abfrage zurück.
+     *
+     * @return Die Gesamtzahl oder -1, wenn die Tabelle keine Ergebnisseite anzeigt
+     */
+    public abstract int getTotalRowCount();
+
+    /**
+     * Gibt den Versatz der Display-IDs zurück, z.B. den Beginn der angezeigten Ergebnisseite.
+     *
+     * @return Der Versatz, standardmäßig 0
+     */
+    protected int getRowOffset() {
+        return 0;
+    }
+
+    /**
+     * Ermittelt die API-ID anhand eines Modellindex.
+     *
+     * @param modelIndex Der Index im Modell
+     * @return Die entsprechende API-ID oder -1, wenn der Index ungültig ist
+     */
+    public int getApiIdFromModelIndex(int modelIndex) {
+        Article article = getArticleAt(modelIndex);
+        return article != null ? article.id : -1;
+    }
+
+    /**
+     * Findet einen Artikel anhand seiner API-ID.
+     *
+     * @param apiId Die zu suchende API-ID
+     * @return Das gefundene Article-Objekt oder null, wenn nicht gefunden
+     */
+    public Article getArticleByApiId(int apiId) {
+        int index = getModelIndexFromApiId(apiId);
+        return index >= 0 ? getArticleAt(index) : null;
+    }
+
+    /**
+     * Gibt den JSON-Feldnamen einer Spalte für die serverseitige Sortierung zurück.
+     *
+     * @param column Der Spaltenindex im Modell
+     * @return Der Feldname, z.B. "price"
+     */
+    public static String getFieldName(int column) {
+        return fieldNames[column];
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columnIndex) {
+        return columnTypes[columnIndex];
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        Article article = getArticleAt(rowIndex);
+        if (article == null) {
+            return null;
+        }
+
+        return switch (columnIndex) {
+            case 0 -> getRowOffset() + rowIndex + 1; // Display-ID anstatt API-ID anzeigen
+            case 1 -> article.name;
+            case 2 -> article.type;
+            case 3 -> article.stock;
+            case 4 -> article.unit;
+            case 5 -> article.price;
+            case 6 -> article.location;
+            case 7 -> article.status;
+            case 8 -> article.link;
+            default -> null;
+        };
+    }
+
+    @Override
+    public boolean isCellEditable(int rowIndex, int columnIndex) {
+        // Nur die ID-Spalte (0) ist nicht editierbar
+        return columnIndex != 0;
+    }
+
+    @Override
+    public void setValueAt(Object aValue, int rowIndex, int columnIndex) {
+        Article article = getArticleAt(rowIndex);
+        if (article == null || aValue == null) {
+            return;
+        }
+
+        boolean changed = false;
+
+        try {
+            switch (columnIndex) {
+                case 1 -> { // Name
+                    String newValue = aValue.toString();
+                    if (!article.name.equals(newValue)) {
+                        article.name = newValue;
+                        changed = true;
+                    }
+                }
+                case 2 -> { // Typ
+                    String newValue = aValue.toString();
+                    if (!article.type.equals(newValue)) {
+                        article.type = newValue;
+                        changed = true;
+                    }
+                }
+                case 3 -> { // Bestand
+                    int newValue = parseIntValue(aValue);
+                    if (newValue >= 0 && article.stock != newValue) {
+                        article.stock = newValue;
+                        changed = true;
+                    }
+                }
+                case 4 -> { // Einheit
+                    String newValue = aValue.toString();
+                    if (!article.unit.equals(newValue)) {
+                        article.unit = newValue;
+                        changed = true;
+                    }
+                }
+                case 5 -> { // Preis
+                    double newValue = parseDoubleValue(aValue);
+                    if (newValue >= 0 && article.price != newValue) {
+                        article.price = newValue;
+                        changed = true;
+                    }
+                }
+                case 6 -> { // Lagerplatz
+                    String newValue = aValue.toString();
+                    if (!article.location.equals(newValue)) {
+                        article.location = newValue;
+                        changed = true;
+                    }
+                }
+                case 7 -> { // Status
+                    String newValue = aValue.toString();
+                    if (!article.status.equals(newValue)) {
+                        article.status = newValue;
+                        changed = true;
+                    }
+                }
+                case 8 -> { // Link
+                    String newValue = aValue.toString();
+                    if (!article.link.equals(newValue)) {
+                        article.link = newValue;
+                        changed = true;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            // Fehlerbehandlung für ungültige Eingaben
+            System.err.println("Fehler beim Setzen des Werts: " + e.getMessage());
+        }
+
+        if (changed) {
+            changedArticles.add(article);
+            fireTableCellUpdated(rowIndex, columnIndex);
+        }
+    }
+
+    /**
+     * Versucht, einen String in einen Integer zu konvertieren.
+     *
+     * @param value Der zu konvertierende Wert
+     * @return Der konvertierte Wert oder 0 bei Fehler
+     */
+    private int parseIntValue(Object value) {
+        try {
+            if (value instanceof Integer) {
+                return (Integer) value;
+            }
+            return Integer.parseInt(value.toString().trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Versucht, einen String in einen Double zu konvertieren.
+     *
+     * @param value Der zu konvertierende Wert
+     * @return Der konvertierte Wert oder 0.0 bei Fehler
+     */
+    private double parseDoubleValue(Object value) {
+        try {
+            if (value instanceof Double) {
+                return (Double) value;
+            }
+            String valueStr = value.toString().trim().replace(',', '.');
+            return Double.parseDouble(valueStr);
+        } catch (NumberFormatException e) {
+            return 0.0;
+        }
+    }
+
+    /**
+     * Gibt alle geänderten Artikel zurück.
+     *
+     * @return Set mit allen geänderten Artikeln
+     */
+    public Set<Article> getChangedArticles() {
+        return changedArticles;
+    }
+
+    /**
+     * Löscht alle geänderten Artikel aus dem Tracking.
+     */
+    public void clearChangedArticles() {
+        changedArticles.clear();
+    }
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.net.URL;
@@ -11,6 +12,12 @@ import java.util.Map;
  * Diese Klasse enthält alle Eigenschaften eines Artikels sowie Formatierungsinformationen für die Anzeige.
  */
 public class Article {
+    /** Projektion für Versions- und Konfliktprüfungen. */
+    public static final String VERSION_FIELDS = "id,timestamp";
+
+    /** Projektion für die Listenansicht: alle Tabellenspalten und der Zeitstempel, ohne Formatierungen. */
+    public static final String LIST_FIELDS = "id,name,type,stock,unit,price,location,status,link,timestamp";
+
     @JsonProperty("id")
     public int id;
 
@@ -47,6 +54,13 @@ public class Article {
     @JsonProperty("styles")
     public Map<String, CellStyle> styles;
 
+    /**
+     * true, wenn nur die Listenfelder geladen wurden und stylesJson/styles noch fehlen.
+     * Solche Artikel müssen vor dem Speichern oder Formatieren vervollständigt werden.
+     */
+    @JsonIgnore
+    public boolean partial;
+
     /**
      * Standard-Konstruktor für Jackson.
      * Initialisiert ein leeres styles-Map-Objekt.
@@ -96,7 +110,38 @@ public class Article {
     public Article(Article article) {
         this(article.id, article.name, article.type, article.stock, article.unit, article.price,
                 article.location, article.status, article.link, article.timestamp,
-                article.stylesJson, article.styles);
+                article.stylesJson, null);
+        this.partial = article.partial;
+        this.styles = copyStyles(article);
+    }
+
+    /**
+     * Übernimmt die Formatierungen eines vollständig geladenen Server-Stands.
+     * Die übrigen Felder bleiben unverändert, damit lokale Bearbeitungen erhalten bleiben.
+     * Die Stile werden vollständig aufgebaut, bevor sie die bisherige Map ersetzen.
+     *
+     * @param full Der vollständige Artikel vom Server
+     */
+    public void hydrateFrom(Article full) {
+        this.stylesJson = full.stylesJson;
+        this.styles = copyStyles(full);
+        this.partial = false;
+    }
+
+    /**
+     * Kopiert die Zellenstile einzeln, damit Formatierungen der Kopie das Original nicht verändern.
+     *
+     * @param source Der Artikel, dessen Stile kopiert werden
+     * @return Neue Map mit kopierten Stilen
+     */
+    private static Map<String, CellStyle> copyStyles(Article source) {
+        Map<String, CellStyle> copy = new HashMap<>();
+        if (source.styles != null) {
+            for (Map.Entry<String, CellStyle> entry : source.styles.entrySet()) {
+                copy.put(entry.getKey(), entry.getValue() != null ? new CellStyle(entry.getValue()) : null);
+            }
+        }
+        return copy;
     }
 
     /**
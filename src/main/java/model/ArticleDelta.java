@@ -0,0 +1,41 @@
+package model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Repräsentiert die Änderungen am Artikelkatalog seit einem bestimmten Zeitpunkt.
+ * Enthält geänderte bzw. neue Artikel sowie die IDs gelöschter Artikel (Tombstones).
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ArticleDelta {
+    @JsonProperty("changed")
+    public List<Article> changed;
+
+    @JsonProperty("deleted")
+    public List<Integer> deleted;
+
+    @JsonProperty("serverTime")
+    public String serverTime;
+
+    /**
+     * Standard-Konstruktor für Jackson.
+     * Initialisiert leere Listen für geänderte und gelöschte Artikel.
+     */
+    public ArticleDelta() {
+        this.changed = new ArrayList<>();
+        this.deleted = new ArrayList<>();
+    }
+
+    /**
+     * Prüft, ob das Delta keine Änderungen enthält.
+     *
+     * @return true wenn weder geänderte noch gelöschte Artikel vorhanden sind
+     */
+    public boolean isEmpty() {
+        return (changed == null || changed.isEmpty()) && (deleted == null || deleted.isEmpty());
+    }
+}
@@ -0,0 +1,52 @@
+package model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Repräsentiert eine Ergebnisseite einer serverseitigen Artikelabfrage.
+ * Enthält die Artikel des angefragten Ausschnitts sowie die Gesamtzahl der Treffer.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ArticlePage {
+    @JsonProperty("items")
+    public List<Article> items;
+
+    @JsonProperty("total")
+    public int total;
+
+    @JsonProperty("offset")
+    public int offset;
+
+    @JsonProperty("limit")
+    public int limit;
+
+    /**
+     * Standard-Konstruktor für Jackson.
+     * Initialisiert eine leere Trefferliste.
+     */
+    public ArticlePage() {
+        this.items = new ArrayList<>();
+    }
+
+    /**
+     * Gibt die Nummer dieser Seite zurück.
+     *
+     * @return Die Seitennummer, beginnend bei 1
+     */
+    public int getPageNumber() {
+        return limit > 0 ? offset / limit + 1 : 1;
+    }
+
+    /**
+     * Gibt die Anzahl der Seiten für die aktuelle Abfrage zurück.
+     *
+     * @return Die Seitenanzahl, mindestens 1
+     */
+    public int getPageCount() {
+        return limit > 0 ? Math.max(1, (total + limit - 1) / limit) : 1;
+    }
+}
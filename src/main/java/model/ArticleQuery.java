@@ -0,0 +1,75 @@
+package model;
+
+import java.util.List;
+
+/**
+ * Beschreibt eine serverseitige Artikelabfrage mit Sortierung, Filter und Seitenausschnitt.
+ * Instanzen sind unveränderlich; die with-Methoden liefern angepasste Kopien.
+ *
+ * @param sort Sortierschlüssel in absteigender Priorität
+ * @param filter Suchtext, den der Server in Name, Typ, Lagerplatz und Status sucht, oder null
+ * @param offset Index des ersten Treffers
+ * @param limit Maximale Anzahl Treffer pro Seite
+ */
+public record ArticleQuery(List<SortKey> sort, String filter, int offset, int limit) {
+
+    /**
+     * Prüft und normalisiert die Werte.
+     */
+    public ArticleQuery {
+        sort = sort != null ? List.copyOf(sort) : List.of();
+        filter = filter != null && !filter.isBlank() ? filter.trim() : null;
+        if (offset < 0 || limit <= 0) {
+            throw new IllegalArgumentException("Ungültiger Seitenausschnitt: offset=" + offset + ", limit=" + limit);
+        }
+    }
+
+    /**
+     * Erstellt eine Abfrage der ersten Seite ohne Sortierung und Filter.
+     *
+     * @param pageSize Anzahl Treffer pro Seite
+     * @return Die Abfrage
+     */
+    public static ArticleQuery firstPage(int pageSize) {
+        return new ArticleQuery(List.of(), null, 0, pageSize);
+    }
+
+    /**
+     * Gibt eine Kopie mit anderer Sortierung zurück, beginnend bei der ersten Seite.
+     *
+     * @param newSort Die neuen Sortierschlüssel
+     * @return Die angepasste Abfrage
+     */
+    public ArticleQuery withSort(List<SortKey> newSort) {
+        return new ArticleQuery(newSort, filter, 0, limit);
+    }
+
+    /**
+     * Gibt eine Kopie mit anderem Filter zurück, beginnend bei der ersten Seite.
+     *
+     * @param newFilter Der neue Suchtext oder null
+     * @return Die angepasste Abfrage
+     */
+    public ArticleQuery withFilter(String newFilter) {
+        return new ArticleQuery(sort, newFilter, 0, limit);
+    }
+
+    /**
+     * Gibt eine Kopie für einen anderen Seitenausschnitt zurück.
+     *
+     * @param newOffset Index des ersten Treffers
+     * @return Die angepasste Abfrage
+     */
+    public ArticleQuery withOffset(int newOffset) {
+        return new ArticleQuery(sort, filter, Math.max(0, newOffset), limit);
+    }
+
+    /**
+     * Ein Sortierschlüssel der Abfrage.
+     *
+     * @param field Der JSON-Feldname, z.B. "name" oder "price"
+     * @param ascending true für aufsteigende Sortierung
+     */
+    public record SortKey(String field, boolean ascending) {
+    }
+}
@@ -1,31 +1,24 @@
 package model;
 
-import javax.swing.table.AbstractTableModel;
 import java.util.*;
 
 /**
- * Datenmodell für die Artikel-Tabelle.
+ * Datenmodell für die Artikel-Tabelle über eine vollständig gehaltene Artikelliste.
  * Verwaltet die Anzeige von Artikeln in einer JTable und die Zuordnung zwischen
  * angezeigten IDs und tatsächlichen API-IDs.
+ * Im Remote-Abfragemodus enthält die Liste nur die aktuelle Ergebnisseite ({@link #setPage(ArticlePage)});
+ * die Display-IDs zählen dann ab dem Beginn der Seite weiter.
  */
-public class ArticleTableModel extends AbstractTableModel {
+public class ArticleTableModel extends AbstractArticleTableModel {
     private final List<Article> articles;
-    private final Set<Article> changedArticles;
 
     // Maps für die ID-Zuordnung
     private final Map<Integer, Integer> displayIdToApiIdMap = new HashMap<>();
     private final Map<Integer, Integer> apiIdToDisplayIdMap = new HashMap<>();
 
-    // Spaltennamen der Tabelle
-    private final String[] columnNames = {
-            "ID", "Name", "Typ", "Bestand", "Einheit", "Preis", "Lagerplatz", "Status", "Link"
-    };
-
-    // Spaltentypen für Typ-spezifische Verarbeitung
-    private final Class<?>[] columnTypes = {
-            Integer.class, String.class, String.class, Integer.class,
-            String.class, Double.class, String.class, String.class, String.class
-    };
+    // Seitenausschnitt im Remote-Abfragemodus
+    private int rowOffset = 0;
+    private int totalRowCount = -1;
 
     /**
      * Konstruktor mit Artikelliste und Set für geänderte Artikel.
@@ -34,8 +27,8 @@ public class ArticleTableModel extends AbstractTableModel {
      * @param changedArticles Set für die Verfolgung geänderter Artikel
      */
     public ArticleTableModel(List<Article> articles, Set<Article> changedArticles) {
+        super(changedArticles);
         this.articles = articles;
-        this.changedArticles = changedArticles;
 
         // Initialisiere die ID-Zuordnung
         initializeIdMapping();
@@ -52,260 +45,187 @@ public class ArticleTableModel extends AbstractTableModel {
 
         // Erstelle fortlaufende Display-IDs (1, 2, 3, ...) für jede API-ID
         for (int i = 0; i < articles.size(); i++) {
-            int displayId = i + 1; // Display-IDs beginnen bei 1
-            int apiId = articles.get(i).id;
+            int displayId = rowOffset + i + 1; // Display-IDs beginnen bei 1
+            int apiId = LazyArticleList.idAt(articles, i);
 
             displayIdToApiIdMap.put(displayId, apiId);
             apiIdToDisplayIdMap.put(apiId, displayId);
         }
     }
 
-    /**
-     * Ermittelt die API-ID anhand einer Display-ID.
-     *
-     * @param displayId Die anzuzeigende ID (1, 2, 3, ...)
-     * @return Die entsprechende API-ID oder -1, wenn nicht gefunden
-     */
+    @Override
     public int getApiIdFromDisplayId(int displayId) {
         return displayIdToApiIdMap.getOrDefault(displayId, -1);
     }
 
-    /**
-     * Ermittelt die Display-ID anhand einer API-ID.
-     *
-     * @param apiId Die API-ID aus der Datenbank
-     * @return Die entsprechende Display-ID oder -1, wenn nicht gefunden
-     */
+    @Override
     public int getDisplayIdFromApiId(int apiId) {
         return apiIdToDisplayIdMap.getOrDefault(apiId, -1);
     }
 
-    /**
-     * Ermittelt die API-ID anhand eines Modellindex.
-     *
-     * @param modelIndex Der Index in der Artikelliste
-     * @return Die entsprechende API-ID oder -1, wenn der Index ungültig ist
-     */
-    public int getApiIdFromModelIndex(int modelIndex) {
+    @Override
+    public Article getArticleAt(int modelIndex) {
         if (modelIndex >= 0 && modelIndex < articles.size()) {
-            return articles.get(modelIndex).id;
+            return articles.get(modelIndex);
         }
-        return -1;
+        return null;
     }
 
-    /**
-     * Findet einen Artikel anhand seiner API-ID.
-     *
-     * @param apiId Die zu suchende API-ID
-     * @return Das gefundene Article-Objekt oder null, wenn nicht gefunden
-     */
-    public Article getArticleByApiId(int apiId) {
-        for (Article article : articles) {
-            if (article.id == apiId) {
-                return article;
-            }
-        }
-        return null;
+    @Override
+    public void setArticleAt(int modelIndex, Article article) {
+        articles.set(modelIndex, article);
+        fireTableRowsUpdated(modelIndex, modelIndex);
     }
 
-    /**
-     * Ermittelt den Modellindex eines Artikels anhand seiner API-ID.
-     *
-     * @param apiId Die API-ID des Artikels
-     * @return Der entsprechende Modellindex oder -1, wenn nicht gefunden
-     */
+    @Override
     public int getModelIndexFromApiId(int apiId) {
+        // Schneller Weg über die ID-Zuordnung, solange sie aktuell ist
+        int index = apiIdToDisplayIdMap.getOrDefault(apiId, -1) - rowOffset - 1;
+        if (index >= 0 && index < articles.size() && LazyArticleList.idAt(articles, index) == apiId) {
+            return index;
+        }
+
         for (int i = 0; i < articles.size(); i++) {
-            if (articles.get(i).id == apiId) {
+            if (LazyArticleList.idAt(articles, i) == apiId) {
                 return i;
             }
         }
         return -1;
     }
 
-    /**
-     * Aktualisiert die ID-Zuordnung und benachrichtigt die Ansicht über Änderungen.
-     * Sollte aufgerufen werden, wenn Artikel hinzugefügt oder entfernt wurden.
-     */
+    @Override
     public void refreshIdMapping() {
         initializeIdMapping();
         fireTableDataChanged();
     }
 
-    @Override
-    public int getRowCount() {
-        return articles.size();
-    }
-
-    @Override
-    public int getColumnCount() {
-        return columnNames.length;
-    }
-
-    @Override
-    public String getColumnName(int column) {
-        return columnNames[column];
-    }
-
-    @Override
-    public Class<?> getColumnClass(int columnIndex) {
-        return columnTypes[columnIndex];
-    }
-
-    @Override
-    public Object getValueAt(int rowIndex, int columnIndex) {
-        if (rowIndex < 0 || rowIndex >= articles.size()) {
-            return null;
+    /**
+     * Hängt Artikel an das Ende der Tabelle an und benachrichtigt die Ansicht nur über die neuen Zeilen.
+     * Wird beim schrittweisen Laden des Katalogs verwendet.
+     *
+     * @param newArticles Die anzuhängenden Artikel
+     */
+    public void addArticles(List<Article> newArticles) {
+        if (newArticles.isEmpty()) {
+            return;
         }
 
-        Article article = articles.get(rowIndex);
-        return switch (columnIndex) {
-            case 0 -> rowIndex + 1; // Display-ID anstatt API-ID anzeigen
-            case 1 -> article.name;
-            case 2 -> article.type;
-            case 3 -> article.stock;
-            case 4 -> article.unit;
-            case 5 -> article.price;
-            case 6 -> article.location;
-            case 7 -> article.status;
-            case 8 -> article.link;
-            default -> null;
-        };
-    }
-
-    @Override
-    public boolean isCellEditable(int rowIndex, int columnIndex) {
-        // Nur die ID-Spalte (0) ist nicht editierbar
-        return columnIndex != 0;
+        int firstRow = articles.size();
+        for (Article article : newArticles) {
+            articles.add(article);
+            int displayId = rowOffset + articles.size(); // Display-IDs beginnen bei 1
+            displayIdToApiIdMap.put(displayId, article.id);
+            apiIdToDisplayIdMap.put(article.id, displayId);
+        }
+        fireTableRowsInserted(firstRow, articles.size() - 1);
     }
 
-    @Override
-    public void setValueAt(Object aValue, int rowIndex, int columnIndex) {
-        if (rowIndex < 0 || rowIndex >= articles.size() || aValue == null) {
-            return;
+    /**
+     * Übernimmt ein Delta vom Server direkt in die bestehende Artikelliste.
+     * Geänderte Artikel ersetzen ihre Zeile, neue werden angehängt und gelöschte entfernt.
+     * Die Ansicht wird nur über die betroffenen Zeilen benachrichtigt.
+     * Lokal geänderte Artikel werden nicht überschrieben, damit die Konfliktprüfung beim Speichern greift.
+     *
+     * @param delta Das anzuwendende Delta
+     * @return Die tatsächlich übernommenen (geänderten oder neuen) Artikel
+     */
+    public List<Article> applyDelta(ArticleDelta delta) {
+        Set<Integer> locallyChangedIds = new HashSet<>();
+        for (Article article : getChangedArticles()) {
+            locallyChangedIds.add(article.id);
         }
 
-        Article article = articles.get(rowIndex);
-        boolean changed = false;
-
-        try {
-            switch (columnIndex) {
-                case 1 -> { // Name
-                    String newValue = aValue.toString();
-                    if (!article.name.equals(newValue)) {
-                        article.name = newValue;
-                        changed = true;
-                    }
-                }
-                case 2 -> { // Typ
-                    String newValue = aValue.toString();
-                    if (!article.type.equals(newValue)) {
-                        article.type = newValue;
-                        changed = true;
-                    }
-                }
-                case 3 -> { // Bestand
-                    int newValue = parseIntValue(aValue);
-                    if (newValue >= 0 && article.stock != newValue) {
-                        article.stock = newValue;
-                        changed = true;
-                    }
+        List<Article> applied = new ArrayList<>();
+        if (delta.changed != null) {
+            for (Article serverArticle : delta.changed) {
+                if (locallyChangedIds.contains(serverArticle.id)) {
+                    continue;
                 }
-                case 4 -> { // Einheit
-                    String newValue = aValue.toString();
-                    if (!article.unit.equals(newValue)) {
-                        article.unit = newValue;
-                        changed = true;
-                    }
-                }
-                case 5 -> { // Preis
-                    double newValue = parseDoubleValue(aValue);
-                    if (newValue >= 0 && article.price != newValue) {
-                        article.price = newValue;
-                        changed = true;
-                    }
-                }
-                case 6 -> { // Lagerplatz
-                    String newValue = aValue.toString();
-                    if (!article.location.equals(newValue)) {
-                        article.location = newValue;
-                        changed = true;
-                    }
+
+                int modelIndex = getModelIndexFromApiId(serverArticle.id);
+                if (modelIndex >= 0) {
+                    articles.set(modelIndex, serverArticle);
+                    fireTableRowsUpdated(modelIndex, modelIndex);
+                } else {
+                    articles.add(serverArticle);
+                    int displayId = rowOffset + articles.size();
+                    displayIdToApiIdMap.put(displayId, serverArticle.id);
+                    apiIdToDisplayIdMap.put(serverArticle.id, displayId);
+                    fireTableRowsInserted(articles.size() - 1, articles.size() - 1);
                 }
-                case 7 -> { // Status
-                    String newValue = aValue.toString();
-                    if (!article.status.equals(newValue)) {
-                        article.status = newValue;
-                        changed = true;
-                    }
+                applied.add(serverArticle);
+            }
+        }
+
+        if (delta.deleted != null && !delta.deleted.isEmpty()) {
+            // Von hinten nach vorne löschen, damit die Indizes gültig bleiben
+            List<Integer> indicesToRemove = new ArrayList<>();
+            for (Integer deletedId : delta.deleted) {
+                int modelIndex = getModelIndexFromApiId(deletedId);
+                if (modelIndex >= 0 && !locallyChangedIds.contains(deletedId)) {
+                    indicesToRemove.add(modelIndex);
                 }
-                case 8 -> { // Link
-                    String newValue = aValue.toString();
-                    if (!article.link.equals(newValue)) {
-                        article.link = newValue;
-                        changed = true;
-                    }
+            }
+            indicesToRemove.sort(Comparator.reverseOrder());
+            for (int modelIndex : indicesToRemove) {
+                articles.remove(modelIndex);
+                fireTableRowsDeleted(modelIndex, modelIndex);
+            }
+            if (!indicesToRemove.isEmpty()) {
+                // Display-IDs nach gelöschten Zeilen haben sich verschoben; die ID-Spalte dieser Zeilen neu zeichnen
+                initializeIdMapping();
+                int firstRemoved = indicesToRemove.get(indicesToRemove.size() - 1);
+                if (firstRemoved < articles.size()) {
+                    fireTableRowsUpdated(firstRemoved, articles.size() - 1);
                 }
             }
-        } catch (Exception e) {
-            // Fehlerbehandlung für ungültige Eingaben
-            System.err.println("Fehler beim Setzen des Werts: " + e.getMessage());
         }
 
-        if (changed) {
-            changedArticles.add(article);
-            fireTableCellUpdated(rowIndex, columnIndex);
-        }
+        return applied;
     }
 
     /**
-     * Versucht, einen String in einen Integer zu konvertieren.
+     * Ersetzt den Inhalt der Tabelle durch eine Ergebnisseite einer serverseitigen Abfrage.
+     * Lokal geänderte Artikel ersetzen ihre Server-Version, damit Bearbeitungen beim Blättern erhalten bleiben.
      *
-     * @param value Der zu konvertierende Wert
-     * @return Der konvertierte Wert oder 0 bei Fehler
+     * @param page Die anzuzeigende Seite
      */
-    private int parseIntValue(Object value) {
-        try {
-            if (value instanceof Integer) {
-                return (Integer) value;
-            }
-            return Integer.parseInt(value.toString().trim());
-        } catch (NumberFormatException e) {
-            return 0;
+    public void setPage(ArticlePage page) {
+        Map<Integer, Article> locallyChanged = new HashMap<>();
+        for (Article article : getChangedArticles()) {
+            locallyChanged.put(article.id, article);
         }
-    }
 
-    /**
-     * Versucht, einen String in einen Double zu konvertieren.
-     *
-     * @param value Der zu konvertierende Wert
-     * @return Der konvertierte Wert oder 0.0 bei Fehler
-     */
-    private double parseDoubleValue(Object value) {
-        try {
-            if (value instanceof Double) {
-                return (Double) value;
-            }
-            String valueStr = value.toString().trim().replace(',', '.');
-            return Double.parseDouble(valueStr);
-        } catch (NumberFormatException e) {
-            return 0.0;
+        articles.clear();
+        for (Article article : page.items) {
+            articles.add(locallyChanged.getOrDefault(article.id, article));
         }
+        rowOffset = page.offset;
+        totalRowCount = page.total;
+        refreshIdMapping();
     }
 
     /**
-     * Gibt alle geänderten Artikel zurück.
-     *
-     * @return Set mit allen geänderten Artikeln
+     * Verlässt die seitenweise Anzeige; die Liste wird wieder als vollständiger Katalog behandelt.
      */
-    public Set<Article> getChangedArticles() {
-        return changedArticles;
+    public void clearPage() {
+        rowOffset = 0;
+        totalRowCount = -1;
+        refreshIdMapping();
     }
 
-    /**
-     * Löscht alle geänderten Artikel aus dem Tracking.
-     */
-    public void clearChangedArticles() {
-        changedArticles.clear();
+    @Override
+    public int getTotalRowCount() {
+        return totalRowCount;
+    }
+
+    @Override
+    public int getRowCount() {
+        return articles.size();
+    }
+
+    @Override
+    protected int getRowOffset() {
+        return rowOffset;
     }
-}
\ No newline at end of file
+}
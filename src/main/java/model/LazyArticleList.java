@@ -0,0 +1,237 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Artikelliste, deren Einträge erst beim ersten Zugriff dekodiert werden.
+ * Grundlage ist eine {@link Source}, z.B. eine per Memory-Mapping geöffnete lokale Datei. Bis zum ersten
+ * Zugriff hält die Liste pro Zeile nur die Nummer des Datensatzes; die Tabelle dekodiert so nur die
+ * angezeigten Zeilen. ID und Zeitstempel lassen sich ohne Dekodieren lesen, siehe {@link #idAt(List, int)}.
+ * Die Liste ist veränderbar; einmal dekodierte oder gesetzte Artikel bleiben erhalten.
+ * Abweichend von {@link List} geben {@link #set(int, Article)} und {@link #remove(int)} für noch nicht
+ * dekodierte Zeilen null zurück, statt den ersetzten Datensatz nur dafür zu dekodieren.
+ * Wie ArrayList ist sie nicht threadsicher.
+ */
+public class LazyArticleList extends AbstractList<Article> implements RandomAccess {
+
+    /**
+     * Quelle der noch nicht dekodierten Datensätze.
+     */
+    public interface Source {
+        /**
+         * Gibt die Anzahl der Datensätze zurück.
+         *
+         * @return Die Anzahl der Datensätze
+         */
+        int size();
+
+        /**
+         * Liest die ID eines Datensatzes, ohne ihn zu dekodieren.
+         *
+         * @param record Die Nummer des Datensatzes
+         * @return Die Artikel-ID
+         */
+        int idAt(int record);
+
+        /**
+         * Liest den Zeitstempel eines Datensatzes, ohne ihn vollständig zu dekodieren.
+         *
+         * @param record Die Nummer des Datensatzes
+         * @return Der Zeitstempel oder null
+         */
+        String timestampAt(int record);
+
+        /**
+         * Dekodiert einen Datensatz.
+         *
+         * @param record Die Nummer des Datensatzes
+         * @return Ein neuer Artikel
+         */
+        Article decode(int record);
+    }
+
+    private final Source source;
+    // Pro Zeile entweder der Artikel oder die Nummer des noch nicht dekodierten Datensatzes (Integer)
+    private final ArrayList<Object> slots;
+    private int decodedCount = 0;
+
+    /**
+     * Erstellt eine Liste über alle Datensätze der Quelle.
+     *
+     * @param source Die Quelle der Datensätze
+     */
+    public LazyArticleList(Source source) {
+        this(source, new BitSet());
+    }
+
+    /**
+     * Erstellt eine Liste mit bereits belegten Zeilen, siehe {@link #snapshotOf(List)}.
+     *
+     * @param source Die Quelle der Datensätze
+     * @param slots Pro Zeile der Artikel oder die Nummer des Datensatzes
+     */
+    private LazyArticleList(Source source, ArrayList<Object> slots) {
+        this.source = source;
+        this.slots = slots;
+    }
+
+    /**
+     * Erstellt eine Liste über die Datensätze der Quelle ohne die angegebenen, z.B. beschädigte Datensätze.
+     *
+     * @param source Die Quelle der Datensätze
+     * @param skipped Die Nummern der auszulassenden Datensätze
+     */
+    public LazyArticleList(Source source, BitSet skipped) {
+        this.source = source;
+        int size = source.size();
+        this.slots = new ArrayList<>(size - skipped.cardinality());
+        for (int record = 0; record < size; record++) {
+            if (!skipped.get(record)) {
+                slots.add(record);
+            }
+        }
+    }
+
+    @Override
+    public Article get(int index) {
+        Object slot = slots.get(index);
+        if (slot instanceof Article article) {
+            return article;
+        }
+        Article article = source.decode((Integer) slot);
+        slots.set(index, article);
+        decodedCount++;
+        return article;
+    }
+
+    /**
+     * Ersetzt den Artikel einer Zeile, ohne den bisherigen Datensatz zu dekodieren.
+     *
+     * @param index Die Zeile
+     * @param article Der neue Artikel
+     * @return Der bisherige Artikel oder null, wenn die Zeile noch nicht dekodiert war
+     */
+    @Override
+    public Article set(int index, Article article) {
+        Object previous = slots.set(index, article);
+        return previous instanceof Article previousArticle ? previousArticle : null;
+    }
+
+    @Override
+    public void add(int index, Article article) {
+        slots.add(index, article);
+        modCount++;
+    }
+
+    /**
+     * Entfernt eine Zeile, ohne ihren Datensatz zu dekodieren.
+     *
+     * @param index Die Zeile
+     * @return Der entfernte Artikel oder null, wenn die Zeile noch nicht dekodiert war
+     */
+    @Override
+    public Article remove(int index) {
+        Object previous = slots.remove(index);
+        modCount++;
+        return previous instanceof Article previousArticle ? previousArticle : null;
+    }
+
+    @Override
+    public void clear() {
+        slots.clear();
+        modCount++;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        slots.subList(fromIndex, toIndex).clear();
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return slots.size();
+    }
+
+    /**
+     * Gibt die Anzahl der bisher dekodierten Datensätze zurück.
+     *
+     * @return Die Anzahl der dekodierten Datensätze
+     */
+    public int getDecodedCount() {
+        return decodedCount;
+    }
+
+    /**
+     * Erstellt eine Momentaufnahme einer Artikelliste, z.B. um sie auf einem anderen Thread zu speichern.
+     * Geladene Artikel werden kopiert, damit spätere Änderungen die Momentaufnahme nicht verändern.
+     * Noch nicht dekodierte Zeilen einer {@link LazyArticleList} werden nur über die Nummer ihres
+     * Datensatzes übernommen und erst beim Zugriff auf die Momentaufnahme dekodiert.
+     *
+     * @param articles Eine beliebige Artikelliste
+     * @return Eine von der ursprünglichen Liste unabhängige Liste
+     */
+    public static List<Article> snapshotOf(List<Article> articles) {
+        if (articles instanceof LazyArticleList lazy) {
+            ArrayList<Object> slots = new ArrayList<>(lazy.slots.size());
+            for (Object slot : lazy.slots) {
+                slots.add(slot instanceof Article article ? new Article(article) : slot);
+            }
+            return new LazyArticleList(lazy.source, slots);
+        }
+        List<Article> copy = new ArrayList<>(articles.size());
+        for (Article article : articles) {
+            copy.add(new Article(article));
+        }
+        return copy;
+    }
+
+    /**
+     * Liest die ID einer Zeile, ohne einen noch nicht geladenen Artikel zu dekodieren.
+     *
+     * @param articles Eine beliebige Artikelliste
+     * @param index Die Zeile
+     * @return Die Artikel-ID
+     */
+    public static int idAt(List<Article> articles, int index) {
+        if (articles instanceof LazyArticleList lazy) {
+            Object slot = lazy.slots.get(index);
+            return slot instanceof Article article ? article.id : lazy.source.idAt((Integer) slot);
+        }
+        return articles.get(index).id;
+    }
+
+    /**
+     * Gibt den Artikel einer Zeile zurück, sofern er bereits dekodiert oder gesetzt wurde.
+     *
+     * @param articles Eine beliebige Artikelliste
+     * @param index Die Zeile
+     * @return Der Artikel oder null, wenn die Zeile noch nicht dekodiert wurde
+     */
+    public static Article loadedAt(List<Article> articles, int index) {
+        if (articles instanceof LazyArticleList lazy) {
+            Object slot = lazy.slots.get(index);
+            return slot instanceof Article article ? article : null;
+        }
+        return articles.get(index);
+    }
+
+    /**
+     * Liest den Zeitstempel einer Zeile, ohne einen noch nicht geladenen Artikel zu dekodieren.
+     *
+     * @param articles Eine beliebige Artikelliste
+     * @param index Die Zeile
+     * @return Der Zeitstempel oder null
+     */
+    public static String timestampAt(List<Article> articles, int index) {
+        if (articles instanceof LazyArticleList lazy) {
+            Object slot = lazy.slots.get(index);
+            return slot instanceof Article article ? article.timestamp : lazy.source.timestampAt((Integer) slot);
+        }
+        return articles.get(index).timestamp;
+    }
+}
@@ -0,0 +1,329 @@
+package model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Seitenweise geladenes Datenmodell für sehr große Artikelkataloge.
+ * Statt einer vollständigen Artikelliste werden Seiten fester Größe erst geladen, wenn die Tabelle
+ * ihre Zeilen anzeigt. Die Seiten liegen in einem begrenzten LRU-Cache, benachbarte Seiten werden
+ * vorab geladen. Noch nicht geladene Zeilen erscheinen als Platzhalter und werden gefüllt, sobald
+ * ihre Seite eintrifft. Der Speicherbedarf hängt so von der Cache-Größe ab, nicht von der Katalog-Größe.
+ * Alle Methoden werden auf dem EDT aufgerufen; nur die Abfragen selbst laufen im Hintergrund.
+ */
+public class PagedArticleTableModel extends AbstractArticleTableModel {
+    private static final Logger logger = LoggerFactory.getLogger(PagedArticleTableModel.class);
+
+    /** Text in noch nicht geladenen Zeilen. */
+    public static final String PLACEHOLDER_TEXT = "Wird geladen…";
+
+    private static final int LOADER_THREADS = 2;
+    // Nach einem Fehler eine Seite nicht bei jedem Neuzeichnen erneut anfragen
+    private static final long RETRY_DELAY_MS = 5000;
+
+    /**
+     * Lädt eine Seite für eine Abfrage, z.B. über {@code ApiClient::queryArticles}.
+     */
+    @FunctionalInterface
+    public interface PageLoader {
+        /**
+         * Lädt eine Ergebnisseite.
+         *
+         * @param query Die Abfrage mit dem gewünschten Seitenausschnitt
+         * @return Die Seite oder null, wenn der Server keine Abfragen unterstützt
+         * @throws Exception Bei Netzwerk-, Server- oder Parse-Problemen
+         */
+        ArticlePage load(ArticleQuery query) throws Exception;
+    }
+
+    private final PageLoader loader;
+    private final int prefetchPages;
+    private final Map<Integer, List<Article>> pages;
+    private final Set<Integer> loading = new HashSet<>();
+    private final Map<Integer, Long> failedAt = new HashMap<>();
+    private final ExecutorService executor = Executors.newFixedThreadPool(LOADER_THREADS,
+            Thread.ofPlatform().daemon().name("page-loader-", 1).factory());
+
+    private Consumer<List<Article>> pageListener = rows -> { };
+    private ArticleQuery query;
+    private int total = 0;
+    private volatile int generation = 0;
+    private volatile int lastRequestedPage = 0;
+
+    /**
+     * Erstellt ein neues, zunächst leeres Modell.
+     *
+     * @param changedArticles Set für die Verfolgung geänderter Artikel
+     * @param loader Lädt einzelne Seiten
+     * @param cachePages Maximale Anzahl gleichzeitig gehaltener Seiten
+     * @param prefetchPages Anzahl der vorab geladenen Nachbarseiten in jede Richtung
+     */
+    public PagedArticleTableModel(Set<Article> changedArticles, PageLoader loader, int cachePages, int prefetchPages) {
+        super(changedArticles);
+        this.loader = loader;
+        this.prefetchPages = Math.max(0, prefetchPages);
+        // Sichtbare und vorab geladene Seiten müssen gleichzeitig in den Cache passen
+        int capacity = Math.max(cachePages, 2 * this.prefetchPages + 2);
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<Article>> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Setzt einen Lauscher, der jede übernommene Seite erhält, z.B. um Original-Timestamps zu erfassen.
+     * Er wird auf dem EDT mit den angezeigten Artikeln der Seite aufgerufen.
+     *
+     * @param pageListener Der Lauscher
+     */
+    public void setPageListener(Consumer<List<Article>> pageListener) {
+        this.pageListener = pageListener;
+    }
+
+    /**
+     * Setzt eine neue Abfrage und übernimmt deren bereits geladene erste Seite.
+     * Bisher gehaltene Seiten werden verworfen, laufende Abfragen ignoriert.
+     *
+     * @param newQuery Die Abfrage, ihr limit bestimmt die Seitengröße
+     * @param firstPage Die erste Seite der Abfrage
+     */
+    public void setQuery(ArticleQuery newQuery, ArticlePage firstPage) {
+        generation++;
+        query = newQuery.withOffset(0);
+        pages.clear();
+        loading.clear();
+        failedAt.clear();
+        total = firstPage.total;
+        List<Article> rows = withLocalChanges(firstPage.items);
+        pages.put(0, rows);
+        pageListener.accept(rows);
+        lastRequestedPage = 0;
+        logger.info("Virtuelle Tabelle: {} Artikel, Seiten zu {} Zeilen", total, query.limit());
+        fireTableDataChanged();
+    }
+
+    /**
+     * Verwirft alle gehaltenen Seiten, z.B. nach dem Speichern. Sichtbare Zeilen werden neu geladen.
+     */
+    public void reload() {
+        generation++;
+        pages.clear();
+        loading.clear();
+        failedAt.clear();
+        fireTableDataChanged();
+    }
+
+    /**
+     * Beendet die Hintergrund-Threads, wenn das Modell nicht mehr verwendet wird.
+     */
+    public void dispose() {
+        generation++;
+        executor.shutdownNow();
+    }
+
+    /**
+     * Gibt die Anzahl der aktuell gehaltenen Seiten zurück.
+     *
+     * @return Die Anzahl der Seiten im Cache
+     */
+    public int getCachedPageCount() {
+        return pages.size();
+    }
+
+    @Override
+    public int getRowCount() {
+        return total;
+    }
+
+    @Override
+    public int getTotalRowCount() {
+        return total;
+    }
+
+    @Override
+    public Article getArticleAt(int modelIndex) {
+        if (query == null || modelIndex < 0 || modelIndex >= total) {
+            return null;
+        }
+        int pageSize = query.limit();
+        int pageIndex = modelIndex / pageSize;
+        List<Article> page = pages.get(pageIndex);
+
+        if (pageIndex != lastRequestedPage || page == null) {
+            lastRequestedPage = pageIndex;
+            requestPage(pageIndex);
+            for (int distance = 1; distance <= prefetchPages; distance++) {
+                requestPage(pageIndex + distance);
+                requestPage(pageIndex - distance);
+            }
+        }
+
+        int offsetInPage = modelIndex - pageIndex * pageSize;
+        return page != null && offsetInPage < page.size() ? page.get(offsetInPage) : null;
+    }
+
+    @Override
+    public void setArticleAt(int modelIndex, Article article) {
+        List<Article> page = query != null ? pages.get(modelIndex / query.limit()) : null;
+        int offsetInPage = query != null ? modelIndex % query.limit() : -1;
+        if (page != null && offsetInPage < page.size()) {
+            page.set(offsetInPage, article);
+            fireTableRowsUpdated(modelIndex, modelIndex);
+        }
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        if (getArticleAt(rowIndex) == null) {
+            // Platzhalter, bis die Seite geladen ist
+            return switch (columnIndex) {
+                case 0 -> rowIndex + 1;
+                case 1 -> PLACEHOLDER_TEXT;
+                default -> null;
+            };
+        }
+        return super.getValueAt(rowIndex, columnIndex);
+    }
+
+    @Override
+    public boolean isCellEditable(int rowIndex, int columnIndex) {
+        return super.isCellEditable(rowIndex, columnIndex) && getArticleAt(rowIndex) != null;
+    }
+
+    /**
+     * Sucht nur in den geladenen Seiten, damit keine weiteren Seiten angefordert werden.
+     */
+    @Override
+    public int getModelIndexFromApiId(int apiId) {
+        for (Map.Entry<Integer, List<Article>> entry : pages.entrySet()) {
+            List<Article> page = entry.getValue();
+            for (int i = 0; i < page.size(); i++) {
+                if (page.get(i).id == apiId) {
+                    return entry.getKey() * query.limit() + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int getDisplayIdFromApiId(int apiId) {
+        int modelIndex = getModelIndexFromApiId(apiId);
+        return modelIndex >= 0 ? modelIndex + 1 : -1;
+    }
+
+    @Override
+    public int getApiIdFromDisplayId(int displayId) {
+        return getApiIdFromModelIndex(displayId - 1);
+    }
+
+    @Override
+    public void refreshIdMapping() {
+        // Display-IDs ergeben sich direkt aus dem Zeilenindex
+        fireTableDataChanged();
+    }
+
+    /**
+     * Fordert eine Seite im Hintergrund an, sofern sie weder geladen ist noch gerade geladen wird.
+     *
+     * @param pageIndex Der Index der Seite
+     */
+    private void requestPage(int pageIndex) {
+        int pageSize = query.limit();
+        if (pageIndex < 0 || pageIndex * pageSize >= total
+                || pages.containsKey(pageIndex) || loading.contains(pageIndex)) {
+            return;
+        }
+        Long failed = failedAt.get(pageIndex);
+        if (failed != null && System.currentTimeMillis() - failed < RETRY_DELAY_MS) {
+            return;
+        }
+
+        loading.add(pageIndex);
+        ArticleQuery pageQuery = query.withOffset(pageIndex * pageSize);
+        int requestGeneration = generation;
+        executor.execute(() -> {
+            // Beim schnellen Scrollen sind ältere Anforderungen oft nicht mehr sichtbar
+            if (requestGeneration != generation || Math.abs(pageIndex - lastRequestedPage) > prefetchPages + 1) {
+                SwingUtilities.invokeLater(() -> {
+                    if (requestGeneration == generation) {
+                        loading.remove(pageIndex);
+                    }
+                });
+                return;
+            }
+            try {
+                ArticlePage page = loader.load(pageQuery);
+                if (page == null) {
+                    throw new IllegalStateException("Server unterstützt keine serverseitigen Abfragen");
+                }
+                SwingUtilities.invokeLater(() -> applyPage(pageIndex, page, requestGeneration));
+            } catch (Exception e) {
+                logger.warn("Seite {} konnte nicht geladen werden: {}", pageIndex + 1, e.getMessage());
+                SwingUtilities.invokeLater(() -> {
+                    if (requestGeneration == generation) {
+                        loading.remove(pageIndex);
+                        failedAt.put(pageIndex, System.currentTimeMillis());
+                    }
+                });
+            }
+        });
+    }
+
+    /**
+     * Übernimmt eine geladene Seite und benachrichtigt die Tabelle über die betroffenen Zeilen.
+     *
+     * @param pageIndex Der Index der Seite
+     * @param page Die geladene Seite
+     * @param requestGeneration Die Generation zum Zeitpunkt der Anforderung
+     */
+    private void applyPage(int pageIndex, ArticlePage page, int requestGeneration) {
+        if (requestGeneration != generation) {
+            return;
+        }
+        loading.remove(pageIndex);
+        failedAt.remove(pageIndex);
+        List<Article> rows = withLocalChanges(page.items);
+        pages.put(pageIndex, rows);
+        pageListener.accept(rows);
+
+        if (page.total != total) {
+            // Der Katalog hat sich seit der ersten Seite verändert
+            logger.debug("Trefferzahl geändert: {} -> {}", total, page.total);
+            total = page.total;
+            fireTableDataChanged();
+            return;
+        }
+        int firstRow = pageIndex * query.limit();
+        int lastRow = Math.min(total, firstRow + query.limit()) - 1;
+        if (lastRow >= firstRow) {
+            fireTableRowsUpdated(firstRow, lastRow);
+        }
+    }
+
+    /**
+     * Ersetzt Server-Versionen durch lokal geänderte Artikel, damit Bearbeitungen beim Scrollen erhalten bleiben.
+     *
+     * @param items Die Artikel der Seite
+     * @return Veränderbare Liste mit den anzuzeigenden Artikeln
+     */
+    private List<Article> withLocalChanges(List<Article> items) {
+        Map<Integer, Article> locallyChanged = new HashMap<>();
+        for (Article article : getChangedArticles()) {
+            locallyChanged.put(article.id, article);
+        }
+        List<Article> rows = new ArrayList<>(items.size());
+        for (Article article : items) {
+            rows.add(locallyChanged.getOrDefault(article.id, article));
+        }
+        return rows;
+    }
+}
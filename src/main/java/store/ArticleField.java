@@ -0,0 +1,73 @@
+package store;
+
+import model.Article;
+
+import java.util.Locale;
+
+/**
+ * Textfelder eines Artikels, die der {@link ArticleStore} ohne vollständiges Dekodieren lesen kann.
+ * Typ, Lagerplatz und Status sind über Sekundärindizes abfragbar, der Name wird bei der Suche durchlaufen.
+ */
+public enum ArticleField {
+    NAME("name", false),
+    TYPE("type", true),
+    LOCATION("location", true),
+    STATUS("status", true);
+
+    private final String fieldName;
+    private final boolean indexed;
+
+    ArticleField(String fieldName, boolean indexed) {
+        this.fieldName = fieldName;
+        this.indexed = indexed;
+    }
+
+    /**
+     * Gibt den JSON-Feldnamen zurück.
+     *
+     * @return Der Feldname, z.B. "type"
+     */
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    /**
+     * Gibt an, ob für das Feld ein Sekundärindex geführt wird.
+     *
+     * @return true bei indizierten Feldern
+     */
+    public boolean isIndexed() {
+        return indexed;
+    }
+
+    /**
+     * Liest den Wert des Feldes aus einem Artikel.
+     *
+     * @param article Der Artikel
+     * @return Der Feldwert oder null
+     */
+    public String valueOf(Article article) {
+        return switch (this) {
+            case NAME -> article.name;
+            case TYPE -> article.type;
+            case LOCATION -> article.location;
+            case STATUS -> article.status;
+        };
+    }
+
+    /**
+     * Sucht ein Feld anhand seines JSON-Feldnamens, ohne Beachtung der Groß-/Kleinschreibung.
+     *
+     * @param fieldName Der Feldname
+     * @return Das Feld oder null, wenn es kein solches Feld gibt
+     */
+    public static ArticleField fromFieldName(String fieldName) {
+        String name = fieldName.trim().toLowerCase(Locale.ROOT);
+        for (ArticleField field : values()) {
+            if (field.fieldName.equals(name)) {
+                return field;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,459 @@
+package store;
+
+import model.Article;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Indizierte Artikelablage über dem Bestand der lokalen Datei.
+ * Grundlage ist ein unveränderlicher Basisbestand ({@link RecordSource}); Änderungen seit dessen Stand
+ * (aus dem Änderungsjournal oder neu gesichert) liegen geordnet nach ID in einer Überlagerung, gelöschte
+ * Artikel als Löschmarke. Die Dauerhaftigkeit übernehmen lokale Datei und Journal, die Ablage hält nur
+ * die Indizes und die Änderungen im Speicher.
+ *
+ * Primärindex ist eine nach ID sortierte Tabelle der Datensätze des Basisbestands (binäre Suche) zusammen
+ * mit der Überlagerung; Einzelzugriffe und Bereichsabfragen über IDs dekodieren nur die gelieferten Artikel.
+ * Für Typ, Lagerplatz und Status werden Sekundärindizes beim ersten Zugriff aus den Textfeldern des
+ * Basisbestands aufgebaut, ohne die Datensätze vollständig zu dekodieren; Werte werden dabei ohne Beachtung
+ * der Groß-/Kleinschreibung verglichen. Die Überlagerung wird bei Abfragen direkt durchsucht, da sie nur
+ * die Änderungen seit dem letzten Speichern enthält.
+ *
+ * Die Ablage hält eigene Kopien der Artikel; gelieferte Artikel können vom Aufrufer verändert werden.
+ * Alle Methoden sind threadsicher.
+ */
+public class ArticleStore {
+    private static final Logger logger = LoggerFactory.getLogger(ArticleStore.class);
+
+    private static final int[] NO_RANKS = new int[0];
+
+    private final RecordSource base;
+    // Primärindex des Basisbestands: IDs aufsteigend, dazu die Nummer des Datensatzes
+    private final int[] baseIds;
+    private final int[] baseRecords;
+    // Änderungen seit dem Basisbestand, null kennzeichnet einen gelöschten Artikel
+    private final TreeMap<Integer, Article> changes = new TreeMap<>();
+    // Sekundärindizes des Basisbestands: Feldwert (klein geschrieben) auf die Ränge im Primärindex
+    private final Map<ArticleField, TreeMap<String, int[]>> baseIndexes = new EnumMap<>(ArticleField.class);
+    private int size;
+
+    /**
+     * Erstellt eine Ablage über die Datensätze eines Basisbestands.
+     *
+     * @param base Der Basisbestand
+     * @param skipped Die Nummern auszulassender Datensätze, z.B. beschädigte Datensätze
+     */
+    public ArticleStore(RecordSource base, BitSet skipped) {
+        long startTime = System.nanoTime();
+        this.base = base;
+        int count = base.size();
+        long[] keys = new long[count - skipped.cardinality()];
+        int n = 0;
+        for (int record = 0; record < count; record++) {
+            if (!skipped.get(record)) {
+                // Vorzeichenbehaftete ID in den oberen 32 Bit, damit die Sortierung der ID-Reihenfolge entspricht
+                keys[n++] = ((long) base.idAt(record) << 32) | (record & 0xffffffffL);
+            }
+        }
+        Arrays.sort(keys);
+
+        baseIds = new int[keys.length];
+        baseRecords = new int[keys.length];
+        for (int rank = 0; rank < keys.length; rank++) {
+            baseIds[rank] = (int) (keys[rank] >> 32);
+            baseRecords[rank] = (int) keys[rank];
+        }
+        size = keys.length;
+        logger.debug("Primärindex über {} Artikel in {} ms aufgebaut", size, (System.nanoTime() - startTime) / 1_000_000);
+    }
+
+    /**
+     * Erstellt eine Ablage über eine Artikelliste, z.B. aus einer lokalen JSON-Datei.
+     * Die Artikel werden kopiert, die Ablage hält also eine zweite Kopie der Liste im Speicher; nur ein
+     * {@link RecordSource} über eine binäre Datei kommt ohne dekodierte Artikel aus.
+     *
+     * @param articles Die Artikel
+     * @return Die Ablage
+     */
+    public static ArticleStore of(List<Article> articles) {
+        Article[] copies = new Article[articles.size()];
+        for (int i = 0; i < copies.length; i++) {
+            copies[i] = new Article(articles.get(i));
+        }
+        return new ArticleStore(new ArraySource(copies), new BitSet());
+    }
+
+    /**
+     * Gibt die Anzahl der Artikel zurück.
+     *
+     * @return Die Anzahl der Artikel
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Prüft, ob ein Artikel enthalten ist.
+     *
+     * @param id Die Artikel-ID
+     * @return true wenn enthalten
+     */
+    public synchronized boolean contains(int id) {
+        if (changes.containsKey(id)) {
+            return changes.get(id) != null;
+        }
+        return Arrays.binarySearch(baseIds, id) >= 0;
+    }
+
+    /**
+     * Liest einen Artikel über den Primärindex.
+     *
+     * @param id Die Artikel-ID
+     * @return Eine Kopie des Artikels oder null, wenn er nicht enthalten ist
+     */
+    public synchronized Article get(int id) {
+        if (changes.containsKey(id)) {
+            Article article = changes.get(id);
+            return article != null ? new Article(article) : null;
+        }
+        int rank = Arrays.binarySearch(baseIds, id);
+        return rank >= 0 ? base.decode(baseRecords[rank]) : null;
+    }
+
+    /**
+     * Legt einen Artikel an oder ersetzt ihn.
+     *
+     * @param article Der Artikel, wird kopiert
+     */
+    public synchronized void put(Article article) {
+        if (!contains(article.id)) {
+            size++;
+        }
+        changes.put(article.id, new Article(article));
+    }
+
+    /**
+     * Löscht einen Artikel.
+     *
+     * @param id Die Artikel-ID
+     * @return true wenn der Artikel enthalten war
+     */
+    public synchronized boolean delete(int id) {
+        if (!contains(id)) {
+            return false;
+        }
+        if (Arrays.binarySearch(baseIds, id) >= 0) {
+            changes.put(id, null);
+        } else {
+            changes.remove(id);
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Übernimmt geänderte, neue und gelöschte Artikel.
+     *
+     * @param changed Geänderte oder neue Artikel
+     * @param deletedIds IDs gelöschter Artikel
+     */
+    public synchronized void apply(Collection<Article> changed, Collection<Integer> deletedIds) {
+        for (Article article : changed) {
+            put(article);
+        }
+        for (int id : deletedIds) {
+            delete(id);
+        }
+    }
+
+    /**
+     * Liest die Artikel eines ID-Bereichs in aufsteigender ID-Reihenfolge.
+     * Dekodiert werden nur die gelieferten Artikel.
+     *
+     * @param fromId Kleinste ID (inklusive)
+     * @param toId Größte ID (inklusive)
+     * @param limit Maximale Anzahl Artikel
+     * @return Kopien der Artikel
+     */
+    public synchronized List<Article> scan(int fromId, int toId, int limit) {
+        List<Article> result = new ArrayList<>();
+        if (fromId > toId) {
+            return result;
+        }
+        int rank = lowerBound(fromId);
+        Iterator<Map.Entry<Integer, Article>> overlay = changes.subMap(fromId, true, toId, true).entrySet().iterator();
+        Map.Entry<Integer, Article> next = overlay.hasNext() ? overlay.next() : null;
+        while (result.size() < limit) {
+            boolean hasBase = rank < baseIds.length && baseIds[rank] <= toId;
+            if (!hasBase && next == null) {
+                break;
+            }
+            if (next != null && (!hasBase || next.getKey() <= baseIds[rank])) {
+                if (hasBase && next.getKey() == baseIds[rank]) {
+                    // Geändert oder gelöscht: die Überlagerung ersetzt den Datensatz
+                    rank++;
+                }
+                if (next.getValue() != null) {
+                    result.add(new Article(next.getValue()));
+                }
+                next = overlay.hasNext() ? overlay.next() : null;
+            } else {
+                result.add(base.decode(baseRecords[rank++]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Sucht die Artikel mit einem bestimmten Wert in einem indizierten Feld.
+     *
+     * @param field Das Feld, muss indiziert sein
+     * @param value Der gesuchte Wert, ohne Beachtung der Groß-/Kleinschreibung
+     * @return Kopien der Artikel in aufsteigender ID-Reihenfolge
+     */
+    public synchronized List<Article> find(ArticleField field, String value) {
+        List<Integer> ids = new ArrayList<>(findIds(field, value));
+        ids.sort(null);
+        List<Article> result = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            result.add(get(id));
+        }
+        return result;
+    }
+
+    /**
+     * Sucht die IDs der Artikel mit einem bestimmten Wert in einem indizierten Feld.
+     *
+     * @param field Das Feld, muss indiziert sein
+     * @param value Der gesuchte Wert, ohne Beachtung der Groß-/Kleinschreibung
+     * @return Die IDs der Treffer
+     * @throws IllegalArgumentException Wenn das Feld nicht indiziert ist
+     */
+    public synchronized Set<Integer> findIds(ArticleField field, String value) {
+        if (!field.isIndexed()) {
+            throw new IllegalArgumentException("Feld ist nicht indiziert: " + field.getFieldName());
+        }
+        String key = indexKey(value);
+        Set<Integer> ids = new HashSet<>();
+        addBaseIds(baseIndex(field).getOrDefault(key, NO_RANKS), ids);
+        for (Article article : changes.values()) {
+            if (article != null && indexKey(field.valueOf(article)).equals(key)) {
+                ids.add(article.id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Durchsucht die Ablage mit einem Suchtext.
+     * "feld:wert" (z.B. "status:Aktiv") sucht über den Sekundärindex nach genau diesem Wert. Jeder andere
+     * Text wird wie bei der serverseitigen Abfrage in Name, Typ, Lagerplatz und Status gesucht; für die
+     * indizierten Felder werden dabei nur die unterschiedlichen Werte der Indizes verglichen.
+     *
+     * @param filter Der Suchtext
+     * @return Die IDs der Treffer
+     */
+    public synchronized Set<Integer> search(String filter) {
+        long startTime = System.nanoTime();
+        ArticleField field = indexedFieldOf(filter);
+        if (field != null) {
+            Set<Integer> ids = findIds(field, valueOf(filter));
+            logger.debug("{} Treffer für '{}' über den Index in {} ms", ids.size(), filter.trim(),
+                    (System.nanoTime() - startTime) / 1_000_000);
+            return ids;
+        }
+
+        String needle = indexKey(filter.trim());
+        Set<Integer> ids = new HashSet<>();
+        for (ArticleField indexed : ArticleField.values()) {
+            if (!indexed.isIndexed()) {
+                continue;
+            }
+            for (Map.Entry<String, int[]> entry : baseIndex(indexed).entrySet()) {
+                if (entry.getKey().contains(needle)) {
+                    addBaseIds(entry.getValue(), ids);
+                }
+            }
+        }
+        // Namen sind nicht indiziert und werden ohne vollständiges Dekodieren durchlaufen
+        for (int rank = 0; rank < baseIds.length; rank++) {
+            if (!changes.containsKey(baseIds[rank])
+                    && indexKey(base.textAt(baseRecords[rank], ArticleField.NAME)).contains(needle)) {
+                ids.add(baseIds[rank]);
+            }
+        }
+        for (Article article : changes.values()) {
+            if (article != null && matches(article, filter)) {
+                ids.add(article.id);
+            }
+        }
+        logger.debug("{} Treffer für '{}' in {} ms", ids.size(), filter.trim(), (System.nanoTime() - startTime) / 1_000_000);
+        return ids;
+    }
+
+    /**
+     * Prüft einen einzelnen Artikel gegen einen Suchtext, mit derselben Bedeutung wie {@link #search(String)}.
+     *
+     * @param article Der Artikel
+     * @param filter Der Suchtext
+     * @return true wenn der Artikel gefunden wird
+     */
+    public static boolean matches(Article article, String filter) {
+        ArticleField field = indexedFieldOf(filter);
+        if (field != null) {
+            return indexKey(field.valueOf(article)).equals(indexKey(valueOf(filter)));
+        }
+        String needle = indexKey(filter.trim());
+        for (ArticleField candidate : ArticleField.values()) {
+            if (indexKey(candidate.valueOf(article)).contains(needle)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Ermittelt das Feld eines Suchtexts der Form "feld:wert".
+     *
+     * @param filter Der Suchtext
+     * @return Das indizierte Feld oder null, wenn der Text frei gesucht wird
+     */
+    private static ArticleField indexedFieldOf(String filter) {
+        int separator = filter.indexOf(':');
+        if (separator <= 0) {
+            return null;
+        }
+        ArticleField field = ArticleField.fromFieldName(filter.substring(0, separator));
+        return field != null && field.isIndexed() ? field : null;
+    }
+
+    /**
+     * Liest den Wert eines Suchtexts der Form "feld:wert".
+     *
+     * @param filter Der Suchtext
+     * @return Der Wert ohne umgebende Leerzeichen
+     */
+    private static String valueOf(String filter) {
+        return filter.substring(filter.indexOf(':') + 1).trim();
+    }
+
+    /**
+     * Fügt die IDs der angegebenen Ränge des Basisbestands hinzu, sofern sie nicht überlagert sind.
+     *
+     * @param ranks Ränge im Primärindex
+     * @param ids Die Ergebnismenge
+     */
+    private void addBaseIds(int[] ranks, Set<Integer> ids) {
+        for (int rank : ranks) {
+            int id = baseIds[rank];
+            if (!changes.containsKey(id)) {
+                ids.add(id);
+            }
+        }
+    }
+
+    /**
+     * Gibt den Sekundärindex eines Feldes zurück und baut ihn beim ersten Zugriff auf.
+     *
+     * @param field Das indizierte Feld
+     * @return Feldwert auf die Ränge der Datensätze im Primärindex, aufsteigend
+     */
+    private TreeMap<String, int[]> baseIndex(ArticleField field) {
+        TreeMap<String, int[]> index = baseIndexes.get(field);
+        if (index != null) {
+            return index;
+        }
+        long startTime = System.nanoTime();
+        String[] keys = new String[baseIds.length];
+        Map<String, Integer> counts = new HashMap<>();
+        for (int rank = 0; rank < baseIds.length; rank++) {
+            keys[rank] = indexKey(base.textAt(baseRecords[rank], field));
+            counts.merge(keys[rank], 1, Integer::sum);
+        }
+
+        index = new TreeMap<>();
+        Map<String, Integer> filled = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            index.put(entry.getKey(), new int[entry.getValue()]);
+            filled.put(entry.getKey(), 0);
+        }
+        for (int rank = 0; rank < keys.length; rank++) {
+            int position = filled.merge(keys[rank], 1, Integer::sum) - 1;
+            index.get(keys[rank])[position] = rank;
+        }
+        baseIndexes.put(field, index);
+        logger.debug("Index '{}' mit {} Werten in {} ms aufgebaut", field.getFieldName(), index.size(),
+                (System.nanoTime() - startTime) / 1_000_000);
+        return index;
+    }
+
+    /**
+     * Sucht den ersten Rang im Primärindex mit einer ID größer oder gleich der angegebenen.
+     *
+     * @param id Die Artikel-ID
+     * @return Der Rang, baseIds.length wenn alle IDs kleiner sind
+     */
+    private int lowerBound(int id) {
+        int rank = Arrays.binarySearch(baseIds, id);
+        return rank >= 0 ? rank : -rank - 1;
+    }
+
+    /**
+     * Normalisiert einen Feldwert für den Vergleich.
+     *
+     * @param value Der Feldwert oder null
+     * @return Der klein geschriebene Wert, "" für null
+     */
+    private static String indexKey(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : "";
+    }
+
+    /**
+     * Basisbestand über bereits dekodierte Artikel.
+     */
+    private static final class ArraySource implements RecordSource {
+        private final Article[] articles;
+
+        ArraySource(Article[] articles) {
+            this.articles = articles;
+        }
+
+        @Override
+        public int size() {
+            return articles.length;
+        }
+
+        @Override
+        public int idAt(int record) {
+            return articles[record].id;
+        }
+
+        @Override
+        public String timestampAt(int record) {
+            return articles[record].timestamp;
+        }
+
+        @Override
+        public Article decode(int record) {
+            return new Article(articles[record]);
+        }
+
+        @Override
+        public String textAt(int record, ArticleField field) {
+            return field.valueOf(articles[record]);
+        }
+    }
+}
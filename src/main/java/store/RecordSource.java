@@ -0,0 +1,20 @@
+package store;
+
+import model.LazyArticleList;
+
+/**
+ * Unveränderlicher Basisbestand eines {@link ArticleStore}, z.B. die per Memory-Mapping eingebundene
+ * lokale Datei. Neben ID und Zeitstempel lassen sich auch die Textfelder eines Datensatzes lesen,
+ * ohne ihn vollständig zu dekodieren; daraus werden die Sekundärindizes aufgebaut.
+ */
+public interface RecordSource extends LazyArticleList.Source {
+
+    /**
+     * Liest ein Textfeld eines Datensatzes, ohne ihn vollständig zu dekodieren.
+     *
+     * @param record Die Nummer des Datensatzes
+     * @param field Das Feld
+     * @return Der Feldwert oder null
+     */
+    String textAt(int record, ArticleField field);
+}
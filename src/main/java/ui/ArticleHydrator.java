@@ -0,0 +1,168 @@
+package ui;
+
+import api.ApiClient;
+import model.Article;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Lädt die Formatierungen teilweise geladener Artikel im Hintergrund nach.
+ * Der Renderer meldet Artikel, sobald ihre Zeilen sichtbar werden. Die Anforderungen werden kurz
+ * gesammelt und mit einer gemeinsamen Abfrage beantwortet; danach wird die Tabelle neu gezeichnet.
+ * Vor dem Formatieren lassen sich Artikel über {@link #hydrate} gezielt vervollständigen.
+ * Alle Methoden werden auf dem EDT aufgerufen; die Abfragen laufen im Hintergrund.
+ */
+public class ArticleHydrator {
+    private static final Logger logger = LoggerFactory.getLogger(ArticleHydrator.class);
+
+    // Sammelt die Anforderungen eines Zeichenvorgangs zu einer Abfrage
+    private static final int COALESCE_DELAY_MS = 50;
+    // Nach einem Fehler nicht bei jedem Neuzeichnen erneut anfragen
+    private static final long RETRY_DELAY_MS = 5000;
+
+    private final JTable table;
+    private final Set<Article> pending = new HashSet<>();
+    private final Set<Article> inFlight = new HashSet<>();
+    private final Timer timer;
+    private long lastFailure;
+
+    /**
+     * Erstellt einen neuen Hydrator für die angegebene Tabelle.
+     *
+     * @param table Die Tabelle, die nach dem Nachladen neu gezeichnet wird
+     */
+    public ArticleHydrator(JTable table) {
+        this.table = table;
+        this.timer = new Timer(COALESCE_DELAY_MS, e -> flush());
+        this.timer.setRepeats(false);
+    }
+
+    /**
+     * Fordert die Formatierungen eines Artikels an, sofern sie noch fehlen.
+     *
+     * @param article Der angezeigte Artikel
+     */
+    public void request(Article article) {
+        if (!article.partial || inFlight.contains(article)
+                || System.currentTimeMillis() - lastFailure < RETRY_DELAY_MS) {
+            return;
+        }
+        if (pending.add(article) && !timer.isRunning()) {
+            timer.start();
+        }
+    }
+
+    /**
+     * Vervollständigt Artikel sofort, z.B. bevor ihre Formatierung geändert wird.
+     * Die Abfrage läuft im Hintergrund; der Callback wird auf dem EDT aufgerufen, nachdem die
+     * Formatierungen übernommen wurden.
+     *
+     * @param articles Die Artikel, vollständige werden übersprungen
+     * @param callback Erhält true, wenn danach kein Artikel mehr unvollständig ist
+     */
+    public void hydrate(Collection<Article> articles, Consumer<Boolean> callback) {
+        List<Article> batch = new ArrayList<>();
+        Set<Integer> ids = new HashSet<>();
+        for (Article article : articles) {
+            if (article.partial) {
+                batch.add(article);
+                ids.add(article.id);
+            }
+        }
+        if (batch.isEmpty()) {
+            callback.accept(true);
+            return;
+        }
+        inFlight.addAll(batch);
+
+        new SwingWorker<Map<Integer, Article>, Void>() {
+            @Override
+            protected Map<Integer, Article> doInBackground() {
+                return ApiClient.fetchArticlesByIds(ids);
+            }
+
+            @Override
+            protected void done() {
+                inFlight.removeAll(batch);
+                boolean complete;
+                try {
+                    complete = apply(batch, get());
+                } catch (Exception e) {
+                    logger.warn("Formatierungen konnten nicht geladen werden: {}", e.getMessage());
+                    complete = false;
+                }
+                table.repaint();
+                callback.accept(complete);
+            }
+        }.execute();
+    }
+
+    /**
+     * Übernimmt geladene Formatierungen in die Artikel. Läuft auf dem EDT, damit der Renderer keine
+     * halb aktualisierten Artikel sieht.
+     *
+     * @param batch Die angefragten Artikel
+     * @param full Die vollständigen Artikel vom Server nach ID
+     * @return true wenn danach kein Artikel des Stapels mehr unvollständig ist
+     */
+    private static boolean apply(List<Article> batch, Map<Integer, Article> full) {
+        boolean complete = true;
+        for (Article article : batch) {
+            Article source = full.get(article.id);
+            if (source != null && article.partial) {
+                article.hydrateFrom(source);
+            }
+            complete &= !article.partial;
+        }
+        return complete;
+    }
+
+    /**
+     * Sendet die gesammelten Anforderungen als eine Abfrage.
+     */
+    private void flush() {
+        List<Article> batch = new ArrayList<>(pending);
+        pending.clear();
+        batch.removeIf(article -> !article.partial);
+        if (batch.isEmpty()) {
+            return;
+        }
+        inFlight.addAll(batch);
+
+        Set<Integer> ids = new HashSet<>();
+        for (Article article : batch) {
+            ids.add(article.id);
+        }
+        logger.debug("Lade Formatierungen für {} sichtbare Artikel nach", ids.size());
+
+        new SwingWorker<Map<Integer, Article>, Void>() {
+            @Override
+            protected Map<Integer, Article> doInBackground() {
+                return ApiClient.fetchArticlesByIds(ids);
+            }
+
+            @Override
+            protected void done() {
+                inFlight.removeAll(batch);
+                try {
+                    if (!apply(batch, get())) {
+                        lastFailure = System.currentTimeMillis();
+                    }
+                    table.repaint();
+                } catch (Exception e) {
+                    lastFailure = System.currentTimeMillis();
+                    logger.warn("Formatierungen konnten nicht nachgeladen werden: {}", e.getMessage());
+                }
+            }
+        }.execute();
+    }
+}
@@ -1,30 +1,42 @@
 package ui;
 
 import api.ApiClient;
+import api.AsyncApiClient;
+import api.CircuitBreaker;
+import api.LocalPersistenceWriter;
+import api.WriteSummary;
 import config.AppConfig;
 import model.Article;
+import model.ArticleDelta;
 import model.ArticleDifference;
+import model.ArticlePage;
+import model.ArticleQuery;
+import model.AbstractArticleTableModel;
 import model.ArticleTableModel;
 import model.CellStyle;
+import model.LazyArticleList;
+import model.PagedArticleTableModel;
+import org.apache.hc.core5.http.HttpStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-
-import com.fasterxml.jackson.databind.DeserializationFeature;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import store.ArticleStore;
 
 import javax.swing.*;
 import javax.swing.Timer;
 import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.awt.event.*;
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 /**
  * Hauptklasse der Anwendung, die die Benutzeroberfläche und die Anwendungslogik enthält.
  */
@@ -33,10 +45,11 @@ public class LagerClientApp {
 
     private static final String VERSION = "1.1.0";
     private JTable table;
-    private ArticleTableModel tableModel;
+    private AbstractArticleTableModel tableModel;
+    private ArticleTableModel listModel; // Nicht gesetzt im virtuellen Remote-Abfragemodus
     private List<Article> articles;
     private final Set<Article> changedArticles = new HashSet<>();
-    private TableRowSorter<ArticleTableModel> sorter;
+    private TableRowSorter<AbstractArticleTableModel> sorter;
     private Point dragStart;
     private final Set<Point> selectedCells = new HashSet<>();
     private JFrame mainFrame;
@@ -46,7 +59,20 @@ public class LagerClientApp {
     private JCheckBox autoSaveCheckbox;
     private JCheckBox offlineModeCheckbox;
     private boolean isOfflineMode = false;
+    private boolean autoOffline = false; // Offline-Modus wurde vom Circuit Breaker aktiviert
     private Timer connectionTimer;
+    private ArticleHydrator articleHydrator;
+    private JProgressBar loadProgressBar;
+    private boolean isLoading = false;
+    private Instant lastSyncTime;
+    private boolean remoteQuery = false; // Sortierung, Filter und Seiten werden serverseitig ausgeführt
+    private ArticleQuery currentQuery;
+    private JPanel queryPanel;
+    private JTextField filterField;
+    private JLabel pageLabel;
+    private JButton previousPageButton;
+    private JButton nextPageButton;
+    private PagedArticleTableModel pagedModel; // Nur im virtuellen Remote-Abfragemodus gesetzt
 
 
 
@@ -92,27 +118,36 @@ public class LagerClientApp {
         mainFrame.getRootPane().putClientProperty("appInstance", this);
         logger.trace("appInstance in RootPane gespeichert");
 
-        // Lade Artikel: Versuche online, fallback auf lokal
-        loadArticles();
-
-        // Erstelle Tabellenmodell und -komponente
-        tableModel = new ArticleTableModel(articles, changedArticles);
-        table = new JTable(tableModel);
-        table.setCellSelectionEnabled(false);
-        sorter = new TableRowSorter<>(tableModel);
-        table.setRowSorter(sorter);
+        // Artikel werden nach dem Anzeigen des Fensters schrittweise geladen
+        articles = new ArrayList<>();
 
         // Verwende AppConfig für Tabellenkonfiguration
         AppConfig config = AppConfig.getInstance();
+        remoteQuery = config.isRemoteQueryEnabled();
+        currentQuery = ArticleQuery.firstPage(Math.max(1, config.getQueryPageSize()));
+
+        // Erstelle Tabellenmodell und -komponente; die virtuelle Tabelle lädt Seiten beim Scrollen
+        if (remoteQuery && config.isVirtualTableEnabled()) {
+            pagedModel = new PagedArticleTableModel(changedArticles, ApiClient::queryArticles,
+                    config.getQueryCachePages(), config.getQueryPrefetchPages());
+            pagedModel.setPageListener(this::rememberOriginalTimestamps);
+            tableModel = pagedModel;
+            listModel = null;
+        } else {
+            tableModel = listModel = new ArticleTableModel(articles, changedArticles);
+        }
+        table = new JTable(tableModel);
+        table.setCellSelectionEnabled(false);
         table.setRowHeight(config.getTableRowHeight());
         logger.debug("Tabellenzeilenhöhe auf {} gesetzt", config.getTableRowHeight());
 
         logger.debug("Tabelle mit {} Spalten erstellt", table.getColumnCount());
 
         // Konfiguriere Sortierung und Rendering
-        sorter.setComparator(3, Comparator.comparingInt(o -> Integer.parseInt(o.toString())));
-        table.setDefaultRenderer(Object.class, new StyledCellRenderer(articles));
-        table.addMouseListener(new TableMouseListener(table, articles, changedArticles));
+        installRowSorter();
+        table.setDefaultRenderer(Object.class, new StyledCellRenderer());
+        articleHydrator = new ArticleHydrator(table);
+        table.addMouseListener(new TableMouseListener(table, changedArticles, articleHydrator));
 
         // Layout und UI-Komponenten
         JScrollPane scrollPane = new JScrollPane(table);
@@ -134,72 +169,437 @@ public class LagerClientApp {
         mainFrame.addWindowListener(new WindowAdapter() {
             @Override
             public void windowClosing(WindowEvent e) {
-                if (autoSaveCheckbox.isSelected()) {
+                // Während des Ladens ist die Liste unvollständig und darf nicht gesichert werden
+                if (autoSaveCheckbox.isSelected() && !isLoading) {
                     logger.info("Anwendung wird beendet, speichere lokale Sicherung");
-                    ApiClient.saveArticlesToLocalFile(articles);
+                    saveArticlesLocally();
                 }
+                finishLocalSaves();
             }
         });
 
+        // Bei nicht erreichbarem Server automatisch in den Offline-Modus wechseln
+        CircuitBreaker.getInstance().addListener((from, to) ->
+                SwingUtilities.invokeLater(() -> handleCircuitStateChange(to)));
+
         mainFrame.setVisible(true);
         logger.info("Benutzeroberfläche wurde angezeigt");
+
+        // Lade Artikel: Versuche online, fallback auf lokal
+        loadArticles();
     }
 
     /**
      * Lädt Artikel aus der API oder aus lokaler Datei, wenn offline.
+     * Die Artikel werden im Hintergrund gestreamt und abschnittsweise in die Tabelle eingefügt,
+     * sodass die ersten Zeilen sichtbar sind, bevor der gesamte Katalog übertragen wurde.
      */
     private void loadArticles() {
-        // Zuerst versuchen, von der API zu laden, falls nicht im Offline-Modus
-        if (!isOfflineMode) {
-            try {
-                //articles = ApiClient.fetchArticles();
-                articles = new ArrayList<>(ApiClient.fetchArticles());
-                if (!articles.isEmpty()) {
-                    logger.info("{} Artikel von der API geladen", articles.size());
+        if (isOfflineMode) {
+            loadArticlesFromLocalFallback();
+            return;
+        }
+        if (remoteQuery) {
+            loadRemotePage(currentQuery);
+            return;
+        }
 
-                    // Speichere ursprüngliche Timestamps
-                    for (Article article : articles) {
-                        originalTimestamps.put(article.id, article.timestamp);
-                    }
-                    logger.trace("Ursprüngliche Timestamps gespeichert");
+        isLoading = true;
+        statusLabel.setText("Lade Artikel...");
+        loadProgressBar.setIndeterminate(true);
+        loadProgressBar.setString("0 Artikel");
+        loadProgressBar.setVisible(true);
 
-                    // Bei erfolgreicher API-Abfrage: Speichere Artikel auch lokal
-                    if (autoSaveCheckbox != null && autoSaveCheckbox.isSelected()) {
-                        ApiClient.saveArticlesToLocalFile(articles);
-                    }
-                    return;
+        new SwingWorker<Integer, Article>() {
+            @Override
+            protected Integer doInBackground() throws Exception {
+                // Optional zunächst nur die Listenfelder laden, Formatierungen folgen für sichtbare Zeilen
+                if (AppConfig.getInstance().isLazyHydrationEnabled()) {
+                    return ApiClient.streamArticleSummaries(this::publish);
                 }
-            } catch (Exception e) {
-                logger.warn("Fehler beim Laden von der API: {}", e.getMessage());
+                return ApiClient.streamArticles(this::publish);
             }
-        }
 
-        // Fallback: Versuche, lokale Daten zu laden
-        articles = ApiClient.loadArticlesFromLocalFile();
-        if (!articles.isEmpty()) {
-            logger.info("{} Artikel aus lokaler Datei geladen", articles.size());
+            @Override
+            protected void process(List<Article> chunk) {
+                // Läuft auf dem EDT: neue Zeilen anhängen und Timestamps merken
+                for (Article article : chunk) {
+                    originalTimestamps.put(article.id, article.timestamp);
+                }
+                listModel.addArticles(chunk);
+                statusLabel.setText("Lade Artikel... " + articles.size() + " geladen");
+                loadProgressBar.setString(articles.size() + " Artikel");
+                logger.trace("{} Artikel in Tabelle eingefügt", chunk.size());
+            }
 
-            // Speichere ursprüngliche Timestamps auch hier
-            for (Article article : articles) {
-                originalTimestamps.put(article.id, article.timestamp);
+            @Override
+            protected void done() {
+                isLoading = false;
+                loadProgressBar.setVisible(false);
+                try {
+                    int count = get();
+                    if (count > 0) {
+                        logger.info("{} Artikel von der API geladen", articles.size());
+                        statusLabel.setText("Bereit - " + articles.size() + " Artikel geladen");
+                        updateLastSyncTime();
+
+                        // Bei erfolgreicher API-Abfrage: Speichere Artikel auch lokal
+                        if (isAutoSaveEnabled()) {
+                            saveArticlesLocally();
+                        }
+                        return;
+                    }
+                } catch (Exception e) {
+                    logger.warn("Fehler beim Laden von der API: {}", e.getMessage());
+                }
+
+                // Bereits eingefügte Teildaten verwerfen und auf lokale Daten ausweichen
+                if (!articles.isEmpty()) {
+                    articles.clear();
+                    originalTimestamps.clear();
+                    tableModel.refreshIdMapping();
+                }
+                loadArticlesFromLocalFallback();
+            }
+        }.execute();
+    }
+
+    /**
+     * Lädt Artikel aus der lokalen Datei als Fallback, wenn der Server nicht verfügbar ist.
+     */
+    private void loadArticlesFromLocalFallback() {
+        // Die lokale Kopie ist ein vollständiger Katalog, Sortierung und Filter laufen dann wieder lokal
+        leaveRemoteQuery();
+        List<Article> localArticles = ApiClient.loadArticlesFromLocalFile();
+        if (!localArticles.isEmpty()) {
+            logger.info("{} Artikel aus lokaler Datei geladen", localArticles.size());
+
+            // Speichere ursprüngliche Timestamps auch hier, ohne lazy geladene Artikel zu dekodieren
+            for (int i = 0; i < localArticles.size(); i++) {
+                originalTimestamps.put(LazyArticleList.idAt(localArticles, i), LazyArticleList.timestampAt(localArticles, i));
             }
+            // Die Liste direkt übernehmen statt zu kopieren, damit Artikel erst bei der Anzeige dekodiert werden
+            articles = localArticles;
+            markLocallyCreatedArticles();
+            tableModel = listModel = new ArticleTableModel(articles, changedArticles);
+            table.setModel(tableModel);
+            installRowSorter();
+            updateLastSyncTime();
+            int quarantined = ApiClient.getQuarantinedRecordCount();
+            String damagedNote = quarantined > 0
+                    ? " (" + quarantined + " beschädigte Datensätze ausgesondert)"
+                    : "";
+            statusLabel.setText("Offline - " + localArticles.size() + " Artikel aus lokaler Datei" + damagedNote);
 
             // Nur Dialog anzeigen, wenn nicht explizit im Offline-Modus
             if (!isOfflineMode) {
-                SwingUtilities.invokeLater(() -> {
-                    JOptionPane.showMessageDialog(mainFrame,
-                            "Verbindung zum Server nicht möglich.\nArtikel wurden aus lokaler Datei geladen.",
-                            "Offline-Modus", JOptionPane.WARNING_MESSAGE);
-                });
+                JOptionPane.showMessageDialog(mainFrame,
+                        "Verbindung zum Server nicht möglich.\nArtikel wurden aus lokaler Datei geladen."
+                                + (quarantined > 0
+                                ? "\n" + quarantined + " beschädigte Datensätze wurden ausgesondert und werden"
+                                + " bei der nächsten Verbindung neu geladen."
+                                : ""),
+                        "Offline-Modus", JOptionPane.WARNING_MESSAGE);
             }
         } else {
             logger.error("Keine Artikel verfügbar - weder online noch offline");
-            articles = new ArrayList<>(); // Initialisiere mit leerer Liste
-            SwingUtilities.invokeLater(() -> {
-                JOptionPane.showMessageDialog(mainFrame,
-                        "Keine Artikel verfügbar. Bitte stellen Sie eine Verbindung zum Server her oder legen Sie Artikel manuell an.",
-                        "Keine Daten", JOptionPane.ERROR_MESSAGE);
-            });
+            JOptionPane.showMessageDialog(mainFrame,
+                    "Keine Artikel verfügbar. Bitte stellen Sie eine Verbindung zum Server her oder legen Sie Artikel manuell an.",
+                    "Keine Daten", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * Markiert offline angelegte Artikel (negative IDs) aus der lokalen Datei als geändert,
+     * damit sie beim nächsten Synchronisieren angelegt werden.
+     * Nur diese Zeilen werden dafür dekodiert.
+     */
+    private void markLocallyCreatedArticles() {
+        changedArticles.removeIf(article -> article.id < 0);
+        for (int i = 0; i < articles.size(); i++) {
+            if (LazyArticleList.idAt(articles, i) < 0) {
+                changedArticles.add(articles.get(i));
+            }
+        }
+    }
+
+    /**
+     * Lädt eine Ergebnisseite der serverseitigen Abfrage in die Tabelle.
+     * Unterstützt der Server keine Abfragen, wird der gesamte Katalog wie gewohnt geladen.
+     *
+     * @param query Die auszuführende Abfrage
+     */
+    private void loadRemotePage(ArticleQuery query) {
+        isLoading = true;
+        statusLabel.setText("Lade Seite " + (query.offset() / query.limit() + 1) + "...");
+        setPageControlsEnabled(false);
+
+        new SwingWorker<ArticlePage, Void>() {
+            @Override
+            protected ArticlePage doInBackground() throws Exception {
+                return ApiClient.queryArticles(query);
+            }
+
+            @Override
+            protected void done() {
+                isLoading = false;
+                ArticlePage page;
+                try {
+                    page = get();
+                } catch (Exception e) {
+                    logger.warn("Fehler bei der serverseitigen Abfrage: {}", e.getMessage());
+                    setPageControlsEnabled(true);
+                    if (tableModel.getRowCount() == 0) {
+                        loadArticlesFromLocalFallback();
+                    } else {
+                        statusLabel.setText("Abfrage fehlgeschlagen - " + describeError(e));
+                    }
+                    return;
+                }
+
+                if (page == null) {
+                    logger.info("Server unterstützt keine serverseitigen Abfragen, lade gesamten Katalog");
+                    leaveRemoteQuery();
+                    loadArticles();
+                    return;
+                }
+
+                currentQuery = query;
+                selectedCells.clear();
+                if (pagedModel != null) {
+                    pagedModel.setQuery(query, page);
+                    updatePageControls(page);
+                    statusLabel.setText("Bereit - " + page.total + " Artikel");
+                    return;
+                }
+                listModel.setPage(page);
+                rememberOriginalTimestamps(articles);
+                updatePageControls(page);
+                statusLabel.setText("Bereit - Seite " + page.getPageNumber() + " von " + page.getPageCount()
+                        + " (" + page.total + " Artikel)");
+            }
+        }.execute();
+    }
+
+    /**
+     * Merkt sich die Timestamps angezeigter Server-Artikel für die Konfliktprüfung.
+     * Für lokal geänderte Artikel bleibt der Stand vor der Bearbeitung maßgeblich.
+     *
+     * @param shownArticles Die angezeigten Artikel
+     */
+    private void rememberOriginalTimestamps(List<Article> shownArticles) {
+        for (Article article : shownArticles) {
+            if (!changedArticles.contains(article)) {
+                originalTimestamps.put(article.id, article.timestamp);
+            }
+        }
+    }
+
+    /**
+     * Verlässt den Remote-Abfragemodus, z.B. wenn der Server keine Abfragen unterstützt
+     * oder ein vollständiger Katalog aus der lokalen Datei geladen wird.
+     */
+    private void leaveRemoteQuery() {
+        if (!remoteQuery) {
+            return;
+        }
+        logger.info("Remote-Abfragemodus beendet, Sortierung und Filter erfolgen lokal");
+        remoteQuery = false;
+        if (queryPanel != null) {
+            setPageControlsVisible(false);
+        }
+        articles.clear();
+        if (pagedModel != null) {
+            // Zurück zum Modell über die vollständige Artikelliste
+            pagedModel.dispose();
+            pagedModel = null;
+            tableModel = listModel = new ArticleTableModel(articles, changedArticles);
+            table.setModel(tableModel);
+        } else {
+            listModel.clearPage();
+        }
+        installRowSorter();
+    }
+
+    /**
+     * Setzt den Sortierer der Tabelle: im Remote-Abfragemodus sortiert der Server, sonst die Tabelle selbst.
+     */
+    private void installRowSorter() {
+        if (remoteQuery) {
+            RemoteRowSorter remoteSorter = new RemoteRowSorter(tableModel, this::applyRemoteSort);
+            table.setRowSorter(remoteSorter);
+            remoteSorter.setSortKeys(toRowSorterKeys(currentQuery.sort()));
+            return;
+        }
+        sorter = new TableRowSorter<>(tableModel);
+        table.setRowSorter(sorter);
+        sorter.setComparator(3, Comparator.comparingInt(o -> Integer.parseInt(o.toString())));
+        if (filterField != null) {
+            applyLocalFilter(filterField.getText());
+        }
+    }
+
+    /**
+     * Filtert die Tabelle außerhalb des Remote-Abfragemodus.
+     * Bereits geladene Artikel werden direkt geprüft, sodass ungespeicherte Änderungen und neue Zeilen
+     * sofort berücksichtigt werden. Für noch nicht dekodierte Zeilen einer lokalen Datei beantwortet im
+     * Offline-Modus die indizierte lokale Ablage die Suche; ihr Inhalt entspricht für diese Zeilen der Datei.
+     *
+     * @param text Der Suchtext, leer für keinen Filter
+     */
+    private void applyLocalFilter(String text) {
+        if (remoteQuery || sorter == null) {
+            return;
+        }
+        if (text == null || text.isBlank()) {
+            sorter.setRowFilter(null);
+            return;
+        }
+        // Die Ablage wird hier nie aufgebaut, das würde die lokale Datei auf dem EDT neu laden
+        ArticleStore store = isOfflineMode ? ApiClient.getOpenLocalStore() : null;
+        sorter.setRowFilter(new RowFilter<>() {
+            private Set<Integer> storeMatches;
+
+            @Override
+            public boolean include(Entry<? extends AbstractArticleTableModel, ? extends Integer> entry) {
+                int row = entry.getIdentifier();
+                Article loaded = LazyArticleList.loadedAt(articles, row);
+                if (loaded != null || store == null) {
+                    return ArticleStore.matches(loaded != null ? loaded : articles.get(row), text);
+                }
+                if (storeMatches == null) {
+                    storeMatches = store.search(text);
+                }
+                return storeMatches.contains(LazyArticleList.idAt(articles, row));
+            }
+        });
+    }
+
+    /**
+     * Blendet Seitenanzeige und Blätter-Schaltflächen ein oder aus.
+     *
+     * @param visible true im Remote-Abfragemodus
+     */
+    private void setPageControlsVisible(boolean visible) {
+        previousPageButton.setVisible(visible);
+        pageLabel.setVisible(visible);
+        nextPageButton.setVisible(visible);
+    }
+
+    /**
+     * Übernimmt eine per Spaltenkopf geänderte Sortierung und fragt die erste Seite neu ab.
+     *
+     * @param keys Die Sortierschlüssel der Tabelle
+     */
+    private void applyRemoteSort(List<RowSorter.SortKey> keys) {
+        List<ArticleQuery.SortKey> sort = new ArrayList<>();
+        for (RowSorter.SortKey key : keys) {
+            sort.add(new ArticleQuery.SortKey(AbstractArticleTableModel.getFieldName(key.getColumn()),
+                    key.getSortOrder() != SortOrder.DESCENDING));
+        }
+        loadRemotePage(currentQuery.withSort(sort));
+    }
+
+    /**
+     * Wandelt die Sortierung einer Abfrage in Sortierschlüssel der Tabelle um.
+     *
+     * @param sort Die Sortierschlüssel der Abfrage
+     * @return Die Sortierschlüssel für den RowSorter
+     */
+    private List<RowSorter.SortKey> toRowSorterKeys(List<ArticleQuery.SortKey> sort) {
+        List<RowSorter.SortKey> keys = new ArrayList<>();
+        for (ArticleQuery.SortKey key : sort) {
+            for (int column = 0; column < tableModel.getColumnCount(); column++) {
+                if (AbstractArticleTableModel.getFieldName(column).equals(key.field())) {
+                    keys.add(new RowSorter.SortKey(column, key.ascending() ? SortOrder.ASCENDING : SortOrder.DESCENDING));
+                }
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Aktualisiert Seitenanzeige und Blätter-Schaltflächen nach dem Laden einer Seite.
+     *
+     * @param page Die geladene Seite
+     */
+    private void updatePageControls(ArticlePage page) {
+        if (pagedModel != null) {
+            // Die virtuelle Tabelle scrollt über alle Treffer, Blättern entfällt
+            pageLabel.setText(page.total + " Artikel");
+            previousPageButton.setVisible(false);
+            nextPageButton.setVisible(false);
+            return;
+        }
+        pageLabel.setText("Seite " + page.getPageNumber() + " / " + page.getPageCount());
+        previousPageButton.setEnabled(page.offset > 0);
+        nextPageButton.setEnabled(page.offset + page.limit < page.total);
+    }
+
+    /**
+     * Sperrt oder entsperrt die Blätter-Schaltflächen, z.B. während eine Seite geladen wird.
+     *
+     * @param enabled true zum Entsperren
+     */
+    private void setPageControlsEnabled(boolean enabled) {
+        if (previousPageButton == null || pagedModel != null) {
+            return;
+        }
+        previousPageButton.setEnabled(enabled && currentQuery.offset() > 0);
+        nextPageButton.setEnabled(enabled && currentQuery.offset() + currentQuery.limit() < tableModel.getTotalRowCount());
+    }
+
+    /**
+     * Speichert die Artikelliste als lokale Sicherung.
+     * Geladene Artikel werden sofort kopiert, noch nicht dekodierte Zeilen erst beim Schreiben im
+     * Hintergrund gelesen; schnell aufeinanderfolgende Aufträge werden zu einem Schreibvorgang zusammengefasst.
+     * Im Remote-Abfragemodus enthält die Liste nur die aktuelle Seite; die lokale Kopie des Katalogs
+     * wird dann nicht überschrieben.
+     *
+     * @return Wird mit true abgeschlossen, wenn erfolgreich gespeichert, sonst mit false
+     */
+    private CompletableFuture<Boolean> saveArticlesLocally() {
+        if (remoteQuery) {
+            logger.debug("Remote-Abfragemodus: lokale Kopie wird nicht durch eine Ergebnisseite ersetzt");
+            return CompletableFuture.completedFuture(false);
+        }
+        return LocalPersistenceWriter.getInstance().saveArticles(articles);
+    }
+
+    /**
+     * Sichert einzelne Änderungen im Änderungsjournal der lokalen Sicherung.
+     * Ist das Journal nicht nutzbar (z.B. weil noch keine lokale Datei existiert), wird die gesamte
+     * Artikelliste gespeichert.
+     *
+     * @param changed Geänderte oder neue Artikel
+     * @param deletedIds IDs gelöschter Artikel
+     * @return Wird mit true abgeschlossen, wenn erfolgreich gespeichert, sonst mit false
+     */
+    private CompletableFuture<Boolean> journalLocally(Collection<Article> changed, Collection<Integer> deletedIds) {
+        if (remoteQuery) {
+            logger.debug("Remote-Abfragemodus: lokale Kopie des Katalogs wird nicht fortgeschrieben");
+            return CompletableFuture.completedFuture(false);
+        }
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        LocalPersistenceWriter.getInstance().journalChanges(changed, deletedIds).thenAccept(journaled -> {
+            if (journaled) {
+                result.complete(true);
+            } else {
+                // Die Artikelliste darf nur auf dem EDT gelesen werden
+                SwingUtilities.invokeLater(() -> saveArticlesLocally().thenAccept(result::complete));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Wartet vor dem Beenden, bis alle ausstehenden lokalen Speichervorgänge geschrieben sind.
+     */
+    private void finishLocalSaves() {
+        try {
+            LocalPersistenceWriter.getInstance().flush().get(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            logger.warn("Lokale Sicherung beim Beenden nicht abgeschlossen: {}", e.getMessage());
         }
     }
 
@@ -255,6 +655,14 @@ public class LagerClientApp {
         statusLabel = new JLabel("Bereit");
         statusPanel.add(statusLabel, BorderLayout.WEST);
 
+        // Fortschrittsanzeige für das schrittweise Laden des Katalogs
+        loadProgressBar = new JProgressBar();
+        loadProgressBar.setStringPainted(true);
+        loadProgressBar.setVisible(false);
+        JPanel progressPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 0, 0));
+        progressPanel.add(loadProgressBar);
+        statusPanel.add(progressPanel, BorderLayout.CENTER);
+
         // Unicode-Symbole für Status
         connectionLabel = new JLabel("● Wird geprüft...");  // Gefüllter Kreis
         connectionLabel.setForeground(Color.GRAY);
@@ -268,7 +676,7 @@ public class LagerClientApp {
         mainFrame.add(centerPanel, BorderLayout.CENTER);
 
         // Initialisiere die Verbindungsprüfung
-        connectionTimer = new Timer(30000, e -> updateConnectionStatus());
+        connectionTimer = new Timer(AppConfig.getInstance().getHealthCheckInterval(), e -> updateConnectionStatus());
         connectionTimer.start();
 
         // Sofortige erste Prüfung
@@ -296,6 +704,7 @@ public class LagerClientApp {
         offlineModeCheckbox.setToolTipText("Arbeitet nur mit lokalen Daten ohne Serververbindung");
         offlineModeCheckbox.addActionListener(e -> {
             isOfflineMode = offlineModeCheckbox.isSelected();
+            autoOffline = false;
             logger.info("Offline-Modus: {}", isOfflineMode ? "aktiviert" : "deaktiviert");
 
             // Status aktualisieren
@@ -316,6 +725,35 @@ public class LagerClientApp {
         settingsPanel.add(autoSaveCheckbox);
         settingsPanel.add(offlineModeCheckbox);
 
+        // Filter für alle Modi, Blättern nur im Remote-Abfragemodus
+        filterField = new JTextField(15);
+        filterField.setToolTipText("Sucht in Name, Typ, Lagerplatz und Status; \"type:\", \"location:\" oder"
+                + " \"status:\" sucht offline über den Index nach genau diesem Wert (Enter zum Anwenden)");
+        filterField.addActionListener(e -> {
+            if (remoteQuery) {
+                loadRemotePage(currentQuery.withFilter(filterField.getText()));
+                return;
+            }
+            applyLocalFilter(filterField.getText());
+            statusLabel.setText("Bereit - " + table.getRowCount() + " von " + tableModel.getRowCount() + " Artikeln");
+        });
+        previousPageButton = new JButton("◀");
+        previousPageButton.addActionListener(e ->
+                loadRemotePage(currentQuery.withOffset(currentQuery.offset() - currentQuery.limit())));
+        nextPageButton = new JButton("▶");
+        nextPageButton.addActionListener(e ->
+                loadRemotePage(currentQuery.withOffset(currentQuery.offset() + currentQuery.limit())));
+        pageLabel = new JLabel("Seite 1 / 1");
+
+        queryPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        queryPanel.add(new JLabel("Filter:"));
+        queryPanel.add(filterField);
+        queryPanel.add(previousPageButton);
+        queryPanel.add(pageLabel);
+        queryPanel.add(nextPageButton);
+        setPageControlsVisible(remoteQuery);
+        settingsPanel.add(queryPanel);
+
         // Füge das Settings-Panel hinzu
         mainFrame.add(settingsPanel, BorderLayout.NORTH);
     }
@@ -326,26 +764,35 @@ public class LagerClientApp {
     private void updateConnectionStatus() {
         // Bei forciertem Offline-Modus immer als offline anzeigen
         if (isOfflineMode) {
-            connectionLabel.setText("● Offline-Modus");
-            connectionLabel.setForeground(Color.ORANGE); // Orange für bewussten Offline-Modus
+            if (autoOffline) {
+                connectionLabel.setText("● Keine Verbindung - automatisch offline");
+                connectionLabel.setForeground(Color.RED);
+            } else {
+                connectionLabel.setText("● Offline-Modus");
+                connectionLabel.setForeground(Color.ORANGE); // Orange für bewussten Offline-Modus
+            }
             statusLabel.setText("Offline - Lokaler Modus");
             return;
         }
 
         // Nur Verbindungsprüfung durchführen, wenn nicht im Offline-Modus
-        new SwingWorker<Boolean, Void>() {
+        new SwingWorker<Long, Void>() {
             @Override
-            protected Boolean doInBackground() {
-                return ApiClient.checkConnection();
+            protected Long doInBackground() {
+                return ApiClient.probeConnection();
             }
 
             @Override
             protected void done() {
                 try {
-                    boolean connected = get();
-                    connectionLabel.setText(connected ? "● Verbunden" : "● Keine Verbindung");
+                    long latency = get();
+                    boolean connected = latency >= 0;
+                    connectionLabel.setText(connected ? "● Verbunden (" + latency + " ms)" : "● Keine Verbindung");
                     connectionLabel.setForeground(connected ? Color.GREEN : Color.RED);
-                    statusLabel.setText(connected ? "Bereit" : "Offline - Lokaler Modus");
+                    // Während des Ladens zeigt die Statusleiste den Fortschritt an
+                    if (!isLoading) {
+                        statusLabel.setText(connected ? "Bereit" : "Offline - Lokaler Modus");
+                    }
                 } catch (Exception e) {
                     logger.error("Fehler bei Verbindungsprüfung: {}", e.getMessage());
                     connectionLabel.setText("● Fehler");
@@ -355,6 +802,32 @@ public class LagerClientApp {
         }.execute();
     }
 
+    /**
+     * Reagiert auf Zustandswechsel des Circuit Breakers.
+     * Ist der Server nicht erreichbar, wird automatisch in den Offline-Modus gewechselt; sobald die
+     * Probe im Hintergrund erfolgreich war, wird der automatisch aktivierte Offline-Modus wieder verlassen.
+     *
+     * @param state Der neue Zustand des Circuit Breakers
+     */
+    private void handleCircuitStateChange(CircuitBreaker.State state) {
+        if (state == CircuitBreaker.State.OPEN && !isOfflineMode) {
+            logger.warn("Server nicht erreichbar, wechsle automatisch in den Offline-Modus");
+            autoOffline = true;
+            isOfflineMode = true;
+            offlineModeCheckbox.setSelected(true);
+            updateConnectionStatus();
+        } else if (state == CircuitBreaker.State.CLOSED && autoOffline) {
+            logger.info("Server wieder erreichbar, verlasse den automatischen Offline-Modus");
+            autoOffline = false;
+            isOfflineMode = false;
+            offlineModeCheckbox.setSelected(false);
+            updateConnectionStatus();
+            if (!isLoading) {
+                reloadArticlesFromServer();
+            }
+        }
+    }
+
     /**
      * Lädt Artikel neu vom Server, wenn Online-Modus aktiviert wurde.
      * Bei lokalen Änderungen wird ein Dialog mit Optionen angezeigt.
@@ -397,11 +870,31 @@ public class LagerClientApp {
             }
         }
 
+        // Im Remote-Abfragemodus genügt es, die aktuelle Seite neu abzufragen
+        if (remoteQuery) {
+            loadRemotePage(currentQuery);
+            return;
+        }
+
         // Standardimplementierung (Server-Daten laden)
+        // Ohne lokale Änderungen reicht ein Delta seit dem letzten bekannten Stand
+        final Instant since = changedArticles.isEmpty() ? lastSyncTime : null;
+        final Map<Integer, String> knownTimestamps = since != null ? new HashMap<>(originalTimestamps) : null;
         new SwingWorker<Boolean, Void>() {
+            private ArticleDelta delta;
+
             @Override
             protected Boolean doInBackground() {
                 try {
+                    if (since != null) {
+                        delta = ApiClient.fetchArticlesChangedSince(since);
+                        if (delta == null) {
+                            // Ohne Delta-Endpunkt nur Zeitstempel vergleichen statt den ganzen Katalog zu laden
+                            delta = ApiClient.fetchArticlesChangedFrom(knownTimestamps);
+                        }
+                        return true;
+                    }
+
                     List<Article> newArticles = new ArrayList<>(ApiClient.fetchArticles());
                     logger.debug("Neue Artikelliste empfangen: {} Artikel", newArticles.size());
                     if (!newArticles.isEmpty()) {
@@ -426,14 +919,23 @@ public class LagerClientApp {
             protected void done() {
                 try {
                     boolean success = get();
-                    if (success) {
+                    if (success && delta != null) {
+                        // Nur geänderte Zeilen übernehmen, Tabelle bleibt bestehen
+                        applyArticleDelta(delta, since);
+                        JOptionPane.showMessageDialog(mainFrame,
+                                "Artikel wurden erfolgreich mit dem Server abgeglichen.",
+                                "Online-Modus",
+                                JOptionPane.INFORMATION_MESSAGE);
+                    } else if (success) {
+                        updateLastSyncTime();
                         // Aktualisiere die Tabelle
-                        tableModel = new ArticleTableModel(articles, changedArticles);
+                        tableModel = listModel = new ArticleTableModel(articles, changedArticles);
                         table.setModel(tableModel);
-                        sorter = new TableRowSorter<>(tableModel);
-                        table.setRowSorter(sorter);
-                        sorter.setComparator(3, Comparator.comparingInt(o -> Integer.parseInt(o.toString())));
+                        installRowSorter();
                         tableModel.fireTableDataChanged();
+                        if (isAutoSaveEnabled()) {
+                            saveArticlesLocally();
+                        }
                         JOptionPane.showMessageDialog(mainFrame,
                                 "Artikel wurden erfolgreich vom Server geladen.",
                                 "Online-Modus",
@@ -460,7 +962,32 @@ public class LagerClientApp {
      * Lädt geänderte Artikel hoch und fügt neue Artikel hinzu.
      */
     private void syncLocalChangesToServer() {
+        final Instant since = lastSyncTime;
+
+        // Kopien auf dem EDT anlegen; die geteilten Artikel werden erst in done() aktualisiert
+        Set<Article> existingArticles = new HashSet<>();
+        for (Article article : changedArticles) {
+            if (article.id > 0) {
+                existingArticles.add(article);
+            }
+        }
+        // Nur noch nicht angelegte Artikel; bereits angelegte haben danach ihre Server-ID oder wurden entfernt
+        List<Article> newArticles = new ArrayList<>();
+        for (Article article : changedArticles) {
+            if (article.id < 0) {
+                newArticles.add(article);
+            }
+        }
+        final Map<Article, Article> updateCopies = copiesForWrite(existingArticles);
+        final Map<Article, Article> createCopies = copiesForWrite(newArticles);
+        final Map<Integer, String> knownTimestamps = since != null ? new HashMap<>(originalTimestamps) : null;
+
         new SwingWorker<Boolean, Void>() {
+            private ArticleDelta delta;
+            private List<Article> serverArticles;
+            private WriteSummary updateSummary;
+            private WriteSummary createSummary;
+
             @Override
             protected Boolean doInBackground() {
                 boolean success = true;
@@ -474,78 +1001,40 @@ public class LagerClientApp {
                     // 2. Lokale Änderungen hochladen
 
                     // 2.1 Geänderte existierende Artikel (positive IDs)
-                    Set<Article> existingArticles = new HashSet<>();
-                    for (Article article : changedArticles) {
-                        if (article.id > 0) {
-                            existingArticles.add(article);
-                        }
-                    }
-
-                    if (!existingArticles.isEmpty()) {
-                        // Vorhandene Implementierung zum Speichern nutzen
-                        saveChangesForced(existingArticles);
+                    if (!updateCopies.isEmpty()) {
+                        updateSummary = writeChangesToServer(updateCopies.keySet());
+                        success = updateSummary.allSucceeded();
                     }
 
                     // 2.2 Neue Artikel hochladen (negative IDs)
-                    List<Article> newArticles = new ArrayList<>();
-                    for (Article article : articles) {
-                        if (article.id < 0) {
-                            newArticles.add(article);
-                        }
-                    }
-
-                    for (Article newArticle : newArticles) {
-                        try {
-                            String apiUrl = AppConfig.getInstance().getApiUrl();
-                            URL postUrl = new URL(apiUrl);
-                            HttpURLConnection postConn = (HttpURLConnection) postUrl.openConnection();
-                            postConn.setRequestMethod("POST");
-                            postConn.setRequestProperty("Content-Type", "application/json");
-                            postConn.setDoOutput(true);
-
-                            ObjectMapper objectMapper = new ObjectMapper();
-                            objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-
-                            // Timestamp im Format aktualisieren
-                            Instant now = Instant.now();
-                            newArticle.timestamp = now.toString().split("\\.")[0] + "Z";
-
-                            // Article-Objekt senden
-                            String jsonPayload = objectMapper.writeValueAsString(newArticle);
-                            logger.debug("Sende POST-Payload für neuen Artikel: {}", jsonPayload);
-
-                            try (OutputStream os = postConn.getOutputStream()) {
-                                os.write(jsonPayload.getBytes());
-                                os.flush();
-                            }
-
-                            int responseCode = postConn.getResponseCode();
-                            if (responseCode != HttpURLConnection.HTTP_CREATED && responseCode != HttpURLConnection.HTTP_OK) {
-                                logger.error("Fehler beim Hochladen des neuen Artikels: HTTP {}", responseCode);
-                                success = false;
-                            }
-
-                            postConn.disconnect();
-                        } catch (Exception e) {
-                            logger.error("Fehler beim Hochladen des neuen Artikels: {}", e.getMessage());
+                    if (!createCopies.isEmpty()) {
+                        createSummary = ApiClient.createArticles(createCopies.keySet());
+                        for (WriteSummary.Result failed : createSummary.getFailed()) {
+                            logger.error("Fehler beim Hochladen des neuen Artikels: {}", failed.getErrorMessage());
                             success = false;
                         }
                     }
 
-                    // 3. Aktualisierte Daten vom Server laden
-                    List<Article> serverArticles = ApiClient.fetchArticles();
-                    articles.clear();
-                    articles.addAll(serverArticles);
-
-                    // Timestamps aktualisieren
-                    originalTimestamps.clear();
-                    for (Article article : articles) {
-                        originalTimestamps.put(article.id, article.timestamp);
+                    // Nach einem Fehler bleibt die Tabelle unverändert, damit keine lokale Änderung verschwindet
+                    if (!success) {
+                        return false;
                     }
 
-                    // Alle Änderungen wurden übertragen
-                    changedArticles.clear();
+                    // 3. Aktualisierte Daten vom Server laden, bevorzugt nur das Delta
+                    if (remoteQuery) {
+                        // Die aktuelle Seite wird nach Abschluss neu abgefragt
+                        return success;
+                    }
+                    if (since != null) {
+                        delta = ApiClient.fetchArticlesChangedSince(since);
+                        if (delta == null) {
+                            delta = ApiClient.fetchArticlesChangedFrom(knownTimestamps);
+                        }
+                        return success;
+                    }
 
+                    // Die Artikelliste wird erst in done() auf dem EDT ersetzt
+                    serverArticles = ApiClient.fetchArticles();
                     return success;
 
                 } catch (Exception e) {
@@ -556,15 +1045,38 @@ public class LagerClientApp {
 
             @Override
             protected void done() {
+                // Nur erfolgreich übertragene Artikel gelten nicht mehr als geändert
+                if (updateSummary != null) {
+                    applyWrittenArticles(updateSummary, updateCopies);
+                }
+                if (createSummary != null) {
+                    applyWrittenArticles(createSummary, createCopies);
+                    adoptCreatedArticles(createSummary, createCopies);
+                }
                 try {
                     boolean success = get();
-                    if (success) {
+                    if (success && remoteQuery) {
+                        loadRemotePage(currentQuery);
+                        JOptionPane.showMessageDialog(mainFrame,
+                                "Synchronisierung erfolgreich. Alle lokalen Änderungen wurden hochgeladen.",
+                                "Synchronisierung erfolgreich",
+                                JOptionPane.INFORMATION_MESSAGE);
+                    } else if (success && delta != null) {
+                        applyArticleDelta(delta, since);
+
+                        JOptionPane.showMessageDialog(mainFrame,
+                                "Synchronisierung erfolgreich. Alle lokalen Änderungen wurden hochgeladen.",
+                                "Synchronisierung erfolgreich",
+                                JOptionPane.INFORMATION_MESSAGE);
+                    } else if (success) {
+                        if (serverArticles != null) {
+                            replaceWithServerArticles(serverArticles);
+                        }
+                        updateLastSyncTime();
                         // Aktualisiere die Tabelle
-                        tableModel = new ArticleTableModel(articles, changedArticles);
+                        tableModel = listModel = new ArticleTableModel(articles, changedArticles);
                         table.setModel(tableModel);
-                        sorter = new TableRowSorter<>(tableModel);
-                        table.setRowSorter(sorter);
-                        sorter.setComparator(3, Comparator.comparingInt(o -> Integer.parseInt(o.toString())));
+                        installRowSorter();
                         tableModel.fireTableDataChanged();
 
                         JOptionPane.showMessageDialog(mainFrame,
@@ -588,13 +1100,141 @@ public class LagerClientApp {
         }.execute();
     }
 
+    /**
+     * Ersetzt die Artikelliste durch den vollständigen Serverstand und aktualisiert die gemerkten Timestamps.
+     * Artikel, die während der Synchronisierung lokal bearbeitet oder angelegt wurden, bleiben mit ihrem
+     * lokalen Stand und ihrem bisherigen Timestamp erhalten, damit sie weiterhin hochgeladen werden.
+     * Muss auf dem EDT aufgerufen werden.
+     *
+     * @param serverArticles Die vom Server geladenen Artikel
+     */
+    private void replaceWithServerArticles(List<Article> serverArticles) {
+        Map<Integer, Article> pending = new LinkedHashMap<>();
+        for (Article article : changedArticles) {
+            pending.put(article.id, article);
+        }
+
+        Map<Integer, String> timestamps = new HashMap<>(serverArticles.size() * 2);
+        articles.clear();
+        for (Article article : serverArticles) {
+            Article local = pending.remove(article.id);
+            if (local != null) {
+                articles.add(local);
+            } else {
+                articles.add(article);
+                timestamps.put(article.id, article.timestamp);
+            }
+        }
+        // Lokal geänderte Artikel, die der Server nicht mehr liefert, und noch nicht angelegte Artikel anhängen
+        articles.addAll(pending.values());
+        for (Article local : changedArticles) {
+            String known = originalTimestamps.get(local.id);
+            if (known != null) {
+                timestamps.put(local.id, known);
+            }
+        }
+        originalTimestamps.clear();
+        originalTimestamps.putAll(timestamps);
+        selectedCells.clear();
+    }
+
+    /**
+     * Übernimmt ein Delta vom Server in die Tabelle und aktualisiert die gemerkten Timestamps.
+     * Bei aktivierter automatischer Speicherung werden die übernommenen Änderungen ins Journal geschrieben.
+     *
+     * @param delta Das anzuwendende Delta
+     * @param since Der Zeitpunkt, seit dem das Delta abgefragt wurde
+     */
+    private void applyArticleDelta(ArticleDelta delta, Instant since) {
+        int rowCountBefore = articles.size();
+        List<Article> applied = listModel.applyDelta(delta);
+
+        Instant latest = since;
+        for (Article article : applied) {
+            originalTimestamps.put(article.id, article.timestamp);
+            Instant timestamp = parseTimestamp(article.timestamp);
+            if (timestamp != null && (latest == null || timestamp.isAfter(latest))) {
+                latest = timestamp;
+            }
+        }
+        List<Integer> removedIds = new ArrayList<>();
+        if (delta.deleted != null) {
+            for (Integer deletedId : delta.deleted) {
+                if (tableModel.getModelIndexFromApiId(deletedId) < 0) {
+                    originalTimestamps.remove(deletedId);
+                    removedIds.add(deletedId);
+                }
+            }
+        }
+        if (articles.size() < rowCountBefore + applied.size()) {
+            // Zeilen wurden gelöscht, markierte Zellen zeigen auf verschobene Indizes
+            selectedCells.clear();
+        }
+
+        // Serverzeit bevorzugen, damit Uhrabweichungen des Clients keine Änderungen verschlucken
+        Instant serverTime = parseTimestamp(delta.serverTime);
+        lastSyncTime = serverTime != null ? serverTime : latest;
+        logger.info("Delta übernommen: {} Artikel aktualisiert, neuer Stand {}", applied.size(), lastSyncTime);
+
+        // Die lokale Sicherung um dieselben Zeilen fortschreiben; lokal geänderte Artikel bleiben unberührt
+        if (isAutoSaveEnabled() && (!applied.isEmpty() || !removedIds.isEmpty())) {
+            journalLocally(applied, removedIds);
+        }
+    }
+
+    /**
+     * Merkt sich den neuesten Artikel-Timestamp als Ausgangspunkt für Delta-Abfragen.
+     */
+    private void updateLastSyncTime() {
+        Instant latest = null;
+        for (int i = 0; i < articles.size(); i++) {
+            Instant timestamp = parseTimestamp(LazyArticleList.timestampAt(articles, i));
+            if (timestamp != null && (latest == null || timestamp.isAfter(latest))) {
+                latest = timestamp;
+            }
+        }
+        lastSyncTime = latest;
+        logger.debug("Letzter bekannter Stand für Delta-Abfragen: {}", lastSyncTime);
+    }
+
+    /**
+     * Wandelt einen Artikel-Timestamp in einen Instant um.
+     * Timestamps ohne Zeitzone werden als UTC interpretiert.
+     *
+     * @param timestamp Der Timestamp als String
+     * @return Der Instant oder null, wenn der Timestamp fehlt oder ungültig ist
+     */
+    private static Instant parseTimestamp(String timestamp) {
+        if (timestamp == null || timestamp.isEmpty()) {
+            return null;
+        }
+        try {
+            return Instant.parse(timestamp);
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDateTime.parse(timestamp).toInstant(ZoneOffset.UTC);
+            } catch (DateTimeParseException ex) {
+                logger.trace("Ungültiger Timestamp: {}", timestamp);
+                return null;
+            }
+        }
+    }
+
     /**
      * Vergleicht lokale Artikel mit Server-Artikeln und zeigt Unterschiede an.
      */
     private void compareLocalAndServerArticles() {
-        try {
-            // Server-Artikel abrufen
-            List<Article> serverArticles = ApiClient.fetchArticles();
+        statusLabel.setText("Rufe Server-Artikel zum Vergleich ab...");
+        AsyncApiClient.getInstance().fetchArticlesAsync().whenComplete((serverArticles, ex) -> SwingUtilities.invokeLater(() -> {
+            statusLabel.setText("Bereit");
+            if (ex != null) {
+                logger.error("Fehler beim Vergleichen von lokalen und Server-Artikeln: {}", describeError(ex));
+                JOptionPane.showMessageDialog(mainFrame,
+                        "Fehler beim Vergleichen der Artikel: " + describeError(ex),
+                        "Fehler",
+                        JOptionPane.ERROR_MESSAGE);
+                return;
+            }
 
             // Lokale Änderungen identifizieren
             Map<Integer, Article> serverMap = new HashMap<>();
@@ -629,14 +1269,7 @@ public class LagerClientApp {
 
             // Dialog mit Unterschieden anzeigen
             showDifferencesDialog(differences);
-
-        } catch (Exception e) {
-            logger.error("Fehler beim Vergleichen von lokalen und Server-Artikeln: {}", e.getMessage());
-            JOptionPane.showMessageDialog(mainFrame,
-                    "Fehler beim Vergleichen der Artikel: " + e.getMessage(),
-                    "Fehler",
-                    JOptionPane.ERROR_MESSAGE);
-        }
+        }));
     }
 
     /**
@@ -702,6 +1335,43 @@ public class LagerClientApp {
         return selectedCells;
     }
 
+    /**
+     * Getter für den Hydrator, damit der Renderer fehlende Formatierungen anfordern kann.
+     *
+     * @return Der ArticleHydrator der Tabelle
+     */
+    public ArticleHydrator getArticleHydrator() {
+        return articleHydrator;
+    }
+
+    /**
+     * Lädt fehlende Formatierungen der Artikel in den markierten Zellen im Hintergrund und führt
+     * die Änderung erst danach auf dem EDT aus. Die Markierung wird beim Aufruf festgehalten.
+     *
+     * @param action Die Änderung, die die festgehaltenen Zellen erhält
+     */
+    private void withHydratedSelection(Consumer<List<Point>> action) {
+        List<Point> cells = new ArrayList<>(selectedCells);
+        Set<Article> selected = new LinkedHashSet<>();
+        for (Point cell : cells) {
+            int modelRow = table.convertRowIndexToModel(cell.x);
+            Article article = tableModel.getArticleAt(modelRow);
+            if (article != null) {
+                selected.add(article);
+            }
+        }
+        articleHydrator.hydrate(selected, complete -> {
+            if (!complete) {
+                JOptionPane.showMessageDialog(mainFrame,
+                        "Die Formatierungen der markierten Artikel konnten nicht geladen werden.",
+                        "Fehler",
+                        JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            action.accept(cells);
+        });
+    }
+
     /**
      * Gibt zurück, ob automatisches Speichern aktiviert ist.
      *
@@ -747,8 +1417,7 @@ public class LagerClientApp {
         JMenu fileMenu = new JMenu("Datei");
 
         JMenuItem saveLocalItem = new JMenuItem("Lokal speichern");
-        saveLocalItem.addActionListener(e -> {
-            boolean success = ApiClient.saveArticlesToLocalFile(articles);
+        saveLocalItem.addActionListener(e -> saveArticlesLocally().thenAccept(success -> SwingUtilities.invokeLater(() -> {
             if (success) {
                 JOptionPane.showMessageDialog(mainFrame,
                         "Artikel wurden lokal gespeichert.",
@@ -760,7 +1429,7 @@ public class LagerClientApp {
                         "Speicherfehler",
                         JOptionPane.ERROR_MESSAGE);
             }
-        });
+        })));
 
         JMenuItem loadLocalItem = new JMenuItem("Aus lokaler Datei laden");
         loadLocalItem.addActionListener(e -> {
@@ -772,15 +1441,15 @@ public class LagerClientApp {
                         JOptionPane.YES_NO_OPTION);
 
                 if (response == JOptionPane.YES_OPTION) {
-                    articles.clear();
-                    articles.addAll(loadedArticles);
+                    leaveRemoteQuery();
+                    articles = loadedArticles;
+                    markLocallyCreatedArticles();
+                    updateLastSyncTime();
 
                     // Aktualisiere die Tabelle
-                    tableModel = new ArticleTableModel(articles, changedArticles);
+                    tableModel = listModel = new ArticleTableModel(articles, changedArticles);
                     table.setModel(tableModel);
-                    sorter = new TableRowSorter<>(tableModel);
-                    table.setRowSorter(sorter);
-                    sorter.setComparator(3, Comparator.comparingInt(o -> Integer.parseInt(o.toString())));
+                    installRowSorter();
                     tableModel.fireTableDataChanged();
 
                     JOptionPane.showMessageDialog(mainFrame,
@@ -799,8 +1468,9 @@ public class LagerClientApp {
         JMenuItem exitItem = new JMenuItem("Beenden");
         exitItem.addActionListener(e -> {
             if (autoSaveCheckbox.isSelected()) {
-                ApiClient.saveArticlesToLocalFile(articles);
+                saveArticlesLocally();
             }
+            finishLocalSaves();
             System.exit(0);
         });
 
@@ -903,69 +1573,96 @@ public class LagerClientApp {
 
         // Bei Offline-Modus nur lokal speichern
         if (isOfflineMode) {
-            boolean success = saveChangesLocally(true); // true = explizites Speichern
-            if (success) {
-                JOptionPane.showMessageDialog(mainFrame,
-                        "Änderungen im Offline-Modus lokal gespeichert!",
-                        "Lokal gespeichert",
-                        JOptionPane.INFORMATION_MESSAGE);
-            }
+            saveChangesLocally(true).thenAccept(success -> { // true = explizites Speichern
+                if (success) {
+                    JOptionPane.showMessageDialog(mainFrame,
+                            "Änderungen im Offline-Modus lokal gespeichert!",
+                            "Lokal gespeichert",
+                            JOptionPane.INFORMATION_MESSAGE);
+                }
+            });
             return;
         }
 
         // Online-Modus: Prüfe auf Konflikte
         logger.debug("{} geänderte Artikel gefunden", changedArticles.size());
-        List<Article> conflictedArticles = new ArrayList<>();
 
-        // Prüfe jeden geänderten Artikel auf Konflikte
+        // Original-Timestamps auf dem EDT erfassen, der Abgleich läuft im Hintergrund
+        Map<Integer, String> timestampsToCheck = new HashMap<>();
         for (Article article : changedArticles) {
-            try {
-                // Lade den aktuellen Zustand des Artikels aus der Datenbank
-                int apiId = article.id;
-                logger.debug("Prüfe auf Konflikte für Artikel ID {}", apiId);
-
-                Article currentDbArticle = ApiClient.fetchArticle(apiId);
-
-                // Vergleiche den Timestamp mit dem Original-Timestamp
-                String originalTimestamp = originalTimestamps.get(apiId);
-                if (!currentDbArticle.timestamp.equals(originalTimestamp)) {
-                    logger.warn("Konflikt bei Artikel ID {}: Timestamps unterschiedlich", apiId);
-                    logger.debug("Original: {}, Aktuell: {}", originalTimestamp, currentDbArticle.timestamp);
-                    conflictedArticles.add(currentDbArticle);
-                }
-            } catch (Exception ex) {
-                logger.error("Fehler beim Prüfen auf Konflikte für Artikel ID {}: {}",
-                        article.id, ex.getMessage(), ex);
+            if (article.id > 0) {
+                timestampsToCheck.put(article.id, originalTimestamps.get(article.id));
             }
         }
 
-        // Wenn Konflikte vorhanden sind, frage den Benutzer
-        if (!conflictedArticles.isEmpty()) {
-            logger.info("{} Konflikte gefunden", conflictedArticles.size());
-            handleConflicts(conflictedArticles);
-        } else {
-            logger.info("Keine Konflikte gefunden, speichere Änderungen direkt");
-            saveChangesForced(changedArticles);
+        statusLabel.setText("Prüfe " + timestampsToCheck.size() + " Artikel auf Konflikte...");
+        new SwingWorker<List<Article>, Void>() {
+            @Override
+            protected List<Article> doInBackground() {
+                // Für den Abgleich reichen ID und Zeitstempel, alle Artikel in einem Durchgang
+                Map<Integer, Article> currentVersions =
+                        ApiClient.fetchArticlesByIds(timestampsToCheck.keySet(), Article.VERSION_FIELDS);
+
+                Set<Integer> conflictedIds = new HashSet<>();
+                for (Map.Entry<Integer, String> entry : timestampsToCheck.entrySet()) {
+                    Article currentVersion = currentVersions.get(entry.getKey());
+                    if (currentVersion == null) {
+                        logger.warn("Konnte Artikel ID {} nicht auf Konflikte prüfen", entry.getKey());
+                        continue;
+                    }
 
-            // Nach erfolgreichem Speichern auch lokal speichern, wenn aktiviert
-            if (isAutoSaveEnabled()) {
-                ApiClient.saveArticlesToLocalFile(articles);
+                    // Vergleiche den Timestamp mit dem Original-Timestamp
+                    if (!Objects.equals(currentVersion.timestamp, entry.getValue())) {
+                        logger.warn("Konflikt bei Artikel ID {}: Timestamps unterschiedlich", entry.getKey());
+                        logger.debug("Original: {}, Aktuell: {}", entry.getValue(), currentVersion.timestamp);
+                        conflictedIds.add(entry.getKey());
+                    }
+                }
+
+                // Vollständige Server-Stände nur für die Konfliktanzeige laden
+                return new ArrayList<>(ApiClient.fetchArticlesByIds(conflictedIds).values());
             }
-        }
+
+            @Override
+            protected void done() {
+                List<Article> conflictedArticles;
+                try {
+                    conflictedArticles = get();
+                } catch (Exception e) {
+                    logger.error("Fehler bei der Konfliktprüfung: {}", e.getMessage(), e);
+                    statusLabel.setText("Konfliktprüfung fehlgeschlagen");
+                    JOptionPane.showMessageDialog(mainFrame,
+                            "Fehler bei der Konfliktprüfung: " + e.getMessage(),
+                            "Fehler",
+                            JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                statusLabel.setText("Bereit");
+
+                // Wenn Konflikte vorhanden sind, frage den Benutzer
+                if (!conflictedArticles.isEmpty()) {
+                    logger.info("{} Konflikte gefunden", conflictedArticles.size());
+                    handleConflicts(conflictedArticles);
+                } else {
+                    logger.info("Keine Konflikte gefunden, speichere Änderungen direkt");
+                    saveChangesForced(changedArticles);
+                }
+            }
+        }.execute();
     }
 
     /**
      * Speichert Änderungen nur lokal ohne Server-Kommunikation.
      *
      * @param explicitSave Gibt an, ob dies ein expliziter Speichervorgang ist (true) oder automatisch (false)
-     * @return true wenn erfolgreich gespeichert, sonst false
+     * @return Wird auf dem EDT mit true abgeschlossen, wenn erfolgreich gespeichert, sonst mit false
      */
-    private boolean saveChangesLocally(boolean explicitSave) {
+    private CompletableFuture<Boolean> saveChangesLocally(boolean explicitSave) {
         // Aktualisierte Artikel in die Hauptliste übernehmen
         for (Article changedArticle : changedArticles) {
             int index = -1;
             for (int i = 0; i < articles.size(); i++) {
-                if (articles.get(i).id == changedArticle.id) {
+                if (LazyArticleList.idAt(articles, i) == changedArticle.id) {
                     index = i;
                     break;
                 }
@@ -976,18 +1673,23 @@ public class LagerClientApp {
             }
         }
 
-        // Lokal speichern
-        boolean success = ApiClient.saveArticlesToLocalFile(articles);
-
-        if (success) {
-            // Nur wenn explizit gespeichert wurde, die changedArticles leeren
-            if (explicitSave) {
-                changedArticles.clear();
+        // Lokal speichern, nur die geänderten Artikel werden ins Journal geschrieben
+        List<Article> saved = new ArrayList<>(changedArticles);
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        journalLocally(saved, List.of()).thenAccept(success -> SwingUtilities.invokeLater(() -> {
+            if (success) {
+                // Nur wenn explizit gespeichert wurde, die gespeicherten changedArticles entfernen;
+                // inzwischen hinzugekommene Änderungen bleiben erhalten
+                // Offline angelegte Artikel bleiben markiert, bis sie beim Synchronisieren angelegt wurden
+                if (explicitSave) {
+                    saved.removeIf(article -> article.id < 0);
+                    changedArticles.removeAll(saved);
+                }
+                logger.info("Änderungen lokal gespeichert" + (explicitSave ? " (explizit)" : " (automatisch)"));
             }
-            logger.info("Änderungen lokal gespeichert" + (explicitSave ? " (explizit)" : " (automatisch)"));
-        }
-
-        return success;
+            result.complete(success);
+        }));
+        return result;
     }
     /**
      * Behandelt Konflikte zwischen lokalen und Datenbankversionen von Artikeln.
@@ -1037,11 +1739,6 @@ public class LagerClientApp {
             // Benutzer will seine Änderungen durchsetzen
             logger.info("Benutzer erzwingt eigene Änderungen");
             saveChangesForced(changedArticles);
-
-            // Nach erfolgreichem Speichern auch lokal speichern, wenn aktiviert
-            if (isAutoSaveEnabled()) {
-                ApiClient.saveArticlesToLocalFile(articles);
-            }
         } else if (choice == 1) {
             // Benutzer will DB-Änderungen übernehmen
             logger.info("Benutzer übernimmt DB-Änderungen");
@@ -1049,7 +1746,7 @@ public class LagerClientApp {
 
             // Nach Aktualisierung auch lokal speichern, wenn aktiviert
             if (isAutoSaveEnabled()) {
-                ApiClient.saveArticlesToLocalFile(articles);
+                journalLocally(conflictedArticles, List.of());
             }
         } else {
             // Benutzer bricht ab
@@ -1065,122 +1762,214 @@ public class LagerClientApp {
      * @param db Die Datenbankversion des Artikels
      */
     private void appendFieldDifferences(StringBuilder message, Article local, Article db) {
-        if (!local.name.equals(db.name)) {
+        if (!Objects.equals(local.name, db.name)) {
             message.append("- Name: ").append(local.name).append(" => ").append(db.name).append("\n");
         }
-        if (!local.type.equals(db.type)) {
+        if (!Objects.equals(local.type, db.type)) {
             message.append("- Typ: ").append(local.type).append(" => ").append(db.type).append("\n");
         }
         if (local.stock != db.stock) {
             message.append("- Bestand: ").append(local.stock).append(" => ").append(db.stock).append("\n");
         }
-        if (!local.unit.equals(db.unit)) {
+        if (!Objects.equals(local.unit, db.unit)) {
             message.append("- Einheit: ").append(local.unit).append(" => ").append(db.unit).append("\n");
         }
         if (local.price != db.price) {
             message.append("- Preis: ").append(local.price).append(" => ").append(db.price).append("\n");
         }
-        if (!local.location.equals(db.location)) {
+        if (!Objects.equals(local.location, db.location)) {
             message.append("- Lagerplatz: ").append(local.location).append(" => ").append(db.location).append("\n");
         }
-        if (!local.status.equals(db.status)) {
+        if (!Objects.equals(local.status, db.status)) {
             message.append("- Status: ").append(local.status).append(" => ").append(db.status).append("\n");
         }
-        if (!local.link.equals(db.link)) {
+        if (!Objects.equals(local.link, db.link)) {
             message.append("- Link: ").append(local.link).append(" => ").append(db.link).append("\n");
         }
 
-        // Hinweis auf mögliche Formatierungsänderungen
-        if (!local.stylesJson.equals(db.stylesJson)) {
+        // Hinweis auf mögliche Formatierungsänderungen; teilweise geladene Artikel kennen ihre Formatierungen nicht
+        if (!local.partial && !Objects.equals(local.stylesJson, db.stylesJson)) {
             message.append("- Formatierungen wurden ebenfalls geändert\n");
         }
     }
 
     /**
      * Speichert Änderungen an Artikeln ohne Konfliktprüfung.
+     * Die Anfragen laufen im Hintergrund parallel; Fehler werden gesammelt in einem Dialog gemeldet.
+     * Erfolgreich gespeicherte Artikel gelten danach nicht mehr als geändert.
      *
      * @param articlesToSave Die zu speichernden Artikel
      */
     private void saveChangesForced(Set<Article> articlesToSave) {
         logger.info("Speichere {} Artikel zwangsweise", articlesToSave.size());
+        Map<Article, Article> copies = copiesForWrite(articlesToSave);
+        statusLabel.setText("Speichere " + copies.size() + " Artikel...");
 
-        for (Article article : articlesToSave) {
-            try {
-                // Stelle sicher, dass keine null-Werte in den Styles gesendet werden
-                if (article.styles != null) {
-                    for (Map.Entry<String, CellStyle> entry : article.styles.entrySet()) {
-                        CellStyle style = entry.getValue();
-                        // Wenn color null ist, setze einen Standardwert
-                        if (style.color == null) {
-                            style.color = "#000000"; // Schwarze Standardfarbe
-                        }
-                    }
-                }
-
-                // Timestamp im Format aktualisieren, das vom Server akzeptiert wird
-                Instant now = Instant.now();
-                article.timestamp = now.toString().split("\\.")[0] + "Z"; // Format: 2025-03-07T16:22:25Z
-                logger.debug("Artikel ID {}: Timestamp aktualisiert auf {}", article.id, article.timestamp);
-
-                int apiId = article.id;
-                String apiUrl = AppConfig.getInstance().getApiUrl();
-                URL putUrl = new URL(apiUrl + "/" + apiId);
-                HttpURLConnection putConn = (HttpURLConnection) putUrl.openConnection();
-                putConn.setRequestMethod("PUT");
-                putConn.setRequestProperty("Content-Type", "application/json");
-                putConn.setDoOutput(true);
+        new SwingWorker<WriteSummary, Void>() {
+            @Override
+            protected WriteSummary doInBackground() {
+                return writeChangesToServer(copies.keySet());
+            }
 
-                ObjectMapper objectMapper = new ObjectMapper();
-                objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+            @Override
+            protected void done() {
+                WriteSummary summary;
+                try {
+                    summary = get();
+                } catch (Exception ex) {
+                    logger.error("Ausnahme beim Speichern: {}", ex.getMessage(), ex);
+                    statusLabel.setText("Speichern fehlgeschlagen");
+                    JOptionPane.showMessageDialog(mainFrame,
+                            "Fehler beim Speichern: " + ex.getMessage(),
+                            "Fehler",
+                            JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
 
-                String jsonPayload = objectMapper.writeValueAsString(article);
-                logger.debug("Sende PUT-Payload für Artikel ID {}: {}", apiId, jsonPayload);
+                List<Article> succeeded = applyWrittenArticles(summary, copies);
 
-                try (OutputStream os = putConn.getOutputStream()) {
-                    os.write(jsonPayload.getBytes());
-                    os.flush();
+                // Nach dem Speichern auch lokal sichern, wenn aktiviert
+                if (isAutoSaveEnabled()) {
+                    journalLocally(succeeded, List.of());
                 }
 
-                int responseCode = putConn.getResponseCode();
-                logger.debug("PUT-Antwortcode für Artikel ID {}: {}", apiId, responseCode);
-
-                if (responseCode == HttpURLConnection.HTTP_OK || responseCode == HttpURLConnection.HTTP_NO_CONTENT) {
-                    // Aktualisiere den gespeicherten Original-Timestamp
-                    originalTimestamps.put(article.id, article.timestamp);
-                    logger.info("Artikel ID {} erfolgreich gespeichert", apiId);
+                if (summary.allSucceeded()) {
+                    logger.info("Alle Änderungen erfolgreich gespeichert");
+                    statusLabel.setText("Bereit - " + succeeded.size() + " Artikel gespeichert");
+                    JOptionPane.showMessageDialog(mainFrame, "Alle Änderungen gespeichert!", "Erfolg", JOptionPane.INFORMATION_MESSAGE);
                 } else {
-                    try (BufferedReader br = new BufferedReader(new InputStreamReader(
-                            putConn.getErrorStream() != null ? putConn.getErrorStream() : putConn.getInputStream()))) {
-                        StringBuilder response = new StringBuilder();
-                        String line;
-                        while ((line = br.readLine()) != null) {
-                            response.append(line);
-                        }
-                        logger.error("Fehlerantwort vom Server für Artikel ID {}: {}", apiId, response.toString());
+                    int failedCount = summary.getFailed().size();
+                    statusLabel.setText(succeeded.size() + " Artikel gespeichert, " + failedCount + " fehlgeschlagen");
+                    JOptionPane.showMessageDialog(mainFrame,
+                            succeeded.size() + " Artikel gespeichert, " + failedCount + " fehlgeschlagen:\n\n"
+                                    + summary.describeFailures(20)
+                                    + "\nDie fehlgeschlagenen Artikel bleiben als geändert markiert.",
+                            "Fehler beim Speichern",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
 
-                        // Fehler dem Benutzer anzeigen
-                        JOptionPane.showMessageDialog(mainFrame,
-                                "Fehler beim Speichern von Artikel #" + article.id + ": " + response.toString(),
-                                "Fehler",
-                                JOptionPane.ERROR_MESSAGE);
-                        return;
-                    }
+    /**
+     * Erstellt auf dem EDT die zu sendenden Kopien geänderter Artikel mit aktuellem Timestamp.
+     * Die angezeigten Artikel bleiben unverändert, bis {@link #applyWrittenArticles} das Ergebnis übernimmt.
+     *
+     * @param articlesToSave Die zu speichernden Artikel
+     * @return Zuordnung von Kopie zu Original in der Reihenfolge der Artikel
+     */
+    private Map<Article, Article> copiesForWrite(Collection<Article> articlesToSave) {
+        // Timestamp im Format, das vom Server akzeptiert wird, z.B. 2025-03-07T16:22:25Z
+        String timestamp = Instant.now().toString().split("\\.")[0] + "Z";
+        Map<Article, Article> copies = new LinkedHashMap<>();
+        for (Article article : articlesToSave) {
+            Article copy = new Article(article);
+            // Stelle sicher, dass keine null-Werte in den Styles gesendet werden
+            for (CellStyle style : copy.styles.values()) {
+                if (style != null && style.color == null) {
+                    style.color = "#000000"; // Schwarze Standardfarbe
                 }
+            }
+            copy.timestamp = timestamp;
+            logger.debug("Artikel ID {}: Timestamp aktualisiert auf {}", copy.id, copy.timestamp);
+            copies.put(copy, article);
+        }
+        return copies;
+    }
 
-                putConn.disconnect();
-            } catch (Exception ex) {
-                logger.error("Ausnahme beim Speichern von Artikel ID {}: {}", article.id, ex.getMessage(), ex);
-                JOptionPane.showMessageDialog(mainFrame,
-                        "Fehler beim Speichern: " + ex.getMessage(),
-                        "Fehler",
-                        JOptionPane.ERROR_MESSAGE);
-                return;
+    /**
+     * Übernimmt das Ergebnis eines Schreibvorgangs auf dem EDT in die angezeigten Artikel.
+     * Erfolgreich gespeicherte Artikel erhalten den gesendeten Timestamp und gelten nicht mehr als geändert;
+     * fehlgeschlagene bleiben unverändert markiert.
+     *
+     * @param summary Das Ergebnis für die gesendeten Kopien
+     * @param copies Zuordnung von Kopie zu Original aus {@link #copiesForWrite}
+     * @return Die erfolgreich gespeicherten Originale
+     */
+    private List<Article> applyWrittenArticles(WriteSummary summary, Map<Article, Article> copies) {
+        List<Article> succeeded = new ArrayList<>();
+        for (Article written : summary.getSucceeded()) {
+            Article article = copies.get(written);
+            if (article == null) {
+                continue;
+            }
+            article.timestamp = written.timestamp;
+            if (article.partial && !written.partial) {
+                // Beim Senden nachgeladene Formatierungen übernehmen
+                article.hydrateFrom(written);
+            }
+            if (article.id > 0) {
+                // Aktualisiere den gespeicherten Original-Timestamp
+                originalTimestamps.put(article.id, article.timestamp);
+            }
+            changedArticles.remove(article);
+            succeeded.add(article);
+        }
+        return succeeded;
+    }
+
+    /**
+     * Übernimmt auf dem EDT die Server-IDs erfolgreich angelegter Artikel, damit sie beim nächsten
+     * Abgleich nicht erneut angelegt werden.
+     * Gibt der Server den angelegten Artikel nicht zurück, wird die lokale Zeile entfernt; der Artikel
+     * kommt dann mit dem nächsten Abruf vom Server.
+     *
+     * @param summary Das Ergebnis der POST-Anfragen
+     * @param copies Zuordnung von Kopie zu Original aus {@link #copiesForWrite}
+     */
+    private void adoptCreatedArticles(WriteSummary summary, Map<Article, Article> copies) {
+        List<Article> adopted = new ArrayList<>();
+        List<Integer> localIds = new ArrayList<>();
+        for (WriteSummary.Result result : summary.getResults()) {
+            Article article = copies.get(result.getArticle());
+            if (!result.isSuccessful() || article == null || article.id >= 0) {
+                continue;
+            }
+            int localId = article.id;
+            localIds.add(localId);
+            originalTimestamps.remove(localId);
+
+            Article created = ApiClient.readCreatedArticle(result.getResponse());
+            if (created != null) {
+                logger.debug("Lokaler Artikel ID {} wurde als ID {} angelegt", localId, created.id);
+                article.id = created.id;
+                if (created.timestamp != null) {
+                    article.timestamp = created.timestamp;
+                }
+                originalTimestamps.put(article.id, article.timestamp);
+                adopted.add(article);
+                continue;
+            }
+            int index = tableModel.getModelIndexFromApiId(localId);
+            if (index >= 0) {
+                articles.remove(index);
             }
         }
+        if (localIds.isEmpty()) {
+            return;
+        }
+
+        tableModel.refreshIdMapping();
+        selectedCells.clear();
+        if (isAutoSaveEnabled()) {
+            journalLocally(adopted, localIds);
+        }
+    }
 
-        changedArticles.clear();
-        logger.info("Alle Änderungen erfolgreich gespeichert");
-        JOptionPane.showMessageDialog(mainFrame, "Alle Änderungen gespeichert!", "Erfolg", JOptionPane.INFORMATION_MESSAGE);
+    /**
+     * Sendet vorbereitete Kopien geänderter Artikel parallel an den Server.
+     * Enthält keine UI-Aufrufe und verändert keine angezeigten Artikel, kann daher aus
+     * Hintergrund-Threads verwendet werden.
+     *
+     * @param articlesToSave Die mit {@link #copiesForWrite} erstellten Kopien
+     * @return Zusammenfassung mit dem Ergebnis pro Kopie
+     */
+    private WriteSummary writeChangesToServer(Collection<Article> articlesToSave) {
+        WriteSummary summary = ApiClient.updateArticles(articlesToSave);
+        for (WriteSummary.Result failed : summary.getFailed()) {
+            logger.error("Fehler beim Speichern von Artikel ID {}: {}", failed.getArticle().id, failed.getErrorMessage());
+        }
+        return summary;
     }
 
     /**
@@ -1197,7 +1986,7 @@ public class LagerClientApp {
                 logger.debug("Aktualisiere lokalen Artikel ID {} an Position {}", dbArticle.id, modelIndex);
 
                 // Ersetze den lokalen Artikel mit der DB-Version
-                articles.set(modelIndex, dbArticle);
+                tableModel.setArticleAt(modelIndex, dbArticle);
 
                 // Aktualisiere den gespeicherten Original-Timestamp
                 originalTimestamps.put(dbArticle.id, dbArticle.timestamp);
@@ -1300,89 +2089,86 @@ public class LagerClientApp {
                 return;
             }
 
-            // Online-Modus: Senden des Artikels an den Server
-            try {
-                String apiUrl = AppConfig.getInstance().getApiUrl();
-                URL postUrl = new URL(apiUrl);
-                HttpURLConnection postConn = (HttpURLConnection) postUrl.openConnection();
-                postConn.setRequestMethod("POST");
-                postConn.setRequestProperty("Content-Type", "application/json");
-                postConn.setDoOutput(true);
-
-                // Konfiguriere ObjectMapper
-                ObjectMapper objectMapper = new ObjectMapper();
-                objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-
-                // Article-Objekt direkt senden
-                String jsonPayload = objectMapper.writeValueAsString(newArticle);
-
-                // Debug: Zeige das gesendete JSON an
-                logger.debug("Sende POST-Payload: {}", jsonPayload);
-
-                try (OutputStream os = postConn.getOutputStream()) {
-                    os.write(jsonPayload.getBytes());
-                    os.flush();
+            // Online-Modus: Senden des Artikels an den Server, ohne die Oberfläche zu blockieren
+            saveButton.setEnabled(false);
+            AsyncApiClient client = AsyncApiClient.getInstance();
+            client.createAsync(newArticle).whenComplete((response, ex) -> SwingUtilities.invokeLater(() -> {
+                if (ex != null) {
+                    logger.error("Ausnahme beim Erstellen eines neuen Artikels: {}", describeError(ex), ex);
+                    saveButton.setEnabled(true);
+                    JOptionPane.showMessageDialog(dialog, "Fehler beim Erstellen des Artikels: " + describeError(ex),
+                            "Fehler", JOptionPane.ERROR_MESSAGE);
+                    return;
                 }
 
-                // Verarbeite die Antwort und aktualisiere die Tabelle
-                int responseCode = postConn.getResponseCode();
+                int responseCode = response.getStatusCode();
                 logger.debug("POST-Antwortcode: {}", responseCode);
 
-                // Bei Fehler: Lese den Fehlertext aus
-                if (responseCode != HttpURLConnection.HTTP_CREATED && responseCode != HttpURLConnection.HTTP_OK) {
-                    try (BufferedReader br = new BufferedReader(new InputStreamReader(
-                            postConn.getErrorStream() != null ? postConn.getErrorStream() : postConn.getInputStream()))) {
-                        StringBuilder response = new StringBuilder();
-                        String line;
-                        while ((line = br.readLine()) != null) {
-                            response.append(line);
-                        }
-                        String errorText = response.toString();
-                        logger.error("Fehlerantwort vom Server: {}", errorText);
-                        JOptionPane.showMessageDialog(dialog,
-                                "Fehler beim Erstellen des Artikels: " + responseCode +
-                                        "\nDetails: " + errorText,
-                                "Fehler",
-                                JOptionPane.ERROR_MESSAGE);
+                // Bei Fehler: Fehlertext anzeigen
+                if (!response.isSuccessful()) {
+                    String errorText = response.getBody();
+                    logger.error("Fehlerantwort vom Server: {}", errorText);
+                    saveButton.setEnabled(true);
+                    JOptionPane.showMessageDialog(dialog,
+                            "Fehler beim Erstellen des Artikels: " + responseCode +
+                                    "\nDetails: " + errorText,
+                            "Fehler",
+                            JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+
+                dialog.dispose();
+
+                // Im Remote-Abfragemodus genügt es, die aktuelle Abfrage zu wiederholen
+                if (remoteQuery) {
+                    logger.info("Artikel erfolgreich erstellt, frage aktuelle Seite neu ab");
+                    loadRemotePage(currentQuery);
+                    JOptionPane.showMessageDialog(mainFrame, "Neuer Artikel wurde erstellt.", "Erfolg", JOptionPane.INFORMATION_MESSAGE);
+                    return;
+                }
+
+                logger.info("Artikel erfolgreich erstellt, lade Artikelliste neu");
+                statusLabel.setText("Lade Artikel...");
+
+                // Lade alle Artikel neu
+                client.fetchArticlesAsync().whenComplete((loadedArticles, loadEx) -> SwingUtilities.invokeLater(() -> {
+                    if (loadEx != null) {
+                        logger.error("Artikelliste konnte nach dem Erstellen nicht geladen werden: {}", describeError(loadEx));
+                        statusLabel.setText("Bereit");
+                        JOptionPane.showMessageDialog(mainFrame,
+                                "Neuer Artikel wurde erstellt, die Artikelliste konnte aber nicht neu geladen werden:\n"
+                                        + describeError(loadEx),
+                                "Warnung", JOptionPane.WARNING_MESSAGE);
+                        return;
                     }
-                } else {
-                    logger.info("Artikel erfolgreich erstellt, lade Artikelliste neu");
-                    dialog.dispose();
 
-                    // Lade alle Artikel neu
-                    articles = ApiClient.fetchArticles();
+                    articles = loadedArticles;
                     // Speichere die ursprünglichen Timestamps für die neuen Artikel
                     for (Article article : articles) {
                         originalTimestamps.put(article.id, article.timestamp);
                     }
-                    tableModel = new ArticleTableModel(articles, changedArticles);
+                    updateLastSyncTime();
+                    tableModel = listModel = new ArticleTableModel(articles, changedArticles);
                     table.setModel(tableModel);
 
                     // Setze den Sorter und Renderer erneut
-                    sorter = new TableRowSorter<>(tableModel);
-                    table.setRowSorter(sorter);
-                    sorter.setComparator(3, Comparator.comparingInt(o -> Integer.parseInt(o.toString())));
+                    installRowSorter();
 
-                    table.setDefaultRenderer(Object.class, new StyledCellRenderer(articles));
+                    table.setDefaultRenderer(Object.class, new StyledCellRenderer());
 
                     // Initialisiere das ID-Mapping neu
                     tableModel.refreshIdMapping();
 
                     // Lokale Sicherung erstellen, wenn aktiviert
                     if (isAutoSaveEnabled()) {
-                        ApiClient.saveArticlesToLocalFile(articles);
+                        saveArticlesLocally();
                     }
 
+                    statusLabel.setText("Bereit - " + articles.size() + " Artikel geladen");
                     logger.info("Benutzeroberfläche nach Artikelerstellung aktualisiert");
                     JOptionPane.showMessageDialog(mainFrame, "Neuer Artikel wurde erstellt.", "Erfolg", JOptionPane.INFORMATION_MESSAGE);
-                }
-
-                postConn.disconnect();
-            } catch (Exception ex) {
-                logger.error("Ausnahme beim Erstellen eines neuen Artikels: {}", ex.getMessage(), ex);
-                JOptionPane.showMessageDialog(dialog, "Fehler beim Erstellen des Artikels: " + ex.getMessage(),
-                        "Fehler", JOptionPane.ERROR_MESSAGE);
-            }
+                }));
+            }));
         });
 
         dialog.setVisible(true);
@@ -1397,31 +2183,28 @@ public class LagerClientApp {
     private void addNewArticleOffline(Article newArticle, JDialog dialog) {
         // Generiere negative ID für lokale Artikel (werden beim Synchronisieren mit dem Server ersetzt)
         int minId = 0;
-        for (Article article : articles) {
-            if (article.id < minId) {
-                minId = article.id;
-            }
+        for (int i = 0; i < articles.size(); i++) {
+            minId = Math.min(minId, LazyArticleList.idAt(articles, i));
         }
         newArticle.id = minId - 1; // Neue lokale ID ist immer kleiner als alle bisherigen
 
-        // Artikel zur Liste hinzufügen
+        // Artikel zur Liste hinzufügen; er bleibt als geändert markiert, bis er auf dem Server angelegt ist
         articles.add(newArticle);
+        changedArticles.add(newArticle);
 
         // Timestamp speichern
         originalTimestamps.put(newArticle.id, newArticle.timestamp);
 
         // Tabelle aktualisieren
-        tableModel = new ArticleTableModel(articles, changedArticles);
+        tableModel = listModel = new ArticleTableModel(articles, changedArticles);
         table.setModel(tableModel);
-        sorter = new TableRowSorter<>(tableModel);
-        table.setRowSorter(sorter);
-        sorter.setComparator(3, Comparator.comparingInt(o -> Integer.parseInt(o.toString())));
-        table.setDefaultRenderer(Object.class, new StyledCellRenderer(articles));
+        installRowSorter();
+        table.setDefaultRenderer(Object.class, new StyledCellRenderer());
         tableModel.refreshIdMapping();
 
         // Lokal speichern
         if (isAutoSaveEnabled()) {
-            ApiClient.saveArticlesToLocalFile(articles);
+            journalLocally(List.of(newArticle), List.of());
         }
 
         dialog.dispose();
@@ -1437,16 +2220,16 @@ public class LagerClientApp {
      * @param modelRow Die Zeile des zu löschenden Artikels im Modell
      */
     private void deleteArticle(int modelRow) {
-        if (modelRow < 0 || modelRow >= articles.size()) {
+        Article article = tableModel.getArticleAt(modelRow);
+        if (article == null) {
             logger.warn("Versuch, ungültigen Artikel zu löschen: Zeile {}", modelRow);
             JOptionPane.showMessageDialog(mainFrame, "Ungültiger Artikel ausgewählt.",
                     "Fehler", JOptionPane.ERROR_MESSAGE);
             return;
         }
 
-        Article article = articles.get(modelRow);
         int apiId = article.id;
-        int displayId = modelRow + 1;
+        int displayId = tableModel.getDisplayIdFromApiId(apiId);
 
         logger.info("Löschen von Artikel ID {} ({}) angefordert", apiId, article.name);
 
@@ -1463,6 +2246,13 @@ public class LagerClientApp {
 
         // Im Offline-Modus: Nur lokal löschen
         if (isOfflineMode) {
+            if (pagedModel != null) {
+                // Die virtuelle Tabelle hält keine eigene Artikelliste, aus der gelöscht werden könnte
+                JOptionPane.showMessageDialog(mainFrame,
+                        "In der virtuellen Tabelle können Artikel nur online gelöscht werden.",
+                        "Artikel löschen", JOptionPane.WARNING_MESSAGE);
+                return;
+            }
             articles.remove(modelRow);
             originalTimestamps.remove(apiId);
             tableModel.fireTableDataChanged();
@@ -1471,7 +2261,7 @@ public class LagerClientApp {
 
             // Lokale Datei aktualisieren
             if (isAutoSaveEnabled()) {
-                ApiClient.saveArticlesToLocalFile(articles);
+                journalLocally(List.of(), List.of(apiId));
             }
 
             JOptionPane.showMessageDialog(mainFrame,
@@ -1481,22 +2271,41 @@ public class LagerClientApp {
             return;
         }
 
-        // Online-Modus: API-Aufruf zum Löschen
-        try {
-            String apiUrl = AppConfig.getInstance().getApiUrl();
-            URL deleteUrl = new URL(apiUrl + "/" + apiId);
-            HttpURLConnection deleteConn = (HttpURLConnection) deleteUrl.openConnection();
-            deleteConn.setRequestMethod("DELETE");
-
-            logger.debug("Sende DELETE-Anfrage für Artikel ID {}", apiId);
+        // Online-Modus: API-Aufruf zum Löschen im Hintergrund
+        statusLabel.setText("Lösche Artikel #" + displayId + "...");
+        AsyncApiClient.getInstance().deleteAsync(apiId).whenComplete((response, ex) -> SwingUtilities.invokeLater(() -> {
+            statusLabel.setText("Bereit");
+            if (ex != null) {
+                logger.error("Ausnahme beim Löschen von Artikel ID {}: {}", apiId, describeError(ex), ex);
+                JOptionPane.showMessageDialog(mainFrame, "Fehler beim Löschen des Artikels: " + describeError(ex),
+                        "Fehler", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
 
-            int responseCode = deleteConn.getResponseCode();
-            logger.debug("DELETE-Antwortcode: {}", responseCode);
-            deleteConn.disconnect();
+            int responseCode = response.getStatusCode();
+            boolean deleted = responseCode == HttpStatus.SC_OK || responseCode == HttpStatus.SC_NO_CONTENT;
+            if (deleted && remoteQuery) {
+                // Trefferzahl und alle folgenden Zeilen ändern sich, daher die Abfrage wiederholen
+                originalTimestamps.remove(apiId);
+                changedArticles.remove(article);
+                selectedCells.clear();
+                loadRemotePage(currentQuery);
 
-            if (responseCode == HttpURLConnection.HTTP_OK || responseCode == HttpURLConnection.HTTP_NO_CONTENT) {
-                // Entferne den Artikel aus der lokalen Liste
-                articles.remove(modelRow);
+                logger.info("Artikel ID {} erfolgreich gelöscht", apiId);
+                JOptionPane.showMessageDialog(mainFrame, "Artikel erfolgreich gelöscht.",
+                        "Erfolg", JOptionPane.INFORMATION_MESSAGE);
+            } else if (deleted) {
+                // Entferne den Artikel aus der lokalen Liste; die Zeile kann sich inzwischen verschoben haben
+                int index = -1;
+                for (int i = 0; i < articles.size(); i++) {
+                    if (articles.get(i) == article) {
+                        index = i;
+                        break;
+                    }
+                }
+                if (index >= 0) {
+                    articles.remove(index);
+                }
 
                 // Entferne den Artikel aus den Original-Timestamps
                 originalTimestamps.remove(apiId);
@@ -1510,7 +2319,7 @@ public class LagerClientApp {
 
                 // Lokale Datei aktualisieren, wenn aktiviert
                 if (isAutoSaveEnabled()) {
-                    ApiClient.saveArticlesToLocalFile(articles);
+                    journalLocally(List.of(), List.of(apiId));
                 }
 
                 logger.info("Artikel ID {} erfolgreich gelöscht", apiId);
@@ -1521,11 +2330,24 @@ public class LagerClientApp {
                 JOptionPane.showMessageDialog(mainFrame, "Fehler beim Löschen des Artikels: " + responseCode,
                         "Fehler", JOptionPane.ERROR_MESSAGE);
             }
-        } catch (Exception ex) {
-            logger.error("Ausnahme beim Löschen von Artikel ID {}: {}", apiId, ex.getMessage(), ex);
-            JOptionPane.showMessageDialog(mainFrame, "Fehler beim Löschen des Artikels: " + ex.getMessage(),
-                    "Fehler", JOptionPane.ERROR_MESSAGE);
+        }));
+    }
+
+    /**
+     * Liefert eine lesbare Fehlermeldung für einen fehlgeschlagenen asynchronen Aufruf.
+     *
+     * @param ex Die Ausnahme, ggf. in eine CompletionException verpackt
+     * @return Die Fehlermeldung
+     */
+    private static String describeError(Throwable ex) {
+        Throwable cause = ex;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
         }
+        if (cause instanceof TimeoutException) {
+            return "Zeitüberschreitung bei der Anfrage an den Server";
+        }
+        return cause.getMessage() != null ? cause.getMessage() : cause.toString();
     }
 
     /**
@@ -1535,19 +2357,29 @@ public class LagerClientApp {
      */
     private void applyFormatting(String styleType) {
         logger.info("Wende Formatierung '{}' auf {} ausgewählte Zellen an", styleType, selectedCells.size());
+        withHydratedSelection(cells -> formatCells(cells, styleType));
+    }
 
-        for (Point cell : selectedCells) {
+    /**
+     * Schaltet die Formatierung in den angegebenen Zellen um, deren Artikel vollständig geladen sind.
+     *
+     * @param cells Die Zellen als (View-Zeile, Spalte)
+     * @param styleType Der Typ der Formatierung ("bold" oder "italic")
+     */
+    private void formatCells(List<Point> cells, String styleType) {
+        Set<Article> formatted = new LinkedHashSet<>();
+        for (Point cell : cells) {
             int viewRow = cell.x;
             int col = cell.y;
 
             // Konvertiere View-Zeile zu Modell-Zeile
             int modelRow = table.convertRowIndexToModel(viewRow);
-            if (modelRow < 0 || modelRow >= articles.size()) {
+            Article article = tableModel.getArticleAt(modelRow);
+            if (article == null) {
                 logger.trace("Ungültige Zeile beim Formatieren: {}", modelRow);
                 continue;
             }
 
-            Article article = articles.get(modelRow);
             String columnName = table.getColumnName(col);
 
             logger.debug("Formatiere Zelle für Artikel ID {} in Spalte '{}'", article.id, columnName);
@@ -1570,21 +2402,17 @@ public class LagerClientApp {
             }
 
             changedArticles.add(article);
+            formatted.add(article);
         }
 
         logger.debug("Formatierung angewendet, Tabelle wird neu gezeichnet");
         table.repaint();
 
-        // Automatisches Speichern, wenn aktiviert
+        // Automatisches Speichern, wenn aktiviert: nur die formatierten Artikel ins Journal,
+        // changedArticles bleiben für die Übertragung an den Server erhalten
         if (isAutoSaveEnabled()) {
-            // Im Offline-Modus direkt speichern, aber changedArticles nicht leeren
-            if (isOfflineMode) {
-                ApiClient.saveArticlesToLocalFile(articles);
-                logger.info("Formatierungen automatisch lokal gespeichert (Offline-Modus)");
-            } else {
-                // Im Online-Modus mit normaler Methode speichern
-                saveChangesLocally(false); // false = automatisches Speichern
-            }
+            journalLocally(formatted, List.of());
+            logger.debug("Formatierungen zum automatischen lokalen Speichern vorgemerkt");
         }
     }
 
@@ -1602,19 +2430,29 @@ public class LagerClientApp {
 
         logger.debug("Neue Farbe ausgewählt: RGB({},{},{})",
                 newColor.getRed(), newColor.getGreen(), newColor.getBlue());
+        withHydratedSelection(cells -> colorCells(cells, newColor));
+    }
 
-        for (Point cell : selectedCells) {
+    /**
+     * Setzt die Textfarbe in den angegebenen Zellen, deren Artikel vollständig geladen sind.
+     *
+     * @param cells Die Zellen als (View-Zeile, Spalte)
+     * @param newColor Die neue Textfarbe
+     */
+    private void colorCells(List<Point> cells, Color newColor) {
+        Set<Article> formatted = new LinkedHashSet<>();
+        for (Point cell : cells) {
             int viewRow = cell.x;
             int col = cell.y;
 
             // Konvertiere View-Zeile zu Modell-Zeile
             int modelRow = table.convertRowIndexToModel(viewRow);
-            if (modelRow < 0 || modelRow >= articles.size()) {
+            Article article = tableModel.getArticleAt(modelRow);
+            if (article == null) {
                 logger.trace("Ungültige Zeile bei Farbänderung: {}", modelRow);
                 continue;
             }
 
-            Article article = articles.get(modelRow);
             String columnName = table.getColumnName(col);
 
             logger.debug("Ändere Farbe für Artikel ID {} in Spalte '{}'", article.id, columnName);
@@ -1633,21 +2471,17 @@ public class LagerClientApp {
                     article.id, columnName, hexColor);
 
             changedArticles.add(article);
+            formatted.add(article);
         }
 
         logger.debug("Farbänderung angewendet, Tabelle wird neu gezeichnet");
         table.repaint();
 
-        // Automatisches Speichern, wenn aktiviert
+        // Automatisches Speichern, wenn aktiviert: nur die formatierten Artikel ins Journal,
+        // changedArticles bleiben für die Übertragung an den Server erhalten
         if (isAutoSaveEnabled()) {
-            // Im Offline-Modus direkt speichern, aber changedArticles nicht leeren
-            if (isOfflineMode) {
-                ApiClient.saveArticlesToLocalFile(articles);
-                logger.info("Farbänderungen automatisch lokal gespeichert (Offline-Modus)");
-            } else {
-                // Im Online-Modus mit normaler Methode speichern
-                saveChangesLocally(false); // false = automatisches Speichern
-            }
+            journalLocally(formatted, List.of());
+            logger.debug("Farbänderungen zum automatischen lokalen Speichern vorgemerkt");
         }
     }
     /**
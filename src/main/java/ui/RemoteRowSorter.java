@@ -0,0 +1,134 @@
+package ui;
+
+import model.AbstractArticleTableModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Sortierer für den Remote-Abfragemodus.
+ * Die Zeilen werden nicht lokal umsortiert: Ansicht und Modell haben dieselbe Reihenfolge, und ein Klick
+ * auf einen Spaltenkopf übergibt die neuen Sortierschlüssel an den Aufrufer, der die Seite neu abfragt.
+ * Die Sortierpfeile im Tabellenkopf werden wie beim lokalen Sortierer angezeigt.
+ */
+public class RemoteRowSorter extends RowSorter<AbstractArticleTableModel> {
+    private static final Logger logger = LoggerFactory.getLogger(RemoteRowSorter.class);
+
+    // Wie beim DefaultRowSorter werden bis zu drei Spalten berücksichtigt
+    private static final int MAX_SORT_KEYS = 3;
+
+    private final AbstractArticleTableModel model;
+    private final Consumer<List<SortKey>> onSortChanged;
+    private List<SortKey> sortKeys = Collections.emptyList();
+
+    /**
+     * Erstellt einen neuen RemoteRowSorter.
+     *
+     * @param model Das Tabellenmodell
+     * @param onSortChanged Wird aufgerufen, wenn der Benutzer die Sortierung ändert
+     */
+    public RemoteRowSorter(AbstractArticleTableModel model, Consumer<List<SortKey>> onSortChanged) {
+        this.model = model;
+        this.onSortChanged = onSortChanged;
+    }
+
+    @Override
+    public AbstractArticleTableModel getModel() {
+        return model;
+    }
+
+    @Override
+    public void toggleSortOrder(int column) {
+        List<SortKey> keys = new ArrayList<>(sortKeys);
+        SortOrder order = SortOrder.ASCENDING;
+        if (!keys.isEmpty() && keys.get(0).getColumn() == column) {
+            order = keys.get(0).getSortOrder() == SortOrder.ASCENDING ? SortOrder.DESCENDING : SortOrder.ASCENDING;
+        }
+        keys.removeIf(key -> key.getColumn() == column);
+        keys.add(0, new SortKey(column, order));
+        if (keys.size() > MAX_SORT_KEYS) {
+            keys = keys.subList(0, MAX_SORT_KEYS);
+        }
+
+        setSortKeys(keys);
+        logger.debug("Serverseitige Sortierung geändert: {}", describe(keys));
+        onSortChanged.accept(sortKeys);
+    }
+
+    @Override
+    public void setSortKeys(List<? extends SortKey> keys) {
+        sortKeys = keys != null ? List.copyOf(keys) : Collections.emptyList();
+        fireSortOrderChanged();
+    }
+
+    @Override
+    public List<? extends SortKey> getSortKeys() {
+        return sortKeys;
+    }
+
+    @Override
+    public int convertRowIndexToModel(int index) {
+        return index;
+    }
+
+    @Override
+    public int convertRowIndexToView(int index) {
+        return index;
+    }
+
+    @Override
+    public int getViewRowCount() {
+        return model.getRowCount();
+    }
+
+    @Override
+    public int getModelRowCount() {
+        return model.getRowCount();
+    }
+
+    @Override
+    public void modelStructureChanged() {
+    }
+
+    @Override
+    public void allRowsChanged() {
+    }
+
+    @Override
+    public void rowsInserted(int firstRow, int endRow) {
+    }
+
+    @Override
+    public void rowsDeleted(int firstRow, int endRow) {
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow) {
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow, int column) {
+    }
+
+    /**
+     * Beschreibt Sortierschlüssel für das Log.
+     *
+     * @param keys Die Sortierschlüssel
+     * @return z.B. "name ASCENDING, price DESCENDING"
+     */
+    private static String describe(List<SortKey> keys) {
+        StringBuilder description = new StringBuilder();
+        for (SortKey key : keys) {
+            if (description.length() > 0) {
+                description.append(", ");
+            }
+            description.append(AbstractArticleTableModel.getFieldName(key.getColumn())).append(' ').append(key.getSortOrder());
+        }
+        return description.toString();
+    }
+}
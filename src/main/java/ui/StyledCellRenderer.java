@@ -2,6 +2,7 @@ package ui;
 
 import config.AppConfig;
 import model.Article;
+import model.AbstractArticleTableModel;
 import model.CellStyle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,7 +10,6 @@ import org.slf4j.LoggerFactory;
 import javax.swing.*;
 import javax.swing.table.DefaultTableCellRenderer;
 import java.awt.*;
-import java.util.List;
 import java.util.Properties;
 
 /**
@@ -19,18 +19,15 @@ import java.util.Properties;
 public class StyledCellRenderer extends DefaultTableCellRenderer {
     private static final Logger logger = LoggerFactory.getLogger(StyledCellRenderer.class);
 
-    private final List<Article> articles;
     private final Color selectionColor;
     private final Color zebraStripeColor;
 
     /**
      * Erstellt einen neuen StyledCellRenderer.
-     *
-     * @param articles Die Liste der Artikel für Formatierungen
+     * Die Artikel für die Formatierungen werden über das Modell der jeweiligen Tabelle ermittelt.
      */
-    public StyledCellRenderer(List<Article> articles) {
-        logger.debug("Initialisiere StyledCellRenderer mit {} Artikeln", articles.size());
-        this.articles = articles;
+    public StyledCellRenderer() {
+        logger.debug("Initialisiere StyledCellRenderer");
 
         // Farben aus der zentralen Konfiguration laden
         AppConfig config = AppConfig.getInstance();
@@ -95,20 +92,12 @@ public class StyledCellRenderer extends DefaultTableCellRenderer {
      */
     private void highlightSelectedCells(JTable table, JLabel label, int row, int column) {
         try {
-            // Finde die LagerClientApp-Instanz
-            Component comp = table;
-            while (comp != null && !(comp instanceof JFrame)) {
-                comp = comp.getParent();
-            }
-
-            if (comp instanceof JFrame) {
-                LagerClientApp app = (LagerClientApp) ((JFrame) comp).getRootPane().getClientProperty("appInstance");
-                if (app != null) {
-                    Point viewCell = new Point(row, column);
-                    if (app.getSelectedCells().contains(viewCell)) {
-                        label.setBackground(selectionColor);
-                        logger.trace("Zelle {},{} als ausgewählt markiert", row, column);
-                    }
+            LagerClientApp app = findApp(table);
+            if (app != null) {
+                Point viewCell = new Point(row, column);
+                if (app.getSelectedCells().contains(viewCell)) {
+                    label.setBackground(selectionColor);
+                    logger.trace("Zelle {},{} als ausgewählt markiert", row, column);
                 }
             }
         } catch (Exception e) {
@@ -129,10 +118,18 @@ public class StyledCellRenderer extends DefaultTableCellRenderer {
         try {
             // Konvertiere View-Zeile zu Modell-Zeile um den korrekten Artikel zu bekommen
             int modelRow = table.convertRowIndexToModel(row);
-            if (modelRow >= 0 && modelRow < articles.size()) {
-                Article article = articles.get(modelRow);
+            Article article = ((AbstractArticleTableModel) table.getModel()).getArticleAt(modelRow);
+            if (article != null) {
                 String columnName = table.getColumnName(column);
 
+                // Formatierungen sichtbarer, teilweise geladener Artikel nachladen
+                if (article.partial) {
+                    LagerClientApp app = findApp(table);
+                    if (app != null && app.getArticleHydrator() != null) {
+                        app.getArticleHydrator().request(article);
+                    }
+                }
+
                 if (article.styles != null && article.styles.containsKey(columnName)) {
                     CellStyle style = article.styles.get(columnName);
                     logger.trace("Formatierung für Artikel ID {} in Spalte '{}': bold={}, italic={}, color={}",
@@ -165,6 +162,23 @@ public class StyledCellRenderer extends DefaultTableCellRenderer {
         }
     }
 
+    /**
+     * Findet die LagerClientApp-Instanz über das Hauptfenster der Tabelle.
+     *
+     * @param table Die JTable
+     * @return Die Anwendung oder null, wenn die Tabelle (noch) in keinem Fenster liegt
+     */
+    private LagerClientApp findApp(JTable table) {
+        Component comp = table;
+        while (comp != null && !(comp instanceof JFrame)) {
+            comp = comp.getParent();
+        }
+        if (comp instanceof JFrame) {
+            return (LagerClientApp) ((JFrame) comp).getRootPane().getClientProperty("appInstance");
+        }
+        return null;
+    }
+
     /**
      * Konvertiert eine Farbe in einen lesbaren String.
      *
@@ -1,6 +1,7 @@
 package ui;
 
 import model.Article;
+import model.AbstractArticleTableModel;
 import model.CellStyle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,7 +11,6 @@ import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Set;
 
 /**
@@ -21,21 +21,21 @@ public class TableMouseListener extends MouseAdapter {
     private static final Logger logger = LoggerFactory.getLogger(TableMouseListener.class);
 
     private final JTable table;
-    private final List<Article> articles;
     private final Set<Article> changedArticles;
+    private final ArticleHydrator hydrator;
 
     /**
      * Erstellt einen neuen TableMouseListener.
      *
-     * @param table Die JTable, auf die der Listener angewendet wird
-     * @param articles Die Liste der Artikel
+     * @param table Die JTable, auf die der Listener angewendet wird; die Artikel liefert ihr Modell
      * @param changedArticles Das Set zum Verfolgen geänderter Artikel
+     * @param hydrator Lädt fehlende Formatierungen nach, bevor das Menü angezeigt wird
      */
-    public TableMouseListener(JTable table, List<Article> articles, Set<Article> changedArticles) {
+    public TableMouseListener(JTable table, Set<Article> changedArticles, ArticleHydrator hydrator) {
         this.table = table;
-        this.articles = articles;
         this.changedArticles = changedArticles;
-        logger.debug("TableMouseListener initialisiert für Tabelle mit {} Artikeln", articles.size());
+        this.hydrator = hydrator;
+        logger.debug("TableMouseListener initialisiert");
     }
 
     @Override
@@ -70,14 +70,14 @@ public class TableMouseListener extends MouseAdapter {
         logger.debug("Kontextmenü angefordert für Zeile {} (Modell: {}), Spalte {}",
                 viewRow, modelRow, col);
 
-        // Prüfe, ob die Position gültig ist
-        if (modelRow == -1 || col == -1 || modelRow >= articles.size()) {
+        // Prüfe, ob die Position gültig ist (Zeilen der virtuellen Tabelle sind ggf. noch nicht geladen)
+        Article article = modelRow >= 0 ? ((AbstractArticleTableModel) table.getModel()).getArticleAt(modelRow) : null;
+        if (article == null || col == -1) {
             logger.warn("Ungültige Zellenposition für Kontextmenü: {}x{}", viewRow, col);
             return;
         }
 
         String columnName = table.getColumnName(col);
-        Article article = articles.get(modelRow);
 
         // Keine Formatierung für die ID-Spalte
         if (columnName.equals("ID")) {
@@ -85,6 +85,28 @@ public class TableMouseListener extends MouseAdapter {
             return;
         }
 
+        // Ohne geladene Formatierungen würde das spätere Nachladen die neue Formatierung überschreiben;
+        // das Menü erscheint daher erst, wenn sie im Hintergrund geladen wurden
+        hydrator.hydrate(Set.of(article), complete -> {
+            if (!complete) {
+                JOptionPane.showMessageDialog(table,
+                        "Die Formatierungen des Artikels konnten nicht geladen werden.",
+                        "Fehler",
+                        JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            showFormatMenu(article, columnName, event);
+        });
+    }
+
+    /**
+     * Zeigt das Formatierungsmenü für eine Zelle eines vollständig geladenen Artikels.
+     *
+     * @param article Der Artikel
+     * @param columnName Der Name der Spalte
+     * @param event Das MouseEvent, das das Popup ausgelöst hat
+     */
+    private void showFormatMenu(Article article, String columnName, MouseEvent event) {
         logger.debug("Zeige Kontextmenü für Artikel ID {} in Spalte '{}'", article.id, columnName);
 
         // Stelle sicher, dass ein styles-Objekt und ein CellStyle-Objekt existieren
@@ -0,0 +1,131 @@
+package api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import model.Article;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests für gesammelte Schreibvorgänge über den Batch-Endpunkt und den Rückfall auf Einzelanfragen
+ * gegen einen lokalen Server.
+ */
+class ApiClientBatchTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private StubServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StubServer();
+        ApiClient.setApiBaseUrl(server.baseUrl());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    private static List<Article> articles(int count) {
+        List<Article> articles = new ArrayList<>();
+        for (int id = 1; id <= count; id++) {
+            articles.add(new Article(id, "Artikel " + id, "Kleinteil", id * 10, "Stück", 0.5, "Regal " + id,
+                    "Auf Lager", "", "2025-03-07T16:22:25Z", "{}", null));
+        }
+        return articles;
+    }
+
+    /**
+     * Bietet den Batch-Endpunkt per OPTIONS an und beantwortet Batch-Anfragen mit dem angegebenen Inhalt.
+     */
+    private static StubServer.Response batchServer(StubServer.Request request, StubServer.Response batchResponse) {
+        if (request.path().equals("/batch")) {
+            return request.method().equals("OPTIONS")
+                    ? StubServer.Response.status(200).withHeader("Allow", "OPTIONS, PUT, POST")
+                    : batchResponse;
+        }
+        return StubServer.Response.json(200, "{}");
+    }
+
+    private List<Integer> ids(StubServer.Request request) throws Exception {
+        List<Integer> ids = new ArrayList<>();
+        for (JsonNode article : mapper.readTree(request.body())) {
+            ids.add(article.get("id").asInt());
+        }
+        return ids;
+    }
+
+    @Test
+    void artikelWerdenInEinerBatchAnfrageGesendet() throws Exception {
+        server.setHandler(request -> batchServer(request,
+                StubServer.Response.json(200, "{\"results\":[{\"status\":200},{\"status\":200},{\"status\":200}]}")));
+
+        WriteSummary summary = ApiClient.updateArticles(articles(3));
+
+        assertTrue(summary.allSucceeded());
+        assertEquals(3, summary.getResults().size());
+        assertEquals(1, server.requests("OPTIONS", "/batch").size());
+        List<StubServer.Request> batches = server.requests("PUT", "/batch");
+        assertEquals(1, batches.size());
+        assertEquals(List.of(1, 2, 3), ids(batches.get(0)));
+        assertEquals(2, server.requests().size());
+    }
+
+    @Test
+    void fehlerEinzelnerArtikelWerdenProArtikelGemeldet() {
+        server.setHandler(request -> batchServer(request, StubServer.Response.json(200,
+                "[{\"status\":201},{\"status\":409,\"error\":\"Artikel wurde zwischenzeitlich geändert\"},{\"status\":201}]")));
+
+        WriteSummary summary = ApiClient.createArticles(articles(3));
+
+        assertEquals(List.of(1, 3), summary.getSucceeded().stream().map(article -> article.id).toList());
+        assertEquals(1, summary.getFailed().size());
+        WriteSummary.Result failed = summary.getFailed().get(0);
+        assertEquals(2, failed.getArticle().id);
+        assertEquals(409, failed.getResponse().getStatusCode());
+        assertEquals("Artikel wurde zwischenzeitlich geändert", failed.getResponse().getBody());
+        assertEquals(1, server.requests("POST", "/batch").size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {404, 405})
+    void abgelehnterBatchEndpunktFaelltAufEinzelanfragenZurueck(int status) {
+        server.setHandler(request -> batchServer(request, StubServer.Response.status(status)));
+
+        WriteSummary summary = ApiClient.updateArticles(articles(3));
+
+        assertTrue(summary.allSucceeded());
+        assertEquals(1, server.requests("PUT", "/batch").size());
+        for (int id = 1; id <= 3; id++) {
+            assertEquals(1, server.requests("PUT", "/" + id).size(), "PUT für Artikel " + id);
+        }
+
+        // Die Ablehnung gilt für die Sitzung: weder erneute Prüfung noch erneuter Batch-Versuch
+        server.clearRequests();
+        assertTrue(ApiClient.updateArticles(articles(2)).allSucceeded());
+        assertEquals(List.of("/1", "/2"), server.requests().stream().map(StubServer.Request::path).sorted().toList());
+    }
+
+    @Test
+    void ohneAngebotenenBatchEndpunktWerdenEinzelanfragenGesendet() {
+        server.setHandler(request -> request.path().equals("/batch")
+                ? StubServer.Response.status(404)
+                : StubServer.Response.json(200, "{}"));
+
+        assertTrue(ApiClient.updateArticles(articles(2)).allSucceeded());
+
+        assertEquals(1, server.requests("OPTIONS", "/batch").size());
+        assertEquals(0, server.requests("PUT", "/batch").size());
+        assertEquals(1, server.requests("PUT", "/1").size());
+        assertEquals(1, server.requests("PUT", "/2").size());
+    }
+}
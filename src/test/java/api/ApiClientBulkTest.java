@@ -0,0 +1,81 @@
+package api;
+
+import model.Article;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests für den gesammelten Abruf per {@link ApiClient#fetchArticlesByIds} und den Rückfall auf
+ * Einzelabfragen gegen einen lokalen Server.
+ */
+class ApiClientBulkTest {
+
+    private StubServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StubServer();
+        ApiClient.setApiBaseUrl(server.baseUrl());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    private static String article(int id) {
+        return "{\"id\":" + id + ",\"name\":\"Artikel " + id + "\",\"type\":\"Kleinteil\",\"stock\":1,\"unit\":\"Stück\","
+                + "\"price\":1.0,\"location\":\"Regal 1\",\"status\":\"Auf Lager\","
+                + "\"timestamp\":\"2025-03-07T16:22:25Z\",\"stylesJson\":\"{}\"}";
+    }
+
+    /**
+     * Beantwortet Bulk-Anfragen mit dem angegebenen Status und Einzelabfragen mit dem Artikel.
+     */
+    private static StubServer.Response server(StubServer.Request request, int bulkStatus) {
+        if (request.path().equals("/bulk")) {
+            return bulkStatus == 200
+                    ? StubServer.Response.json(200, "[" + article(1) + "," + article(2) + "]")
+                    : StubServer.Response.status(bulkStatus);
+        }
+        return StubServer.Response.json(200, article(Integer.parseInt(request.path().substring(1))));
+    }
+
+    @Test
+    void artikelWerdenInEinerBulkAbfrageGeladen() {
+        server.setHandler(request -> server(request, 200));
+
+        Map<Integer, Article> articles = ApiClient.fetchArticlesByIds(List.of(1, 2));
+
+        assertEquals("Artikel 2", articles.get(2).name);
+        assertEquals(1, server.requests().size());
+        assertEquals("ids=1,2", server.requests("GET", "/bulk").get(0).query());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {400, 404, 405})
+    void fehlenderBulkEndpunktKostetNurEineProbe(int status) {
+        // 400 liefern Server, deren Route "/{id}" das Segment "bulk" als ungültige ID ablehnt
+        server.setHandler(request -> server(request, status));
+
+        Map<Integer, Article> articles = ApiClient.fetchArticlesByIds(List.of(1, 2, 3));
+
+        assertEquals(3, articles.size());
+        assertEquals(1, server.requests("GET", "/bulk").size());
+        assertEquals(1, server.requests("GET", "/3").size());
+
+        // Für den Rest der Sitzung wird der Bulk-Endpunkt nicht mehr versucht
+        server.clearRequests();
+        assertEquals(2, ApiClient.fetchArticlesByIds(List.of(4, 5)).size());
+        assertEquals(0, server.requests("GET", "/bulk").size());
+        assertEquals(2, server.requests().size());
+    }
+}
@@ -0,0 +1,80 @@
+package api;
+
+import model.ArticlePage;
+import model.ArticleQuery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests für serverseitige Artikelabfragen per {@link ApiClient#queryArticles} gegen einen lokalen Server.
+ */
+class ApiClientQueryTest {
+
+    private static final String PAGE = "{\"items\":["
+            + "{\"id\":7,\"name\":\"Schraube M4\",\"type\":\"Kleinteil\",\"stock\":5,\"unit\":\"Stück\",\"price\":0.2,"
+            + "\"location\":\"Regal 3\",\"status\":\"Auf Lager\",\"timestamp\":\"2025-03-07T16:22:25Z\",\"stylesJson\":\"{}\"}"
+            + "],\"total\":201,\"offset\":200,\"limit\":100}";
+
+    private StubServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new StubServer();
+        ApiClient.setApiBaseUrl(server.baseUrl());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void sortierungFilterUndAusschnittWerdenAlsParameterGesendet() throws Exception {
+        server.setHandler(request -> StubServer.Response.json(200, PAGE));
+        ArticleQuery query = new ArticleQuery(
+                List.of(new ArticleQuery.SortKey("name", true), new ArticleQuery.SortKey("price", false)),
+                " Schraube M4 ", 200, 100);
+
+        ArticlePage page = ApiClient.queryArticles(query);
+
+        StubServer.Request request = server.requests().get(0);
+        assertEquals("GET", request.method());
+        assertEquals("/query", request.path());
+        assertEquals("sort=name%2C-price&filter=Schraube+M4&offset=200&limit=100", request.query());
+
+        assertEquals(201, page.total);
+        assertEquals(200, page.offset);
+        assertEquals(100, page.limit);
+        assertEquals(1, page.items.size());
+        assertEquals("Schraube M4", page.items.get(0).name);
+        assertEquals(3, page.getPageNumber());
+        assertEquals(3, page.getPageCount());
+    }
+
+    @Test
+    void ohneSortierungUndFilterWirdNurDerAusschnittGesendet() throws Exception {
+        server.setHandler(request -> StubServer.Response.json(200, "{\"items\":[],\"total\":0,\"offset\":0,\"limit\":50}"));
+
+        ArticlePage page = ApiClient.queryArticles(ArticleQuery.firstPage(50));
+
+        assertEquals("offset=0&limit=50", server.requests().get(0).query());
+        assertEquals(0, page.items.size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {404, 405})
+    void ohneAbfrageunterstuetzungWirdNullGeliefert(int status) throws Exception {
+        server.setHandler(request -> StubServer.Response.status(status));
+
+        assertNull(ApiClient.queryArticles(ArticleQuery.firstPage(50).withFilter("Mutter")));
+        assertEquals(1, server.requests().size());
+    }
+}
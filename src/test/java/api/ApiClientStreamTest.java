@@ -0,0 +1,133 @@
+package api;
+
+import model.Article;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests für den bedingten Abruf des Katalogs per {@link ApiClient#streamArticles} gegen einen lokalen Server.
+ */
+class ApiClientStreamTest {
+
+    private static final String ETAG = "\"katalog-1\"";
+    private static final String LAST_MODIFIED = "Fri, 07 Mar 2025 16:22:25 GMT";
+    private static final String CATALOG = "["
+            + "{\"id\":1,\"name\":\"Schraube\",\"type\":\"Kleinteil\",\"stock\":10,\"unit\":\"Stück\",\"price\":0.1,"
+            + "\"location\":\"Regal 1\",\"status\":\"Auf Lager\",\"timestamp\":\"2025-03-07T16:22:25Z\",\"stylesJson\":\"{}\"},"
+            + "{\"id\":2,\"name\":\"Mutter\",\"type\":\"Kleinteil\",\"stock\":20,\"unit\":\"Stück\",\"price\":0.05,"
+            + "\"location\":\"Regal 2\",\"status\":\"Auf Lager\",\"timestamp\":\"2025-03-07T16:22:26Z\",\"stylesJson\":\"{}\"}"
+            + "]";
+
+    private StubServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        deleteLocalFiles();
+        server = new StubServer();
+        ApiClient.setApiBaseUrl(server.baseUrl());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+        deleteLocalFiles();
+    }
+
+    /**
+     * Entfernt lokale Datei und Validatoren früherer Tests; das Journal bleibt geöffnet und wird nicht angefasst.
+     */
+    private static void deleteLocalFiles() {
+        File[] files = new File("localData").listFiles((dir, name) -> name.startsWith("articles.")
+                && !name.equals("articles.journal"));
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+    }
+
+    /**
+     * Antwortet mit 304, sobald die Anfrage den ETag des Katalogs mitsendet, sonst mit dem Katalog.
+     */
+    private static StubServer.Response conditional(StubServer.Request request, String catalog) {
+        if (ETAG.equals(request.header("If-None-Match"))) {
+            return StubServer.Response.status(304);
+        }
+        return StubServer.Response.json(200, catalog)
+                .withHeader("ETag", ETAG)
+                .withHeader("Last-Modified", LAST_MODIFIED);
+    }
+
+    private static List<Article> stream() throws Exception {
+        List<Article> articles = new ArrayList<>();
+        int count = ApiClient.streamArticles(articles::add);
+        assertEquals(count, articles.size());
+        return articles;
+    }
+
+    @Test
+    void validatorenWerdenGespeichertUndZurueckgesendet() throws Exception {
+        server.setHandler(request -> conditional(request, CATALOG));
+
+        List<Article> articles = stream();
+        assertEquals(2, articles.size());
+        assertNull(server.requests().get(0).header("If-None-Match"));
+        assertTrue(ApiClient.saveArticlesToLocalFile(articles));
+
+        stream();
+        StubServer.Request second = server.requests().get(1);
+        assertEquals(ETAG, second.header("If-None-Match"));
+        assertEquals(LAST_MODIFIED, second.header("If-Modified-Since"));
+    }
+
+    @Test
+    void validatorenGeltenErstMitDerLokalenDatei() throws Exception {
+        server.setHandler(request -> conditional(request, CATALOG));
+
+        stream();
+        // Ohne gespeicherte Datei gibt es keine Kopie, auf die sich ein 304 beziehen könnte
+        stream();
+        assertNull(server.requests().get(1).header("If-None-Match"));
+        assertNull(server.requests().get(1).header("If-Modified-Since"));
+    }
+
+    @Test
+    void nichtGeaendertLiefertDieLokaleKopie() throws Exception {
+        server.setHandler(request -> conditional(request, CATALOG));
+        assertTrue(ApiClient.saveArticlesToLocalFile(stream()));
+
+        List<Article> articles = stream();
+        assertEquals(2, server.requests().size());
+        assertEquals(ETAG, server.requests().get(1).header("If-None-Match"));
+        assertEquals(List.of(1, 2), articles.stream().map(article -> article.id).toList());
+        assertEquals("Schraube", articles.get(0).name);
+        assertEquals("Mutter", articles.get(1).name);
+    }
+
+    @Test
+    void nichtGeaendertMitLeererLokalerKopieLaedtVollstaendig() throws Exception {
+        // Zuerst einen leeren Katalog samt Validatoren lokal speichern
+        server.setHandler(request -> conditional(request, "[]"));
+        assertTrue(ApiClient.saveArticlesToLocalFile(stream()));
+        server.clearRequests();
+
+        server.setHandler(request -> conditional(request, CATALOG));
+        List<Article> articles = stream();
+
+        // Der bedingten Anfrage folgt eine unbedingte, die den Katalog vollständig lädt
+        List<StubServer.Request> requests = server.requests();
+        assertEquals(2, requests.size());
+        assertEquals(ETAG, requests.get(0).header("If-None-Match"));
+        assertNull(requests.get(1).header("If-None-Match"));
+        assertEquals(2, articles.size());
+    }
+}
@@ -0,0 +1,155 @@
+package api;
+
+import model.Article;
+import model.CellStyle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import store.ArticleField;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests für das Binärformat der lokalen Artikeldatei: Lesen und Schreiben, das Aussondern einzelner
+ * beschädigter Datensätze und das Zurückweisen beschädigter Köpfe.
+ */
+class BinarySnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    private static Article article(int id, String name) {
+        Map<String, CellStyle> styles = new HashMap<>();
+        styles.put("name", new CellStyle(true, false, true, "#00FF00"));
+        styles.put("stock", null);
+        return new Article(id, name, "Kleinteil", id * 10, "Stück", 0.25 * id, "Regal " + id, "Auf Lager",
+                null, "2025-03-07T16:22:2" + id + "Z", "{}", styles);
+    }
+
+    private Path writeSnapshot() throws IOException {
+        Path file = dir.resolve("articles.1.bin");
+        // IDs absichtlich nicht sortiert, damit der ID-Index geprüft wird
+        BinarySnapshot.write(List.of(article(3, "Schraube"), article(1, "Mutter"), article(2, "Scheibe")), 9, file);
+        return file;
+    }
+
+    /**
+     * Ermittelt die Position eines Datensatzes in der Datei über Kopf und Positionsindex.
+     */
+    private static int recordPosition(byte[] content, int record) {
+        ByteBuffer buffer = ByteBuffer.wrap(content);
+        return (int) buffer.getLong(24) + buffer.getInt(80 + record * 12 + 4);
+    }
+
+    @Test
+    void geschriebeneArtikelWerdenGelesen() throws IOException {
+        Path file = dir.resolve("articles.1.bin");
+        String hash = BinarySnapshot.write(List.of(article(3, "Schraube"), article(1, "Mutter")), 9, file);
+
+        BinarySnapshot snapshot = BinarySnapshot.open(file);
+        assertEquals(2, snapshot.size());
+        assertEquals(9, snapshot.getJournalSeq());
+        assertEquals(hash, snapshot.getHash());
+        assertEquals(hash, BinarySnapshot.readHash(file));
+        assertEquals(9, BinarySnapshot.readJournalSeq(file));
+        assertTrue(snapshot.getDamagedRecords().isEmpty());
+
+        assertEquals(3, snapshot.idAt(0));
+        assertEquals("2025-03-07T16:22:21Z", snapshot.timestampAt(1));
+        assertEquals("Mutter", snapshot.textAt(1, ArticleField.NAME));
+        assertEquals("Kleinteil", snapshot.textAt(1, ArticleField.TYPE));
+        assertEquals("Regal 1", snapshot.textAt(1, ArticleField.LOCATION));
+        assertEquals("Auf Lager", snapshot.textAt(1, ArticleField.STATUS));
+
+        Article read = snapshot.decode(0);
+        assertEquals(3, read.id);
+        assertEquals("Schraube", read.name);
+        assertEquals(30, read.stock);
+        assertEquals(0.75, read.price);
+        assertEquals("Stück", read.unit);
+        assertNull(read.link);
+        assertEquals("{}", read.stylesJson);
+        assertTrue(read.styles.get("name").bold);
+        assertTrue(read.styles.get("name").underline);
+        assertEquals("#00FF00", read.styles.get("name").color);
+        assertTrue(read.styles.containsKey("stock"));
+        assertNull(read.styles.get("stock"));
+    }
+
+    @Test
+    void idIndexFindetDiePosition() throws IOException {
+        BinarySnapshot snapshot = BinarySnapshot.open(writeSnapshot());
+        assertEquals(0, snapshot.positionOf(3));
+        assertEquals(1, snapshot.positionOf(1));
+        assertEquals(2, snapshot.positionOf(2));
+        assertEquals(-1, snapshot.positionOf(4));
+    }
+
+    @Test
+    void beschaedigterDatensatzWirdAusgesondert() throws IOException {
+        Path file = writeSnapshot();
+        byte[] content = Files.readAllBytes(file);
+        // Bestand des zweiten Datensatzes verändern
+        content[recordPosition(content, 1) + 7] ^= 0x01;
+        Files.write(file, content);
+
+        BinarySnapshot snapshot = BinarySnapshot.open(file);
+        assertEquals(1, snapshot.getDamagedRecords().cardinality());
+        assertTrue(snapshot.getDamagedRecords().get(1));
+        assertEquals("Schraube", snapshot.decode(0).name);
+        assertEquals("Scheibe", snapshot.decode(2).name);
+        assertEquals(recordPosition(content, 2) - recordPosition(content, 1), snapshot.readRawRecord(1).length);
+    }
+
+    @Test
+    void falscheKennungWirdZurueckgewiesen() throws IOException {
+        Path file = writeSnapshot();
+        byte[] content = Files.readAllBytes(file);
+        content[0] = 'X';
+        Files.write(file, content);
+
+        assertThrows(IOException.class, () -> BinarySnapshot.open(file));
+        assertThrows(IOException.class, () -> BinarySnapshot.readJournalSeq(file));
+    }
+
+    @Test
+    void andereVersionWirdZurueckgewiesen() throws IOException {
+        Path file = writeSnapshot();
+        byte[] content = Files.readAllBytes(file);
+        content[5] = 1;
+        Files.write(file, content);
+
+        assertThrows(IOException.class, () -> BinarySnapshot.open(file));
+    }
+
+    @Test
+    void beschaedigterIndexWirdZurueckgewiesen() throws IOException {
+        Path file = writeSnapshot();
+        byte[] content = Files.readAllBytes(file);
+        // ID des ersten Eintrags im Positionsindex verändern
+        content[83] ^= 0x01;
+        Files.write(file, content);
+
+        assertThrows(IOException.class, () -> BinarySnapshot.open(file));
+    }
+
+    @Test
+    void abgeschnitteneDateiWirdZurueckgewiesen() throws IOException {
+        Path file = writeSnapshot();
+        byte[] content = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(content, content.length - 5));
+
+        assertThrows(IOException.class, () -> BinarySnapshot.open(file));
+    }
+}
@@ -0,0 +1,184 @@
+package api;
+
+import model.Article;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests für das Änderungsjournal: Lesen und Schreiben sowie das Verhalten nach einem Absturz
+ * mitten im Schreibvorgang oder zwischen dem Schreiben der Artikeldatei und dem Kürzen des Journals.
+ */
+class ChangeJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private static Article article(int id, String name) {
+        return new Article(id, name, "Kleinteil", 10, "Stück", 1.5, "Regal 1", "Auf Lager",
+                "", "2025-03-07T16:22:25Z", "{}", null);
+    }
+
+    @Test
+    void angehaengteDatensaetzeWerdenGelesen() throws IOException {
+        Path file = dir.resolve("articles.journal");
+        ChangeJournal journal = new ChangeJournal(file, true);
+        assertEquals(3, journal.append(List.of(article(1, "Schraube"), article(2, "Mutter")), List.of(7), 0));
+        journal.close();
+
+        List<ChangeJournal.Entry> entries = new ChangeJournal(file, false).readEntries();
+        assertEquals(3, entries.size());
+        assertEquals(1, entries.get(0).seq());
+        assertEquals(ChangeJournal.PUT, entries.get(0).op());
+        assertEquals("Schraube", entries.get(0).article().name);
+        assertEquals(2, entries.get(1).seq());
+        assertEquals("Mutter", entries.get(1).article().name);
+        assertEquals(3, entries.get(2).seq());
+        assertEquals(ChangeJournal.DELETE, entries.get(2).op());
+        assertEquals(7, entries.get(2).id());
+        assertNull(entries.get(2).article());
+    }
+
+    @Test
+    void halbGeschriebeneLetzteZeileWirdVerworfenUndAbgeschnitten() throws IOException {
+        Path file = dir.resolve("articles.journal");
+        ChangeJournal journal = new ChangeJournal(file, false);
+        journal.append(List.of(article(1, "Schraube")), List.of(), 0);
+        journal.append(List.of(article(2, "Mutter")), List.of(), 0);
+        journal.close();
+
+        // Absturz mitten im Schreiben der zweiten Zeile
+        byte[] data = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(data, data.length - 10));
+
+        ChangeJournal reopened = new ChangeJournal(file, false);
+        List<ChangeJournal.Entry> entries = reopened.readEntries();
+        assertEquals(1, entries.size());
+        assertEquals(1, reopened.getLastSequence());
+
+        // Der nächste Schreibvorgang entfernt den Rest und setzt die Sequenz fort
+        assertEquals(2, reopened.append(List.of(article(3, "Scheibe")), List.of(), 0));
+        reopened.close();
+
+        entries = new ChangeJournal(file, false).readEntries();
+        assertEquals(2, entries.size());
+        assertEquals(2, entries.get(1).seq());
+        assertEquals("Scheibe", entries.get(1).article().name);
+        byte[] repaired = Files.readAllBytes(file);
+        assertEquals('\n', repaired[repaired.length - 1]);
+    }
+
+    @Test
+    void angehaengterDatenmuellOhneZeilenumbruchWirdAbgeschnitten() throws IOException {
+        Path file = dir.resolve("articles.journal");
+        ChangeJournal journal = new ChangeJournal(file, false);
+        journal.append(List.of(article(1, "Schraube")), List.of(), 0);
+        journal.close();
+        Files.write(file, "0000".getBytes(StandardCharsets.US_ASCII), StandardOpenOption.APPEND);
+
+        ChangeJournal reopened = new ChangeJournal(file, false);
+        assertEquals(1, reopened.readEntries().size());
+        reopened.append(List.of(), List.of(5), 0);
+        reopened.close();
+
+        List<ChangeJournal.Entry> entries = new ChangeJournal(file, false).readEntries();
+        assertEquals(2, entries.size());
+        assertEquals(ChangeJournal.DELETE, entries.get(1).op());
+        assertEquals(5, entries.get(1).id());
+    }
+
+    @Test
+    void zeileMitFalscherPruefsummeBeendetDasLesen() throws IOException {
+        Path file = dir.resolve("articles.journal");
+        ChangeJournal journal = new ChangeJournal(file, false);
+        journal.append(List.of(article(1, "Schraube"), article(2, "Mutter"), article(3, "Scheibe")), List.of(), 0);
+        journal.close();
+
+        // Ein Zeichen im Namen des zweiten Datensatzes verändern
+        byte[] data = Files.readAllBytes(file);
+        String text = new String(data, StandardCharsets.UTF_8);
+        int position = text.indexOf("Mutter");
+        data[position] = 'm';
+        Files.write(file, data);
+
+        List<ChangeJournal.Entry> entries = new ChangeJournal(file, false).readEntries();
+        assertEquals(1, entries.size());
+        assertEquals(1, entries.get(0).seq());
+    }
+
+    @Test
+    void kuerzenBehaeltNeuereDatensaetzeUndSetztDieSequenzFort() throws IOException {
+        Path file = dir.resolve("articles.journal");
+        ChangeJournal journal = new ChangeJournal(file, false);
+        journal.append(List.of(article(1, "Schraube"), article(2, "Mutter"), article(3, "Scheibe")), List.of(), 0);
+
+        journal.discardUpTo(2);
+        assertEquals(1, journal.size());
+        assertEquals(4, journal.append(List.of(article(4, "Dübel")), List.of(), 2));
+        journal.close();
+
+        List<ChangeJournal.Entry> entries = new ChangeJournal(file, false).readEntries();
+        assertEquals(2, entries.size());
+        assertEquals(3, entries.get(0).seq());
+        assertEquals(4, entries.get(1).seq());
+        assertFalse(Files.exists(file.resolveSibling(file.getFileName() + ".tmp")));
+    }
+
+    @Test
+    void leeresJournalSetztNachNeustartBeiDerSequenzDerArtikeldateiFort() throws IOException {
+        Path file = dir.resolve("articles.journal");
+        ChangeJournal journal = new ChangeJournal(file, false);
+        journal.append(List.of(article(1, "Schraube"), article(2, "Mutter")), List.of(), 0);
+        journal.discardUpTo(2);
+        journal.close();
+
+        // Nach dem Neustart kennt nur die Artikeldatei die bisherige Sequenz
+        ChangeJournal reopened = new ChangeJournal(file, false);
+        assertEquals(0, reopened.getLastSequence());
+        assertEquals(3, reopened.append(List.of(article(1, "Schraube M4")), List.of(), 2));
+        reopened.close();
+    }
+
+    @Test
+    void absturzZwischenArtikeldateiUndKuerzenWendetNurNeuereDatensaetzeAn() throws IOException {
+        Path file = dir.resolve("articles.journal");
+        Path snapshot = dir.resolve("articles.json");
+        ChangeJournal journal = new ChangeJournal(file, false);
+        journal.append(List.of(article(1, "Schraube"), article(2, "Mutter")), List.of(), 0);
+
+        // Die Artikeldatei übernimmt die Datensätze bis Sequenz 2, danach folgt eine weitere Änderung
+        JsonSnapshot.write(List.of(article(1, "Schraube"), article(2, "Mutter")), 2, snapshot);
+        journal.append(List.of(article(2, "Mutter M6")), List.of(1), 2);
+        // Absturz, bevor das Journal gekürzt wurde
+        journal.close();
+
+        JsonSnapshot.Content content = JsonSnapshot.read(Files.readAllBytes(snapshot));
+        assertEquals(2, content.journalSeq());
+        List<ChangeJournal.Entry> pending = new ChangeJournal(file, false).readEntries().stream()
+                .filter(entry -> entry.seq() > content.journalSeq())
+                .toList();
+        assertEquals(2, pending.size());
+        assertEquals(3, pending.get(0).seq());
+        assertEquals("Mutter M6", pending.get(0).article().name);
+        assertEquals(4, pending.get(1).seq());
+        assertEquals(ChangeJournal.DELETE, pending.get(1).op());
+
+        // Das spätere Kürzen entfernt genau die übernommenen Datensätze
+        ChangeJournal reopened = new ChangeJournal(file, false);
+        reopened.discardUpTo(content.journalSeq());
+        assertEquals(2, reopened.size());
+        assertEquals(5, reopened.append(List.of(article(3, "Scheibe")), List.of(), content.journalSeq()));
+        reopened.close();
+    }
+}
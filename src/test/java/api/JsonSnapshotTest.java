@@ -0,0 +1,151 @@
+package api;
+
+import model.Article;
+import model.CellStyle;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests für das JSON-Format der lokalen Artikeldatei: Lesen und Schreiben sowie das Aussondern
+ * einzelner beschädigter Artikel.
+ */
+class JsonSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    private static Article article(int id, String name) {
+        return new Article(id, name, "Kleinteil", id * 10, "Stück", 0.25 * id, "Regal " + id, "Auf Lager",
+                "https://example.com/artikel/" + id, "2025-03-07T16:22:25Z", "{}",
+                Map.of("name", new CellStyle(true, false, false, "#FF0000")));
+    }
+
+    private static List<Integer> ids(List<Article> articles) {
+        return articles.stream().map(article -> article.id).toList();
+    }
+
+    private byte[] writeSnapshot(List<Article> articles) throws IOException {
+        Path file = dir.resolve("articles.json");
+        JsonSnapshot.write(articles, 7, file);
+        return Files.readAllBytes(file);
+    }
+
+    private static byte[] replace(byte[] content, String search, String replacement) {
+        String text = new String(content, StandardCharsets.UTF_8);
+        assertTrue(text.contains(search));
+        return text.replace(search, replacement).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void geschriebeneArtikelWerdenGelesen() throws IOException {
+        JsonSnapshot.Content content = JsonSnapshot.read(
+                writeSnapshot(List.of(article(1, "Schraube"), article(2, "Mutter"), article(3, "Scheibe"))));
+
+        assertEquals(7, content.journalSeq());
+        assertTrue(content.damaged().isEmpty());
+        assertEquals(List.of(1, 2, 3), ids(content.articles()));
+        Article read = content.articles().get(1);
+        assertEquals("Mutter", read.name);
+        assertEquals(20, read.stock);
+        assertEquals(0.5, read.price);
+        assertEquals("Regal 2", read.location);
+        assertEquals("2025-03-07T16:22:25Z", read.timestamp);
+        assertTrue(read.styles.get("name").bold);
+        assertEquals("#FF0000", read.styles.get("name").color);
+    }
+
+    @Test
+    void gleicheArtikelErgebenDenselbenHash() throws IOException {
+        List<Article> articles = List.of(article(1, "Schraube"), article(2, "Mutter"));
+        String first = JsonSnapshot.write(articles, 1, dir.resolve("a.json"));
+        String second = JsonSnapshot.write(articles, 2, dir.resolve("b.json"));
+        assertEquals(first, second);
+    }
+
+    @Test
+    void beschaedigterArtikelWirdAusgesondert() throws IOException {
+        byte[] content = writeSnapshot(List.of(article(1, "Schraube"), article(2, "Mutter"), article(3, "Scheibe")));
+
+        JsonSnapshot.Content read = JsonSnapshot.read(replace(content, "Mutter", "Mutti"));
+
+        assertEquals(List.of(1, 3), ids(read.articles()));
+        assertEquals(1, read.damaged().size());
+        assertTrue(new String(read.damaged().get(0), StandardCharsets.UTF_8).contains("Mutti"));
+    }
+
+    @Test
+    void verlorenerZeilenumbruchKostetNurDieBetroffenenArtikel() throws IOException {
+        byte[] content = writeSnapshot(List.of(article(1, "Schraube"), article(2, "Mutter"),
+                article(3, "Scheibe"), article(4, "Dübel")));
+        String text = new String(content, StandardCharsets.UTF_8);
+        int position = text.indexOf("\n", text.indexOf("Mutter"));
+
+        JsonSnapshot.Content read = JsonSnapshot.read(
+                (text.substring(0, position) + text.substring(position + 1)).getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(List.of(1, 4), ids(read.articles()));
+        assertEquals(1, read.damaged().size());
+    }
+
+    @Test
+    void fehlendeZeileLaesstDieUebrigenArtikelUnveraendert() throws IOException {
+        byte[] content = writeSnapshot(List.of(article(1, "Schraube"), article(2, "Mutter"), article(3, "Scheibe")));
+        String text = new String(content, StandardCharsets.UTF_8);
+        int start = text.lastIndexOf("\n", text.indexOf("Mutter")) + 1;
+        int end = text.indexOf("\n", start) + 1;
+
+        JsonSnapshot.Content read = JsonSnapshot.read(
+                (text.substring(0, start) + text.substring(end)).getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(List.of(1, 3), ids(read.articles()));
+        assertTrue(read.damaged().isEmpty());
+    }
+
+    @Test
+    void gleicheZeilenWerdenUeberIhrePruefsummeZugeordnet() throws IOException {
+        // Identische Zeilen haben dieselbe Prüfsumme; jede darf nur einmal zugeordnet werden
+        byte[] content = writeSnapshot(List.of(article(1, "Schraube"), article(1, "Schraube"), article(2, "Mutter")));
+        assertEquals(List.of(1, 1, 2), ids(JsonSnapshot.read(content).articles()));
+
+        String text = new String(content, StandardCharsets.UTF_8);
+        int first = text.indexOf("Schraube");
+        int second = text.indexOf("Schraube", first + 1);
+        String changed = text.substring(0, second) + "Schrauben" + text.substring(second + "Schraube".length());
+
+        JsonSnapshot.Content read = JsonSnapshot.read(changed.getBytes(StandardCharsets.UTF_8));
+        assertEquals(List.of(1, 2), ids(read.articles()));
+        assertEquals(1, read.damaged().size());
+    }
+
+    @Test
+    void beschaedigtePruefsummeSondertNurIhrenArtikelAus() throws IOException {
+        byte[] content = writeSnapshot(List.of(article(1, "Schraube"), article(2, "Mutter"), article(3, "Scheibe")));
+        String text = new String(content, StandardCharsets.UTF_8);
+        int checksums = text.indexOf("\"checksums\" : \"") + "\"checksums\" : \"".length();
+        // Erste Ziffer der Prüfsumme des zweiten Artikels verändern
+        int digit = checksums + 8;
+        char replacement = text.charAt(digit) == '0' ? '1' : '0';
+        String changed = text.substring(0, digit) + replacement + text.substring(digit + 1);
+
+        JsonSnapshot.Content read = JsonSnapshot.read(changed.getBytes(StandardCharsets.UTF_8));
+        assertEquals(List.of(1, 3), ids(read.articles()));
+        assertEquals(1, read.damaged().size());
+    }
+
+    @Test
+    void aeltereDateiMitFalschemHashWirdVerworfen() throws IOException {
+        String legacy = "{\"hash\":\"AAAA\",\"journalSeq\":3,\"data\":[{\"id\":1,\"name\":\"Schraube\"}]}";
+        assertNull(JsonSnapshot.read(legacy.getBytes(StandardCharsets.UTF_8)));
+    }
+}
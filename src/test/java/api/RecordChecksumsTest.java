@@ -0,0 +1,52 @@
+package api;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Tests für die Prüfsummen und den Gesamthash der lokalen Artikeldatei.
+ */
+class RecordChecksumsTest {
+
+    @Test
+    void pruefsummeIstFuerArrayUndPufferGleich() {
+        byte[] data = "xx{\"id\":1,\"name\":\"Schraube\"}xx".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        buffer.position(5);
+
+        assertEquals(RecordChecksums.checksum(data, 2, data.length - 4),
+                RecordChecksums.checksum(buffer, 2, data.length - 4));
+        // Die Position des Puffers bleibt unverändert
+        assertEquals(5, buffer.position());
+    }
+
+    @Test
+    void gesamthashHaengtVonWertenUndReihenfolgeAb() {
+        String hash = RecordChecksums.rootHash(new int[]{1, 2, 3});
+
+        assertEquals(hash, RecordChecksums.rootHash(new int[]{1, 2, 3}));
+        assertNotEquals(hash, RecordChecksums.rootHash(new int[]{3, 2, 1}));
+        assertNotEquals(hash, RecordChecksums.rootHash(new int[]{1, 2, 4}));
+        assertNotEquals(hash, RecordChecksums.rootHash(new int[]{1, 2}));
+    }
+
+    @Test
+    void bloeckeDeckenAlleDatensaetzeGenauEinmalAb() {
+        int count = RecordChecksums.BLOCK_SIZE * 2 + 17;
+        int[] visits = new int[count];
+        RecordChecksums.forEachBlock(count, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                visits[i]++;
+            }
+        });
+
+        for (int i = 0; i < count; i++) {
+            assertEquals(1, visits[i], "Datensatz " + i);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package api;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests für die Regeln automatischer Wiederholungen mit der Standardkonfiguration.
+ */
+class RetryPolicyTest {
+
+    private final RetryPolicy policy = RetryPolicy.getInstance();
+
+    @Test
+    void sichereMethodenWerdenWiederholt() {
+        assertTrue(policy.isRetryableMethod("GET", false));
+        assertTrue(policy.isRetryableMethod("HEAD", false));
+        assertTrue(policy.isRetryableMethod("OPTIONS", false));
+    }
+
+    @Test
+    void schreibanfragenWerdenOhneServerunterstuetzungNichtWiederholt() {
+        // "api.idempotency" ist standardmäßig aus, ein Schlüssel allein genügt nicht
+        assertFalse(policy.isIdempotencyKeyEnabled());
+        assertFalse(policy.isRetryableMethod("PUT", true));
+        assertFalse(policy.isRetryableMethod("POST", true));
+        assertFalse(policy.isRetryableMethod("PUT", false));
+        assertFalse(policy.isRetryableMethod("DELETE", true));
+    }
+
+    @Test
+    void nurVoruebergehendeStatuscodesWerdenWiederholt() {
+        assertTrue(policy.isRetryableStatus(429));
+        assertTrue(policy.isRetryableStatus(503));
+        assertFalse(policy.isRetryableStatus(500));
+        assertFalse(policy.isRetryableStatus(404));
+    }
+
+    @Test
+    void retryAfterInSekundenWirdUmgerechnet() {
+        assertEquals(2000, RetryPolicy.parseRetryAfter("2"));
+        assertEquals(-1, RetryPolicy.parseRetryAfter(null));
+        assertEquals(-1, RetryPolicy.parseRetryAfter("morgen"));
+    }
+}
@@ -0,0 +1,155 @@
+package api;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Lokaler HTTP-Server für Tests des API-Clients. Zeichnet alle Anfragen auf und beantwortet sie über
+ * einen austauschbaren Handler; ohne Handler antwortet er mit 404.
+ */
+final class StubServer implements AutoCloseable {
+
+    /** Pfad, unter dem der Server die Artikel-API anbietet. */
+    static final String BASE_PATH = "/api/article";
+
+    /**
+     * Eine aufgezeichnete Anfrage.
+     *
+     * @param method Die HTTP-Methode
+     * @param path Der Pfad relativ zu {@link #BASE_PATH}, "" für den Katalog selbst
+     * @param query Die rohe Query oder null
+     * @param headers Die Kopfzeilen
+     * @param body Der (entpackte) Inhalt als UTF-8
+     */
+    record Request(String method, String path, String query, Headers headers, String body) {
+        String header(String name) {
+            return headers.getFirst(name);
+        }
+    }
+
+    /**
+     * Eine vorbereitete Antwort.
+     *
+     * @param status Der Statuscode
+     * @param headers Zusätzliche Kopfzeilen
+     * @param body Der Inhalt als JSON oder null für eine Antwort ohne Inhalt
+     */
+    record Response(int status, Map<String, String> headers, String body) {
+        static Response json(int status, String body) {
+            return new Response(status, new LinkedHashMap<>(), body);
+        }
+
+        static Response status(int status) {
+            return new Response(status, new LinkedHashMap<>(), null);
+        }
+
+        Response withHeader(String name, String value) {
+            Map<String, String> copy = new LinkedHashMap<>(headers);
+            copy.put(name, value);
+            return new Response(status, copy, body);
+        }
+    }
+
+    @FunctionalInterface
+    interface Handler {
+        Response handle(Request request);
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final List<Request> requests = new CopyOnWriteArrayList<>();
+    private volatile Handler handler = request -> Response.status(404);
+
+    StubServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext(BASE_PATH, this::exchange);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * @return Die Basis-URL für {@link ApiClient#setApiBaseUrl(String)}
+     */
+    String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + BASE_PATH;
+    }
+
+    void setHandler(Handler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * @return Alle bisher aufgezeichneten Anfragen in Eingangsreihenfolge
+     */
+    List<Request> requests() {
+        return new ArrayList<>(requests);
+    }
+
+    /**
+     * @param method Die HTTP-Methode
+     * @param path Der Pfad relativ zu {@link #BASE_PATH}
+     * @return Die aufgezeichneten Anfragen mit dieser Methode und diesem Pfad
+     */
+    List<Request> requests(String method, String path) {
+        return requests.stream()
+                .filter(request -> request.method().equals(method) && request.path().equals(path))
+                .toList();
+    }
+
+    void clearRequests() {
+        requests.clear();
+    }
+
+    private void exchange(HttpExchange exchange) throws IOException {
+        try {
+            byte[] raw = exchange.getRequestBody().readAllBytes();
+            if ("gzip".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+                try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(raw))) {
+                    raw = in.readAllBytes();
+                }
+            }
+            String path = exchange.getRequestURI().getRawPath().substring(BASE_PATH.length());
+            Request request = new Request(exchange.getRequestMethod(), path, exchange.getRequestURI().getRawQuery(),
+                    exchange.getRequestHeaders(), new String(raw, StandardCharsets.UTF_8));
+            requests.add(request);
+
+            Response response = handler.handle(request);
+            response.headers().forEach(exchange.getResponseHeaders()::set);
+            if (response.body() == null) {
+                exchange.sendResponseHeaders(response.status(), -1);
+                return;
+            }
+            byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(response.status(), body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
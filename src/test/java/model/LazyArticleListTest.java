@@ -0,0 +1,95 @@
+package model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests für die verzögert dekodierte Artikelliste.
+ */
+class LazyArticleListTest {
+
+    /**
+     * Quelle, die mitzählt, wie viele Datensätze dekodiert wurden.
+     */
+    private static class CountingSource implements LazyArticleList.Source {
+        final AtomicInteger decoded = new AtomicInteger();
+        private final int size;
+
+        CountingSource(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public int idAt(int record) {
+            return record + 1;
+        }
+
+        @Override
+        public String timestampAt(int record) {
+            return "2025-03-07T16:22:25Z";
+        }
+
+        @Override
+        public Article decode(int record) {
+            decoded.incrementAndGet();
+            return new Article(record + 1, "Artikel " + record, "Kleinteil", record, "Stück", 1.0,
+                    "Regal 1", "Auf Lager", "", timestampAt(record), "{}", null);
+        }
+    }
+
+    @Test
+    void idUndZeitstempelWerdenOhneDekodierenGelesen() {
+        CountingSource source = new CountingSource(3);
+        LazyArticleList list = new LazyArticleList(source);
+
+        assertEquals(2, LazyArticleList.idAt(list, 1));
+        assertEquals("2025-03-07T16:22:25Z", LazyArticleList.timestampAt(list, 2));
+        assertNull(LazyArticleList.loadedAt(list, 0));
+        assertEquals(0, source.decoded.get());
+    }
+
+    @Test
+    void momentaufnahmeDekodiertKeineZeilen() {
+        CountingSource source = new CountingSource(1000);
+        LazyArticleList list = new LazyArticleList(source);
+        Article shown = list.get(5);
+
+        List<Article> snapshot = LazyArticleList.snapshotOf(list);
+        assertEquals(1, source.decoded.get());
+        assertEquals(1000, snapshot.size());
+
+        // Geladene Artikel werden kopiert, spätere Änderungen betreffen die Momentaufnahme nicht
+        Article copy = LazyArticleList.loadedAt(snapshot, 5);
+        assertNotSame(shown, copy);
+        shown.name = "Geändert";
+        assertEquals("Artikel 5", copy.name);
+
+        // Erst der Zugriff auf die Momentaufnahme dekodiert, ohne die ursprüngliche Liste zu füllen
+        assertEquals("Artikel 7", snapshot.get(7).name);
+        assertEquals(2, source.decoded.get());
+        assertNull(LazyArticleList.loadedAt(list, 7));
+    }
+
+    @Test
+    void momentaufnahmeEinerGewoehnlichenListeKopiertAlleArtikel() {
+        List<Article> articles = new ArrayList<>();
+        articles.add(new CountingSource(1).decode(0));
+
+        List<Article> snapshot = LazyArticleList.snapshotOf(articles);
+        articles.get(0).stock = 99;
+
+        assertEquals(0, snapshot.get(0).stock);
+    }
+}